@@ -0,0 +1,125 @@
+package de.focusshift.zeiterfassung;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Records a JMH json result as baseline or compares it with the baseline of the same benchmarks.
+ *
+ * <p>
+ * {@code compare} prints score and allocation per operation of every benchmark and its change to the baseline. Exits
+ * with {@code 1} when a score got worse by more than the given threshold in percent or when there is no baseline.
+ * {@code record} replaces the baseline with the result.
+ *
+ * <pre><code>
+ * ./mvnw -P benchmark test-compile exec:exec@record-benchmark-baseline
+ * ./mvnw -P benchmark test-compile exec:exec@compare-benchmark-baseline
+ * </code></pre>
+ */
+public final class BenchmarkBaseline {
+
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+
+    private BenchmarkBaseline() {
+    }
+
+    /**
+     * @param args {@code record}, baseline file and result file,
+     *             or {@code compare}, baseline file, result file and threshold in percent
+     */
+    public static void main(String[] args) throws IOException {
+
+        final Path baselineFile = Path.of(args[1]);
+        final Path resultFile = Path.of(args[2]);
+
+        switch (args[0]) {
+            case "record" -> record(baselineFile, resultFile);
+            case "compare" -> compare(baselineFile, resultFile, Double.parseDouble(args[3]));
+            default -> throw new IllegalArgumentException("expected record or compare but was " + args[0]);
+        }
+    }
+
+    private static void record(Path baselineFile, Path resultFile) throws IOException {
+
+        if (Files.notExists(resultFile)) {
+            System.out.printf("No result found at %s, run the benchmarks first%n", resultFile);
+            System.exit(1);
+        }
+
+        Files.createDirectories(baselineFile.toAbsolutePath().getParent());
+        Files.copy(resultFile, baselineFile, StandardCopyOption.REPLACE_EXISTING);
+        System.out.printf("Recorded %s as %s%n", resultFile, baselineFile);
+    }
+
+    private static void compare(Path baselineFile, Path resultFile, double threshold) throws IOException {
+
+        if (Files.notExists(baselineFile)) {
+            System.out.printf("No baseline found at %s, record one with exec:exec@record-benchmark-baseline first%n", baselineFile);
+            System.exit(1);
+        }
+
+        final Map<String, JsonNode> baseline = read(baselineFile);
+        final Map<String, JsonNode> result = read(resultFile);
+
+        boolean regression = false;
+
+        System.out.printf("%-90s %14s %14s %9s %14s %9s%n", "Benchmark", "Baseline", "Score", "Change", "B/op", "Change");
+        for (Map.Entry<String, JsonNode> entry : result.entrySet()) {
+
+            final JsonNode current = entry.getValue();
+            final JsonNode previous = baseline.get(entry.getKey());
+
+            final double score = current.path("primaryMetric").path("score").asDouble();
+            final double allocation = current.path("secondaryMetrics").path(ALLOCATION).path("score").asDouble(Double.NaN);
+            final String unit = current.path("primaryMetric").path("scoreUnit").asString();
+
+            if (previous == null) {
+                System.out.printf("%-90s %14s %14.3f %9s %14.0f %9s  %s%n", entry.getKey(), "-", score, "new", allocation, "", unit);
+                continue;
+            }
+
+            final double previousScore = previous.path("primaryMetric").path("score").asDouble();
+            final double previousAllocation = previous.path("secondaryMetrics").path(ALLOCATION).path("score").asDouble(Double.NaN);
+
+            // throughput gets worse when decreasing, all other modes measure time which gets worse when increasing
+            final double scoreChange = change(previousScore, score);
+            final double worse = "thrpt".equals(current.path("mode").asString()) ? -scoreChange : scoreChange;
+            final boolean regressed = worse > threshold;
+            regression |= regressed;
+
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%% %14.0f %+8.1f%%  %s%s%n", entry.getKey(), previousScore, score, scoreChange,
+                allocation, change(previousAllocation, allocation), unit, regressed ? "  REGRESSION" : "");
+        }
+
+        if (regression) {
+            System.out.printf("Scores got worse by more than %.1f%% compared to %s%n", threshold, baselineFile);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, JsonNode> read(Path file) throws IOException {
+
+        final Map<String, JsonNode> byKey = new LinkedHashMap<>();
+
+        for (JsonNode benchmark : new JsonMapper().readTree(Files.readString(file))) {
+            final Map<String, String> params = new TreeMap<>();
+            benchmark.path("params").properties().forEach(param -> params.put(param.getKey(), param.getValue().asString()));
+            final String name = benchmark.path("benchmark").asString().replace("de.focusshift.zeiterfassung.", "");
+            byKey.put(params.isEmpty() ? name : name + params, benchmark);
+        }
+
+        return byKey;
+    }
+
+    private static double change(double previous, double current) {
+        return previous == 0 ? 0 : (current - previous) / previous * 100;
+    }
+}
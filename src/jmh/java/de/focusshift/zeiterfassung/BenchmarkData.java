@@ -0,0 +1,192 @@
+package de.focusshift.zeiterfassung;
+
+import de.focusshift.zeiterfassung.absence.Absence;
+import de.focusshift.zeiterfassung.publicholiday.FederalState;
+import de.focusshift.zeiterfassung.tenancy.user.EMailAddress;
+import de.focusshift.zeiterfassung.timeentry.TimeEntry;
+import de.focusshift.zeiterfassung.timeentry.TimeEntryId;
+import de.focusshift.zeiterfassung.user.UserId;
+import de.focusshift.zeiterfassung.user.UserIdComposite;
+import de.focusshift.zeiterfassung.usermanagement.User;
+import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import de.focusshift.zeiterfassung.workingtime.WorkingTime;
+import de.focusshift.zeiterfassung.workingtime.WorkingTimeId;
+import de.focusshift.zeiterfassung.workingtime.WorksOnPublicHoliday;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static de.focusshift.zeiterfassung.absence.AbsenceColor.PINK;
+import static de.focusshift.zeiterfassung.absence.AbsenceTypeCategory.HOLIDAY;
+import static de.focusshift.zeiterfassung.absence.DayLength.FULL;
+import static java.util.stream.Collectors.toMap;
+
+/**
+ * Synthetic data of {@code users} users with {@code entriesPerDay} time entries on every workday of {@code days}
+ * days, answered by the in-memory fakes of the benchmark fixtures.
+ *
+ * <p>
+ * Every user has a working time of eight hours from monday to friday, which changes to six hours in the middle of
+ * the period for every fourth user. Every third time entry is a break overlapping the previous entry. Every user is
+ * absent for a few days now and then. The same parameters always generate the same data.
+ *
+ * @param from first date of the generated period
+ * @param toExclusive end of the generated period
+ * @param users all generated users
+ * @param timeEntriesByUser time entries of every user, newest first like the repository
+ * @param workingTimesByUser working times of every user, newest first like the repository
+ * @param absencesByUser absences of every user
+ */
+public record BenchmarkData(
+    LocalDate from,
+    LocalDate toExclusive,
+    List<User> users,
+    Map<UserIdComposite, List<TimeEntry>> timeEntriesByUser,
+    Map<UserIdComposite, List<WorkingTime>> workingTimesByUser,
+    Map<UserIdComposite, List<Absence>> absencesByUser
+) {
+
+    public static final ZoneId ZONE_ID = ZoneId.of("Europe/Berlin");
+    public static final FederalState FEDERAL_STATE = FederalState.GERMANY_BADEN_WUERTTEMBERG;
+
+    /**
+     * @param users number of users
+     * @param from first date
+     * @param days number of days
+     * @param entriesPerDay number of time entries per user and workday
+     * @return generated data
+     */
+    public static BenchmarkData generate(int users, LocalDate from, int days, int entriesPerDay) {
+
+        final Random random = new Random(42);
+        final LocalDate toExclusive = from.plusDays(days);
+        final LocalDate workingTimeChange = from.plusDays(days / 2);
+
+        final List<User> allUsers = new ArrayList<>(users);
+        final Map<UserIdComposite, List<TimeEntry>> timeEntriesByUser = new HashMap<>();
+        final Map<UserIdComposite, List<WorkingTime>> workingTimesByUser = new HashMap<>();
+        final Map<UserIdComposite, List<Absence>> absencesByUser = new HashMap<>();
+
+        long timeEntryId = 0;
+
+        for (long i = 0; i < users; i++) {
+            final UserIdComposite userIdComposite = new UserIdComposite(new UserId("user-" + i), new UserLocalId(i));
+            allUsers.add(new User(userIdComposite, "Bruce", "Wayne " + i, new EMailAddress("user-" + i + "@example.org"), Set.of()));
+
+            final List<WorkingTime> workingTimes = new ArrayList<>();
+            if (i % 4 == 0) {
+                workingTimes.add(workingTime(userIdComposite, workingTimeChange, 6));
+            }
+            workingTimes.add(workingTime(userIdComposite, null, 8));
+            workingTimesByUser.put(userIdComposite, workingTimes);
+
+            final List<Absence> absences = new ArrayList<>();
+            final List<TimeEntry> timeEntries = new ArrayList<>();
+
+            for (LocalDate date = toExclusive.minusDays(1); !date.isBefore(from); date = date.minusDays(1)) {
+                if (date.getDayOfWeek().getValue() > 5) {
+                    continue;
+                }
+
+                if ((date.getDayOfYear() + i) % 23 == 0) {
+                    final Instant start = date.atStartOfDay().toInstant(ZoneOffset.UTC);
+                    absences.add(new Absence(userIdComposite.id(), start, start.plusSeconds(86400L * random.nextInt(3)), FULL, locale -> "holiday", PINK, HOLIDAY));
+                    continue;
+                }
+
+                ZonedDateTime start = date.atTime(7, 0).atZone(ZONE_ID).plusMinutes(15L * random.nextInt(8));
+                for (int entry = 0; entry < entriesPerDay; entry++) {
+                    final boolean isBreak = entry % 3 == 2;
+                    final ZonedDateTime entryStart = isBreak ? start.minusMinutes(15) : start;
+                    final ZonedDateTime end = entryStart.plusMinutes(15L * (2 + random.nextInt(8)));
+                    timeEntries.addFirst(new TimeEntry(new TimeEntryId(timeEntryId++), userIdComposite, "", entryStart, end, isBreak));
+                    start = end;
+                }
+            }
+
+            timeEntriesByUser.put(userIdComposite, timeEntries);
+            absencesByUser.put(userIdComposite, absences);
+        }
+
+        return new BenchmarkData(from, toExclusive, allUsers, timeEntriesByUser, workingTimesByUser, absencesByUser);
+    }
+
+    /**
+     * @return time entries of the given users starting within the given period, like the repository query
+     */
+    public Map<UserIdComposite, List<TimeEntry>> timeEntries(LocalDate from, LocalDate toExclusive, Collection<UserLocalId> userLocalIds) {
+
+        final Instant start = from.atStartOfDay(ZONE_ID).toInstant();
+        final Instant end = toExclusive.atStartOfDay(ZONE_ID).toInstant();
+
+        return users(userLocalIds).stream().collect(toMap(
+            User::userIdComposite,
+            user -> timeEntriesByUser.get(user.userIdComposite()).stream()
+                .filter(timeEntry -> !timeEntry.start().toInstant().isBefore(start) && timeEntry.start().toInstant().isBefore(end))
+                .toList()
+        ));
+    }
+
+    /**
+     * @return working times of the given users valid within the given period, like the repository query
+     */
+    public Map<UserIdComposite, List<WorkingTime>> workingTimes(LocalDate toExclusive, Collection<UserLocalId> userLocalIds) {
+        return users(userLocalIds).stream().collect(toMap(
+            User::userIdComposite,
+            user -> workingTimesByUser.get(user.userIdComposite()).stream()
+                .filter(workingTime -> workingTime.validFrom().map(toExclusive::isAfter).orElse(true))
+                .toList()
+        ));
+    }
+
+    /**
+     * @return absences of the given users overlapping the given period, like the repository query
+     */
+    public Map<UserIdComposite, List<Absence>> absences(LocalDate from, LocalDate toExclusive, Collection<UserLocalId> userLocalIds) {
+
+        final Instant start = from.atStartOfDay().toInstant(ZoneOffset.UTC);
+        final Instant end = toExclusive.atStartOfDay().toInstant(ZoneOffset.UTC);
+
+        return users(userLocalIds).stream().collect(toMap(
+            User::userIdComposite,
+            user -> absencesByUser.get(user.userIdComposite()).stream()
+                .filter(absence -> absence.startDate().isBefore(end) && !absence.endDate().isBefore(start))
+                .toList()
+        ));
+    }
+
+    /**
+     * @return the given users, all users when {@code userLocalIds} is {@code null}
+     */
+    public List<User> users(Collection<UserLocalId> userLocalIds) {
+        if (userLocalIds == null) {
+            return users;
+        }
+        final Set<UserLocalId> wanted = Set.copyOf(userLocalIds);
+        return users.stream().filter(user -> wanted.contains(user.userLocalId())).toList();
+    }
+
+    private static WorkingTime workingTime(UserIdComposite userIdComposite, LocalDate validFrom, double hours) {
+        return WorkingTime.builder(userIdComposite, new WorkingTimeId(UUID.nameUUIDFromBytes((userIdComposite.id().value() + validFrom).getBytes())))
+            .validFrom(validFrom)
+            .federalState(FEDERAL_STATE)
+            .worksOnPublicHoliday(WorksOnPublicHoliday.NO)
+            .monday(hours)
+            .tuesday(hours)
+            .wednesday(hours)
+            .thursday(hours)
+            .friday(hours)
+            .build();
+    }
+}
@@ -0,0 +1,80 @@
+package de.focusshift.zeiterfassung.publicholiday;
+
+import de.focus_shift.jollyday.core.HolidayManager;
+import de.focus_shift.jollyday.core.ManagerParameters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static de.focus_shift.jollyday.core.HolidayType.PUBLIC_HOLIDAY;
+
+/**
+ * Compares asking the {@link HolidayManager} for every public holiday lookup with the {@link PublicHolidayIndex} and the
+ * {@link PublicHolidayCalendar} of the {@link PublicHolidaysService}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PublicHolidaysBenchmark {
+
+    @Param({"GERMANY_BADEN_WUERTTEMBERG", "GERMANY_BAYERN_AUGSBURG"})
+    private FederalState federalState;
+
+    private HolidayManager holidayManager;
+    private PublicHolidayIndex publicHolidayIndex;
+    private PublicHolidaysService publicHolidaysService;
+
+    private final LocalDate from = LocalDate.of(2024, 1, 1);
+    private final LocalDate to = LocalDate.of(2024, 12, 31);
+
+    @Setup
+    public void setUp() {
+        holidayManager = HolidayManager.getInstance(ManagerParameters.create(federalState.getCountry()));
+        publicHolidayIndex = new PublicHolidayIndex(Map.of(federalState.getCountry(), holidayManager), Clock.systemUTC());
+        publicHolidayIndex.warmUp();
+        publicHolidaysService = PublicHolidaysBenchmarkFixture.publicHolidaysService(federalState);
+    }
+
+    @Benchmark
+    public void holidayManagerYear(Blackhole blackhole) {
+        blackhole.consume(holidayManager.getHolidays(from, to, PUBLIC_HOLIDAY, federalState.getCodes()));
+    }
+
+    @Benchmark
+    public void publicHolidayIndexYear(Blackhole blackhole) {
+        blackhole.consume(publicHolidayIndex.publicHolidays(federalState, from, to));
+    }
+
+    @Benchmark
+    public void holidayManagerIsPublicHolidayEveryDay(Blackhole blackhole) {
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            blackhole.consume(holidayManager.isHoliday(date, PUBLIC_HOLIDAY, federalState.getCodes()));
+        }
+    }
+
+    @Benchmark
+    public void publicHolidayCalendarIsPublicHolidayEveryDay(Blackhole blackhole) {
+        final PublicHolidayCalendar calendar = publicHolidaysService.getPublicHolidays(from, to.plusDays(1), List.of(federalState)).get(federalState);
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            blackhole.consume(calendar.isPublicHoliday(date));
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package de.focusshift.zeiterfassung.publicholiday;
+
+import de.focus_shift.jollyday.core.HolidayManager;
+import de.focus_shift.jollyday.core.ManagerParameters;
+import de.focusshift.zeiterfassung.settings.FederalStateSettings;
+
+import java.time.Clock;
+import java.util.Map;
+
+/**
+ * Creates the {@link PublicHolidaysService} for benchmarks of other packages.
+ */
+public final class PublicHolidaysBenchmarkFixture {
+
+    private PublicHolidaysBenchmarkFixture() {
+    }
+
+    /**
+     * @param federalState the global federal state, public holidays of other federal states of the same country are known, too
+     * @return public holidays service with a warmed up {@link PublicHolidayIndex}
+     */
+    public static PublicHolidaysService publicHolidaysService(FederalState federalState) {
+
+        final HolidayManager holidayManager = HolidayManager.getInstance(ManagerParameters.create(federalState.getCountry()));
+        final PublicHolidayIndex publicHolidayIndex = new PublicHolidayIndex(Map.of(federalState.getCountry(), holidayManager), Clock.systemUTC());
+        publicHolidayIndex.warmUp();
+
+        return new PublicHolidaysServiceImpl(publicHolidayIndex, () -> new FederalStateSettings(federalState, false));
+    }
+}
@@ -0,0 +1,198 @@
+package de.focusshift.zeiterfassung.report;
+
+import de.focusshift.zeiterfassung.absence.Absence;
+import de.focusshift.zeiterfassung.timeentry.ShouldWorkingHours;
+import de.focusshift.zeiterfassung.user.UserId;
+import de.focusshift.zeiterfassung.user.UserIdComposite;
+import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import de.focusshift.zeiterfassung.workduration.WorkDuration;
+import de.focusshift.zeiterfassung.workingtime.PlannedWorkingHours;
+import de.focusshift.zeiterfassung.workingtime.WorkingTimeCalendar;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static de.focusshift.zeiterfassung.absence.AbsenceColor.PINK;
+import static de.focusshift.zeiterfassung.absence.AbsenceTypeCategory.HOLIDAY;
+import static de.focusshift.zeiterfassung.absence.DayLength.FULL;
+import static java.time.temporal.TemporalAdjusters.previousOrSame;
+import static java.util.stream.Collectors.toMap;
+
+/**
+ * Accesses a {@link ReportMonth} of many users the way the month report view does.
+ *
+ * <p>
+ * {@code memoised} uses the report model. {@code restreamed} calculates every value from the
+ * {@link WorkingTimeCalendar}s again on every access, like the report model did before summarizing once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportMonthBenchmark {
+
+    @Param({"500"})
+    private int users;
+
+    private final YearMonth yearMonth = YearMonth.of(2024, 3);
+
+    private List<List<LocalDate>> weeks;
+    private Map<UserIdComposite, WorkingTimeCalendar> workingTimeCalendarByUser;
+    private Map<LocalDate, Map<UserIdComposite, WorkDuration>> workDurationByUserByDate;
+
+    @Setup
+    public void setUp() {
+
+        final LocalDate first = yearMonth.atDay(1).with(previousOrSame(DayOfWeek.MONDAY));
+        final LocalDate last = yearMonth.atEndOfMonth();
+
+        weeks = new ArrayList<>();
+        for (LocalDate monday = first; !monday.isAfter(last); monday = monday.plusWeeks(1)) {
+            weeks.add(monday.datesUntil(monday.plusWeeks(1)).toList());
+        }
+
+        workingTimeCalendarByUser = new HashMap<>();
+        workDurationByUserByDate = new HashMap<>();
+
+        for (long i = 0; i < users; i++) {
+            final UserIdComposite user = new UserIdComposite(new UserId("user-" + i), new UserLocalId(i));
+
+            final Map<LocalDate, PlannedWorkingHours> planned = new HashMap<>();
+            final Map<LocalDate, List<Absence>> absences = new HashMap<>();
+
+            for (LocalDate date = first; date.isBefore(first.plusWeeks(weeks.size())); date = date.plusDays(1)) {
+                final boolean weekend = date.getDayOfWeek().getValue() > 5;
+                planned.put(date, weekend ? PlannedWorkingHours.ZERO : PlannedWorkingHours.EIGHT);
+
+                if (!weekend && (date.getDayOfMonth() + i) % 17 == 0) {
+                    final Absence absence = new Absence(user.id(), date.atStartOfDay().toInstant(ZoneOffset.UTC),
+                        date.atStartOfDay().toInstant(ZoneOffset.UTC), FULL, locale -> "holiday", PINK, HOLIDAY);
+                    absences.put(date, List.of(absence));
+                }
+
+                final WorkDuration worked = weekend ? WorkDuration.ZERO : new WorkDuration(Duration.ofMinutes(420 + (i + date.getDayOfMonth()) % 120));
+                workDurationByUserByDate.computeIfAbsent(date, unused -> new HashMap<>()).put(user, worked);
+            }
+
+            workingTimeCalendarByUser.put(user, new WorkingTimeCalendar(planned, absences));
+        }
+    }
+
+    @Benchmark
+    public void memoised(Blackhole blackhole) {
+
+        final ReportMonth month = reportMonth();
+
+        blackhole.consume(month.overtimeByUser());
+        blackhole.consume(month.workDurationByUser());
+        blackhole.consume(month.shouldWorkingHoursByUser());
+        blackhole.consume(month.workedHoursRatio());
+
+        for (ReportWeek week : month.weeks()) {
+            blackhole.consume(week.workDuration());
+            blackhole.consume(week.shouldWorkingHours());
+            blackhole.consume(week.workedHoursRatio());
+            for (ReportDay day : week.reportDays()) {
+                // graph and detail view
+                blackhole.consume(day.workDuration());
+                blackhole.consume(day.shouldWorkingHours());
+                blackhole.consume(day.workDuration());
+                blackhole.consume(day.shouldWorkingHours());
+            }
+        }
+    }
+
+    @Benchmark
+    public void restreamed(Blackhole blackhole) {
+
+        final ReportMonth month = reportMonth();
+        final List<ReportDay> days = month.weeks().stream().flatMap(week -> week.reportDays().stream()).toList();
+
+        blackhole.consume(overtimeByUser(days));
+        blackhole.consume(workDurationByUser(days));
+        blackhole.consume(shouldWorkingHoursByUser(days));
+        blackhole.consume(workDuration(days));
+        blackhole.consume(shouldWorkingHours(days));
+
+        for (ReportWeek week : month.weeks()) {
+            blackhole.consume(workDuration(week.reportDays()));
+            blackhole.consume(shouldWorkingHours(week.reportDays()));
+            blackhole.consume(workDuration(week.reportDays()));
+            blackhole.consume(shouldWorkingHours(week.reportDays()));
+            for (ReportDay day : week.reportDays()) {
+                blackhole.consume(workDuration(List.of(day)));
+                blackhole.consume(shouldWorkingHours(List.of(day)));
+                blackhole.consume(workDuration(List.of(day)));
+                blackhole.consume(shouldWorkingHours(List.of(day)));
+            }
+        }
+    }
+
+    private ReportMonth reportMonth() {
+        final List<ReportWeek> reportWeeks = weeks.stream()
+            .map(dates -> new ReportWeek(dates.getFirst(), dates.stream().map(this::reportDay).toList()))
+            .toList();
+        return new ReportMonth(yearMonth, reportWeeks);
+    }
+
+    private ReportDay reportDay(LocalDate date) {
+        return new ReportDay(date, false, workingTimeCalendarByUser, Map.of(), workDurationByUserByDate.get(date), Map.of());
+    }
+
+    private static WorkDuration workDuration(List<ReportDay> days) {
+        return days.stream()
+            .flatMap(day -> day.workDurationByUser().values().stream())
+            .reduce(WorkDuration.ZERO, WorkDuration::plus);
+    }
+
+    private static ShouldWorkingHours shouldWorkingHours(List<ReportDay> days) {
+        return days.stream()
+            .flatMap(day -> day.workingTimeCalendarByUser().values().stream().map(calendar -> calendar.shouldWorkingHours(day.date())))
+            .flatMap(Optional::stream)
+            .reduce(ShouldWorkingHours.ZERO, ShouldWorkingHours::plus);
+    }
+
+    private static Map<UserIdComposite, WorkDuration> workDurationByUser(List<ReportDay> days) {
+        final Map<UserIdComposite, WorkDuration> byUser = new HashMap<>();
+        days.forEach(day -> day.workDurationByUser().forEach((user, duration) -> byUser.merge(user, duration, WorkDuration::plus)));
+        return byUser;
+    }
+
+    private static Map<UserIdComposite, ShouldWorkingHours> shouldWorkingHoursByUser(List<ReportDay> days) {
+        final Map<UserIdComposite, ShouldWorkingHours> byUser = new HashMap<>();
+        days.forEach(day -> day.workingTimeCalendarByUser().forEach((user, calendar) ->
+            byUser.merge(user, calendar.shouldWorkingHours(day.date()).orElse(ShouldWorkingHours.ZERO), ShouldWorkingHours::plus)));
+        return byUser;
+    }
+
+    private static Map<UserIdComposite, Duration> overtimeByUser(List<ReportDay> days) {
+        final Map<UserIdComposite, WorkDuration> worked = workDurationByUser(days);
+        return shouldWorkingHoursByUser(days).entrySet().stream().collect(toMap(
+            Map.Entry::getKey,
+            entry -> worked.get(entry.getKey()).duration().minus(entry.getValue().duration())
+        ));
+    }
+}
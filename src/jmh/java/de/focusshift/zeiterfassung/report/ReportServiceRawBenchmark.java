@@ -0,0 +1,87 @@
+package de.focusshift.zeiterfassung.report;
+
+import de.focusshift.zeiterfassung.BenchmarkData;
+import de.focusshift.zeiterfassung.publicholiday.PublicHolidaysBenchmarkFixture;
+import de.focusshift.zeiterfassung.timeentry.TimeEntryBenchmarkFixture;
+import de.focusshift.zeiterfassung.timeentry.TimeEntryDayService;
+import de.focusshift.zeiterfassung.user.UserBenchmarkFixture;
+import de.focusshift.zeiterfassung.user.UserDateService;
+import de.focusshift.zeiterfassung.user.UserSettingsProvider;
+import de.focusshift.zeiterfassung.usermanagement.UserManagementService;
+import de.focusshift.zeiterfassung.workduration.WorkDurationBenchmarkFixture;
+import de.focusshift.zeiterfassung.workingtime.WorkingTimeBenchmarkFixture;
+import de.focusshift.zeiterfassung.workingtime.WorkingTimeCalendarService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Creates the {@link ReportMonth} of all users like the month report of all users does, from time entries to
+ * working time calendars and work durations.
+ *
+ * <p>
+ * Without {@code calendarCache} the working time calendars are calculated for every report, like on a cache miss.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportServiceRawBenchmark {
+
+    @Param({"100", "500"})
+    private int users;
+
+    @Param({"4"})
+    private int entriesPerDay;
+
+    @Param({"true", "false"})
+    private boolean calendarCache;
+
+    private final YearMonth yearMonth = YearMonth.of(2024, 3);
+
+    private ReportServiceRaw reportServiceRaw;
+
+    @Setup
+    public void setUp() {
+
+        final LocalDate from = yearMonth.atDay(1);
+        final BenchmarkData data = BenchmarkData.generate(users, from, yearMonth.lengthOfMonth(), entriesPerDay);
+
+        final UserSettingsProvider userSettingsProvider = UserBenchmarkFixture.userSettingsProvider(BenchmarkData.ZONE_ID);
+        final UserDateService userDateService = UserBenchmarkFixture.userDateService(userSettingsProvider);
+        final WorkingTimeCalendarService workingTimeCalendarService = WorkingTimeBenchmarkFixture.workingTimeCalendarService(data,
+            PublicHolidaysBenchmarkFixture.publicHolidaysService(BenchmarkData.FEDERAL_STATE), calendarCache);
+        final TimeEntryDayService timeEntryDayService = TimeEntryBenchmarkFixture.timeEntryDayService(data, workingTimeCalendarService,
+            WorkDurationBenchmarkFixture.workDurationCalculationService(), userSettingsProvider, userDateService);
+
+        final UserManagementService userManagementService = mock(UserManagementService.class);
+        when(userManagementService.findAllUsers()).thenReturn(data.users());
+
+        reportServiceRaw = new ReportServiceRaw(timeEntryDayService, userManagementService, userDateService,
+            workingTimeCalendarService, TimeEntryBenchmarkFixture.timeEntryLockService(data), new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public void reportMonthForAllUsers(Blackhole blackhole) {
+        blackhole.consume(reportServiceRaw.getReportMonthForAllUsers(yearMonth));
+    }
+}
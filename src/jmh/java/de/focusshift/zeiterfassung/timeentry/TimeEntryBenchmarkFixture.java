@@ -0,0 +1,89 @@
+package de.focusshift.zeiterfassung.timeentry;
+
+import de.focusshift.zeiterfassung.BenchmarkData;
+import de.focusshift.zeiterfassung.settings.LockTimeEntriesSettings;
+import de.focusshift.zeiterfassung.settings.SubtractBreakFromTimeEntrySettings;
+import de.focusshift.zeiterfassung.settings.SubtractBreakFromTimeEntrySettingsService;
+import de.focusshift.zeiterfassung.user.UserDateService;
+import de.focusshift.zeiterfassung.user.UserSettingsProvider;
+import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import de.focusshift.zeiterfassung.usermanagement.UserManagementService;
+import de.focusshift.zeiterfassung.web.RequestLookupContext;
+import de.focusshift.zeiterfassung.workduration.WorkDurationCalculationService;
+import de.focusshift.zeiterfassung.workingtime.WorkingTimeCalendarService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Creates time entry services for benchmarks of other packages.
+ */
+public final class TimeEntryBenchmarkFixture {
+
+    private TimeEntryBenchmarkFixture() {
+    }
+
+    /**
+     * Locking of time entries is active for dates older than a week before the generated period.
+     *
+     * @return lock service answering with in-memory settings
+     */
+    public static TimeEntryLockService timeEntryLockService(BenchmarkData data) {
+
+        final LockTimeEntriesSettings settings = new LockTimeEntriesSettings(true, 7);
+        final LocalDate minValidTimeEntryDate = data.from().minusWeeks(1);
+
+        final TimeEntryLockService timeEntryLockService = mock(TimeEntryLockService.class);
+        when(timeEntryLockService.getLockTimeEntriesSettings()).thenReturn(settings);
+        when(timeEntryLockService.isLocked(any(), any())).thenAnswer(invocation -> LocalDate.from(invocation.getArgument(0)).isBefore(minValidTimeEntryDate));
+        when(timeEntryLockService.getMinValidTimeEntryDate(any())).thenReturn(Optional.of(minValidTimeEntryDate));
+
+        return timeEntryLockService;
+    }
+
+    /**
+     * Overlapping breaks are subtracted from time entries, so work durations are calculated by the
+     * {@code OverlappingBreakCalculator}.
+     *
+     * @param data time entries and users answered by in-memory fakes of the services
+     * @return time entry day service
+     */
+    public static TimeEntryDayService timeEntryDayService(
+        BenchmarkData data,
+        WorkingTimeCalendarService workingTimeCalendarService,
+        WorkDurationCalculationService workDurationCalculationService,
+        UserSettingsProvider userSettingsProvider,
+        UserDateService userDateService
+    ) {
+
+        final TimeEntryService timeEntryService = mock(TimeEntryService.class);
+        when(timeEntryService.getEntriesForAllUsers(any(), any()))
+            .thenAnswer(invocation -> data.timeEntries(invocation.getArgument(0), invocation.getArgument(1), null));
+        when(timeEntryService.getEntries(any(), any(), anyCollection()))
+            .thenAnswer(invocation -> data.timeEntries(invocation.getArgument(0), invocation.getArgument(1), invocation.<Collection<UserLocalId>>getArgument(2)));
+        when(timeEntryService.getEntries(any(), any(), any(UserLocalId.class)))
+            .thenAnswer(invocation -> data.timeEntries(invocation.getArgument(0), invocation.getArgument(1), List.of(invocation.<UserLocalId>getArgument(2)))
+                .values().stream().findFirst().orElse(List.of()));
+
+        final UserManagementService userManagementService = mock(UserManagementService.class);
+        when(userManagementService.findAllUsers()).thenReturn(data.users());
+
+        final SubtractBreakFromTimeEntrySettingsService subtractBreakFromTimeEntrySettingsService = mock(SubtractBreakFromTimeEntrySettingsService.class);
+        when(subtractBreakFromTimeEntrySettingsService.getSubtractBreakFromTimeEntrySettings())
+            .thenReturn(Optional.of(new SubtractBreakFromTimeEntrySettings(true, Optional.of(Instant.EPOCH))));
+
+        return new TimeEntryDayServiceImpl(timeEntryService, timeEntryLockService(data), workDurationCalculationService,
+            workingTimeCalendarService, userManagementService, userSettingsProvider, userDateService,
+            subtractBreakFromTimeEntrySettingsService, mock(TimeEntryRepository.class),
+            new RequestLookupContext(new SimpleMeterRegistry()));
+    }
+}
@@ -0,0 +1,73 @@
+package de.focusshift.zeiterfassung.timeentry;
+
+import de.focusshift.zeiterfassung.BenchmarkData;
+import de.focusshift.zeiterfassung.publicholiday.PublicHolidaysBenchmarkFixture;
+import de.focusshift.zeiterfassung.user.UserBenchmarkFixture;
+import de.focusshift.zeiterfassung.user.UserIdComposite;
+import de.focusshift.zeiterfassung.user.UserSettingsProvider;
+import de.focusshift.zeiterfassung.workduration.WorkDurationBenchmarkFixture;
+import de.focusshift.zeiterfassung.workingtime.WorkingTimeBenchmarkFixture;
+import de.focusshift.zeiterfassung.workingtime.WorkingTimeCalendarService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates the {@link TimeEntryDay}s of all users for a period, grouping time entries by date and calculating the
+ * work duration of every day. Working time calendars are cached, so they are not part of the measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TimeEntryDayServiceBenchmark {
+
+    @Param({"100", "500"})
+    private int users;
+
+    @Param({"31"})
+    private int days;
+
+    @Param({"4", "10"})
+    private int entriesPerDay;
+
+    private BenchmarkData data;
+    private TimeEntryDayService timeEntryDayService;
+
+    @Setup
+    public void setUp() {
+
+        data = BenchmarkData.generate(users, LocalDate.of(2024, 3, 1), days, entriesPerDay);
+
+        final UserSettingsProvider userSettingsProvider = UserBenchmarkFixture.userSettingsProvider(BenchmarkData.ZONE_ID);
+        final WorkingTimeCalendarService workingTimeCalendarService = WorkingTimeBenchmarkFixture.workingTimeCalendarService(data,
+            PublicHolidaysBenchmarkFixture.publicHolidaysService(BenchmarkData.FEDERAL_STATE), true);
+
+        timeEntryDayService = TimeEntryBenchmarkFixture.timeEntryDayService(data, workingTimeCalendarService,
+            WorkDurationBenchmarkFixture.workDurationCalculationService(), userSettingsProvider,
+            UserBenchmarkFixture.userDateService(userSettingsProvider));
+
+        // fill the working time calendar cache
+        timeEntryDayService.getTimeEntryDaysForAllUsers(data.from(), data.toExclusive());
+    }
+
+    @Benchmark
+    public Map<UserIdComposite, List<TimeEntryDay>> timeEntryDaysForAllUsers() {
+        return timeEntryDayService.getTimeEntryDaysForAllUsers(data.from(), data.toExclusive());
+    }
+}
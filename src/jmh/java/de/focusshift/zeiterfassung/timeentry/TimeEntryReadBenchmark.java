@@ -0,0 +1,172 @@
+package de.focusshift.zeiterfassung.timeentry;
+
+import de.focusshift.zeiterfassung.data.history.EntityRevisionMapper;
+import de.focusshift.zeiterfassung.tenancy.user.EMailAddress;
+import de.focusshift.zeiterfassung.user.UserId;
+import de.focusshift.zeiterfassung.user.UserIdComposite;
+import de.focusshift.zeiterfassung.user.UserSettingsProvider;
+import de.focusshift.zeiterfassung.usermanagement.User;
+import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import de.focusshift.zeiterfassung.usermanagement.UserManagementService;
+import de.focusshift.zeiterfassung.web.RequestLookupContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static java.time.temporal.ChronoUnit.MINUTES;
+import static java.time.temporal.ChronoUnit.SECONDS;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toMap;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Maps a month of time entries of all users like {@link TimeEntryService#getEntriesForAllUsers(LocalDate, LocalDate)}.
+ *
+ * <p>
+ * {@code rows} runs the service on unmanaged {@link TimeEntryRow}s with cached zone ids. {@code entities} maps
+ * {@link TimeEntryEntity}s the way the service did before, parsing both zone ids of every row and looking up users
+ * by a new {@link UserId}. Loading managed entities additionally costs hydration and dirty checking snapshots in
+ * hibernate, which is not part of this benchmark.
+ *
+ * <p>
+ * Allocation is only reported with the gc profiler, so run {@link #main(String[])} or pass {@code -prof gc} to JMH.
+ * Results are per 100k rows with the default parameter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TimeEntryReadBenchmark {
+
+    private static final BigDecimal ONE_MINUTE_IN_SECONDS = BigDecimal.valueOf(60);
+    private static final List<String> ZONE_IDS = List.of("Europe/Berlin", "Europe/Vienna", "Europe/Zurich", "UTC");
+
+    @Param({"100000"})
+    private int rows;
+
+    @Param({"200"})
+    private int users;
+
+    private final LocalDate from = LocalDate.of(2024, 3, 1);
+    private final LocalDate toExclusive = LocalDate.of(2024, 4, 1);
+
+    private List<User> allUsers;
+    private List<TimeEntryEntity> timeEntryEntities;
+    private TimeEntryServiceImpl timeEntryService;
+
+    @Setup
+    public void setUp() {
+
+        allUsers = new ArrayList<>();
+        for (long i = 0; i < users; i++) {
+            final UserIdComposite userIdComposite = new UserIdComposite(new UserId("user-" + i), new UserLocalId(i));
+            allUsers.add(new User(userIdComposite, "Bruce", "Wayne", new EMailAddress("user-" + i + "@example.org"), Set.of()));
+        }
+
+        final List<TimeEntryRow> timeEntryRows = new ArrayList<>(rows);
+        timeEntryEntities = new ArrayList<>(rows);
+
+        final Instant first = from.atStartOfDay(ZoneId.of("UTC")).toInstant();
+        final long secondsPerRow = first.until(toExclusive.atStartOfDay(ZoneId.of("UTC")).toInstant(), SECONDS) / rows;
+
+        // newest first like the repository
+        for (int i = rows - 1; i >= 0; i--) {
+            final long id = i;
+            final String owner = "user-" + (i % users);
+            final Instant start = first.plusSeconds(i * secondsPerRow);
+            final Instant end = start.plusSeconds(3600 + i % 90);
+            // zone ids are new strings for every row, like read from the database
+            final String zoneId = new String(ZONE_IDS.get(i % ZONE_IDS.size()));
+
+            timeEntryRows.add(new TimeEntryRow(id, owner, "comment", start, zoneId, end, zoneId, i % 7 == 0));
+            timeEntryEntities.add(new TimeEntryEntity(id, owner, "comment", start, ZoneId.of(zoneId), end, ZoneId.of(zoneId), start, i % 7 == 0));
+        }
+
+        final TimeEntryRepository timeEntryRepository = mock(TimeEntryRepository.class);
+        when(timeEntryRepository.findAllRowsByStartGreaterThanEqualAndStartLessThanOrderByStartDesc(any(), any())).thenReturn(timeEntryRows);
+
+        final UserManagementService userManagementService = mock(UserManagementService.class);
+        when(userManagementService.findAllUsers()).thenReturn(allUsers);
+
+        final UserSettingsProvider userSettingsProvider = mock(UserSettingsProvider.class);
+        when(userSettingsProvider.zoneId()).thenReturn(ZoneId.of("Europe/Berlin"));
+
+        timeEntryService = new TimeEntryServiceImpl(timeEntryRepository, mock(TimeEntryLockService.class), userManagementService,
+            userSettingsProvider, mock(EntityRevisionMapper.class), mock(ApplicationEventPublisher.class),
+            new RequestLookupContext(new SimpleMeterRegistry()), Clock.systemUTC());
+    }
+
+    @Benchmark
+    public Map<UserIdComposite, List<TimeEntry>> rows() {
+        return timeEntryService.getEntriesForAllUsers(from, toExclusive);
+    }
+
+    @Benchmark
+    public Map<UserIdComposite, List<TimeEntry>> entities() {
+
+        final Map<UserId, User> userByUserId = allUsers.stream().collect(toMap(User::userId, identity()));
+
+        return timeEntryEntities.stream()
+            .map(entity -> {
+                final User user = userByUserId.get(new UserId(entity.getOwner()));
+                return user == null ? null : toTimeEntry(entity, user);
+            })
+            .filter(Objects::nonNull)
+            .collect(groupingBy(TimeEntry::userIdComposite));
+    }
+
+    private static TimeEntry toTimeEntry(TimeEntryEntity entity, User user) {
+
+        final BigDecimal minutesDelta = BigDecimal.valueOf(entity.getStart().until(entity.getEnd(), SECONDS))
+            .divide(ONE_MINUTE_IN_SECONDS, RoundingMode.UP);
+
+        final Instant start = entity.getStart().truncatedTo(MINUTES);
+        final Instant end = start.plus(minutesDelta.longValue(), MINUTES);
+
+        final ZonedDateTime startDateTime = ZonedDateTime.ofInstant(start, ZoneId.of(entity.getStartZoneId()));
+        final ZonedDateTime endDateTime = ZonedDateTime.ofInstant(end, ZoneId.of(entity.getEndZoneId()));
+
+        return new TimeEntry(new TimeEntryId(entity.getId()), user.userIdComposite(), entity.getComment(), startDateTime, endDateTime, entity.isBreak());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(TimeEntryReadBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build()
+        ).run();
+    }
+}
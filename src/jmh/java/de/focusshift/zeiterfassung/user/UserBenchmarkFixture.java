@@ -0,0 +1,36 @@
+package de.focusshift.zeiterfassung.user;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.ZoneId;
+
+/**
+ * Creates user services for benchmarks of other packages.
+ */
+public final class UserBenchmarkFixture {
+
+    private UserBenchmarkFixture() {
+    }
+
+    /**
+     * @param zoneId zone id of the user
+     * @return settings of a user with monday as first day of week
+     */
+    public static UserSettingsProvider userSettingsProvider(ZoneId zoneId) {
+        return new UserSettingsProvider() {
+            @Override
+            public DayOfWeek firstDayOfWeek() {
+                return DayOfWeek.MONDAY;
+            }
+
+            @Override
+            public ZoneId zoneId() {
+                return zoneId;
+            }
+        };
+    }
+
+    public static UserDateService userDateService(UserSettingsProvider userSettingsProvider) {
+        return new UserDateServiceImpl(userSettingsProvider, Clock.systemUTC());
+    }
+}
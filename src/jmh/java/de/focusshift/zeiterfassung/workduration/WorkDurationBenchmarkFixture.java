@@ -0,0 +1,14 @@
+package de.focusshift.zeiterfassung.workduration;
+
+/**
+ * Creates the {@link WorkDurationCalculationService} for benchmarks of other packages.
+ */
+public final class WorkDurationBenchmarkFixture {
+
+    private WorkDurationBenchmarkFixture() {
+    }
+
+    public static WorkDurationCalculationService workDurationCalculationService() {
+        return new WorkDurationCalculationService(new SimpleWorkDurationCalculator(), new OverlappingBreakCalculator());
+    }
+}
@@ -0,0 +1,191 @@
+package de.focusshift.zeiterfassung.workduration;
+
+import de.focusshift.zeiterfassung.timeentry.TimeEntry;
+import de.focusshift.zeiterfassung.timeentry.TimeEntryId;
+import de.focusshift.zeiterfassung.user.UserId;
+import de.focusshift.zeiterfassung.user.UserIdComposite;
+import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static java.time.Duration.between;
+import static java.util.Comparator.comparing;
+import static java.util.function.Predicate.not;
+
+/**
+ * Calculates the {@link WorkDuration} of a year of time entry days like a report does for every day of every user.
+ *
+ * <p>
+ * {@code overlappingBreak} and {@code simple} run the calculators, {@code streamOverlappingBreak} and
+ * {@code streamSimple} the stream based implementations they replaced, with {@code distinct()}, sorted streams and
+ * an overlap interval for every pair of work and break entry.
+ *
+ * <p>
+ * Allocation is only reported with the gc profiler, so run {@link #main(String[])} or pass {@code -prof gc} to JMH.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorkDurationCalculatorBenchmark {
+
+    private static final ZoneId ZONE_ID = ZoneId.of("Europe/Berlin");
+
+    @Param({"4", "16"})
+    private int entriesPerDay;
+
+    private List<List<TimeEntry>> days;
+    private OverlappingBreakCalculator overlappingBreakCalculator;
+    private SimpleWorkDurationCalculator simpleWorkDurationCalculator;
+
+    @Setup
+    public void setUp() {
+
+        final Random random = new Random(42);
+        final UserIdComposite userIdComposite = new UserIdComposite(new UserId("user"), new UserLocalId(1L));
+        final LocalDate first = LocalDate.of(2024, 1, 1);
+
+        days = new ArrayList<>(365);
+        long id = 0;
+
+        for (int day = 0; day < 365; day++) {
+            final ZonedDateTime startOfWork = first.plusDays(day).atTime(7, 0).atZone(ZONE_ID);
+            final List<TimeEntry> timeEntries = new ArrayList<>(entriesPerDay);
+            for (int i = 0; i < entriesPerDay; i++) {
+                // every third entry is a break, entries overlap each other now and then
+                final ZonedDateTime start = startOfWork.plusMinutes(15L * random.nextInt(40));
+                final ZonedDateTime end = start.plusMinutes(15L * (1 + random.nextInt(16)));
+                timeEntries.add(new TimeEntry(new TimeEntryId(id++), userIdComposite, "", start, end, i % 3 == 2));
+            }
+            days.add(timeEntries);
+        }
+
+        overlappingBreakCalculator = new OverlappingBreakCalculator();
+        simpleWorkDurationCalculator = new SimpleWorkDurationCalculator();
+    }
+
+    @Benchmark
+    public void overlappingBreak(Blackhole blackhole) {
+        for (List<TimeEntry> timeEntries : days) {
+            blackhole.consume(overlappingBreakCalculator.calculateWorkDuration(timeEntries));
+        }
+    }
+
+    @Benchmark
+    public void streamOverlappingBreak(Blackhole blackhole) {
+        for (List<TimeEntry> timeEntries : days) {
+            blackhole.consume(streamOverlappingBreak(timeEntries));
+        }
+    }
+
+    @Benchmark
+    public void simple(Blackhole blackhole) {
+        for (List<TimeEntry> timeEntries : days) {
+            blackhole.consume(simpleWorkDurationCalculator.calculateWorkDuration(timeEntries));
+        }
+    }
+
+    @Benchmark
+    public void streamSimple(Blackhole blackhole) {
+        for (List<TimeEntry> timeEntries : days) {
+            blackhole.consume(streamSimple(timeEntries));
+        }
+    }
+
+    private static WorkDuration streamSimple(Collection<TimeEntry> timeEntries) {
+        return timeEntries.stream().distinct()
+            .map(TimeEntry::workDuration)
+            .reduce(WorkDuration.ZERO, WorkDuration::plus);
+    }
+
+    private static WorkDuration streamOverlappingBreak(Collection<TimeEntry> timeEntries) {
+
+        final List<Interval> workIntervals = intervals(timeEntries, not(TimeEntry::isBreak));
+        final List<Interval> mergedBreakIntervals = mergeIntervals(intervals(timeEntries, TimeEntry::isBreak));
+
+        final List<Interval> overlaps = workIntervals.stream()
+            .flatMap(workInterval -> mergedBreakIntervals.stream()
+                .map(breakInterval -> {
+                    final ZonedDateTime start = workInterval.start().isAfter(breakInterval.start()) ? workInterval.start() : breakInterval.start();
+                    final ZonedDateTime end = workInterval.end().isBefore(breakInterval.end()) ? workInterval.end() : breakInterval.end();
+                    return end.isAfter(start) ? new Interval(start, end) : null;
+                })
+                .filter(Objects::nonNull)
+            )
+            .sorted(comparing(Interval::start))
+            .toList();
+
+        return new WorkDuration(summarizeDuration(workIntervals).minus(summarizeDuration(overlaps)));
+    }
+
+    private static List<Interval> intervals(Collection<TimeEntry> timeEntries, Predicate<TimeEntry> filter) {
+        return timeEntries.stream()
+            .distinct()
+            .filter(filter)
+            .map(e -> new Interval(e.start(), e.end()))
+            .sorted(comparing(Interval::start))
+            .toList();
+    }
+
+    private static List<Interval> mergeIntervals(Collection<Interval> intervals) {
+
+        final List<Interval> merged = new ArrayList<>();
+
+        for (final Interval interval : intervals) {
+            if (merged.isEmpty() || merged.getLast().end().isBefore(interval.start())) {
+                merged.add(interval);
+            } else {
+                final Interval last = merged.removeLast();
+                final ZonedDateTime newEnd = last.end().isAfter(interval.end()) ? last.end() : interval.end();
+                merged.add(new Interval(last.start(), newEnd));
+            }
+        }
+
+        return merged;
+    }
+
+    private static Duration summarizeDuration(Collection<Interval> intervals) {
+        return intervals.stream()
+            .map(interval -> between(interval.start(), interval.end()))
+            .reduce(Duration.ZERO, Duration::plus);
+    }
+
+    private record Interval(ZonedDateTime start, ZonedDateTime end) {
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(WorkDurationCalculatorBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build()
+        ).run();
+    }
+}
@@ -0,0 +1,65 @@
+package de.focusshift.zeiterfassung.workingtime;
+
+import de.focusshift.zeiterfassung.BenchmarkData;
+import de.focusshift.zeiterfassung.absence.AbsenceService;
+import de.focusshift.zeiterfassung.publicholiday.PublicHolidaysService;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantId;
+import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import de.focusshift.zeiterfassung.usermanagement.UserManagementService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Creates the {@link WorkingTimeCalendarService} for benchmarks of other packages.
+ */
+public final class WorkingTimeBenchmarkFixture {
+
+    private WorkingTimeBenchmarkFixture() {
+    }
+
+    /**
+     * @param data working times, absences and users answered by in-memory fakes of the services
+     * @param publicHolidaysService public holidays
+     * @param cacheEnabled whether calendars are cached, see {@link WorkingTimeCalendarCache}
+     * @return the working time calendar service of a single tenant
+     */
+    public static WorkingTimeCalendarService workingTimeCalendarService(BenchmarkData data, PublicHolidaysService publicHolidaysService, boolean cacheEnabled) {
+
+        final WorkingTimeService workingTimeService = mock(WorkingTimeService.class);
+        when(workingTimeService.getAllWorkingTimes(any(), any()))
+            .thenAnswer(invocation -> data.workingTimes(invocation.getArgument(1), null));
+        when(workingTimeService.getWorkingTimesByUsers(any(), any(), anyCollection()))
+            .thenAnswer(invocation -> data.workingTimes(invocation.getArgument(1), invocation.<Collection<UserLocalId>>getArgument(2)));
+
+        final AbsenceService absenceService = mock(AbsenceService.class);
+        when(absenceService.getAbsencesForAllUsers(any(), any()))
+            .thenAnswer(invocation -> data.absences(invocation.getArgument(0), invocation.getArgument(1), null));
+        when(absenceService.getAbsencesByUserIds(anyList(), any(), any()))
+            .thenAnswer(invocation -> data.absences(invocation.<LocalDate>getArgument(1), invocation.getArgument(2), invocation.<List<UserLocalId>>getArgument(0)));
+
+        final UserManagementService userManagementService = mock(UserManagementService.class);
+        when(userManagementService.findAllUsers()).thenReturn(data.users());
+
+        final TenantContextHolder tenantContextHolder = new TenantContextHolder() {
+            @Override
+            public Optional<TenantId> getCurrentTenantId() {
+                return Optional.of(new TenantId("benchmark"));
+            }
+        };
+        final WorkingTimeCalendarCache workingTimeCalendarCache =
+            new WorkingTimeCalendarCache(cacheEnabled, 10_000, tenantContextHolder, new SimpleMeterRegistry());
+
+        return new WorkingTimeCalendarServiceImpl(workingTimeService, publicHolidaysService, absenceService, userManagementService, workingTimeCalendarCache, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,67 @@
+package de.focusshift.zeiterfassung.workingtime;
+
+import de.focusshift.zeiterfassung.BenchmarkData;
+import de.focusshift.zeiterfassung.publicholiday.PublicHolidaysBenchmarkFixture;
+import de.focusshift.zeiterfassung.user.UserIdComposite;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calculates the {@link WorkingTimeCalendar}s of all users for a period without the cache, like on a cache miss.
+ * {@code shouldWorkingHours} asks every calendar for every day of the period, like the reports do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WorkingTimeCalendarBenchmark {
+
+    @Param({"100", "500"})
+    private int users;
+
+    @Param({"31"})
+    private int days;
+
+    private BenchmarkData data;
+    private WorkingTimeCalendarService workingTimeCalendarService;
+    private Collection<WorkingTimeCalendar> calendars;
+
+    @Setup
+    public void setUp() {
+        data = BenchmarkData.generate(users, LocalDate.of(2024, 3, 1), days, 0);
+        workingTimeCalendarService = WorkingTimeBenchmarkFixture.workingTimeCalendarService(data,
+            PublicHolidaysBenchmarkFixture.publicHolidaysService(BenchmarkData.FEDERAL_STATE), false);
+        calendars = workingTimeCalendarService.getWorkingTimeCalendarForAllUsers(data.from(), data.toExclusive()).values();
+    }
+
+    @Benchmark
+    public Map<UserIdComposite, WorkingTimeCalendar> workingTimeCalendarForAllUsers() {
+        return workingTimeCalendarService.getWorkingTimeCalendarForAllUsers(data.from(), data.toExclusive());
+    }
+
+    @Benchmark
+    public void shouldWorkingHours(Blackhole blackhole) {
+        for (WorkingTimeCalendar calendar : calendars) {
+            for (LocalDate date = data.from(); date.isBefore(data.toExclusive()); date = date.plusDays(1)) {
+                blackhole.consume(calendar.shouldWorkingHours(date));
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package de.focusshift.zeiterfassung;
+
+/**
+ * Groups a number of users into a few buckets to be used as metric tag with a low cardinality.
+ */
+public final class UserCountBucket {
+
+    private UserCountBucket() {
+    }
+
+    /**
+     * @param users number of users
+     * @return one of {@code 0}, {@code 1}, {@code 2-10}, {@code 11-50}, {@code 51-200}, {@code 201-1000} and {@code 1001+}
+     */
+    public static String of(int users) {
+        if (users <= 1) {
+            return users <= 0 ? "0" : "1";
+        } else if (users <= 10) {
+            return "2-10";
+        } else if (users <= 50) {
+            return "11-50";
+        } else if (users <= 200) {
+            return "51-200";
+        } else if (users <= 1000) {
+            return "201-1000";
+        }
+        return "1001+";
+    }
+}
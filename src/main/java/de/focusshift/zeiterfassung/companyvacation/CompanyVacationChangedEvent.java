@@ -0,0 +1,9 @@
+package de.focusshift.zeiterfassung.companyvacation;
+
+/**
+ * Event dispatched after a company vacation has been added, updated or deleted.
+ *
+ * @param sourceId id of the company vacation in the source system
+ */
+public record CompanyVacationChangedEvent(String sourceId) {
+}
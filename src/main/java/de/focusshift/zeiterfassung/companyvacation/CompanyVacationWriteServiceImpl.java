@@ -1,6 +1,7 @@
 package de.focusshift.zeiterfassung.companyvacation;
 
 import org.slf4j.Logger;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
@@ -15,9 +16,11 @@ class CompanyVacationWriteServiceImpl implements CompanyVacationWriteService {
     private static final Logger LOG = getLogger(lookup().lookupClass());
 
     private final CompanyVacationRepository repository;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
-    CompanyVacationWriteServiceImpl(CompanyVacationRepository repository) {
+    CompanyVacationWriteServiceImpl(CompanyVacationRepository repository, ApplicationEventPublisher applicationEventPublisher) {
         this.repository = repository;
+        this.applicationEventPublisher = applicationEventPublisher;
     }
 
     @Override
@@ -30,6 +33,7 @@ class CompanyVacationWriteServiceImpl implements CompanyVacationWriteService {
 
             final CompanyVacationEntity savedCompanyVacation = repository.save(entity);
             LOG.info("successfully updated company vacation in database. sourceId={}", savedCompanyVacation.getSourceId());
+            applicationEventPublisher.publishEvent(new CompanyVacationChangedEvent(savedCompanyVacation.getSourceId()));
         } else {
             final CompanyVacationEntity entity = new CompanyVacationEntity();
             entity.setSourceId(companyVacation.sourceId());
@@ -39,6 +43,7 @@ class CompanyVacationWriteServiceImpl implements CompanyVacationWriteService {
 
             final CompanyVacationEntity savedCompanyVacation = repository.save(entity);
             LOG.info("successfully added company vacation in database. sourceId={}", savedCompanyVacation.getSourceId());
+            applicationEventPublisher.publishEvent(new CompanyVacationChangedEvent(savedCompanyVacation.getSourceId()));
         }
     }
 
@@ -48,6 +53,7 @@ class CompanyVacationWriteServiceImpl implements CompanyVacationWriteService {
 
         if (deleted) {
             LOG.info("successfully deleted company vacation. sourceId={}", sourceId);
+            applicationEventPublisher.publishEvent(new CompanyVacationChangedEvent(sourceId));
         } else {
             LOG.info("did not delete company vacation. sourceId={}", sourceId);
         }
@@ -0,0 +1,79 @@
+package de.focusshift.zeiterfassung.data.version;
+
+import de.focusshift.zeiterfassung.absence.AbsenceAddedEvent;
+import de.focusshift.zeiterfassung.absence.AbsenceDeletedEvent;
+import de.focusshift.zeiterfassung.absence.AbsenceUpdatedEvent;
+import de.focusshift.zeiterfassung.companyvacation.CompanyVacationChangedEvent;
+import de.focusshift.zeiterfassung.settings.SettingsChangedEvent;
+import de.focusshift.zeiterfassung.workingtime.WorkingTimeCreatedEvent;
+import de.focusshift.zeiterfassung.workingtime.WorkingTimeDeletedEvent;
+import de.focusshift.zeiterfassung.workingtime.WorkingTimeUpdatedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Counts changes of the data without {@code updated_at} column, so that {@link DataVersionRepository} reads one number
+ * instead of hashing all rows.
+ *
+ * <p>
+ * The version is incremented within the changing transaction. A page rendered before the commit therefore never gets
+ * the version of the committed data.
+ */
+@Component
+class DataVersionEventListener {
+
+    private final DataVersionRepository dataVersionRepository;
+
+    DataVersionEventListener(DataVersionRepository dataVersionRepository) {
+        this.dataVersionRepository = dataVersionRepository;
+    }
+
+    @EventListener
+    @Transactional
+    public void on(AbsenceAddedEvent event) {
+        dataVersionRepository.incrementTenantDataVersion();
+    }
+
+    @EventListener
+    @Transactional
+    public void on(AbsenceUpdatedEvent event) {
+        dataVersionRepository.incrementTenantDataVersion();
+    }
+
+    @EventListener
+    @Transactional
+    public void on(AbsenceDeletedEvent event) {
+        dataVersionRepository.incrementTenantDataVersion();
+    }
+
+    @EventListener
+    @Transactional
+    public void on(WorkingTimeCreatedEvent event) {
+        dataVersionRepository.incrementTenantDataVersion();
+    }
+
+    @EventListener
+    @Transactional
+    public void on(WorkingTimeUpdatedEvent event) {
+        dataVersionRepository.incrementTenantDataVersion();
+    }
+
+    @EventListener
+    @Transactional
+    public void on(WorkingTimeDeletedEvent event) {
+        dataVersionRepository.incrementTenantDataVersion();
+    }
+
+    @EventListener
+    @Transactional
+    public void on(CompanyVacationChangedEvent event) {
+        dataVersionRepository.incrementTenantDataVersion();
+    }
+
+    @EventListener
+    @Transactional
+    public void on(SettingsChangedEvent event) {
+        dataVersionRepository.incrementTenantDataVersion();
+    }
+}
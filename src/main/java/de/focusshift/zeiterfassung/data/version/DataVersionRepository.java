@@ -0,0 +1,71 @@
+package de.focusshift.zeiterfassung.data.version;
+
+import de.focusshift.zeiterfassung.timeentry.TimeEntryEntity;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * Aggregates the rows shown by a page into one version within a single read-only query.
+ *
+ * <p>
+ * Time entries and users carry {@code updated_at}, so their number and latest update are enough. Absences, working
+ * times, company vacations and settings have no such column, their changes are counted by {@code tenant_data_version}
+ * instead. Row level security restricts every table to the current tenant.
+ */
+interface DataVersionRepository extends Repository<TimeEntryEntity, Long> {
+
+    String VIEWER_AND_TENANT_VERSIONS = """
+          (SELECT coalesce(max(v.version), 0) FROM tenant_data_version v),
+          (SELECT md5(coalesce(string_agg(CAST(ty AS TEXT), ',' ORDER BY ty.id), '')) FROM absence_type ty),
+          (SELECT md5(coalesce(string_agg(CAST(us AS TEXT), ','), '')) FROM user_settings us
+            WHERE us.tenant_user_local_id = :viewerLocalId),
+          (SELECT md5(coalesce(string_agg(CAST(tc AS TEXT), ',' ORDER BY tc.id), '')) FROM time_clock tc
+            WHERE tc.owner = :viewerId AND tc.stopped_at IS NULL)
+        """;
+
+    /**
+     * Version of the data of the given users within the given period. Contains the number of all time entries of the
+     * users, which is shown by the paginated time entry pages.
+     */
+    @Query(value = """
+        SELECT md5(concat_ws('|',
+          (SELECT count(*) FROM time_entry t
+            WHERE t.owner IN (SELECT u.uuid FROM tenant_user u WHERE u.id IN (:userLocalIds))),
+          (SELECT count(*) || ':' || coalesce(CAST(max(t.updated_at) AS TEXT), '') FROM time_entry t
+            WHERE t.owner IN (SELECT u.uuid FROM tenant_user u WHERE u.id IN (:userLocalIds))
+            AND t.start >= :from AND t.start < :toExclusive),
+          (SELECT count(*) || ':' || coalesce(CAST(max(u.updated_at) AS TEXT), '') FROM tenant_user u
+            WHERE u.id IN (:userLocalIds)),
+        """ + VIEWER_AND_TENANT_VERSIONS + """
+        ))
+        """, nativeQuery = true)
+    String findDataVersionOfUsers(Collection<Long> userLocalIds, Instant from, Instant toExclusive, String viewerId, Long viewerLocalId);
+
+    /**
+     * Version of the data of all users within the given period.
+     */
+    @Query(value = """
+        SELECT md5(concat_ws('|',
+          (SELECT count(*) || ':' || coalesce(CAST(max(t.updated_at) AS TEXT), '') FROM time_entry t
+            WHERE t.start >= :from AND t.start < :toExclusive),
+          (SELECT count(*) || ':' || coalesce(CAST(max(u.updated_at) AS TEXT), '') FROM tenant_user u),
+        """ + VIEWER_AND_TENANT_VERSIONS + """
+        ))
+        """, nativeQuery = true)
+    String findDataVersionOfAllUsers(Instant from, Instant toExclusive, String viewerId, Long viewerLocalId);
+
+    /**
+     * Counts a change of absences, working times, company vacations or settings of the current tenant. Changing
+     * transactions of a tenant wait for each other on the row of the tenant until they are completed.
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO tenant_data_version (tenant_id, version) VALUES (current_setting('app.tenant_id'), 1)
+        ON CONFLICT (tenant_id) DO UPDATE SET version = tenant_data_version.version + 1
+        """, nativeQuery = true)
+    void incrementTenantDataVersion();
+}
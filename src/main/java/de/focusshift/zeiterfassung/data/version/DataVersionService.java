@@ -0,0 +1,35 @@
+package de.focusshift.zeiterfassung.data.version;
+
+import de.focusshift.zeiterfassung.user.UserIdComposite;
+import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * Versions of the data shown by a page, changing whenever the page would show something else.
+ *
+ * <p>
+ * A version covers time entries and names of the viewed users, absences, working times, company vacations, absence
+ * types and settings of the tenant, the settings and running time clock of the viewer and the current date of the
+ * viewer. Computing a version is much cheaper than computing the page.
+ */
+public interface DataVersionService {
+
+    /**
+     * @param viewer user looking at the page
+     * @param from first date of the viewed period
+     * @param toExclusive end of the viewed period
+     * @param userLocalIds viewed users
+     * @return version of the data of the given users within the given period
+     */
+    String getDataVersion(UserIdComposite viewer, LocalDate from, LocalDate toExclusive, Collection<UserLocalId> userLocalIds);
+
+    /**
+     * @param viewer user looking at the page
+     * @param from first date of the viewed period
+     * @param toExclusive end of the viewed period
+     * @return version of the data of all users within the given period
+     */
+    String getDataVersionOfAllUsers(UserIdComposite viewer, LocalDate from, LocalDate toExclusive);
+}
@@ -0,0 +1,65 @@
+package de.focusshift.zeiterfassung.data.version;
+
+import de.focusshift.zeiterfassung.user.UserDateService;
+import de.focusshift.zeiterfassung.user.UserIdComposite;
+import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+
+import static java.time.ZoneOffset.UTC;
+
+@Service
+class DataVersionServiceImpl implements DataVersionService {
+
+    /**
+     * Pages show whole weeks around the viewed period in the time zone of the viewer, so the period is widened by a week
+     * on both sides. A change next to the period changes the version unnecessarily, which is cheaper than missing one.
+     */
+    private static final int PADDING_WEEKS = 1;
+
+    private final DataVersionRepository dataVersionRepository;
+    private final UserDateService userDateService;
+    private final Clock clock;
+
+    DataVersionServiceImpl(DataVersionRepository dataVersionRepository, UserDateService userDateService, Clock clock) {
+        this.dataVersionRepository = dataVersionRepository;
+        this.userDateService = userDateService;
+        this.clock = clock;
+    }
+
+    @Override
+    public String getDataVersion(UserIdComposite viewer, LocalDate from, LocalDate toExclusive, Collection<UserLocalId> userLocalIds) {
+
+        final String dataVersion = dataVersionRepository.findDataVersionOfUsers(
+            userLocalIds.stream().map(UserLocalId::value).toList(),
+            start(from), end(toExclusive), viewer.id().value(), viewer.localId().value());
+
+        return withToday(dataVersion);
+    }
+
+    @Override
+    public String getDataVersionOfAllUsers(UserIdComposite viewer, LocalDate from, LocalDate toExclusive) {
+
+        final String dataVersion = dataVersionRepository.findDataVersionOfAllUsers(
+            start(from), end(toExclusive), viewer.id().value(), viewer.localId().value());
+
+        return withToday(dataVersion);
+    }
+
+    private String withToday(String dataVersion) {
+        // pages highlight today and the current week in the time zone of the viewer or of the server
+        return dataVersion + ":" + userDateService.today() + ":" + LocalDate.now(clock);
+    }
+
+    private static Instant start(LocalDate from) {
+        return from.minusWeeks(PADDING_WEEKS).atStartOfDay(UTC).toInstant();
+    }
+
+    private static Instant end(LocalDate toExclusive) {
+        return toExclusive.plusWeeks(PADDING_WEEKS).atStartOfDay(UTC).toInstant();
+    }
+}
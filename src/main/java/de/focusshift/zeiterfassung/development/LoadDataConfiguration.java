@@ -0,0 +1,37 @@
+package de.focusshift.zeiterfassung.development;
+
+import de.focusshift.zeiterfassung.absence.AbsenceTypeService;
+import de.focusshift.zeiterfassung.absence.AbsenceWriteService;
+import de.focusshift.zeiterfassung.companyvacation.CompanyVacationWriteService;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantService;
+import de.focusshift.zeiterfassung.tenancy.user.TenantUserService;
+import de.focusshift.zeiterfassung.timeentry.TimeEntryService;
+import de.focusshift.zeiterfassung.workingtime.WorkingTimeService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+@Configuration
+@ConditionalOnProperty(value = "zeiterfassung.development.loaddata.create", havingValue = "true")
+@EnableConfigurationProperties(LoadDataProperties.class)
+public class LoadDataConfiguration {
+
+    @Bean
+    LoadDataCreationService loadDataCreationService(TenantContextHolder tenantContextHolder,
+                                                    TenantService tenantService,
+                                                    TenantUserService tenantUserService,
+                                                    TimeEntryService timeEntryService,
+                                                    WorkingTimeService workingTimeService,
+                                                    AbsenceWriteService absenceWriteService,
+                                                    AbsenceTypeService absenceTypeService,
+                                                    CompanyVacationWriteService companyVacationWriteService,
+                                                    LoadDataProperties loadDataProperties,
+                                                    Clock clock) {
+        return new LoadDataCreationService(tenantContextHolder, tenantService, tenantUserService, timeEntryService,
+            workingTimeService, absenceWriteService, absenceTypeService, companyVacationWriteService, loadDataProperties, clock);
+    }
+}
@@ -0,0 +1,390 @@
+package de.focusshift.zeiterfassung.development;
+
+import de.focusshift.zeiterfassung.absence.AbsenceColor;
+import de.focusshift.zeiterfassung.absence.AbsenceTypeCategory;
+import de.focusshift.zeiterfassung.absence.AbsenceTypeService;
+import de.focusshift.zeiterfassung.absence.AbsenceTypeSourceId;
+import de.focusshift.zeiterfassung.absence.AbsenceTypeUpdate;
+import de.focusshift.zeiterfassung.absence.AbsenceWrite;
+import de.focusshift.zeiterfassung.absence.AbsenceWriteService;
+import de.focusshift.zeiterfassung.absence.DayLength;
+import de.focusshift.zeiterfassung.companyvacation.CompanyVacationWrite;
+import de.focusshift.zeiterfassung.companyvacation.CompanyVacationWriteService;
+import de.focusshift.zeiterfassung.publicholiday.FederalState;
+import de.focusshift.zeiterfassung.security.SecurityRole;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantId;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantService;
+import de.focusshift.zeiterfassung.tenancy.user.EMailAddress;
+import de.focusshift.zeiterfassung.tenancy.user.TenantUser;
+import de.focusshift.zeiterfassung.tenancy.user.TenantUserService;
+import de.focusshift.zeiterfassung.timeentry.TimeEntryImport;
+import de.focusshift.zeiterfassung.timeentry.TimeEntryService;
+import de.focusshift.zeiterfassung.user.UserId;
+import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import de.focusshift.zeiterfassung.workingtime.WorkingTimeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.time.DayOfWeek.FRIDAY;
+import static java.time.DayOfWeek.MONDAY;
+import static java.time.DayOfWeek.SATURDAY;
+import static java.time.DayOfWeek.SUNDAY;
+import static java.time.DayOfWeek.THURSDAY;
+import static java.time.DayOfWeek.TUESDAY;
+import static java.time.DayOfWeek.WEDNESDAY;
+import static java.time.ZoneOffset.UTC;
+
+/**
+ * Creates a large dataset for load tests and query plan checks.
+ *
+ * <p>
+ * Creates {@code tenants} tenants with {@code users} users each. Every user gets time entries, absences and working
+ * time changes of the {@code years} years before the {@code anchorDate}, every tenant gets company vacations. The data is created through the
+ * services of the application, time entries of a user are imported in one batch per year. The random data is derived
+ * from the {@code seed} and the number of tenant and user, so the same properties create the same data regardless of
+ * the order users are created in and of the day they are created on. Tenants that already have users are skipped.
+ *
+ * <p>
+ * In single tenant mode the data is created for the default tenant only.
+ */
+class LoadDataCreationService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(lookup().lookupClass());
+
+    private static final ZoneId ZONE_ID_BERLIN = ZoneId.of("Europe/Berlin");
+    private static final long HOLIDAY_TYPE_SOURCE_ID = 1L;
+    private static final Duration LUNCH_BREAK = Duration.ofMinutes(30);
+
+    private static final String[] GIVEN_NAMES = {"Anna", "Max", "Jörg", "Sophie", "Paul", "Marie", "Lukas", "Emma", "Finn", "Mia", "Leon", "Hannah"};
+    private static final String[] FAMILY_NAMES = {"Müller", "Schmidt", "Schneider", "Fischer", "Weber", "Meyer", "Wagner", "Becker", "Schulz", "Hoffmann", "Koch", "Richter"};
+    private static final String[] COMMENTS = {"", "", "Meeting", "Kunden-Workshop", "Jourfix im Team", "Buchhaltung", "Bericht vorbereiten", "Finanzplanung"};
+
+    private final TenantContextHolder tenantContextHolder;
+    private final TenantService tenantService;
+    private final TenantUserService tenantUserService;
+    private final TimeEntryService timeEntryService;
+    private final WorkingTimeService workingTimeService;
+    private final AbsenceWriteService absenceWriteService;
+    private final AbsenceTypeService absenceTypeService;
+    private final CompanyVacationWriteService companyVacationWriteService;
+    private final LoadDataProperties properties;
+    private final Clock clock;
+
+    LoadDataCreationService(TenantContextHolder tenantContextHolder, TenantService tenantService,
+                            TenantUserService tenantUserService, TimeEntryService timeEntryService,
+                            WorkingTimeService workingTimeService, AbsenceWriteService absenceWriteService,
+                            AbsenceTypeService absenceTypeService, CompanyVacationWriteService companyVacationWriteService,
+                            LoadDataProperties properties, Clock clock) {
+        this.tenantContextHolder = tenantContextHolder;
+        this.tenantService = tenantService;
+        this.tenantUserService = tenantUserService;
+        this.timeEntryService = timeEntryService;
+        this.workingTimeService = workingTimeService;
+        this.absenceWriteService = absenceWriteService;
+        this.absenceTypeService = absenceTypeService;
+        this.companyVacationWriteService = companyVacationWriteService;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void createLoadData() {
+
+        // single tenant mode always has the default tenant, multi tenant mode has no tenant outside of requests
+        final List<TenantId> tenantIds = tenantContextHolder.getCurrentTenantId()
+            .map(List::of)
+            .orElseGet(() -> IntStream.rangeClosed(1, properties.tenants())
+                .mapToObj(number -> new TenantId("%s%04d".formatted(properties.tenantIdPrefix(), number)))
+                .toList());
+
+        final LocalDate toExclusive = properties.anchorDate();
+        final LocalDate from = toExclusive.minusYears(properties.years());
+
+        for (int tenantNumber = 0; tenantNumber < tenantIds.size(); tenantNumber++) {
+            final TenantId tenantId = tenantIds.get(tenantNumber);
+            try {
+                createTenant(tenantId, tenantNumber, from, toExclusive);
+            } catch (Exception exception) {
+                LOG.error("Could not create load data of tenantId={}. Continuing with remaining tenants.", tenantId.tenantId(), exception);
+            }
+        }
+    }
+
+    private void createTenant(TenantId tenantId, int tenantNumber, LocalDate from, LocalDate toExclusive) {
+
+        if (tenantService.getTenantByTenantId(tenantId.tenantId()).isEmpty()) {
+            tenantService.create(tenantId.tenantId());
+        }
+
+        tenantContextHolder.runInTenantIdContext(tenantId, passedTenantId -> {
+
+            if (tenantUserService.countUsers() > 0) {
+                LOG.info("tenantId={} already has users, skipping load data", passedTenantId);
+                return;
+            }
+
+            LOG.info("creating load data of tenantId={} with users={} from={} toExclusive={}", passedTenantId, properties.users(), from, toExclusive);
+            final Instant startedAt = Instant.now(clock);
+
+            ensureHolidayAbsenceTypeExists();
+            final Set<LocalDate> companyVacations = createCompanyVacations(random(tenantNumber, -1), from, toExclusive);
+
+            final LongAdder timeEntries = new LongAdder();
+            final LongAdder absences = new LongAdder();
+            final Semaphore permits = new Semaphore(properties.concurrency());
+
+            // close() waits until every user is created
+            try (ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("load-data-", 0).factory())) {
+                for (int userNumber = 0; userNumber < properties.users(); userNumber++) {
+                    final int number = userNumber;
+                    permits.acquireUninterruptibly();
+                    executor.execute(() -> {
+                        try {
+                            tenantContextHolder.runInTenantIdContext(tenantId, () ->
+                                createUser(tenantId, random(tenantNumber, number), number, from, toExclusive, companyVacations, timeEntries, absences));
+                        } catch (Exception exception) {
+                            LOG.error("Could not create load data of user={} of tenantId={}. Continuing with remaining users.", number, passedTenantId, exception);
+                        } finally {
+                            permits.release();
+                        }
+                    });
+                }
+            }
+
+            final Duration duration = Duration.between(startedAt, Instant.now(clock));
+            LOG.info("created load data of tenantId={}: users={} timeEntries={} absences={} companyVacationDays={} duration={}",
+                passedTenantId, properties.users(), timeEntries.sum(), absences.sum(), companyVacations.size(), duration);
+        });
+    }
+
+    private void createUser(TenantId tenantId, Random random, int userNumber, LocalDate from, LocalDate toExclusive,
+                            Set<LocalDate> companyVacations, LongAdder timeEntryCounter, LongAdder absenceCounter) {
+
+        final String givenName = GIVEN_NAMES[random.nextInt(GIVEN_NAMES.length)];
+        final String familyName = FAMILY_NAMES[random.nextInt(FAMILY_NAMES.length)];
+        final String uuid = UUID.nameUUIDFromBytes("%s-%d".formatted(tenantId.tenantId(), userNumber).getBytes()).toString();
+        final EMailAddress email = new EMailAddress("user%d@%s.example.org".formatted(userNumber, tenantId.tenantId()));
+        final Set<SecurityRole> authorities = userNumber == 0
+            ? Set.of(SecurityRole.ZEITERFASSUNG_USER, SecurityRole.ZEITERFASSUNG_VIEW_REPORT_ALL, SecurityRole.ZEITERFASSUNG_WORKING_TIME_EDIT_ALL)
+            : Set.of(SecurityRole.ZEITERFASSUNG_USER);
+
+        final TenantUser user = tenantUserService.createNewUser(uuid, givenName, familyName, email, authorities);
+        final UserLocalId userLocalId = new UserLocalId(user.localId());
+        final UserId userId = new UserId(user.id());
+
+        final NavigableMap<LocalDate, EnumMap<DayOfWeek, Duration>> workingTimes = createWorkingTimes(random, userLocalId, from, toExclusive);
+        final Set<LocalDate> absent = createAbsences(random, userId, user.localId(), from, toExclusive, absenceCounter);
+
+        final List<TimeEntryImport> timeEntries = new ArrayList<>();
+        for (LocalDate date = from; date.isBefore(toExclusive); date = date.plusDays(1)) {
+
+            final Duration planned = workingTimes.floorEntry(date).getValue().get(date.getDayOfWeek());
+            if (!planned.isZero() && !absent.contains(date) && !companyVacations.contains(date)) {
+                timeEntries.addAll(timeEntriesOfDay(random, date, planned));
+            }
+
+            // one batch per year keeps transactions small
+            if (date.getDayOfYear() == date.lengthOfYear() || !date.plusDays(1).isBefore(toExclusive)) {
+                timeEntryService.importTimeEntries(userLocalId, timeEntries);
+                timeEntryCounter.add(timeEntries.size());
+                timeEntries.clear();
+            }
+        }
+    }
+
+    /**
+     * Creates the initial working time and a change of the hours in some years.
+     *
+     * @return planned working hours by the date they are valid from
+     */
+    private NavigableMap<LocalDate, EnumMap<DayOfWeek, Duration>> createWorkingTimes(Random random, UserLocalId userLocalId, LocalDate from, LocalDate toExclusive) {
+
+        final NavigableMap<LocalDate, EnumMap<DayOfWeek, Duration>> workingTimes = new TreeMap<>();
+
+        // initial working time validFrom has to be null
+        final EnumMap<DayOfWeek, Duration> initial = workdays(random);
+        workingTimeService.createWorkingTime(userLocalId, null, FederalState.GLOBAL, null, initial);
+        workingTimes.put(LocalDate.MIN, initial);
+
+        for (int year = from.getYear(); year <= toExclusive.getYear(); year++) {
+            final LocalDate validFrom = LocalDate.of(year, 1, 1).plusDays(random.nextInt(365));
+            if (random.nextInt(10) < 3 && validFrom.isAfter(from) && validFrom.isBefore(toExclusive)) {
+                final EnumMap<DayOfWeek, Duration> changed = workdays(random);
+                workingTimeService.createWorkingTime(userLocalId, validFrom, FederalState.GLOBAL, null, changed);
+                workingTimes.put(validFrom, changed);
+            }
+        }
+
+        return workingTimes;
+    }
+
+    /**
+     * Creates a few holidays, a half day holiday and sick days every year.
+     *
+     * @return dates of full day absences
+     */
+    private Set<LocalDate> createAbsences(Random random, UserId userId, long localId, LocalDate from, LocalDate toExclusive, LongAdder absenceCounter) {
+
+        final Set<LocalDate> absent = new HashSet<>();
+
+        // unique sourceIds per user so absences are not deduplicated across users
+        long sourceId = localId * 10_000L;
+
+        for (int year = from.getYear(); year <= toExclusive.getYear(); year++) {
+            final LocalDate firstOfYear = LocalDate.of(year, 1, 1);
+
+            for (int holiday = 0; holiday < 3; holiday++) {
+                final LocalDate start = firstOfYear.plusDays(random.nextInt(350));
+                final LocalDate end = start.plusDays(random.nextInt(10));
+                sourceId = addAbsence(userId, sourceId, start, end, DayLength.FULL, AbsenceTypeCategory.HOLIDAY, from, toExclusive, absent, absenceCounter);
+            }
+
+            final LocalDate halfDay = firstOfYear.plusDays(random.nextInt(360));
+            sourceId = addAbsence(userId, sourceId, halfDay, halfDay, DayLength.MORNING, AbsenceTypeCategory.HOLIDAY, from, toExclusive, absent, absenceCounter);
+
+            for (int sick = random.nextInt(4); sick > 0; sick--) {
+                final LocalDate start = firstOfYear.plusDays(random.nextInt(360));
+                sourceId = addAbsence(userId, sourceId, start, start.plusDays(random.nextInt(5)), DayLength.FULL, AbsenceTypeCategory.SICK, from, toExclusive, absent, absenceCounter);
+            }
+        }
+
+        return absent;
+    }
+
+    private long addAbsence(UserId userId, long sourceId, LocalDate start, LocalDate endInclusive, DayLength dayLength,
+                            AbsenceTypeCategory category, LocalDate from, LocalDate toExclusive,
+                            Set<LocalDate> absent, LongAdder absenceCounter) {
+
+        if (endInclusive.isBefore(from) || !start.isBefore(toExclusive)) {
+            return sourceId;
+        }
+
+        final AbsenceTypeSourceId absenceTypeSourceId = category == AbsenceTypeCategory.HOLIDAY ? new AbsenceTypeSourceId(HOLIDAY_TYPE_SOURCE_ID) : null;
+        absenceWriteService.addAbsence(new AbsenceWrite(sourceId, userId, toInstant(start), toInstant(endInclusive), dayLength, null, category, absenceTypeSourceId));
+        absenceCounter.increment();
+
+        if (dayLength == DayLength.FULL) {
+            start.datesUntil(endInclusive.plusDays(1)).forEach(absent::add);
+        }
+
+        return sourceId + 1;
+    }
+
+    /**
+     * Creates christmas eve, new year's eve and a bridge day in may as company vacations every year.
+     *
+     * @return dates of the company vacations
+     */
+    private Set<LocalDate> createCompanyVacations(Random random, LocalDate from, LocalDate toExclusive) {
+
+        final Set<LocalDate> companyVacations = new HashSet<>();
+
+        for (int year = from.getYear(); year <= toExclusive.getYear(); year++) {
+            final List<LocalDate> dates = List.of(LocalDate.of(year, 12, 24), LocalDate.of(year, 12, 31), LocalDate.of(year, 5, 1).plusDays(random.nextInt(30)));
+            for (int index = 0; index < dates.size(); index++) {
+                final LocalDate date = dates.get(index);
+                if (!date.isBefore(from) && date.isBefore(toExclusive)) {
+                    final Instant start = toInstant(date);
+                    companyVacationWriteService.addOrUpdateCompanyVacation(start, new CompanyVacationWrite("load-%d-%d".formatted(year, index), start, start, DayLength.FULL));
+                    companyVacations.add(date);
+                }
+            }
+        }
+
+        return companyVacations;
+    }
+
+    private void ensureHolidayAbsenceTypeExists() {
+        if (absenceTypeService.findAllByAbsenceTypeSourceIds(List.of(HOLIDAY_TYPE_SOURCE_ID)).isEmpty()) {
+            absenceTypeService.updateAbsenceType(new AbsenceTypeUpdate(
+                HOLIDAY_TYPE_SOURCE_ID,
+                AbsenceTypeCategory.HOLIDAY,
+                AbsenceColor.BLUE,
+                Map.of(Locale.GERMAN, "Urlaub", Locale.ENGLISH, "Holiday")
+            ));
+        }
+    }
+
+    /**
+     * Splits the planned working hours of a day, varied by up to half an hour, into work entries with a lunch break
+     * after the first half of them.
+     */
+    private List<TimeEntryImport> timeEntriesOfDay(Random random, LocalDate date, Duration planned) {
+
+        final int entriesPerDay = properties.entriesPerDay();
+        final int workEntries = entriesPerDay == 1 ? 1 : entriesPerDay - 1;
+        final Duration work = planned.plusMinutes(15L * (random.nextInt(5) - 2)).dividedBy(workEntries);
+
+        final List<TimeEntryImport> timeEntries = new ArrayList<>(entriesPerDay);
+        ZonedDateTime start = date.atTime(7, 0).plusMinutes(15L * random.nextInt(9)).atZone(ZONE_ID_BERLIN);
+
+        for (int entry = 0; entry < workEntries; entry++) {
+            final ZonedDateTime end = start.plus(work);
+            timeEntries.add(new TimeEntryImport(COMMENTS[random.nextInt(COMMENTS.length)], start, end, false));
+            start = end;
+
+            if (entriesPerDay > 1 && entry == (workEntries - 1) / 2) {
+                final ZonedDateTime breakEnd = start.plus(LUNCH_BREAK);
+                timeEntries.add(new TimeEntryImport(null, start, breakEnd, true));
+                start = breakEnd;
+            }
+        }
+
+        return timeEntries;
+    }
+
+    /**
+     * @return 40 hours from monday to friday, or 30 hours from monday to thursday for every fifth working time
+     */
+    private static EnumMap<DayOfWeek, Duration> workdays(Random random) {
+        final boolean partTime = random.nextInt(5) == 0;
+        final Duration hours = partTime ? Duration.ofMinutes(450) : Duration.ofHours(8);
+        return new EnumMap<>(Map.of(
+            MONDAY, hours,
+            TUESDAY, hours,
+            WEDNESDAY, hours,
+            THURSDAY, hours,
+            FRIDAY, partTime ? Duration.ZERO : hours,
+            SATURDAY, Duration.ZERO,
+            SUNDAY, Duration.ZERO
+        ));
+    }
+
+    private Random random(int tenantNumber, int userNumber) {
+        return new Random(31 * (31 * properties.seed() + tenantNumber) + userNumber);
+    }
+
+    private static Instant toInstant(LocalDate date) {
+        return date.atStartOfDay().toInstant(UTC);
+    }
+}
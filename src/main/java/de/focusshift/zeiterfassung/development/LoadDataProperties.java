@@ -0,0 +1,36 @@
+package de.focusshift.zeiterfassung.development;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.LocalDate;
+
+/**
+ * @param create whether the load data is created on application start
+ * @param tenants number of tenants, only used in multi tenant mode
+ * @param tenantIdPrefix prefix of the created tenant ids, followed by the number of the tenant
+ * @param users number of users per tenant
+ * @param years number of years of time entries, absences, working time changes and company vacations until the anchor date
+ * @param anchorDate end of the created data (exclusive), fixed so that the same properties create the same data on every day
+ * @param entriesPerDay number of time entries per user and workday, including the lunch break
+ * @param seed seed of the random data, the same seed creates the same data
+ * @param concurrency maximum number of users created at the same time
+ */
+@Validated
+@ConfigurationProperties("zeiterfassung.development.loaddata")
+public record LoadDataProperties(
+    boolean create,
+    @DefaultValue("1") @Min(1) int tenants,
+    @DefaultValue("load") @NotBlank String tenantIdPrefix,
+    @DefaultValue("100") @Min(1) int users,
+    @DefaultValue("1") @Min(1) int years,
+    @DefaultValue("2026-01-01") @NotNull LocalDate anchorDate,
+    @DefaultValue("4") @Min(1) int entriesPerDay,
+    @DefaultValue("42") long seed,
+    @DefaultValue("4") @Min(1) int concurrency
+) {
+}
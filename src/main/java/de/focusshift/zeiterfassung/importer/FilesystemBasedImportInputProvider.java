@@ -1,15 +1,33 @@
 package de.focusshift.zeiterfassung.importer;
 
-import de.focusshift.zeiterfassung.importer.model.TenantExport;
+import de.focusshift.zeiterfassung.importer.model.UserExport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
 import tools.jackson.databind.json.JsonMapper;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import static java.util.Spliterator.NONNULL;
+import static java.util.Spliterator.ORDERED;
+
+/**
+ * Reads the export from the filesystem with a streaming parser. Users are deserialized one by one while they are
+ * consumed, therefore {@code tenantId} has to precede {@code users} in the export, like it does in exports written
+ * by Jackson from a {@link de.focusshift.zeiterfassung.importer.model.TenantExport}.
+ */
 class FilesystemBasedImportInputProvider implements ImportInputProvider {
 
     private static final Logger LOG = LoggerFactory.getLogger(FilesystemBasedImportInputProvider.class);
@@ -23,13 +41,102 @@ class FilesystemBasedImportInputProvider implements ImportInputProvider {
     }
 
     @Override
-    public Optional<TenantExport> fromExport() {
+    public Optional<TenantExportStream> openExport() {
         LOG.info("Going to read users to import from file={}", this.path.toAbsolutePath());
-        try (FileInputStream fos = new FileInputStream(path.toFile())) {
-            return Optional.of(jsonMapper.readValue(fos, TenantExport.class));
+
+        final InputStream inputStream;
+        try {
+            inputStream = new FileInputStream(path.toFile());
         } catch (IOException e) {
+            LOG.error("Error occurred while opening the export file", e);
+            return Optional.empty();
+        }
+
+        // closing the parser closes the input stream, too
+        final JsonParser parser;
+        try {
+            parser = jsonMapper.createParser(inputStream);
+        } catch (JacksonException e) {
+            closeQuietly(inputStream);
             LOG.error("Error occurred while deserializing the JSON object", e);
             return Optional.empty();
         }
+
+        try {
+            return Optional.of(readExport(parser));
+        } catch (JacksonException | IllegalStateException e) {
+            parser.close();
+            LOG.error("Error occurred while deserializing the JSON object", e);
+            return Optional.empty();
+        }
+    }
+
+    private TenantExportStream readExport(JsonParser parser) {
+
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IllegalStateException("expected export to be a JSON object");
+        }
+
+        String tenantId = null;
+        Instant exportedAt = null;
+
+        while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+            final String name = parser.currentName();
+            final JsonToken valueToken = parser.nextToken();
+            switch (name) {
+                case "tenantId" -> tenantId = parser.getValueAsString();
+                case "exportedAt" -> exportedAt = jsonMapper.readValue(parser, Instant.class);
+                case "users" -> {
+                    if (tenantId == null) {
+                        throw new IllegalStateException("expected tenantId to precede users in export");
+                    }
+                    if (valueToken != JsonToken.START_ARRAY) {
+                        throw new IllegalStateException("expected users to be a JSON array");
+                    }
+                    return new TenantExportStream(tenantId, exportedAt, users(parser));
+                }
+                default -> parser.skipChildren();
+            }
+        }
+
+        parser.close();
+        if (tenantId == null) {
+            throw new IllegalStateException("expected export to contain a tenantId");
+        }
+        return new TenantExportStream(tenantId, exportedAt, Stream.empty());
+    }
+
+    private Stream<UserExport> users(JsonParser parser) {
+
+        final Iterator<UserExport> iterator = new Iterator<>() {
+
+            private JsonToken next = parser.nextToken();
+
+            @Override
+            public boolean hasNext() {
+                return next == JsonToken.START_OBJECT;
+            }
+
+            @Override
+            public UserExport next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                final UserExport user = jsonMapper.readValue(parser, UserExport.class);
+                next = parser.nextToken();
+                return user;
+            }
+        };
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, ORDERED | NONNULL), false)
+            .onClose(parser::close);
+    }
+
+    private static void closeQuietly(InputStream inputStream) {
+        try {
+            inputStream.close();
+        } catch (IOException e) {
+            LOG.debug("Could not close export file", e);
+        }
     }
 }
@@ -1,9 +1,13 @@
 package de.focusshift.zeiterfassung.importer;
 
-import de.focusshift.zeiterfassung.importer.model.TenantExport;
-
 import java.util.Optional;
 
 interface ImportInputProvider {
-    Optional<TenantExport> fromExport();
+
+    /**
+     * Opens the export. Users are read lazily while the returned stream is consumed.
+     *
+     * @return the opened export, empty if there is no readable export
+     */
+    Optional<TenantExportStream> openExport();
 }
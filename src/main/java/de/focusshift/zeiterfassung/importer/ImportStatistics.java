@@ -0,0 +1,42 @@
+package de.focusshift.zeiterfassung.importer;
+
+import de.focusshift.zeiterfassung.importer.model.UserExport;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts imported data of a tenant import. Users are imported concurrently, therefore all counters are thread safe.
+ */
+class ImportStatistics {
+
+    private final LongAdder users = new LongAdder();
+    private final LongAdder failedUsers = new LongAdder();
+    private final LongAdder timeEntries = new LongAdder();
+    private final LongAdder timeClocks = new LongAdder();
+
+    void userImported(UserExport user) {
+        users.increment();
+        timeEntries.add(user.timeEntries().size());
+        timeClocks.add(user.timeClocks().size());
+    }
+
+    void userFailed() {
+        failedUsers.increment();
+    }
+
+    long users() {
+        return users.sum();
+    }
+
+    long failedUsers() {
+        return failedUsers.sum();
+    }
+
+    long timeEntries() {
+        return timeEntries.sum();
+    }
+
+    long timeClocks() {
+        return timeClocks.sum();
+    }
+}
@@ -0,0 +1,23 @@
+package de.focusshift.zeiterfassung.importer;
+
+import de.focusshift.zeiterfassung.importer.model.UserExport;
+import jakarta.annotation.Nullable;
+
+import java.time.Instant;
+import java.util.stream.Stream;
+
+/**
+ * Export of a tenant whose users are read while they are consumed, so only the users currently being imported
+ * are kept in memory. The stream of users must be closed to release the underlying export.
+ *
+ * @param tenantId id of the exported tenant
+ * @param exportedAt point in time of the export, if known
+ * @param users exported users in order of the export
+ */
+record TenantExportStream(String tenantId, @Nullable Instant exportedAt, Stream<UserExport> users) implements AutoCloseable {
+
+    @Override
+    public void close() {
+        users.close();
+    }
+}
@@ -13,6 +13,8 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import tools.jackson.databind.json.JsonMapper;
 
+import java.time.Clock;
+
 @Configuration
 @ConditionalOnProperty(prefix = "zeiterfassung.tenant.import", name = "enabled", havingValue = "true")
 @EnableConfigurationProperties(TenantImportConfigurationProperties.class)
@@ -31,8 +33,11 @@ public class TenantImportConfiguration {
                                                     TimeClockService timeClockService,
                                                     TimeEntryService timeEntryService,
                                                     WorkingTimeService workingTimeService,
-                                                    ImportInputProvider importInputProvider) {
+                                                    ImportInputProvider importInputProvider,
+                                                    TenantImportConfigurationProperties tenantImportConfigurationProperties,
+                                                    Clock clock) {
         return new TenantImporterComponent(tenantContextHolder, tenantService, tenantUserService,
-            overtimeAccountService, timeClockService, timeEntryService, workingTimeService, importInputProvider);
+            overtimeAccountService, timeClockService, timeEntryService, workingTimeService, importInputProvider,
+            tenantImportConfigurationProperties.concurrency(), clock);
     }
 }
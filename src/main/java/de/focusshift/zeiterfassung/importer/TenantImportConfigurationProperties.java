@@ -1,10 +1,23 @@
 package de.focusshift.zeiterfassung.importer;
 
 
+import jakarta.validation.constraints.Min;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
 
+/**
+ * @param enabled whether the import runs on application start
+ * @param filesystem location of the export
+ * @param concurrency maximum number of users imported at the same time
+ */
+@Validated
 @ConfigurationProperties(prefix = "zeiterfassung.tenant.import")
-public record TenantImportConfigurationProperties(boolean enabled, FilesystemBased filesystem) {
+public record TenantImportConfigurationProperties(
+    boolean enabled,
+    FilesystemBased filesystem,
+    @DefaultValue("4") @Min(1) int concurrency
+) {
 
     public record FilesystemBased(String path) {
     }
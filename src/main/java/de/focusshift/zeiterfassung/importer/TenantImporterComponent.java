@@ -16,6 +16,7 @@ import de.focusshift.zeiterfassung.tenancy.user.TenantUser;
 import de.focusshift.zeiterfassung.tenancy.user.TenantUserService;
 import de.focusshift.zeiterfassung.timeclock.TimeClock;
 import de.focusshift.zeiterfassung.timeclock.TimeClockService;
+import de.focusshift.zeiterfassung.timeentry.TimeEntryImport;
 import de.focusshift.zeiterfassung.timeentry.TimeEntryService;
 import de.focusshift.zeiterfassung.user.UserId;
 import de.focusshift.zeiterfassung.user.UserIdComposite;
@@ -28,15 +29,21 @@ import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Async;
 
+import java.time.Clock;
 import java.time.DayOfWeek;
 import java.time.Duration;
+import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static java.time.DayOfWeek.FRIDAY;
 import static java.time.DayOfWeek.MONDAY;
@@ -46,6 +53,14 @@ import static java.time.DayOfWeek.THURSDAY;
 import static java.time.DayOfWeek.TUESDAY;
 import static java.time.DayOfWeek.WEDNESDAY;
 
+/**
+ * Imports the users of a tenant from an export of another zeiterfassung instance.
+ *
+ * <p>
+ * The export is read while it is imported. Users are imported on virtual threads, at most {@code concurrency} users
+ * at the same time. Time entries and time clocks of a user are saved in one batch and instead of an event per
+ * time entry one event per user is published. A summary with the throughput is logged when the import is finished.
+ */
 class TenantImporterComponent {
 
     private static final Logger LOG = LoggerFactory.getLogger(TenantImporterComponent.class);
@@ -59,11 +74,14 @@ class TenantImporterComponent {
     private final TimeEntryService timeEntryService;
     private final WorkingTimeService workingTimeService;
     private final ImportInputProvider importInputProvider;
+    private final int concurrency;
+    private final Clock clock;
 
     TenantImporterComponent(TenantContextHolder tenantContextHolder, TenantService tenantService,
                                    TenantUserService tenantUserService, OvertimeAccountService overtimeAccountService,
                                    TimeClockService timeClockService, TimeEntryService timeEntryService,
-                                   WorkingTimeService workingTimeService, ImportInputProvider importInputProvider) {
+                                   WorkingTimeService workingTimeService, ImportInputProvider importInputProvider,
+                                   int concurrency, Clock clock) {
         this.tenantContextHolder = tenantContextHolder;
         this.tenantService = tenantService;
         this.tenantUserService = tenantUserService;
@@ -72,52 +90,93 @@ class TenantImporterComponent {
         this.timeEntryService = timeEntryService;
         this.workingTimeService = workingTimeService;
         this.importInputProvider = importInputProvider;
+        this.concurrency = concurrency;
+        this.clock = clock;
     }
 
     @Async
     @EventListener(ApplicationReadyEvent.class)
     public void runImport() {
 
-        importInputProvider.fromExport().ifPresentOrElse(importerData -> {
+        final Optional<TenantExportStream> maybeExport = importInputProvider.openExport();
+        if (maybeExport.isEmpty()) {
+            LOG.info("No export file found");
+            return;
+        }
 
-            final TenantId tenantId = new TenantId(importerData.tenantId());
+        try (TenantExportStream importerData = maybeExport.get()) {
+            runImport(importerData);
+        }
+    }
 
-            if (importerData.tenantId().equalsIgnoreCase("default")) {
-                LOG.warn("tenantId={} is default, please adjust tenantId!", tenantId.tenantId());
-                return;
-            }
+    private void runImport(TenantExportStream importerData) {
 
-            if (tenantService.getTenantByTenantId(tenantId.tenantId()).isEmpty()) {
-                LOG.warn("tenantId={} not found, skipping import", tenantId.tenantId());
-                return;
-            }
+        final TenantId tenantId = new TenantId(importerData.tenantId());
 
-            LOG.info("Found existing tenantId={} - going to import users", tenantId.tenantId());
+        if (importerData.tenantId().equalsIgnoreCase("default")) {
+            LOG.warn("tenantId={} is default, please adjust tenantId!", tenantId.tenantId());
+            return;
+        }
 
-            tenantContextHolder.runInTenantIdContext(tenantId, passedTenantId -> {
-                try {
-                    if (!tenantUserService.findAllUsers().isEmpty()) {
-                        LOG.info("tenantId={} already has users, skipping import", passedTenantId);
-                        return;
-                    }
-                    LOG.info("tenantId={} has no users, starting import {} users!", passedTenantId, importerData.users().size());
-                    importerData.users().forEach(userToImport -> {
-                        try {
-                            importUser(userToImport, new TenantId(passedTenantId));
-                        } catch (Exception exception) {
-                            LOG.error("Unexpected error while importing user={} of tenantId={}. Continuing with remaining users.", userToImport.user().externalId(), passedTenantId, exception);
-                        }
-                    });
-                    LOG.info("finished importing {} users of tenantId={}", importerData.users().size(), passedTenantId);
-                } catch (Exception e) {
-                    LOG.error("Error occurred while importing users", e);
+        if (tenantService.getTenantByTenantId(tenantId.tenantId()).isEmpty()) {
+            LOG.warn("tenantId={} not found, skipping import", tenantId.tenantId());
+            return;
+        }
+
+        LOG.info("Found existing tenantId={} - going to import users", tenantId.tenantId());
+
+        tenantContextHolder.runInTenantIdContext(tenantId, passedTenantId -> {
+            try {
+                if (!tenantUserService.findAllUsers().isEmpty()) {
+                    LOG.info("tenantId={} already has users, skipping import", passedTenantId);
+                    return;
                 }
-            });
+                LOG.info("tenantId={} has no users, starting import of users with concurrency={}!", passedTenantId, concurrency);
+                final ImportStatistics statistics = new ImportStatistics();
+                final Instant startedAt = Instant.now(clock);
+                importUsers(importerData.users(), new TenantId(passedTenantId), statistics);
+                logSummary(passedTenantId, statistics, Duration.between(startedAt, Instant.now(clock)));
+            } catch (Exception e) {
+                LOG.error("Error occurred while importing users", e);
+            }
+        });
 
+        LOG.info("Finished import for tenant={}", tenantId.tenantId());
+    }
 
-            LOG.info("Finished import for tenant={}", tenantId.tenantId());
+    private void importUsers(Stream<UserExport> users, TenantId tenantId, ImportStatistics statistics) {
+
+        if (concurrency == 1) {
+            users.forEach(userToImport -> importUser(userToImport, tenantId, statistics));
+            return;
+        }
+
+        final Semaphore permits = new Semaphore(concurrency);
+
+        // close() waits until every submitted user is imported
+        try (ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("tenant-import-", 0).factory())) {
+            users.forEach(userToImport -> {
+                // acquired before the next user is read from the export, so at most concurrency users are kept in memory
+                permits.acquireUninterruptibly();
+                executor.execute(() -> {
+                    try {
+                        tenantContextHolder.runInTenantIdContext(tenantId, () -> importUser(userToImport, tenantId, statistics));
+                    } finally {
+                        permits.release();
+                    }
+                });
+            });
+        }
+    }
 
-        }, () -> LOG.info("No export file found"));
+    private void importUser(UserExport userToImport, TenantId tenantId, ImportStatistics statistics) {
+        try {
+            importUser(userToImport, tenantId);
+            statistics.userImported(userToImport);
+        } catch (Exception exception) {
+            statistics.userFailed();
+            LOG.error("Unexpected error while importing user={} of tenantId={}. Continuing with remaining users.", userToImport.user().externalId(), tenantId.tenantId(), exception);
+        }
     }
 
     private void importUser(UserExport userToImport, TenantId tenantId) {
@@ -138,6 +197,13 @@ class TenantImporterComponent {
         LOG.info("imported user={} of tenantId={}", user.externalId(), tenantId.tenantId());
     }
 
+    private static void logSummary(String tenantId, ImportStatistics statistics, Duration duration) {
+        final double seconds = Math.max(duration.toMillis(), 1) / 1000d;
+        LOG.info("finished importing users of tenantId={}: users={} failedUsers={} timeEntries={} timeClocks={} duration={} usersPerSecond={} timeEntriesPerSecond={}",
+            tenantId, statistics.users(), statistics.failedUsers(), statistics.timeEntries(), statistics.timeClocks(), duration,
+            "%.1f".formatted(statistics.users() / seconds), "%.1f".formatted(statistics.timeEntries() / seconds));
+    }
+
     private TenantUser user(UserDTO user, TenantId tenantId) {
         LOG.info("creating user={} of tenantId={}", user.externalId(), tenantId.tenantId());
         return tenantUserService.createNewUser(user.externalId(), user.givenName(), user.familyName(), new EMailAddress(user.eMail()), user.authorities().stream().map(SecurityRole::valueOf).collect(Collectors.toSet()));
@@ -145,7 +211,10 @@ class TenantImporterComponent {
 
     private void timeClocks(TenantId tenantId, UserId externalUserId, List<TimeClockDTO> timeClockDTOS) {
         LOG.info("creating {} timeClocks of user={} of tenantId={}", timeClockDTOS.size(), externalUserId.value(), tenantId.tenantId());
-        timeClockDTOS.forEach(timeClock -> timeClockService.importTimeClock(new TimeClock(null, externalUserId, adjustWithDefaultTimeZone(timeClock.startedAt()), timeClock.comment(), timeClock.isBreak(), adjustWithDefaultTimeZone(timeClock.stoppedAt()))));
+        final List<TimeClock> timeClocks = timeClockDTOS.stream()
+            .map(timeClock -> new TimeClock(null, externalUserId, adjustWithDefaultTimeZone(timeClock.startedAt()), timeClock.comment(), timeClock.isBreak(), adjustWithDefaultTimeZone(timeClock.stoppedAt())))
+            .toList();
+        timeClockService.importTimeClocks(timeClocks);
         LOG.info("created timeClocks of user={} of tenantId={}", externalUserId.value(), tenantId.tenantId());
     }
 
@@ -155,7 +224,10 @@ class TenantImporterComponent {
         final UserLocalId userLocalId = userIdComposite.localId();
 
         LOG.info("creating {} timeEntries of user={} of tenantId={}", timeEntryDTOS.size(), userId.value(), tenantId.tenantId());
-        timeEntryDTOS.forEach(timeEntry -> timeEntryService.createTimeEntry(userLocalId, timeEntry.comment(), adjustWithDefaultTimeZone(timeEntry.start()), adjustWithDefaultTimeZone(timeEntry.end()), timeEntry.isBreak()));
+        final List<TimeEntryImport> timeEntries = timeEntryDTOS.stream()
+            .map(timeEntry -> new TimeEntryImport(timeEntry.comment(), adjustWithDefaultTimeZone(timeEntry.start()), adjustWithDefaultTimeZone(timeEntry.end()), timeEntry.isBreak()))
+            .toList();
+        timeEntryService.importTimeEntries(userLocalId, timeEntries);
         LOG.info("created timeEntries of user={} of tenantId={}", userId.value(), tenantId.tenantId());
     }
 
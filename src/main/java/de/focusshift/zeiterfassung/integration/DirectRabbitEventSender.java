@@ -0,0 +1,21 @@
+package de.focusshift.zeiterfassung.integration;
+
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Sends events synchronously with the {@link RabbitTemplate} in the thread of the caller.
+ */
+class DirectRabbitEventSender implements RabbitEventSender {
+
+    private final ObjectProvider<RabbitTemplate> rabbitTemplate;
+
+    DirectRabbitEventSender(ObjectProvider<RabbitTemplate> rabbitTemplate) {
+        this.rabbitTemplate = rabbitTemplate;
+    }
+
+    @Override
+    public void send(String exchange, String routingKey, Object event) {
+        rabbitTemplate.getObject().convertAndSend(exchange, routingKey, event);
+    }
+}
@@ -0,0 +1,20 @@
+package de.focusshift.zeiterfassung.integration;
+
+/**
+ * Sends integration events of zeiterfassung to RabbitMQ.
+ *
+ * <p>
+ * Depending on {@code zeiterfassung.integration.outbox.enabled} the event is either sent directly to the broker
+ * or written to the outbox and sent later on by a background dispatcher.
+ */
+public interface RabbitEventSender {
+
+    /**
+     * Sends the given event to the exchange with the routing key.
+     *
+     * @param exchange the exchange to send the event to
+     * @param routingKey the routing key of the event
+     * @param event the event, converted with the configured message converter
+     */
+    void send(String exchange, String routingKey, Object event);
+}
@@ -0,0 +1,21 @@
+package de.focusshift.zeiterfassung.integration;
+
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+class RabbitEventSenderConfiguration {
+
+    /**
+     * RabbitTemplate is only available when rabbitmq is configured, which is only required when at least one
+     * integration is enabled. Therefore, the template is resolved lazily on the first event.
+     */
+    @Bean
+    @ConditionalOnProperty(value = "zeiterfassung.integration.outbox.enabled", havingValue = "false", matchIfMissing = true)
+    RabbitEventSender directRabbitEventSender(ObjectProvider<RabbitTemplate> rabbitTemplate) {
+        return new DirectRabbitEventSender(rabbitTemplate);
+    }
+}
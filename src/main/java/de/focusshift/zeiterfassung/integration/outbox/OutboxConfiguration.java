@@ -0,0 +1,44 @@
+package de.focusshift.zeiterfassung.integration.outbox;
+
+import de.focusshift.zeiterfassung.integration.RabbitEventSender;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+@Configuration
+@ConditionalOnProperty(value = "zeiterfassung.integration.outbox.enabled", havingValue = "true")
+@EnableConfigurationProperties(OutboxProperties.class)
+class OutboxConfiguration {
+
+    @Bean
+    RabbitEventSender outboxRabbitEventSender(
+        OutboxMessageRepository outboxMessageRepository,
+        MessageConverter messageConverter,
+        Clock clock,
+        MeterRegistry meterRegistry
+    ) {
+        return new OutboxRabbitEventSender(outboxMessageRepository, messageConverter, clock, meterRegistry);
+    }
+
+    @Bean
+    OutboxDispatcher outboxDispatcher(
+        OutboxMessageRepository outboxMessageRepository,
+        RabbitTemplate rabbitTemplate,
+        OutboxProperties properties,
+        Clock clock,
+        MeterRegistry meterRegistry
+    ) {
+        return new OutboxDispatcher(outboxMessageRepository, rabbitTemplate, properties, clock, meterRegistry);
+    }
+
+    @Bean
+    OutboxDispatchScheduler outboxDispatchScheduler(OutboxDispatcher outboxDispatcher, OutboxProperties properties) {
+        return new OutboxDispatchScheduler(outboxDispatcher, properties);
+    }
+}
@@ -0,0 +1,24 @@
+package de.focusshift.zeiterfassung.integration.outbox;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+class OutboxDispatchScheduler {
+
+    private final OutboxDispatcher outboxDispatcher;
+    private final OutboxProperties properties;
+
+    OutboxDispatchScheduler(OutboxDispatcher outboxDispatcher, OutboxProperties properties) {
+        this.outboxDispatcher = outboxDispatcher;
+        this.properties = properties;
+    }
+
+    // no SchedulerLock required, messages locked by another instance are skipped.
+    // drains the outbox as long as full batches are confirmed, stops at the first failure to back off.
+    @Scheduled(fixedDelayString = "${zeiterfassung.integration.outbox.dispatch-interval:PT1S}")
+    void scheduledDispatch() {
+        int dispatched;
+        do {
+            dispatched = outboxDispatcher.dispatch();
+        } while (dispatched >= properties.batchSize());
+    }
+}
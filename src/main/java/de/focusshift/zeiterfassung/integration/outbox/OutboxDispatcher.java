@@ -0,0 +1,183 @@
+package de.focusshift.zeiterfassung.integration.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+import static org.springframework.amqp.support.converter.AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME;
+
+/**
+ * Sends the messages of the outbox to RabbitMQ in batches.
+ *
+ * <p>
+ * All messages of a batch are sent first, then the dispatcher waits for the publisher confirms of the broker.
+ * Therefore, at most {@link OutboxProperties#batchSize()} messages are in flight. Confirmed messages are deleted,
+ * every other message is retried with an exponential backoff. Messages are sent at least once, consumers
+ * have to handle duplicates by the id of the event. When publisher confirms are not enabled on the connection
+ * factory ({@code spring.rabbitmq.publisher-confirm-type=correlated}) a message is considered sent
+ * as soon as it has been written to the channel.
+ */
+class OutboxDispatcher {
+
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
+    private final OutboxMessageRepository repository;
+    private final RabbitTemplate rabbitTemplate;
+    private final OutboxProperties properties;
+    private final Clock clock;
+
+    private final MeterRegistry meterRegistry;
+    private final Counter confirmed;
+    private final Counter failed;
+    private final Timer dispatchTimer;
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    OutboxDispatcher(OutboxMessageRepository repository, RabbitTemplate rabbitTemplate, OutboxProperties properties, Clock clock, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.properties = properties;
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+        this.confirmed = Counter.builder("zeiterfassung.outbox.dispatched")
+            .description("Number of outbox messages sent to the broker")
+            .tag("outcome", "confirmed")
+            .register(meterRegistry);
+        this.failed = Counter.builder("zeiterfassung.outbox.dispatched")
+            .description("Number of outbox messages sent to the broker")
+            .tag("outcome", "failed")
+            .register(meterRegistry);
+        this.dispatchTimer = Timer.builder("zeiterfassung.outbox.dispatch")
+            .description("Duration of sending a batch of outbox messages including publisher confirms")
+            .register(meterRegistry);
+        TimeGauge.builder("zeiterfassung.outbox.lag", lagMillis, MILLISECONDS, AtomicLong::get)
+            .description("Age of the oldest outbox message due to be sent")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Sends the next batch of due messages.
+     *
+     * @return number of messages confirmed by the broker
+     */
+    @Transactional
+    public int dispatch() {
+
+        final Instant now = Instant.now(clock);
+        final List<OutboxMessageEntity> messages = repository.findNextBatchForUpdate(now, properties.batchSize());
+
+        lagMillis.set(messages.isEmpty() ? 0 : Duration.between(messages.getFirst().getCreatedAt(), now).toMillis());
+        if (messages.isEmpty()) {
+            return 0;
+        }
+
+        final Timer.Sample sample = Timer.start(meterRegistry);
+
+        final Map<OutboxMessageEntity, CorrelationData> sent = new LinkedHashMap<>();
+        for (OutboxMessageEntity message : messages) {
+            final CorrelationData correlationData = new CorrelationData(String.valueOf(message.getId()));
+            try {
+                rabbitTemplate.send(message.getExchange(), message.getRoutingKey(), toMessage(message), correlationData);
+                sent.put(message, correlationData);
+            } catch (AmqpException e) {
+                retryLater(message, now, e.getMessage());
+            }
+        }
+
+        final List<Long> confirmedIds = new ArrayList<>();
+        final boolean publisherConfirms = isPublisherConfirms();
+        final Instant deadline = Instant.now(clock).plus(properties.confirmTimeout());
+
+        for (Map.Entry<OutboxMessageEntity, CorrelationData> entry : sent.entrySet()) {
+            final OutboxMessageEntity message = entry.getKey();
+            final String error = publisherConfirms ? awaitConfirm(entry.getValue(), deadline) : null;
+            if (error == null) {
+                confirmedIds.add(message.getId());
+            } else {
+                retryLater(message, now, error);
+            }
+        }
+
+        if (!confirmedIds.isEmpty()) {
+            repository.deleteAllByIdIn(confirmedIds);
+            confirmed.increment(confirmedIds.size());
+        }
+
+        sample.stop(dispatchTimer);
+
+        LOG.debug("dispatched {} of {} outbox messages", confirmedIds.size(), messages.size());
+        return confirmedIds.size();
+    }
+
+    /**
+     * @return {@code null} when the message has been confirmed, the reason otherwise
+     */
+    private String awaitConfirm(CorrelationData correlationData, Instant deadline) {
+        final long remainingMillis = Math.max(0, Duration.between(Instant.now(clock), deadline).toMillis());
+        try {
+            final CorrelationData.Confirm confirm = correlationData.getFuture().get(remainingMillis, MILLISECONDS);
+            return confirm.isAck() ? null : "nack: %s".formatted(confirm.getReason());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "interrupted while waiting for publisher confirm";
+        } catch (ExecutionException e) {
+            return e.getCause() == null ? e.getMessage() : e.getCause().getMessage();
+        } catch (TimeoutException e) {
+            return "no publisher confirm within %s".formatted(properties.confirmTimeout());
+        }
+    }
+
+    private void retryLater(OutboxMessageEntity message, Instant now, String error) {
+        final Instant nextAttemptAt = now.plus(backoff(message.getAttempts() + 1));
+        message.failed(nextAttemptAt, error);
+        failed.increment();
+        LOG.warn("could not send outbox message id={} exchange={} routingKey={} attempt={}, retry at {}: {}",
+            message.getId(), message.getExchange(), message.getRoutingKey(), message.getAttempts(), nextAttemptAt, error);
+    }
+
+    private Duration backoff(int attempt) {
+        final Duration initial = properties.initialBackoff();
+        final Duration max = properties.maxBackoff();
+        // shift is limited to prevent an overflow, max is reached long before anyway
+        final Duration backoff = initial.multipliedBy(1L << Math.min(attempt - 1, 20));
+        return backoff.compareTo(max) > 0 ? max : backoff;
+    }
+
+    private boolean isPublisherConfirms() {
+        final ConnectionFactory connectionFactory = rabbitTemplate.getConnectionFactory();
+        return connectionFactory != null && connectionFactory.isPublisherConfirms();
+    }
+
+    private static Message toMessage(OutboxMessageEntity entity) {
+        final MessageProperties messageProperties = new MessageProperties();
+        messageProperties.setContentType(entity.getContentType());
+        messageProperties.setContentEncoding(entity.getContentEncoding());
+        messageProperties.setMessageId(String.valueOf(entity.getId()));
+        if (entity.getTypeId() != null) {
+            messageProperties.setHeader(DEFAULT_CLASSID_FIELD_NAME, entity.getTypeId());
+        }
+        return new Message(entity.getBody(), messageProperties);
+    }
+}
@@ -0,0 +1,161 @@
+package de.focusshift.zeiterfassung.integration.outbox;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Message waiting to be sent to RabbitMQ. The body is already converted, so the dispatcher does not have to know
+ * anything about the event.
+ *
+ * <p>
+ * Outbox messages are not tenant aware. The tenant is part of the event and the routing key already,
+ * and the dispatcher has to see the messages of all tenants.
+ */
+@Entity
+@Table(name = "outbox_message")
+public class OutboxMessageEntity {
+
+    @Id
+    @Column(name = "id", unique = true, nullable = false, updatable = false)
+    @SequenceGenerator(name = "outbox_message_seq", sequenceName = "outbox_message_seq", allocationSize = 1)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_message_seq")
+    private Long id;
+
+    @Column(name = "exchange", nullable = false, updatable = false)
+    private String exchange;
+
+    @Column(name = "routing_key", nullable = false, updatable = false)
+    private String routingKey;
+
+    @Column(name = "body", nullable = false, updatable = false)
+    private byte[] body;
+
+    @Column(name = "content_type", updatable = false)
+    private String contentType;
+
+    @Column(name = "content_encoding", updatable = false)
+    private String contentEncoding;
+
+    @Column(name = "type_id", updatable = false)
+    private String typeId;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    protected OutboxMessageEntity() {
+        // for jpa
+    }
+
+    OutboxMessageEntity(String exchange, String routingKey, byte[] body, String contentType, String contentEncoding, String typeId, Instant createdAt) {
+        this.exchange = exchange;
+        this.routingKey = routingKey;
+        this.body = body;
+        this.contentType = contentType;
+        this.contentEncoding = contentEncoding;
+        this.typeId = typeId;
+        this.createdAt = createdAt;
+        this.attempts = 0;
+        this.nextAttemptAt = createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getExchange() {
+        return exchange;
+    }
+
+    public String getRoutingKey() {
+        return routingKey;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getContentEncoding() {
+        return contentEncoding;
+    }
+
+    public String getTypeId() {
+        return typeId;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public Instant getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    /**
+     * Records a failed attempt to send this message.
+     *
+     * @param nextAttemptAt the message is not sent again before this instant
+     * @param error the reason of the failure
+     */
+    void failed(Instant nextAttemptAt, String error) {
+        this.attempts = attempts + 1;
+        this.nextAttemptAt = nextAttemptAt;
+        this.lastError = error == null ? null : error.substring(0, Math.min(error.length(), 1024));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        OutboxMessageEntity that = (OutboxMessageEntity) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "OutboxMessageEntity{" +
+            "id=" + id +
+            ", exchange='" + exchange + '\'' +
+            ", routingKey='" + routingKey + '\'' +
+            ", attempts=" + attempts +
+            ", nextAttemptAt=" + nextAttemptAt +
+            '}';
+    }
+}
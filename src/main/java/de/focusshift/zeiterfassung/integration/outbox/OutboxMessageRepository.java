@@ -0,0 +1,29 @@
+package de.focusshift.zeiterfassung.integration.outbox;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+interface OutboxMessageRepository extends CrudRepository<OutboxMessageEntity, Long> {
+
+    /**
+     * Finds the oldest messages due to be sent and locks them until the end of the transaction.
+     * Messages locked by another dispatcher (e.g. of another application instance) are skipped.
+     */
+    @Query(value = """
+        SELECT * FROM outbox_message
+        WHERE next_attempt_at <= :now
+        ORDER BY id
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+    """, nativeQuery = true)
+    List<OutboxMessageEntity> findNextBatchForUpdate(Instant now, int limit);
+
+    @Modifying
+    @Query("DELETE FROM OutboxMessageEntity m WHERE m.id IN :ids")
+    int deleteAllByIdIn(Collection<Long> ids);
+}
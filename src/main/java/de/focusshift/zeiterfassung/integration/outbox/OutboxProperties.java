@@ -0,0 +1,30 @@
+package de.focusshift.zeiterfassung.integration.outbox;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * @param enabled whether integration events are written to the outbox and sent by the dispatcher,
+ *                or sent directly to RabbitMQ in the thread publishing the domain event
+ * @param batchSize maximum number of messages sent before waiting for the publisher confirms of the broker
+ * @param dispatchInterval delay between two runs of the dispatcher
+ * @param confirmTimeout maximum time to wait for the publisher confirms of a batch
+ * @param initialBackoff delay before the first retry of a message that could not be sent, doubled on every further attempt
+ * @param maxBackoff upper limit of the delay between two attempts of a message
+ */
+@Validated
+@ConfigurationProperties("zeiterfassung.integration.outbox")
+record OutboxProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("100") @Min(1) int batchSize,
+    @DefaultValue("PT1S") @NotNull Duration dispatchInterval,
+    @DefaultValue("PT5S") @NotNull Duration confirmTimeout,
+    @DefaultValue("PT1S") @NotNull Duration initialBackoff,
+    @DefaultValue("PT5M") @NotNull Duration maxBackoff
+) {
+}
@@ -0,0 +1,57 @@
+package de.focusshift.zeiterfassung.integration.outbox;
+
+import de.focusshift.zeiterfassung.integration.RabbitEventSender;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Instant;
+
+import static org.springframework.amqp.support.converter.AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME;
+
+/**
+ * Writes events to the outbox instead of sending them to the broker. The message joins the transaction of the
+ * caller if there is one, so the event is only sent when the change it describes has been committed.
+ * Sending is done by the {@link OutboxDispatcher}.
+ */
+class OutboxRabbitEventSender implements RabbitEventSender {
+
+    private final OutboxMessageRepository repository;
+    private final MessageConverter messageConverter;
+    private final Clock clock;
+    private final Counter enqueued;
+
+    OutboxRabbitEventSender(OutboxMessageRepository repository, MessageConverter messageConverter, Clock clock, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.messageConverter = messageConverter;
+        this.clock = clock;
+        this.enqueued = Counter.builder("zeiterfassung.outbox.enqueued")
+            .description("Number of integration events written to the outbox")
+            .register(meterRegistry);
+    }
+
+    @Override
+    @Transactional
+    public void send(String exchange, String routingKey, Object event) {
+
+        final Message message = messageConverter.toMessage(event, new MessageProperties());
+        final MessageProperties properties = message.getMessageProperties();
+        final Object typeId = properties.getHeader(DEFAULT_CLASSID_FIELD_NAME);
+
+        repository.save(new OutboxMessageEntity(
+            exchange,
+            routingKey,
+            message.getBody(),
+            properties.getContentType(),
+            properties.getContentEncoding(),
+            typeId == null ? null : typeId.toString(),
+            Instant.now(clock)
+        ));
+
+        enqueued.increment();
+    }
+}
@@ -1,12 +1,12 @@
 package de.focusshift.zeiterfassung.integration.overtime;
 
+import de.focusshift.zeiterfassung.integration.RabbitEventSender;
 import de.focusshift.zeiterfassung.overtime.OvertimeHours;
 import de.focusshift.zeiterfassung.overtime.events.UserHasWorkedOvertimeEvent;
 import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
 import de.focusshift.zeiterfassung.tenancy.tenant.TenantId;
 import de.focusshift.zeiterfassung.user.UserIdComposite;
 import org.slf4j.Logger;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.context.event.EventListener;
 
 import java.time.LocalDate;
@@ -19,16 +19,16 @@ class OvertimeRabbitEventPublisher {
 
     private static final Logger LOG = getLogger(lookup().lookupClass());
 
-    private final RabbitTemplate rabbitTemplate;
+    private final RabbitEventSender rabbitEventSender;
     private final TenantContextHolder tenantContextHolder;
     private final OvertimeRabbitmqConfigurationProperties overtimeRabbitmqConfigurationProperties;
 
     OvertimeRabbitEventPublisher(
-        RabbitTemplate rabbitTemplate,
+        RabbitEventSender rabbitEventSender,
         TenantContextHolder tenantContextHolder,
         OvertimeRabbitmqConfigurationProperties overtimeRabbitmqConfigurationProperties
     ) {
-        this.rabbitTemplate = rabbitTemplate;
+        this.rabbitEventSender = rabbitEventSender;
         this.tenantContextHolder = tenantContextHolder;
         this.overtimeRabbitmqConfigurationProperties = overtimeRabbitmqConfigurationProperties;
     }
@@ -59,6 +59,6 @@ class OvertimeRabbitEventPublisher {
         final String routingKey = overtimeRabbitmqConfigurationProperties.getRoutingKeyEntered().formatted(tenantId.tenantId());
 
         LOG.info("publish rabbit OvertimeEvent id={} tenantId={} user={} date={} to topic={}", overtimeRabbitEvent.id(), tenantId.tenantId(), userIdComposite, date, topic);
-        rabbitTemplate.convertAndSend(topic, routingKey, overtimeRabbitEvent);
+        rabbitEventSender.send(topic, routingKey, overtimeRabbitEvent);
     }
 }
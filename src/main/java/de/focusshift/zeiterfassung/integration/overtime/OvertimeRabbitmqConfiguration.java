@@ -1,9 +1,9 @@
 package de.focusshift.zeiterfassung.integration.overtime;
 
 
+import de.focusshift.zeiterfassung.integration.RabbitEventSender;
 import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
 import org.springframework.amqp.core.TopicExchange;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -16,11 +16,11 @@ class OvertimeRabbitmqConfiguration {
 
     @Bean
     public OvertimeRabbitEventPublisher overtimeRabbitEventPublisher(
-        RabbitTemplate rabbitTemplate,
+        RabbitEventSender rabbitEventSender,
         TenantContextHolder tenantContextHolder,
         OvertimeRabbitmqConfigurationProperties properties
     ) {
-        return new OvertimeRabbitEventPublisher(rabbitTemplate, tenantContextHolder, properties);
+        return new OvertimeRabbitEventPublisher(rabbitEventSender, tenantContextHolder, properties);
     }
 
     @Configuration
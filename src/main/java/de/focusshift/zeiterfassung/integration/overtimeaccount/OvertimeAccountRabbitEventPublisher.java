@@ -1,10 +1,10 @@
 package de.focusshift.zeiterfassung.integration.overtimeaccount;
 
+import de.focusshift.zeiterfassung.integration.RabbitEventSender;
 import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
 import de.focusshift.zeiterfassung.user.UserIdComposite;
 import de.focusshift.zeiterfassung.usermanagement.OvertimeAccountUpdatedEvent;
 import org.slf4j.Logger;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.context.event.EventListener;
 
 import java.util.UUID;
@@ -16,16 +16,16 @@ class OvertimeAccountRabbitEventPublisher {
 
     private static final Logger LOG = getLogger(lookup().lookupClass());
 
-    private final RabbitTemplate rabbitTemplate;
+    private final RabbitEventSender rabbitEventSender;
     private final TenantContextHolder tenantContextHolder;
     private final OvertimeAccountRabbitmqConfigurationProperties properties;
 
     OvertimeAccountRabbitEventPublisher(
-        RabbitTemplate rabbitTemplate,
+        RabbitEventSender rabbitEventSender,
         TenantContextHolder tenantContextHolder,
         OvertimeAccountRabbitmqConfigurationProperties properties
     ) {
-        this.rabbitTemplate = rabbitTemplate;
+        this.rabbitEventSender = rabbitEventSender;
         this.tenantContextHolder = tenantContextHolder;
         this.properties = properties;
     }
@@ -48,7 +48,7 @@ class OvertimeAccountRabbitEventPublisher {
                 final String routingKey = properties.routingKeyUpdated().formatted(tenantId.tenantId());
 
                 LOG.info("publish rabbit OvertimeAccountUpdatedEvent id={} tenantId={} user={} to topic={}", rabbitEvent.id(), tenantId.tenantId(), userIdComposite, topic);
-                rabbitTemplate.convertAndSend(topic, routingKey, rabbitEvent);
+                rabbitEventSender.send(topic, routingKey, rabbitEvent);
             },
             () -> LOG.error("Cannot publish overtime account updated event for user={} without tenantId.", userIdComposite)
         );
@@ -1,8 +1,8 @@
 package de.focusshift.zeiterfassung.integration.overtimeaccount;
 
+import de.focusshift.zeiterfassung.integration.RabbitEventSender;
 import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
 import org.springframework.amqp.core.TopicExchange;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -15,11 +15,11 @@ class OvertimeAccountRabbitmqConfiguration {
 
     @Bean
     public OvertimeAccountRabbitEventPublisher overtimeAccountRabbitEventPublisher(
-        RabbitTemplate rabbitTemplate,
+        RabbitEventSender rabbitEventSender,
         TenantContextHolder tenantContextHolder,
         OvertimeAccountRabbitmqConfigurationProperties properties
     ) {
-        return new OvertimeAccountRabbitEventPublisher(rabbitTemplate, tenantContextHolder, properties);
+        return new OvertimeAccountRabbitEventPublisher(rabbitEventSender, tenantContextHolder, properties);
     }
 
     @Configuration
@@ -1,11 +1,11 @@
 package de.focusshift.zeiterfassung.integration.timeclock;
 
+import de.focusshift.zeiterfassung.integration.RabbitEventSender;
 import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
 import de.focusshift.zeiterfassung.timeclock.TimeClockStartedEvent;
 import de.focusshift.zeiterfassung.timeclock.TimeClockStoppedEvent;
 import de.focusshift.zeiterfassung.timeclock.TimeClockUpdatedEvent;
 import org.slf4j.Logger;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.context.event.EventListener;
 
 import java.util.UUID;
@@ -17,16 +17,16 @@ class TimeClockRabbitEventPublisher {
 
     private static final Logger LOG = getLogger(lookup().lookupClass());
 
-    private final RabbitTemplate rabbitTemplate;
+    private final RabbitEventSender rabbitEventSender;
     private final TenantContextHolder tenantContextHolder;
     private final TimeClockRabbitmqConfigurationProperties properties;
 
     TimeClockRabbitEventPublisher(
-        RabbitTemplate rabbitTemplate,
+        RabbitEventSender rabbitEventSender,
         TenantContextHolder tenantContextHolder,
         TimeClockRabbitmqConfigurationProperties properties
     ) {
-        this.rabbitTemplate = rabbitTemplate;
+        this.rabbitEventSender = rabbitEventSender;
         this.tenantContextHolder = tenantContextHolder;
         this.properties = properties;
     }
@@ -48,7 +48,7 @@ class TimeClockRabbitEventPublisher {
                 final String routingKey = properties.routingKeyStarted().formatted(tenantId.tenantId());
 
                 LOG.info("publish rabbit TimeClockStartedEvent id={} tenantId={} user={} to topic={}", rabbitEvent.id(), tenantId.tenantId(), event.userId(), topic);
-                rabbitTemplate.convertAndSend(topic, routingKey, rabbitEvent);
+                rabbitEventSender.send(topic, routingKey, rabbitEvent);
             },
             () -> LOG.error("Cannot publish time clock started event for user={} without tenantId.", event.userId())
         );
@@ -71,7 +71,7 @@ class TimeClockRabbitEventPublisher {
                 final String routingKey = properties.routingKeyUpdated().formatted(tenantId.tenantId());
 
                 LOG.info("publish rabbit TimeClockUpdatedEvent id={} tenantId={} user={} to topic={}", rabbitEvent.id(), tenantId.tenantId(), event.userId(), topic);
-                rabbitTemplate.convertAndSend(topic, routingKey, rabbitEvent);
+                rabbitEventSender.send(topic, routingKey, rabbitEvent);
             },
             () -> LOG.error("Cannot publish time clock updated event for user={} without tenantId.", event.userId())
         );
@@ -95,7 +95,7 @@ class TimeClockRabbitEventPublisher {
                 final String routingKey = properties.routingKeyStopped().formatted(tenantId.tenantId());
 
                 LOG.info("publish rabbit TimeClockStoppedEvent id={} tenantId={} user={} to topic={}", rabbitEvent.id(), tenantId.tenantId(), event.userId(), topic);
-                rabbitTemplate.convertAndSend(topic, routingKey, rabbitEvent);
+                rabbitEventSender.send(topic, routingKey, rabbitEvent);
             },
             () -> LOG.error("Cannot publish time clock stopped event for user={} without tenantId.", event.userId())
         );
@@ -1,8 +1,8 @@
 package de.focusshift.zeiterfassung.integration.timeclock;
 
+import de.focusshift.zeiterfassung.integration.RabbitEventSender;
 import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
 import org.springframework.amqp.core.TopicExchange;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -15,11 +15,11 @@ class TimeClockRabbitmqConfiguration {
 
     @Bean
     public TimeClockRabbitEventPublisher timeClockRabbitEventPublisher(
-        RabbitTemplate rabbitTemplate,
+        RabbitEventSender rabbitEventSender,
         TenantContextHolder tenantContextHolder,
         TimeClockRabbitmqConfigurationProperties properties
     ) {
-        return new TimeClockRabbitEventPublisher(rabbitTemplate, tenantContextHolder, properties);
+        return new TimeClockRabbitEventPublisher(rabbitEventSender, tenantContextHolder, properties);
     }
 
     @Configuration
@@ -1,12 +1,12 @@
 package de.focusshift.zeiterfassung.integration.timeentry;
 
+import de.focusshift.zeiterfassung.integration.RabbitEventSender;
 import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
 import de.focusshift.zeiterfassung.timeentry.events.TimeEntryCreatedEvent;
 import de.focusshift.zeiterfassung.timeentry.events.TimeEntryDeletedEvent;
 import de.focusshift.zeiterfassung.timeentry.events.TimeEntryUpdatedEvent;
 import de.focusshift.zeiterfassung.user.UserIdComposite;
 import org.slf4j.Logger;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.context.event.EventListener;
 
 import java.time.LocalDate;
@@ -19,16 +19,16 @@ class TimeEntryRabbitEventPublisher {
 
     private static final Logger LOG = getLogger(lookup().lookupClass());
 
-    private final RabbitTemplate rabbitTemplate;
+    private final RabbitEventSender rabbitEventSender;
     private final TenantContextHolder tenantContextHolder;
     private final TimeEntryRabbitmqConfigurationProperties properties;
 
     TimeEntryRabbitEventPublisher(
-        RabbitTemplate rabbitTemplate,
+        RabbitEventSender rabbitEventSender,
         TenantContextHolder tenantContextHolder,
         TimeEntryRabbitmqConfigurationProperties properties
     ) {
-        this.rabbitTemplate = rabbitTemplate;
+        this.rabbitEventSender = rabbitEventSender;
         this.tenantContextHolder = tenantContextHolder;
         this.properties = properties;
     }
@@ -50,7 +50,7 @@ class TimeEntryRabbitEventPublisher {
                 final String routingKey = properties.routingKeyCreated().formatted(tenantId.tenantId());
 
                 LOG.info("publish rabbit TimeEntryCreatedEvent id={} tenantId={} user={} date={} to topic={}", rabbitEvent.id(), tenantId.tenantId(), event.ownerUserIdComposite(), event.date(), topic);
-                rabbitTemplate.convertAndSend(topic, routingKey, rabbitEvent);
+                rabbitEventSender.send(topic, routingKey, rabbitEvent);
             },
             () -> LOG.error("Cannot publish time entry created event for date={} user={} without tenantId.", event.date(), event.ownerUserIdComposite())
         );
@@ -76,7 +76,7 @@ class TimeEntryRabbitEventPublisher {
                 final String routingKey = properties.routingKeyUpdated().formatted(tenantId.tenantId());
 
                 LOG.info("publish rabbit TimeEntryUpdatedEvent id={} tenantId={} user={} date={} to topic={}", rabbitEvent.id(), tenantId.tenantId(), userIdComposite, date, topic);
-                rabbitTemplate.convertAndSend(topic, routingKey, rabbitEvent);
+                rabbitEventSender.send(topic, routingKey, rabbitEvent);
             },
             () -> LOG.error("Cannot publish time entry updated event for date={} user={} without tenantId.", date, userIdComposite)
         );
@@ -99,7 +99,7 @@ class TimeEntryRabbitEventPublisher {
                 final String routingKey = properties.routingKeyDeleted().formatted(tenantId.tenantId());
 
                 LOG.info("publish rabbit TimeEntryDeletedEvent id={} tenantId={} user={} date={} to topic={}", rabbitEvent.id(), tenantId.tenantId(), event.ownerUserIdComposite(), event.date(), topic);
-                rabbitTemplate.convertAndSend(topic, routingKey, rabbitEvent);
+                rabbitEventSender.send(topic, routingKey, rabbitEvent);
             },
             () -> LOG.error("Cannot publish time entry deleted event for date={} user={} without tenantId.", event.date(), event.ownerUserIdComposite())
         );
@@ -1,12 +1,12 @@
 package de.focusshift.zeiterfassung.integration.workingtime;
 
+import de.focusshift.zeiterfassung.integration.RabbitEventSender;
 import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
 import de.focusshift.zeiterfassung.user.UserIdComposite;
 import de.focusshift.zeiterfassung.workingtime.WorkingTimeCreatedEvent;
 import de.focusshift.zeiterfassung.workingtime.WorkingTimeDeletedEvent;
 import de.focusshift.zeiterfassung.workingtime.WorkingTimeUpdatedEvent;
 import org.slf4j.Logger;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.context.event.EventListener;
 
 import java.time.DayOfWeek;
@@ -21,16 +21,16 @@ class WorkingTimeRabbitEventPublisher {
 
     private static final Logger LOG = getLogger(lookup().lookupClass());
 
-    private final RabbitTemplate rabbitTemplate;
+    private final RabbitEventSender rabbitEventSender;
     private final TenantContextHolder tenantContextHolder;
     private final WorkingTimeRabbitmqConfigurationProperties properties;
 
     WorkingTimeRabbitEventPublisher(
-        RabbitTemplate rabbitTemplate,
+        RabbitEventSender rabbitEventSender,
         TenantContextHolder tenantContextHolder,
         WorkingTimeRabbitmqConfigurationProperties properties
     ) {
-        this.rabbitTemplate = rabbitTemplate;
+        this.rabbitEventSender = rabbitEventSender;
         this.tenantContextHolder = tenantContextHolder;
         this.properties = properties;
     }
@@ -62,7 +62,7 @@ class WorkingTimeRabbitEventPublisher {
                 final String routingKey = properties.routingKeyCreated().formatted(tenantId.tenantId());
 
                 LOG.info("publish rabbit WorkingTimeCreatedEvent id={} tenantId={} user={} to topic={}", rabbitEvent.id(), tenantId.tenantId(), userIdComposite, topic);
-                rabbitTemplate.convertAndSend(topic, routingKey, rabbitEvent);
+                rabbitEventSender.send(topic, routingKey, rabbitEvent);
             },
             () -> LOG.error("Cannot publish working time created event for user={} without tenantId.", userIdComposite)
         );
@@ -95,7 +95,7 @@ class WorkingTimeRabbitEventPublisher {
                 final String routingKey = properties.routingKeyUpdated().formatted(tenantId.tenantId());
 
                 LOG.info("publish rabbit WorkingTimeUpdatedEvent id={} tenantId={} user={} to topic={}", rabbitEvent.id(), tenantId.tenantId(), userIdComposite, topic);
-                rabbitTemplate.convertAndSend(topic, routingKey, rabbitEvent);
+                rabbitEventSender.send(topic, routingKey, rabbitEvent);
             },
             () -> LOG.error("Cannot publish working time updated event for user={} without tenantId.", userIdComposite)
         );
@@ -118,7 +118,7 @@ class WorkingTimeRabbitEventPublisher {
                 final String routingKey = properties.routingKeyDeleted().formatted(tenantId.tenantId());
 
                 LOG.info("publish rabbit WorkingTimeDeletedEvent id={} tenantId={} user={} to topic={}", rabbitEvent.id(), tenantId.tenantId(), userIdComposite, topic);
-                rabbitTemplate.convertAndSend(topic, routingKey, rabbitEvent);
+                rabbitEventSender.send(topic, routingKey, rabbitEvent);
             },
             () -> LOG.error("Cannot publish working time deleted event for user={} without tenantId.", userIdComposite)
         );
@@ -1,8 +1,8 @@
 package de.focusshift.zeiterfassung.integration.workingtime;
 
+import de.focusshift.zeiterfassung.integration.RabbitEventSender;
 import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
 import org.springframework.amqp.core.TopicExchange;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -15,11 +15,11 @@ class WorkingTimeRabbitmqConfiguration {
 
     @Bean
     public WorkingTimeRabbitEventPublisher workingTimeRabbitEventPublisher(
-        RabbitTemplate rabbitTemplate,
+        RabbitEventSender rabbitEventSender,
         TenantContextHolder tenantContextHolder,
         WorkingTimeRabbitmqConfigurationProperties properties
     ) {
-        return new WorkingTimeRabbitEventPublisher(rabbitTemplate, tenantContextHolder, properties);
+        return new WorkingTimeRabbitEventPublisher(rabbitEventSender, tenantContextHolder, properties);
     }
 
     @Configuration
@@ -0,0 +1,122 @@
+package de.focusshift.zeiterfassung.overtime;
+
+import de.focusshift.zeiterfassung.tenancy.tenant.AbstractTenantAwareEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Entity
+@Table(name = "overtime_day")
+public class OvertimeDayEntity extends AbstractTenantAwareEntity {
+
+    @Id
+    @Column(name = "id", unique = true, nullable = false, updatable = false)
+    @SequenceGenerator(name = "overtime_day_seq", sequenceName = "overtime_day_seq", allocationSize = 1)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "overtime_day_seq")
+    private Long id;
+
+    @Column(name = "tenant_user_local_id", nullable = false, updatable = false)
+    private Long tenantUserLocalId;
+
+    @Column(name = "date", nullable = false, updatable = false)
+    private LocalDate date;
+
+    @Column(name = "worked_seconds", nullable = false)
+    private long workedSeconds;
+
+    @Column(name = "should_seconds", nullable = false)
+    private long shouldSeconds;
+
+    @Column(name = "delta_seconds", nullable = false)
+    private long deltaSeconds;
+
+    /**
+     * running sum of {@link #deltaSeconds} of all days of the user up to and including {@link #date}.
+     */
+    @Column(name = "balance_seconds", nullable = false)
+    private long balanceSeconds;
+
+    protected OvertimeDayEntity() {
+        super(null);
+    }
+
+    OvertimeDayEntity(Long tenantUserLocalId, LocalDate date) {
+        super(null);
+        this.tenantUserLocalId = tenantUserLocalId;
+        this.date = date;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getTenantUserLocalId() {
+        return tenantUserLocalId;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public Duration getWorked() {
+        return Duration.ofSeconds(workedSeconds);
+    }
+
+    public void setWorked(Duration worked) {
+        this.workedSeconds = worked.toSeconds();
+    }
+
+    public Duration getShould() {
+        return Duration.ofSeconds(shouldSeconds);
+    }
+
+    public void setShould(Duration should) {
+        this.shouldSeconds = should.toSeconds();
+    }
+
+    public Duration getDelta() {
+        return Duration.ofSeconds(deltaSeconds);
+    }
+
+    public void setDelta(Duration delta) {
+        this.deltaSeconds = delta.toSeconds();
+    }
+
+    public Duration getBalance() {
+        return Duration.ofSeconds(balanceSeconds);
+    }
+
+    public void setBalance(Duration balance) {
+        this.balanceSeconds = balance.toSeconds();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        OvertimeDayEntity that = (OvertimeDayEntity) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "OvertimeDayEntity{" +
+            "id=" + id +
+            ", tenantUserLocalId=" + tenantUserLocalId +
+            ", date=" + date +
+            '}';
+    }
+}
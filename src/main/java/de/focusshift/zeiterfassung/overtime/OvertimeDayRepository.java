@@ -0,0 +1,68 @@
+package de.focusshift.zeiterfassung.overtime;
+
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+interface OvertimeDayRepository extends CrudRepository<OvertimeDayEntity, Long> {
+
+    /**
+     * Acquires a transaction scoped lock for the ledger of the user within the current tenant. Concurrent updates of
+     * the same ledger wait until the lock holding transaction has been finished, otherwise they would calculate the
+     * running balance from the same previous days and overwrite each other.
+     */
+    @Query(value = """
+        SELECT 1 FROM pg_advisory_xact_lock(
+          hashtextextended('overtime_day:' || coalesce(current_setting('app.tenant_id', true), '') || ':' || :tenantUserLocalId, 0)
+        )
+    """, nativeQuery = true)
+    Integer lockLedgerOfUser(Long tenantUserLocalId);
+
+    List<OvertimeDayEntity> findAllByTenantUserLocalIdInAndDateIn(Collection<Long> tenantUserLocalIds, Collection<LocalDate> dates);
+
+    /**
+     * Finds all ledger days of the user within the inclusive interval from and to, sorted by date.
+     */
+    List<OvertimeDayEntity> findAllByTenantUserLocalIdAndDateBetweenOrderByDate(Long tenantUserLocalId, LocalDate from, LocalDate to);
+
+    List<OvertimeDayEntity> findAllByDateBetween(LocalDate from, LocalDate to);
+
+    Optional<OvertimeDayEntity> findFirstByTenantUserLocalIdAndDateBeforeOrderByDateDesc(Long tenantUserLocalId, LocalDate date);
+
+    Optional<OvertimeDayEntity> findFirstByTenantUserLocalIdOrderByDateAsc(Long tenantUserLocalId);
+
+    Optional<OvertimeDayEntity> findFirstByTenantUserLocalIdOrderByDateDesc(Long tenantUserLocalId);
+
+    /**
+     * Shifts the balance of all ledger days of the user after the given date.
+     * Required to keep the running sum consistent after deltas of previous days have been changed.
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE OvertimeDayEntity e
+        SET e.balanceSeconds = e.balanceSeconds + :seconds
+        WHERE e.tenantUserLocalId = :tenantUserLocalId
+          AND e.date > :date
+    """)
+    int shiftBalanceAfter(Long tenantUserLocalId, LocalDate date, long seconds);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM OvertimeDayEntity e WHERE e.tenantUserLocalId = :tenantUserLocalId")
+    int deleteAllByTenantUserLocalId(Long tenantUserLocalId);
+
+    /**
+     * Deletes all ledger days of the current tenant, other tenants are protected by row level security.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM OvertimeDayEntity e")
+    int deleteAllDays();
+}
@@ -1,6 +1,7 @@
 package de.focusshift.zeiterfassung.overtime;
 
 import de.focusshift.zeiterfassung.timeentry.ShouldWorkingHours;
+import de.focusshift.zeiterfassung.timeentry.TimeEntryDay;
 import de.focusshift.zeiterfassung.workduration.WorkDuration;
 import de.focusshift.zeiterfassung.workingtime.ZeitDuration;
 
@@ -20,6 +21,17 @@ public record OvertimeHours(Duration duration) implements ZeitDuration {
     public static final OvertimeHours EIGHT_POSITIVE = new OvertimeHours(Duration.ofHours(8));
     public static final OvertimeHours EIGHT_NEGATIVE = new OvertimeHours(Duration.ofHours(8).negated());
 
+    /**
+     * Creates {@linkplain OvertimeHours} of the given {@linkplain TimeEntryDay}, which is the difference between
+     * {@linkplain TimeEntryDay#workDuration()} and {@linkplain TimeEntryDay#shouldWorkingHours()}.
+     *
+     * @param timeEntryDay day to calculate the overtime for, not null
+     * @return the {@linkplain OvertimeHours} of the given day
+     */
+    public static OvertimeHours of(TimeEntryDay timeEntryDay) {
+        return new OvertimeHours(timeEntryDay.workDuration().duration().minus(timeEntryDay.shouldWorkingHours().duration()));
+    }
+
     public boolean isNegative() {
         return duration.isNegative();
     }
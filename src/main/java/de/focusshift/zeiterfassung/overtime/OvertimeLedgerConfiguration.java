@@ -0,0 +1,9 @@
+package de.focusshift.zeiterfassung.overtime;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(OvertimeLedgerProperties.class)
+class OvertimeLedgerConfiguration {
+}
@@ -0,0 +1,177 @@
+package de.focusshift.zeiterfassung.overtime;
+
+import de.focusshift.zeiterfassung.DateRange;
+import de.focusshift.zeiterfassung.absence.AbsenceAddedEvent;
+import de.focusshift.zeiterfassung.absence.AbsenceDeletedEvent;
+import de.focusshift.zeiterfassung.absence.AbsenceUpdatedEvent;
+import de.focusshift.zeiterfassung.companyvacation.CompanyVacationChangedEvent;
+import de.focusshift.zeiterfassung.settings.FederalStateSettingsUpdatedEvent;
+import de.focusshift.zeiterfassung.settings.SubtractBreakFromTimeEntrySettingsUpdatedEvent;
+import de.focusshift.zeiterfassung.timeentry.events.TimeEntriesImportedEvent;
+import de.focusshift.zeiterfassung.timeentry.events.TimeEntryCreatedEvent;
+import de.focusshift.zeiterfassung.timeentry.events.TimeEntryDeletedEvent;
+import de.focusshift.zeiterfassung.timeentry.events.TimeEntryUpdatedEvent;
+import de.focusshift.zeiterfassung.user.UserId;
+import de.focusshift.zeiterfassung.usermanagement.User;
+import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import de.focusshift.zeiterfassung.usermanagement.UserManagementService;
+import de.focusshift.zeiterfassung.workingtime.WorkingTimeCreatedEvent;
+import de.focusshift.zeiterfassung.workingtime.WorkingTimeDeletedEvent;
+import de.focusshift.zeiterfassung.workingtime.WorkingTimeUpdatedEvent;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Keeps the overtime ledger up to date. Every event affecting the overtime of a user results in recalculated
+ * ledger days for the affected dates.
+ *
+ * <p>
+ * Working time changes affect all days starting at the validity of the working time. The {@link WorkingTimeUpdatedEvent}
+ * does not contain the previous validity, therefore all ledger days of the user are recalculated in this case.
+ *
+ * <p>
+ * Company vacations and tenant settings affect the overtime of every user, the ledger of the tenant is deleted then.
+ * Overtime is calculated again until the ledger has been rebuilt.
+ *
+ * <p>
+ * The ledger is updated after the change has been committed, in its own transaction. A failing ledger update is logged
+ * and does not affect the change itself. The ledger has to be rebuilt then.
+ */
+@Component
+@ConditionalOnProperty(value = "zeiterfassung.overtime.ledger.enabled", havingValue = "true")
+class OvertimeLedgerEventListener {
+
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
+    private final OvertimeLedgerService overtimeLedgerService;
+    private final UserManagementService userManagementService;
+
+    OvertimeLedgerEventListener(OvertimeLedgerService overtimeLedgerService, UserManagementService userManagementService) {
+        this.overtimeLedgerService = overtimeLedgerService;
+        this.userManagementService = userManagementService;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(TimeEntryCreatedEvent event) {
+        update(event.ownerUserIdComposite().localId(), List.of(event.date()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(TimeEntryUpdatedEvent event) {
+        if (event.dateCandidate().hasChanged()) {
+            update(event.ownerUserIdComposite().localId(), List.of(event.dateCandidate().previous(), event.dateCandidate().current()));
+        } else if (event.workDurationCandidate().hasChanged()) {
+            update(event.ownerUserIdComposite().localId(), List.of(event.dateCandidate().current()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(TimeEntryDeletedEvent event) {
+        update(event.ownerUserIdComposite().localId(), List.of(event.date()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(TimeEntriesImportedEvent event) {
+        updateLedger(event.ownerUserIdComposite().localId(), event.dateRange());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(AbsenceAddedEvent event) {
+        update(event.userId(), List.of(event.dateRange()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(AbsenceDeletedEvent event) {
+        update(event.userId(), List.of(event.dateRange()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(AbsenceUpdatedEvent event) {
+        update(event.userId(), List.of(event.oldDateRange(), event.newDateRange()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(WorkingTimeCreatedEvent event) {
+        updateFrom(event.userIdComposite().localId(), event.validFrom());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(WorkingTimeUpdatedEvent event) {
+        updateFrom(event.userIdComposite().localId(), null);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(WorkingTimeDeletedEvent event) {
+        updateFrom(event.userIdComposite().localId(), event.validFrom());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(CompanyVacationChangedEvent event) {
+        deleteLedger();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(FederalStateSettingsUpdatedEvent event) {
+        deleteLedger();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(SubtractBreakFromTimeEntrySettingsUpdatedEvent event) {
+        deleteLedger();
+    }
+
+    private void update(UserLocalId userLocalId, List<LocalDate> dates) {
+        for (LocalDate date : dates) {
+            updateLedger(userLocalId, new DateRange(date, date));
+        }
+    }
+
+    private void update(UserId userId, List<DateRange> dateRanges) {
+
+        final Optional<User> user = userManagementService.findUserById(userId);
+        if (user.isEmpty()) {
+            LOG.info("Could not update overtime ledger. User with id={} not found.", userId);
+            return;
+        }
+
+        for (DateRange dateRange : dateRanges) {
+            updateLedger(user.get().userLocalId(), dateRange);
+        }
+    }
+
+    private void updateFrom(UserLocalId userLocalId, @Nullable LocalDate validFrom) {
+        // validFrom of the very first working time is null
+        final LocalDate from = validFrom == null ? LocalDate.MIN : validFrom;
+        try {
+            overtimeLedgerService.updateLedgerFrom(userLocalId, from);
+        } catch (Exception exception) {
+            LOG.error("Could not update overtime ledger of user={} from={}. The ledger has to be rebuilt.", userLocalId, from, exception);
+        }
+    }
+
+    private void updateLedger(UserLocalId userLocalId, DateRange dateRange) {
+        try {
+            overtimeLedgerService.updateLedger(userLocalId, dateRange);
+        } catch (Exception exception) {
+            LOG.error("Could not update overtime ledger of user={} for dateRange={}. The ledger has to be rebuilt.", userLocalId, dateRange, exception);
+        }
+    }
+
+    private void deleteLedger() {
+        try {
+            overtimeLedgerService.deleteLedger();
+        } catch (Exception exception) {
+            LOG.error("Could not delete overtime ledger. The ledger has to be rebuilt.", exception);
+        }
+    }
+}
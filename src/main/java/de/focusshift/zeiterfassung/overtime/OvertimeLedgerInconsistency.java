@@ -0,0 +1,21 @@
+package de.focusshift.zeiterfassung.overtime;
+
+import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+
+import java.time.LocalDate;
+
+/**
+ * Describes a day of the overtime ledger that differs from the calculated overtime.
+ *
+ * @param userLocalId user of the ledger day
+ * @param date date of the ledger day
+ * @param ledgerOvertime overtime persisted in the ledger
+ * @param calculatedOvertime overtime calculated from time entries, absences and working times
+ */
+public record OvertimeLedgerInconsistency(
+    UserLocalId userLocalId,
+    LocalDate date,
+    OvertimeHours ledgerOvertime,
+    OvertimeHours calculatedOvertime
+) {
+}
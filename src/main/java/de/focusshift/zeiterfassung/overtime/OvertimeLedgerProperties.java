@@ -0,0 +1,15 @@
+package de.focusshift.zeiterfassung.overtime;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * @param enabled whether the overtime ledger is kept up to date and used to read overtime balances
+ */
+@Validated
+@ConfigurationProperties("zeiterfassung.overtime.ledger")
+record OvertimeLedgerProperties(
+    @DefaultValue("false") boolean enabled
+) {
+}
@@ -0,0 +1,43 @@
+package de.focusshift.zeiterfassung.overtime;
+
+import org.slf4j.Logger;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.util.StringUtils;
+
+import static de.focusshift.zeiterfassung.overtime.OvertimeLedgerRebuildRabbitmqConfiguration.ZEITERFASSUNG_OVERTIME_LEDGER_REBUILD_QUEUE;
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+class OvertimeLedgerRebuildEventHandlerRabbitmq {
+
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
+    private final OvertimeLedgerRebuildService overtimeLedgerRebuildService;
+
+    OvertimeLedgerRebuildEventHandlerRabbitmq(OvertimeLedgerRebuildService overtimeLedgerRebuildService) {
+        this.overtimeLedgerRebuildService = overtimeLedgerRebuildService;
+    }
+
+    @RabbitListener(queues = {ZEITERFASSUNG_OVERTIME_LEDGER_REBUILD_QUEUE})
+    void on(OvertimeLedgerRebuildRequest event) {
+        if (event.checkConsistency()) {
+            onCheckConsistency(event);
+        } else if (StringUtils.hasText(event.tenantId())) {
+            LOG.info("Received OvertimeLedgerRebuildRequest tenantId={} from={} to={}", event.tenantId(), event.from(), event.to());
+            overtimeLedgerRebuildService.rebuild(event.tenantId(), event.from(), event.to());
+        } else {
+            LOG.info("Received OvertimeLedgerRebuildRequest from={} to={}", event.from(), event.to());
+            overtimeLedgerRebuildService.rebuild(event.from(), event.to());
+        }
+    }
+
+    private void onCheckConsistency(OvertimeLedgerRebuildRequest event) {
+        if (StringUtils.hasText(event.tenantId())) {
+            LOG.info("Received OvertimeLedgerRebuildRequest to check consistency tenantId={} from={} to={}", event.tenantId(), event.from(), event.to());
+            overtimeLedgerRebuildService.checkConsistency(event.tenantId(), event.from(), event.to());
+        } else {
+            LOG.info("Received OvertimeLedgerRebuildRequest to check consistency from={} to={}", event.from(), event.to());
+            overtimeLedgerRebuildService.checkConsistency(event.from(), event.to());
+        }
+    }
+}
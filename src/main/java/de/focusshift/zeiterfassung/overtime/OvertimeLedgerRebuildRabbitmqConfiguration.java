@@ -0,0 +1,57 @@
+package de.focusshift.zeiterfassung.overtime;
+
+import de.focusshift.zeiterfassung.tenancy.configuration.multi.ConditionalOnMultiTenantMode;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnMultiTenantMode
+@EnableConfigurationProperties(OvertimeLedgerRebuildRabbitmqConfigurationProperties.class)
+class OvertimeLedgerRebuildRabbitmqConfiguration {
+
+    static final String ZEITERFASSUNG_OVERTIME_LEDGER_REBUILD_QUEUE = "zeiterfassung.queue.overtime-ledger-rebuild";
+
+    @Configuration
+    @ConditionalOnProperty(value = "zeiterfassung.integration.overtime-ledger-rebuild.enabled", havingValue = "true")
+    static class OvertimeLedgerRebuildListenerConfiguration {
+
+        @Bean
+        OvertimeLedgerRebuildEventHandlerRabbitmq overtimeLedgerRebuildEventHandlerRabbitmq(OvertimeLedgerRebuildService overtimeLedgerRebuildService) {
+            return new OvertimeLedgerRebuildEventHandlerRabbitmq(overtimeLedgerRebuildService);
+        }
+    }
+
+    @Configuration
+    @ConditionalOnProperty(value = "zeiterfassung.integration.overtime-ledger-rebuild.manage-topology", havingValue = "true")
+    static class ManageTopologyConfiguration {
+
+        private final OvertimeLedgerRebuildRabbitmqConfigurationProperties properties;
+
+        ManageTopologyConfiguration(OvertimeLedgerRebuildRabbitmqConfigurationProperties properties) {
+            this.properties = properties;
+        }
+
+        @Bean
+        TopicExchange overtimeLedgerRebuildTopic() {
+            return new TopicExchange(properties.topic());
+        }
+
+        @Bean
+        Queue overtimeLedgerRebuildQueue() {
+            return new Queue(ZEITERFASSUNG_OVERTIME_LEDGER_REBUILD_QUEUE, true);
+        }
+
+        @Bean
+        Binding bindOvertimeLedgerRebuildQueue() {
+            return BindingBuilder.bind(overtimeLedgerRebuildQueue())
+                .to(overtimeLedgerRebuildTopic())
+                .with(properties.routingKey());
+        }
+    }
+}
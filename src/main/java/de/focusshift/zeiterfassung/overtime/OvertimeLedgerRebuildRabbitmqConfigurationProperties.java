@@ -0,0 +1,16 @@
+package de.focusshift.zeiterfassung.overtime;
+
+import jakarta.validation.constraints.NotEmpty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties("zeiterfassung.integration.overtime-ledger-rebuild")
+record OvertimeLedgerRebuildRabbitmqConfigurationProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("false") boolean manageTopology,
+    @DefaultValue("zeiterfassung.topic") @NotEmpty String topic,
+    @DefaultValue("ZE.EVENT.OVERTIME_LEDGER.REBUILD") @NotEmpty String routingKey
+) {
+}
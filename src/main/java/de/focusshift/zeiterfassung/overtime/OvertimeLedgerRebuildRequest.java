@@ -0,0 +1,23 @@
+package de.focusshift.zeiterfassung.overtime;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.jspecify.annotations.Nullable;
+
+import java.time.LocalDate;
+
+/**
+ * RabbitMQ payload that triggers a rebuild of the overtime ledger for the given inclusive date range.
+ *
+ * @param tenantId optional tenant to rebuild the ledger for; when {@code null} or blank the ledger is rebuilt for all active tenants
+ * @param from     first day of the ledger (inclusive)
+ * @param to       last day of the ledger (inclusive)
+ * @param checkConsistency {@code true} to compare the ledger with the calculated overtime instead of rebuilding it
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+record OvertimeLedgerRebuildRequest(
+    @Nullable String tenantId,
+    LocalDate from,
+    LocalDate to,
+    boolean checkConsistency
+) {
+}
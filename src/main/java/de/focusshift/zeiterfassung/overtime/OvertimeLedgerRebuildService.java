@@ -0,0 +1,166 @@
+package de.focusshift.zeiterfassung.overtime;
+
+import de.focusshift.zeiterfassung.DateRange;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextRunner;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantId;
+import de.focusshift.zeiterfassung.usermanagement.User;
+import de.focusshift.zeiterfassung.usermanagement.UserManagementService;
+import org.slf4j.Logger;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Recreates the overtime ledger of all users of a tenant for a given date range.
+ * Every user is rebuilt in its own transaction, a failing user does not stop the rebuild of the remaining users.
+ *
+ * <p>
+ * Additionally, the ledger can be compared with the calculated overtime without changing it, e.g. before deciding to
+ * rebuild it.
+ */
+@Service
+class OvertimeLedgerRebuildService {
+
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
+    private final OvertimeLedgerService overtimeLedgerService;
+    private final UserManagementService userManagementService;
+    private final TenantContextRunner tenantContextRunner;
+    private final TenantContextHolder tenantContextHolder;
+
+    OvertimeLedgerRebuildService(
+        OvertimeLedgerService overtimeLedgerService,
+        UserManagementService userManagementService,
+        TenantContextRunner tenantContextRunner,
+        TenantContextHolder tenantContextHolder
+    ) {
+        this.overtimeLedgerService = overtimeLedgerService;
+        this.userManagementService = userManagementService;
+        this.tenantContextRunner = tenantContextRunner;
+        this.tenantContextHolder = tenantContextHolder;
+    }
+
+    /**
+     * Rebuilds the overtime ledger for every active tenant for the inclusive range {@code [from, to]}.
+     *
+     * @param from first day of the ledger (inclusive)
+     * @param to   last day of the ledger (inclusive)
+     */
+    void rebuild(LocalDate from, LocalDate to) {
+
+        if (invalidRange(from, to)) {
+            return;
+        }
+
+        LOG.info("Rebuilding overtime ledger for all active tenants from={} to={}", from, to);
+        tenantContextRunner.runForEachActiveTenant("overtime-ledger-rebuild", () -> rebuildForCurrentTenant(new DateRange(from, to))).run();
+    }
+
+    /**
+     * Rebuilds the overtime ledger for the given tenant only for the inclusive range {@code [from, to]}.
+     *
+     * @param tenantId tenant to rebuild the ledger for
+     * @param from     first day of the ledger (inclusive)
+     * @param to       last day of the ledger (inclusive)
+     */
+    void rebuild(String tenantId, LocalDate from, LocalDate to) {
+
+        if (invalidRange(from, to)) {
+            return;
+        }
+
+        final TenantId tenant = new TenantId(tenantId);
+        if (!tenant.valid()) {
+            LOG.info("Ignoring overtime ledger rebuild request - 'tenantId' must be valid. tenantId={}", tenantId);
+            return;
+        }
+
+        LOG.info("Rebuilding overtime ledger for tenantId={} from={} to={}", tenantId, from, to);
+        try {
+            tenantContextHolder.runInTenantIdContext(tenant, () -> rebuildForCurrentTenant(new DateRange(from, to)));
+        } catch (Exception exception) {
+            LOG.error("Unexpected error while rebuilding overtime ledger for tenantId={}.", tenantId, exception);
+        }
+    }
+
+    /**
+     * Compares the overtime ledger of every active tenant with the calculated overtime for the inclusive range
+     * {@code [from, to]} and logs the result.
+     *
+     * @param from first day to check (inclusive)
+     * @param to   last day to check (inclusive)
+     */
+    void checkConsistency(LocalDate from, LocalDate to) {
+
+        if (invalidRange(from, to)) {
+            return;
+        }
+
+        LOG.info("Checking overtime ledger consistency for all active tenants from={} to={}", from, to);
+        tenantContextRunner.runForEachActiveTenant("overtime-ledger-consistency", () -> checkConsistencyForCurrentTenant(new DateRange(from, to))).run();
+    }
+
+    /**
+     * Compares the overtime ledger of the given tenant with the calculated overtime for the inclusive range
+     * {@code [from, to]} and logs the result.
+     *
+     * @param tenantId tenant to check the ledger of
+     * @param from     first day to check (inclusive)
+     * @param to       last day to check (inclusive)
+     */
+    void checkConsistency(String tenantId, LocalDate from, LocalDate to) {
+
+        if (invalidRange(from, to)) {
+            return;
+        }
+
+        final TenantId tenant = new TenantId(tenantId);
+        if (!tenant.valid()) {
+            LOG.info("Ignoring overtime ledger consistency check - 'tenantId' must be valid. tenantId={}", tenantId);
+            return;
+        }
+
+        LOG.info("Checking overtime ledger consistency for tenantId={} from={} to={}", tenantId, from, to);
+        try {
+            tenantContextHolder.runInTenantIdContext(tenant, () -> checkConsistencyForCurrentTenant(new DateRange(from, to)));
+        } catch (Exception exception) {
+            LOG.error("Unexpected error while checking overtime ledger consistency for tenantId={}.", tenantId, exception);
+        }
+    }
+
+    private boolean invalidRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            LOG.info("Ignoring overtime ledger rebuild request - 'from' and 'to' must both be present. from={} to={}", from, to);
+            return true;
+        }
+        if (from.isAfter(to)) {
+            LOG.info("Ignoring overtime ledger rebuild request - 'from' must not be after 'to'. from={} to={}", from, to);
+            return true;
+        }
+        return false;
+    }
+
+    private void rebuildForCurrentTenant(DateRange dateRange) {
+        for (User user : userManagementService.findAllUsers()) {
+            try {
+                overtimeLedgerService.rebuildLedger(user.userLocalId(), dateRange);
+            } catch (Exception exception) {
+                LOG.error("Unexpected error while rebuilding overtime ledger for user={}. Continuing with remaining users.", user.userIdComposite(), exception);
+            }
+        }
+    }
+
+    private void checkConsistencyForCurrentTenant(DateRange dateRange) {
+        final List<OvertimeLedgerInconsistency> inconsistencies = overtimeLedgerService.checkConsistency(dateRange);
+        if (inconsistencies.isEmpty()) {
+            LOG.info("Overtime ledger is consistent from={} to={}.", dateRange.startDate(), dateRange.endDate());
+        } else {
+            LOG.warn("Overtime ledger has {} inconsistent days from={} to={}. Rebuild the ledger to fix them.", inconsistencies.size(), dateRange.startDate(), dateRange.endDate());
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package de.focusshift.zeiterfassung.overtime;
+
+import de.focusshift.zeiterfassung.DateRange;
+import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The overtime ledger persists worked, should and overtime hours for every user and day. Additionally, the running sum
+ * (the balance) of overtime hours is persisted for every day. Therefore, the overtime of any date range can be read with
+ * two lookups, instead of recalculating it from time entries, absences and working times.
+ *
+ * <p>
+ * The ledger of a user covers a gapless date range. Updating a date outside of this date range fills the gap, too.
+ *
+ * <p>
+ * Reading overtime from the ledger requires {@code zeiterfassung.overtime.ledger.enabled}. Otherwise, the ledger is not
+ * updated and every read returns no overtime, so that callers calculate it instead.
+ */
+public interface OvertimeLedgerService {
+
+    /**
+     * Recalculates the ledger days of the given user and date range and updates the balance of all following days.
+     *
+     * @param userLocalId user
+     * @param dateRange date range to recalculate (inclusive start and end)
+     */
+    void updateLedger(UserLocalId userLocalId, DateRange dateRange);
+
+    /**
+     * Recalculates all existing ledger days of the given user, starting at the given date.
+     * Nothing is done when the user has no ledger days after the given date.
+     *
+     * @param userLocalId user
+     * @param from first date to recalculate
+     */
+    void updateLedgerFrom(UserLocalId userLocalId, LocalDate from);
+
+    /**
+     * Returns the sum of {@link OvertimeHours} of the given user and interval.
+     *
+     * @param userLocalId user
+     * @param from first date of interval
+     * @param toExclusive last date (exclusive) of interval
+     * @return sum of {@link OvertimeHours}, empty when the ledger does not cover the interval
+     */
+    Optional<OvertimeHours> getOvertime(UserLocalId userLocalId, LocalDate from, LocalDate toExclusive);
+
+    /**
+     * Returns the sum of {@link OvertimeHours} of every given user and the interval. All users are read with one query.
+     *
+     * @param userLocalIds users
+     * @param from first date of interval
+     * @param toExclusive last date (exclusive) of interval
+     * @return sum of {@link OvertimeHours} by user, users whose ledger does not cover the interval are not contained
+     */
+    Map<UserLocalId, OvertimeHours> getOvertime(Collection<UserLocalId> userLocalIds, LocalDate from, LocalDate toExclusive);
+
+    /**
+     * Deletes the ledger of the given user and recreates it for the given date range.
+     *
+     * @param userLocalId user
+     * @param dateRange date range to create the ledger for (inclusive start and end)
+     */
+    void rebuildLedger(UserLocalId userLocalId, DateRange dateRange);
+
+    /**
+     * Deletes the ledger of all users of the current tenant. Required when settings affecting the overtime of every
+     * user and day have been changed. Overtime is calculated again until the ledger has been rebuilt.
+     */
+    void deleteLedger();
+
+    /**
+     * Compares the persisted overtime of every ledger day within the given date range with the overtime
+     * calculated by {@link de.focusshift.zeiterfassung.report.ReportServiceRaw}.
+     *
+     * @param dateRange date range to check (inclusive start and end)
+     * @return all days with differing overtime, empty when the ledger is consistent
+     */
+    List<OvertimeLedgerInconsistency> checkConsistency(DateRange dateRange);
+}
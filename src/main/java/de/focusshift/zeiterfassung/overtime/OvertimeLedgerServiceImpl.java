@@ -0,0 +1,242 @@
+package de.focusshift.zeiterfassung.overtime;
+
+import de.focusshift.zeiterfassung.DateRange;
+import de.focusshift.zeiterfassung.report.ReportServiceRaw;
+import de.focusshift.zeiterfassung.timeentry.TimeEntryDay;
+import de.focusshift.zeiterfassung.timeentry.TimeEntryDayService;
+import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.util.Comparator.comparing;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toMap;
+import static org.slf4j.LoggerFactory.getLogger;
+
+@Service
+class OvertimeLedgerServiceImpl implements OvertimeLedgerService {
+
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
+    private final OvertimeDayRepository overtimeDayRepository;
+    private final TimeEntryDayService timeEntryDayService;
+    private final ReportServiceRaw reportServiceRaw;
+    private final OvertimeLedgerProperties properties;
+
+    OvertimeLedgerServiceImpl(
+        OvertimeDayRepository overtimeDayRepository,
+        TimeEntryDayService timeEntryDayService,
+        ReportServiceRaw reportServiceRaw,
+        OvertimeLedgerProperties properties
+    ) {
+        this.overtimeDayRepository = overtimeDayRepository;
+        this.timeEntryDayService = timeEntryDayService;
+        this.reportServiceRaw = reportServiceRaw;
+        this.properties = properties;
+    }
+
+    @Override
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public void updateLedger(UserLocalId userLocalId, DateRange dateRange) {
+
+        final Long localId = userLocalId.value();
+        overtimeDayRepository.lockLedgerOfUser(localId);
+
+        final Optional<OvertimeDayEntity> first = overtimeDayRepository.findFirstByTenantUserLocalIdOrderByDateAsc(localId);
+        final Optional<OvertimeDayEntity> last = overtimeDayRepository.findFirstByTenantUserLocalIdOrderByDateDesc(localId);
+
+        // the ledger has to be gapless, otherwise the balance would not reflect the overtime of the missing days.
+        // therefore extend the date range to fill the gap to the existing ledger days.
+        LocalDate from = dateRange.startDate();
+        LocalDate to = dateRange.endDate();
+        if (last.isPresent() && from.isAfter(last.get().getDate())) {
+            from = last.get().getDate().plusDays(1);
+        }
+        if (first.isPresent() && to.isBefore(first.get().getDate())) {
+            to = first.get().getDate().minusDays(1);
+        }
+
+        recalculate(userLocalId, new DateRange(from, to));
+    }
+
+    @Override
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public void updateLedgerFrom(UserLocalId userLocalId, LocalDate from) {
+
+        final Long localId = userLocalId.value();
+        overtimeDayRepository.lockLedgerOfUser(localId);
+
+        final Optional<OvertimeDayEntity> first = overtimeDayRepository.findFirstByTenantUserLocalIdOrderByDateAsc(localId);
+        final Optional<OvertimeDayEntity> last = overtimeDayRepository.findFirstByTenantUserLocalIdOrderByDateDesc(localId);
+
+        if (first.isEmpty() || last.isEmpty() || from.isAfter(last.get().getDate())) {
+            LOG.debug("No ledger days of user={} affected from date={}.", userLocalId, from);
+            return;
+        }
+
+        final LocalDate start = from.isBefore(first.get().getDate()) ? first.get().getDate() : from;
+        recalculate(userLocalId, new DateRange(start, last.get().getDate()));
+    }
+
+    @Override
+    public Optional<OvertimeHours> getOvertime(UserLocalId userLocalId, LocalDate from, LocalDate toExclusive) {
+        return Optional.ofNullable(getOvertime(List.of(userLocalId), from, toExclusive).get(userLocalId));
+    }
+
+    @Override
+    public Map<UserLocalId, OvertimeHours> getOvertime(Collection<UserLocalId> userLocalIds, LocalDate from, LocalDate toExclusive) {
+
+        if (!properties.enabled() || userLocalIds.isEmpty()) {
+            // the ledger is not updated when disabled and could contain outdated days
+            return Map.of();
+        }
+
+        if (!from.isBefore(toExclusive)) {
+            final Map<UserLocalId, OvertimeHours> zeroByUser = new HashMap<>();
+            userLocalIds.forEach(userLocalId -> zeroByUser.put(userLocalId, OvertimeHours.ZERO));
+            return zeroByUser;
+        }
+
+        final LocalDate last = toExclusive.minusDays(1);
+        final List<Long> localIds = userLocalIds.stream().map(UserLocalId::value).distinct().toList();
+
+        final Map<Long, List<OvertimeDayEntity>> ledgerDaysByUser =
+            overtimeDayRepository.findAllByTenantUserLocalIdInAndDateIn(localIds, List.of(from, last)).stream()
+                .collect(groupingBy(OvertimeDayEntity::getTenantUserLocalId));
+
+        final Map<UserLocalId, OvertimeHours> overtimeByUser = new HashMap<>();
+
+        for (Map.Entry<Long, List<OvertimeDayEntity>> entry : ledgerDaysByUser.entrySet()) {
+
+            final Optional<OvertimeDayEntity> firstDay = findByDate(entry.getValue(), from);
+            final Optional<OvertimeDayEntity> lastDay = findByDate(entry.getValue(), last);
+
+            // the ledger is gapless, existing first and last day implies that every day in between exists, too.
+            if (firstDay.isPresent() && lastDay.isPresent()) {
+                final Duration overtime = lastDay.get().getBalance().minus(firstDay.get().getBalance()).plus(firstDay.get().getDelta());
+                overtimeByUser.put(new UserLocalId(entry.getKey()), new OvertimeHours(overtime));
+            }
+        }
+
+        return overtimeByUser;
+    }
+
+    private static Optional<OvertimeDayEntity> findByDate(List<OvertimeDayEntity> overtimeDays, LocalDate date) {
+        return overtimeDays.stream().filter(overtimeDay -> overtimeDay.getDate().equals(date)).findFirst();
+    }
+
+    @Override
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public void rebuildLedger(UserLocalId userLocalId, DateRange dateRange) {
+        overtimeDayRepository.lockLedgerOfUser(userLocalId.value());
+        final int deleted = overtimeDayRepository.deleteAllByTenantUserLocalId(userLocalId.value());
+        LOG.debug("Deleted {} ledger days of user={}.", deleted, userLocalId);
+        recalculate(userLocalId, dateRange);
+    }
+
+    @Override
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public void deleteLedger() {
+        final int deleted = overtimeDayRepository.deleteAllDays();
+        LOG.info("Deleted {} ledger days. Overtime is calculated until the ledger has been rebuilt.", deleted);
+    }
+
+    @Override
+    public List<OvertimeLedgerInconsistency> checkConsistency(DateRange dateRange) {
+
+        final Map<LocalDate, List<OvertimeDayEntity>> ledgerDaysByDate =
+            overtimeDayRepository.findAllByDateBetween(dateRange.startDate(), dateRange.endDate()).stream()
+                .collect(groupingBy(OvertimeDayEntity::getDate));
+
+        final List<OvertimeLedgerInconsistency> inconsistencies = new ArrayList<>();
+
+        for (LocalDate date : dateRange) {
+
+            final List<OvertimeDayEntity> ledgerDays = ledgerDaysByDate.getOrDefault(date, List.of());
+            if (ledgerDays.isEmpty()) {
+                continue;
+            }
+
+            final Map<UserLocalId, OvertimeHours> calculatedByUser =
+                reportServiceRaw.getReportDayForAllUsers(date).overtimeByUser().entrySet().stream()
+                    .collect(toMap(entry -> entry.getKey().localId(), Map.Entry::getValue));
+
+            for (OvertimeDayEntity ledgerDay : ledgerDays) {
+                final UserLocalId userLocalId = new UserLocalId(ledgerDay.getTenantUserLocalId());
+                final OvertimeHours ledgerOvertime = new OvertimeHours(ledgerDay.getDelta());
+                final OvertimeHours calculatedOvertime = calculatedByUser.getOrDefault(userLocalId, OvertimeHours.ZERO);
+                if (ledgerOvertime.duration().toSeconds() != calculatedOvertime.duration().toSeconds()) {
+                    LOG.info("Ledger overtime={} of user={} and date={} differs from calculated overtime={}.", ledgerOvertime, userLocalId, date, calculatedOvertime);
+                    inconsistencies.add(new OvertimeLedgerInconsistency(userLocalId, date, ledgerOvertime, calculatedOvertime));
+                }
+            }
+        }
+
+        return inconsistencies;
+    }
+
+    /**
+     * Recalculates the ledger days of the given date range and shifts the balance of all following days
+     * by the difference of the previous and the recalculated overtime.
+     */
+    private void recalculate(UserLocalId userLocalId, DateRange dateRange) {
+
+        final Long localId = userLocalId.value();
+        final LocalDate from = dateRange.startDate();
+        final LocalDate to = dateRange.endDate();
+
+        final Map<LocalDate, OvertimeDayEntity> existingByDate =
+            overtimeDayRepository.findAllByTenantUserLocalIdAndDateBetweenOrderByDate(localId, from, to).stream()
+                .collect(toMap(OvertimeDayEntity::getDate, identity()));
+
+        final Duration previousSum = existingByDate.values().stream()
+            .map(OvertimeDayEntity::getDelta)
+            .reduce(Duration.ZERO, Duration::plus);
+
+        Duration balance = overtimeDayRepository.findFirstByTenantUserLocalIdAndDateBeforeOrderByDateDesc(localId, from)
+            .map(OvertimeDayEntity::getBalance)
+            .orElse(Duration.ZERO);
+
+        final List<TimeEntryDay> timeEntryDays = timeEntryDayService.getTimeEntryDays(from, to.plusDays(1), userLocalId).stream()
+            .sorted(comparing(TimeEntryDay::date))
+            .toList();
+
+        final List<OvertimeDayEntity> overtimeDays = new ArrayList<>(timeEntryDays.size());
+        Duration sum = Duration.ZERO;
+
+        for (TimeEntryDay timeEntryDay : timeEntryDays) {
+            final LocalDate date = timeEntryDay.date();
+            final Duration delta = Duration.ofSeconds(OvertimeHours.of(timeEntryDay).duration().toSeconds());
+
+            sum = sum.plus(delta);
+            balance = balance.plus(delta);
+
+            final OvertimeDayEntity overtimeDay = existingByDate.getOrDefault(date, new OvertimeDayEntity(localId, date));
+            overtimeDay.setWorked(timeEntryDay.workDuration().duration());
+            overtimeDay.setShould(timeEntryDay.shouldWorkingHours().duration());
+            overtimeDay.setDelta(delta);
+            overtimeDay.setBalance(balance);
+            overtimeDays.add(overtimeDay);
+        }
+
+        overtimeDayRepository.saveAll(overtimeDays);
+
+        final Duration difference = sum.minus(previousSum);
+        if (!difference.isZero()) {
+            final int shifted = overtimeDayRepository.shiftBalanceAfter(localId, to, difference.toSeconds());
+            LOG.debug("Shifted balance of {} ledger days of user={} after date={} by {}.", shifted, userLocalId, to, difference);
+        }
+    }
+}
@@ -6,6 +6,8 @@ import de.focusshift.zeiterfassung.absence.AbsenceDeletedEvent;
 import de.focusshift.zeiterfassung.absence.AbsenceUpdatedEvent;
 import de.focusshift.zeiterfassung.overtime.events.UserHasWorkedOvertimeEvent;
 import de.focusshift.zeiterfassung.settings.LockTimeEntriesSettings;
+import de.focusshift.zeiterfassung.timeentry.TimeEntryDay;
+import de.focusshift.zeiterfassung.timeentry.TimeEntryDayService;
 import de.focusshift.zeiterfassung.timeentry.TimeEntryLockService;
 import de.focusshift.zeiterfassung.timeentry.events.DayLockedEvent;
 import de.focusshift.zeiterfassung.timeentry.events.TimeEntryCreatedEvent;
@@ -20,16 +22,21 @@ import de.focusshift.zeiterfassung.usermanagement.User;
 import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
 import de.focusshift.zeiterfassung.usermanagement.UserManagementService;
 import de.focusshift.zeiterfassung.workduration.WorkDuration;
-import de.focusshift.zeiterfassung.workingtime.WorkingTimeCalendar;
-import de.focusshift.zeiterfassung.workingtime.WorkingTimeCalendarService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.TreeSet;
 
 import static java.lang.invoke.MethodHandles.lookup;
 import static org.slf4j.LoggerFactory.getLogger;
@@ -43,27 +50,64 @@ public class OvertimePublisher {
     private final OvertimeAccountService overtimeAccountService;
     private final TimeEntryLockService timeEntryLockService;
     private final UserManagementService userManagementService;
-    private final WorkingTimeCalendarService workingTimeCalendarService;
+    private final TimeEntryDayService timeEntryDayService;
     private final ApplicationEventPublisher applicationEventPublisher;
+    private final MeterRegistry meterRegistry;
 
     OvertimePublisher(
         OvertimeService overtimeService,
         OvertimeAccountService overtimeAccountService,
         TimeEntryLockService timeEntryLockService,
         UserManagementService userManagementService,
-        WorkingTimeCalendarService workingTimeCalendarService,
-        ApplicationEventPublisher applicationEventPublisher
+        TimeEntryDayService timeEntryDayService,
+        ApplicationEventPublisher applicationEventPublisher,
+        MeterRegistry meterRegistry
     ) {
         this.overtimeService = overtimeService;
         this.overtimeAccountService = overtimeAccountService;
         this.applicationEventPublisher = applicationEventPublisher;
         this.timeEntryLockService = timeEntryLockService;
         this.userManagementService = userManagementService;
-        this.workingTimeCalendarService = workingTimeCalendarService;
+        this.timeEntryDayService = timeEntryDayService;
+        this.meterRegistry = meterRegistry;
     }
 
     @EventListener
     public void publishOvertime(DayLockedEvent event) {
+        handleTimer("day_locked").record(() -> publishOvertimeOfLockedDay(event));
+    }
+
+    @EventListener
+    public void publishOvertimeUpdated(TimeEntryCreatedEvent event) {
+        handleTimer("time_entry_created").record(() -> publishOvertimeOfCreatedTimeEntry(event));
+    }
+
+    @EventListener
+    public void publishOvertimeUpdated(TimeEntryUpdatedEvent event) {
+        handleTimer("time_entry_updated").record(() -> publishOvertimeOfUpdatedTimeEntry(event));
+    }
+
+    @EventListener
+    public void publishOvertimeUpdated(TimeEntryDeletedEvent event) {
+        handleTimer("time_entry_deleted").record(() -> publishOvertimeOfDeletedTimeEntry(event));
+    }
+
+    @EventListener
+    public void publishOvertimeUpdated(AbsenceAddedEvent event) {
+        handleTimer("absence_added").record(() -> publishForUserAndDateRanges(event.userId(), List.of(event.dateRange()), "absence_added"));
+    }
+
+    @EventListener
+    public void publishOvertimeUpdated(AbsenceDeletedEvent event) {
+        handleTimer("absence_deleted").record(() -> publishForUserAndDateRanges(event.userId(), List.of(event.dateRange()), "absence_deleted"));
+    }
+
+    @EventListener
+    public void publishOvertimeUpdated(AbsenceUpdatedEvent event) {
+        handleTimer("absence_updated").record(() -> publishForUserAndDateRanges(event.userId(), List.of(event.oldDateRange(), event.newDateRange()), "absence_updated"));
+    }
+
+    private void publishOvertimeOfLockedDay(DayLockedEvent event) {
         LOG.info("Handling DayLockedEvent for date={} and zoneId={}. Calculating overtime and publish application event.", event.date(), event.zoneId());
 
         final Map<UserIdComposite, OvertimeAccount> overtimeAccountByUserId = overtimeAccountService.getAllOvertimeAccounts();
@@ -84,8 +128,7 @@ public class OvertimePublisher {
         });
     }
 
-    @EventListener
-    public void publishOvertimeUpdated(TimeEntryCreatedEvent event) {
+    private void publishOvertimeOfCreatedTimeEntry(TimeEntryCreatedEvent event) {
 
         if (!event.locked()) {
             LOG.debug("Ignore not locked TimeEntryCreatedEvent.");
@@ -103,8 +146,7 @@ public class OvertimePublisher {
         publishUpdated(userIdComposite, event.date());
     }
 
-    @EventListener
-    public void publishOvertimeUpdated(TimeEntryUpdatedEvent event) {
+    private void publishOvertimeOfUpdatedTimeEntry(TimeEntryUpdatedEvent event) {
         // attributes to consider
         // - locked
         //     not locked timeEntries must not be published since they will be handled by the scheduler in the future
@@ -165,8 +207,7 @@ public class OvertimePublisher {
         }
     }
 
-    @EventListener
-    public void publishOvertimeUpdated(TimeEntryDeletedEvent event) {
+    private void publishOvertimeOfDeletedTimeEntry(TimeEntryDeletedEvent event) {
 
         final boolean locked = event.locked();
         final LocalDate date = event.date();
@@ -189,23 +230,19 @@ public class OvertimePublisher {
         publishUpdated(userIdComposite, date);
     }
 
-    @EventListener
-    public void publishOvertimeUpdated(AbsenceAddedEvent event) {
-        publishForUserAndDateRange(event.userId(), event.dateRange());
-    }
-
-    @EventListener
-    public void publishOvertimeUpdated(AbsenceDeletedEvent event) {
-        publishForUserAndDateRange(event.userId(), event.dateRange());
-    }
-
-    @EventListener
-    public void publishOvertimeUpdated(AbsenceUpdatedEvent event) {
-        publishForUserAndDateRange(event.userId(), event.oldDateRange());
-        publishForUserAndDateRange(event.userId(), event.newDateRange());
-    }
-
-    private void publishForUserAndDateRange(UserId userId, DateRange dateRange) {
+    /**
+     * Publishes {@link UserHasWorkedOvertimeEvent}s for every locked date with planned working hours of the given date ranges.
+     *
+     * <p>
+     * {@link TimeEntryDay}s are loaded once per period of consecutive locked dates, overlapping and adjacent date ranges
+     * are loaded together. Overtime is then calculated in memory for every date instead of loading time entries and
+     * the working time calendar again for every single date.
+     *
+     * @param userId user the absence belongs to
+     * @param dateRanges date ranges of the absence (e.g. previous and current date range of an updated absence)
+     * @param eventType type of the handled event, used as metric tag
+     */
+    private void publishForUserAndDateRanges(UserId userId, List<DateRange> dateRanges, String eventType) {
         final Optional<UserIdComposite> maybeUserIdComposite = userManagementService.findUserById(userId).map(User::userIdComposite);
         if (maybeUserIdComposite.isEmpty()) {
             LOG.info("Ignore absence. Unknown user {}.", userId);
@@ -221,40 +258,120 @@ public class OvertimePublisher {
             return;
         }
 
-        final WorkingTimeCalendar workingTimeCalendar = workingTimeCalendarService.getWorkingTimeCalender(
-            dateRange.startDate(), dateRange.endDate().plusDays(1), userLocalId);
+        final List<LocalDate> lockedDates = lockedDates(userIdComposite, dateRanges);
+        if (lockedDates.isEmpty()) {
+            return;
+        }
 
-        final LockTimeEntriesSettings lockSettings = timeEntryLockService.getLockTimeEntriesSettings();
+        final List<DateRange> periods = consecutivePeriods(lockedDates);
 
-        for (LocalDate date : dateRange) {
+        final Map<LocalDate, TimeEntryDay> timeEntryDayByDate = new HashMap<>();
+        for (DateRange period : periods) {
+            timeEntryDayService.getTimeEntryDays(period.startDate(), period.endDate().plusDays(1), userLocalId)
+                .forEach(timeEntryDay -> timeEntryDayByDate.put(timeEntryDay.date(), timeEntryDay));
+        }
 
-            final boolean locked = timeEntryLockService.isLocked(date, lockSettings);
-            if (!locked) {
-                LOG.info("Skip not locked date {} for user {}.", date, userIdComposite);
-                break;
-            }
+        final List<UserHasWorkedOvertimeEvent> overtimeEvents = new ArrayList<>();
 
-            final boolean hasPlannedWorkingHours = workingTimeCalendar.plannedWorkingHours(date)
-                .map(plannedWorkingHours -> !plannedWorkingHours.duration().isZero())
-                .orElse(false);
+        for (LocalDate date : lockedDates) {
+
+            final TimeEntryDay timeEntryDay = timeEntryDayByDate.get(date);
+            final boolean hasPlannedWorkingHours = timeEntryDay != null && !timeEntryDay.plannedWorkingHours().duration().isZero();
 
             if (hasPlannedWorkingHours) {
-                publishUpdated(userIdComposite, date);
+                overtimeEvents.add(new UserHasWorkedOvertimeEvent(userIdComposite, date, OvertimeHours.of(timeEntryDay)));
             } else {
                 LOG.info("Skip absence day {} for user {} because planned working hours are zero.", date, userIdComposite);
             }
         }
+
+        overtimeEvents.forEach(this::publish);
+
+        // previously the working time calendar has been loaded for every date range
+        // and time entry days have been calculated for every published date.
+        final int avoidedLoads = dateRanges.size() + overtimeEvents.size() - periods.size();
+        if (avoidedLoads > 0) {
+            avoidedLoadsCounter(eventType).increment(avoidedLoads);
+        }
+    }
+
+    /**
+     * @param dates dates in any order, may contain duplicates
+     * @return periods of consecutive dates sorted by start date
+     */
+    private static List<DateRange> consecutivePeriods(List<LocalDate> dates) {
+
+        final List<DateRange> periods = new ArrayList<>();
+
+        LocalDate start = null;
+        LocalDate end = null;
+        for (LocalDate date : new TreeSet<>(dates)) {
+            if (end != null && date.equals(end.plusDays(1))) {
+                end = date;
+            } else {
+                if (start != null) {
+                    periods.add(new DateRange(start, end));
+                }
+                start = date;
+                end = date;
+            }
+        }
+        if (start != null) {
+            periods.add(new DateRange(start, end));
+        }
+
+        return periods;
+    }
+
+    /**
+     * Returns the locked dates of the given date ranges. Every date range is handled until the first date that is not
+     * locked, since following dates cannot be locked either. Dates of overlapping date ranges are contained multiple times.
+     */
+    private List<LocalDate> lockedDates(UserIdComposite userIdComposite, List<DateRange> dateRanges) {
+
+        final LockTimeEntriesSettings lockSettings = timeEntryLockService.getLockTimeEntriesSettings();
+        final List<LocalDate> lockedDates = new ArrayList<>();
+
+        for (DateRange dateRange : dateRanges) {
+            for (LocalDate date : dateRange) {
+                final boolean locked = timeEntryLockService.isLocked(date, lockSettings);
+                if (!locked) {
+                    LOG.info("Skip not locked date {} for user {}.", date, userIdComposite);
+                    break;
+                }
+                lockedDates.add(date);
+            }
+        }
+
+        return lockedDates;
+    }
+
+    private Timer handleTimer(String eventType) {
+        return Timer.builder("zeiterfassung.overtime.publisher.handle")
+            .description("Duration of handling an event and publishing the overtime of the affected users")
+            .tag("event", eventType)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    private Counter avoidedLoadsCounter(String eventType) {
+        return Counter.builder("zeiterfassung.overtime.publisher.avoided.loads")
+            .description("Number of time entry day loads avoided by loading consecutive locked dates at once instead of every date range and published date")
+            .tag("event", eventType)
+            .register(meterRegistry);
     }
 
     private void publishUpdated(UserIdComposite userIdComposite, LocalDate date) {
-        // optimize maybe: call overtimeService only once with a new method that returns Map<LocalDate, OvertimeHours> -> only one database call
         final OvertimeHours overtimeHours = overtimeService.getOvertimeForDateAndUser(date, userIdComposite.localId());
         publishUpdated(userIdComposite, date, overtimeHours);
     }
 
     private void publishUpdated(UserIdComposite userIdComposite, LocalDate date, OvertimeHours overtimeHours) {
-        final UserHasWorkedOvertimeEvent overtimeUpdatedEvent = new UserHasWorkedOvertimeEvent(userIdComposite, date, overtimeHours);
-        LOG.info("publish UserHasWorkedOvertimeEvent date={} user={}", date, userIdComposite);
+        publish(new UserHasWorkedOvertimeEvent(userIdComposite, date, overtimeHours));
+    }
+
+    private void publish(UserHasWorkedOvertimeEvent overtimeUpdatedEvent) {
+        LOG.info("publish UserHasWorkedOvertimeEvent date={} user={}", overtimeUpdatedEvent.date(), overtimeUpdatedEvent.userIdComposite());
         applicationEventPublisher.publishEvent(overtimeUpdatedEvent);
     }
 }
@@ -1,9 +1,11 @@
 package de.focusshift.zeiterfassung.overtime;
 
+import de.focusshift.zeiterfassung.DateRange;
 import de.focusshift.zeiterfassung.user.UserIdComposite;
 import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.Map;
 
 public interface OvertimeService {
@@ -11,6 +13,10 @@ public interface OvertimeService {
     /**
      * Returns {@link OvertimeHours} for every user for the given date.
      *
+     * <p>
+     * Overtime is read from the overtime ledger. Users whose ledger does not contain the date are calculated at once
+     * with {@link #getOvertimeForDateAndUsers(LocalDate, Collection)}.
+     *
      * @param date date
      * @return {@link OvertimeHours} for every user for the given date
      */
@@ -19,9 +25,36 @@ public interface OvertimeService {
     /**
      * Returns {@link OvertimeHours} for the given date and user. Can be {@link OvertimeHours#ZERO}, never {@code null}.
      *
+     * <p>
+     * Only time entries, absences and working times of the given user are considered.
+     *
      * @param date date
      * @param userLocalId user
      * @return {@link OvertimeHours} for the date and user
      */
     OvertimeHours getOvertimeForDateAndUser(LocalDate date, UserLocalId userLocalId);
+
+    /**
+     * Returns {@link OvertimeHours} for the given date and users. Users without time entries are contained
+     * with {@link OvertimeHours} calculated from their should working hours.
+     *
+     * <p>
+     * Only time entries, absences and working times of the given users are considered. They are loaded once for all
+     * users instead of once per user.
+     *
+     * @param date date
+     * @param userLocalIds users
+     * @return {@link OvertimeHours} for the date grouped by user
+     */
+    Map<UserIdComposite, OvertimeHours> getOvertimeForDateAndUsers(LocalDate date, Collection<UserLocalId> userLocalIds);
+
+    /**
+     * Returns {@link OvertimeHours} for every date of the given {@link DateRange} and user.
+     * Time entries, absences and working times are loaded once for the whole date range.
+     *
+     * @param dateRange date range (inclusive start and end)
+     * @param userLocalId user
+     * @return {@link OvertimeHours} for every date of the date range
+     */
+    Map<LocalDate, OvertimeHours> getOvertimeForDateRangeAndUser(DateRange dateRange, UserLocalId userLocalId);
 }
@@ -1,12 +1,19 @@
 package de.focusshift.zeiterfassung.overtime;
 
-import de.focusshift.zeiterfassung.report.ReportDay;
-import de.focusshift.zeiterfassung.report.ReportServiceRaw;
+import de.focusshift.zeiterfassung.DateRange;
+import de.focusshift.zeiterfassung.timeentry.TimeEntryDay;
+import de.focusshift.zeiterfassung.timeentry.TimeEntryDayService;
 import de.focusshift.zeiterfassung.user.UserIdComposite;
+import de.focusshift.zeiterfassung.usermanagement.User;
 import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import de.focusshift.zeiterfassung.usermanagement.UserManagementService;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static java.util.stream.Collectors.toMap;
@@ -14,32 +21,83 @@ import static java.util.stream.Collectors.toMap;
 @Service
 class OvertimeServiceImpl implements OvertimeService {
 
-    private final ReportServiceRaw reportServiceRaw;
+    private final TimeEntryDayService timeEntryDayService;
+    private final UserManagementService userManagementService;
+    private final OvertimeLedgerService overtimeLedgerService;
 
-    OvertimeServiceImpl(ReportServiceRaw reportServiceRaw) {
-        this.reportServiceRaw = reportServiceRaw;
+    OvertimeServiceImpl(
+        TimeEntryDayService timeEntryDayService,
+        UserManagementService userManagementService,
+        OvertimeLedgerService overtimeLedgerService
+    ) {
+        this.timeEntryDayService = timeEntryDayService;
+        this.userManagementService = userManagementService;
+        this.overtimeLedgerService = overtimeLedgerService;
     }
 
     @Override
     public Map<UserIdComposite, OvertimeHours> getOvertimeForDate(LocalDate date) {
 
-        final ReportDay reportDay = reportServiceRaw.getReportDayForAllUsers(date);
+        final List<User> users = userManagementService.findAllUsers();
+        final List<UserLocalId> userLocalIds = users.stream().map(User::userLocalId).toList();
 
-        return reportDay.overtimeByUser().entrySet().stream().collect(
+        // read the ledger first and calculate overtime only for users whose ledger does not contain the date
+        final Map<UserLocalId, OvertimeHours> ledgerOvertimeByUser = overtimeLedgerService.getOvertime(userLocalIds, date, date.plusDays(1));
+
+        final Map<UserIdComposite, OvertimeHours> overtimeByUser = new HashMap<>();
+        final List<UserLocalId> usersToCalculate = new ArrayList<>();
+
+        for (User user : users) {
+            final OvertimeHours ledgerOvertime = ledgerOvertimeByUser.get(user.userLocalId());
+            if (ledgerOvertime == null) {
+                usersToCalculate.add(user.userLocalId());
+            } else {
+                overtimeByUser.put(user.userIdComposite(), ledgerOvertime);
+            }
+        }
+
+        if (!usersToCalculate.isEmpty()) {
+            overtimeByUser.putAll(getOvertimeForDateAndUsers(date, usersToCalculate));
+        }
+
+        return overtimeByUser;
+    }
+
+    @Override
+    public OvertimeHours getOvertimeForDateAndUser(LocalDate date, UserLocalId userLocalId) {
+
+        final OvertimeHours overtimeHours = getOvertimeForDateRangeAndUser(new DateRange(date, date), userLocalId).get(date);
+        if (overtimeHours == null) {
+            throw new IllegalStateException("expected OvertimeHours to exist for %s".formatted(userLocalId));
+        }
+
+        return overtimeHours;
+    }
+
+    @Override
+    public Map<UserIdComposite, OvertimeHours> getOvertimeForDateAndUsers(LocalDate date, Collection<UserLocalId> userLocalIds) {
+
+        final Map<UserIdComposite, List<TimeEntryDay>> timeEntryDaysByUser =
+            timeEntryDayService.getTimeEntryDays(date, date.plusDays(1), userLocalIds);
+
+        return timeEntryDaysByUser.entrySet().stream().collect(
             toMap(
                 Map.Entry::getKey,
-                entry -> new OvertimeHours(entry.getValue().duration())
+                entry -> entry.getValue().stream()
+                    .filter(timeEntryDay -> timeEntryDay.date().equals(date))
+                    .findFirst()
+                    .map(OvertimeHours::of)
+                    .orElse(OvertimeHours.ZERO)
             )
         );
     }
 
     @Override
-    public OvertimeHours getOvertimeForDateAndUser(LocalDate date, UserLocalId userLocalId) {
+    public Map<LocalDate, OvertimeHours> getOvertimeForDateRangeAndUser(DateRange dateRange, UserLocalId userLocalId) {
+
+        final List<TimeEntryDay> timeEntryDays =
+            timeEntryDayService.getTimeEntryDays(dateRange.startDate(), dateRange.endDate().plusDays(1), userLocalId);
 
-        return getOvertimeForDate(date).entrySet().stream()
-            .filter(entry -> entry.getKey().localId().equals(userLocalId))
-            .findFirst()
-            .map(Map.Entry::getValue)
-            .orElseThrow(() -> new IllegalStateException("expected OvertimeHours to exist for %s".formatted(userLocalId)));
+        return timeEntryDays.stream().collect(toMap(TimeEntryDay::date, OvertimeHours::of));
     }
 }
@@ -0,0 +1,99 @@
+package de.focusshift.zeiterfassung.publicholiday;
+
+import de.focus_shift.jollyday.core.HolidayManager;
+import org.slf4j.Logger;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static de.focus_shift.jollyday.core.HolidayType.PUBLIC_HOLIDAY;
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Lazily filled index of {@link PublicHolidayYear}s per {@link FederalState} and {@link Year}.
+ *
+ * <p>
+ * Public holidays do not depend on a tenant, therefore the index is shared by all tenants.
+ * The current and adjacent years are loaded when the application is ready.
+ */
+@Component
+class PublicHolidayIndex {
+
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
+    private final Map<String, HolidayManager> holidayManagers;
+    private final Clock clock;
+    private final Map<Key, PublicHolidayYear> publicHolidayYears = new ConcurrentHashMap<>();
+
+    PublicHolidayIndex(Map<String, HolidayManager> holidayManagers, Clock clock) {
+        this.holidayManagers = holidayManagers;
+        this.clock = clock;
+    }
+
+    /**
+     * @param federalState federal state, must not be {@link FederalState#GLOBAL}
+     * @param from first date (inclusive)
+     * @param to last date (inclusive)
+     * @return public holidays of the given federal state within the given dates sorted by date
+     */
+    List<PublicHoliday> publicHolidays(FederalState federalState, LocalDate from, LocalDate to) {
+
+        final List<PublicHoliday> publicHolidays = new ArrayList<>();
+
+        for (int year = from.getYear(); year <= to.getYear(); year++) {
+            publicHolidays.addAll(publicHolidayYear(federalState, Year.of(year)).publicHolidays(from, to));
+        }
+
+        return publicHolidays;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+
+        final Year currentYear = Year.now(clock);
+        final List<Year> years = List.of(currentYear.minusYears(1), currentYear, currentYear.plusYears(1));
+
+        FederalState.federalStatesTypesByCountry().entrySet().stream()
+            .filter(entry -> holidayManagers.containsKey(entry.getKey()))
+            .flatMap(entry -> entry.getValue().stream())
+            .forEach(federalState -> years.forEach(year -> publicHolidayYear(federalState, year)));
+
+        LOG.info("Loaded {} public holiday years for years={}.", publicHolidayYears.size(), years);
+    }
+
+    private PublicHolidayYear publicHolidayYear(FederalState federalState, Year year) {
+
+        if (FederalState.GLOBAL.equals(federalState)) {
+            throw new IllegalArgumentException("expected GLOBAL federalState to be resolved to the actual federalState.");
+        }
+
+        return publicHolidayYears.computeIfAbsent(new Key(federalState, year), key -> load(key.federalState(), key.year()));
+    }
+
+    private PublicHolidayYear load(FederalState federalState, Year year) {
+
+        if (FederalState.NONE.equals(federalState)) {
+            return new PublicHolidayYear(year, List.of());
+        }
+
+        final HolidayManager holidayManager = holidayManagers.get(federalState.getCountry());
+        final List<PublicHoliday> publicHolidays = holidayManager.getHolidays(year.atDay(1), year.atMonth(12).atEndOfMonth(), PUBLIC_HOLIDAY, federalState.getCodes())
+            .stream()
+            .map(holiday -> new PublicHoliday(holiday.getDate(), holiday::getDescription))
+            .toList();
+
+        return new PublicHolidayYear(year, publicHolidays);
+    }
+
+    private record Key(FederalState federalState, Year year) {
+    }
+}
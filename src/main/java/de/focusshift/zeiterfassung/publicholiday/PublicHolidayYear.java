@@ -0,0 +1,36 @@
+package de.focusshift.zeiterfassung.publicholiday;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.List;
+
+import static java.util.Comparator.comparing;
+
+/**
+ * Immutable public holidays of one {@link FederalState} and {@link Year}.
+ */
+final class PublicHolidayYear {
+
+    private final Year year;
+    private final List<PublicHoliday> publicHolidays;
+
+    PublicHolidayYear(Year year, List<PublicHoliday> publicHolidays) {
+        this.year = year;
+        this.publicHolidays = publicHolidays.stream().sorted(comparing(PublicHoliday::date)).toList();
+    }
+
+    Year year() {
+        return year;
+    }
+
+    /**
+     * @param from first date (inclusive)
+     * @param to last date (inclusive)
+     * @return public holidays of this year within the given dates sorted by date
+     */
+    List<PublicHoliday> publicHolidays(LocalDate from, LocalDate to) {
+        return publicHolidays.stream()
+            .filter(publicHoliday -> !publicHoliday.date().isBefore(from) && !publicHoliday.date().isAfter(to))
+            .toList();
+    }
+}
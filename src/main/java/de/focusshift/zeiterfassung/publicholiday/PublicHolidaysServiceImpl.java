@@ -1,6 +1,5 @@
 package de.focusshift.zeiterfassung.publicholiday;
 
-import de.focus_shift.jollyday.core.HolidayManager;
 import de.focusshift.zeiterfassung.CachedSupplier;
 import de.focusshift.zeiterfassung.settings.FederalStateSettingsService;
 import org.springframework.stereotype.Service;
@@ -12,17 +11,16 @@ import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
 
-import static de.focus_shift.jollyday.core.HolidayType.PUBLIC_HOLIDAY;
 import static java.util.stream.Collectors.groupingBy;
 
 @Service
 class PublicHolidaysServiceImpl implements PublicHolidaysService {
 
-    private final Map<String, HolidayManager> holidayManagers;
+    private final PublicHolidayIndex publicHolidayIndex;
     private final FederalStateSettingsService federalStateSettingsService;
 
-    PublicHolidaysServiceImpl(Map<String, HolidayManager> holidayManagers, FederalStateSettingsService federalStateSettingsService) {
-        this.holidayManagers = holidayManagers;
+    PublicHolidaysServiceImpl(PublicHolidayIndex publicHolidayIndex, FederalStateSettingsService federalStateSettingsService) {
+        this.publicHolidayIndex = publicHolidayIndex;
         this.federalStateSettingsService = federalStateSettingsService;
     }
 
@@ -49,10 +47,8 @@ class PublicHolidaysServiceImpl implements PublicHolidaysService {
             return Map.of();
         }
 
-        final HolidayManager holidayManager = holidayManagers.get(federalState.getCountry());
-        return holidayManager.getHolidays(from, to, PUBLIC_HOLIDAY, federalState.getCodes())
+        return publicHolidayIndex.publicHolidays(federalState, from, to)
             .stream()
-            .map(holiday -> new PublicHoliday(holiday.getDate(), holiday::getDescription))
             .collect(groupingBy(PublicHoliday::date));
     }
 }
@@ -0,0 +1,85 @@
+package de.focusshift.zeiterfassung.report;
+
+import de.focusshift.zeiterfassung.timeentry.ShouldWorkingHours;
+import de.focusshift.zeiterfassung.user.UserIdComposite;
+import de.focusshift.zeiterfassung.workduration.WorkDuration;
+import de.focusshift.zeiterfassung.workingtime.PlannedWorkingHours;
+import de.focusshift.zeiterfassung.workingtime.WorkingTimeCalendar;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static de.focusshift.zeiterfassung.report.ReportFunctions.summarizePlannedWorkingHours;
+import static de.focusshift.zeiterfassung.report.ReportFunctions.summarizePlannedWorkingHoursByUser;
+import static de.focusshift.zeiterfassung.report.ReportFunctions.summarizeShouldWorkingHours;
+import static de.focusshift.zeiterfassung.report.ReportFunctions.summarizeShouldWorkingHoursByUser;
+import static de.focusshift.zeiterfassung.report.ReportFunctions.summarizeWorkDuration;
+import static de.focusshift.zeiterfassung.report.ReportFunctions.summarizeWorkDurationByUser;
+import static java.util.Collections.unmodifiableMap;
+import static java.util.function.Function.identity;
+
+/**
+ * Durations of a {@link ReportDay}, {@link ReportWeek} or {@link ReportMonth} summarized once per user and in total.
+ *
+ * <p>
+ * Report objects calculate these lazily and reuse them for every call, as views ask for the same durations
+ * multiple times.
+ */
+record ReportAggregates(
+    Map<UserIdComposite, PlannedWorkingHours> plannedWorkingHoursByUser,
+    Map<UserIdComposite, ShouldWorkingHours> shouldWorkingHoursByUser,
+    Map<UserIdComposite, WorkDuration> workDurationByUser,
+    PlannedWorkingHours plannedWorkingHours,
+    ShouldWorkingHours shouldWorkingHours,
+    WorkDuration workDuration
+) {
+
+    /**
+     * Summarizes the {@link WorkingTimeCalendar} of every user at the given date in a single pass.
+     */
+    static ReportAggregates ofDay(LocalDate date, Map<UserIdComposite, WorkingTimeCalendar> workingTimeCalendarByUser,
+                                  Map<UserIdComposite, WorkDuration> workDurationByUser) {
+
+        final Map<UserIdComposite, PlannedWorkingHours> plannedByUser = HashMap.newHashMap(workingTimeCalendarByUser.size());
+        final Map<UserIdComposite, ShouldWorkingHours> shouldByUser = HashMap.newHashMap(workingTimeCalendarByUser.size());
+        PlannedWorkingHours planned = PlannedWorkingHours.ZERO;
+        ShouldWorkingHours should = ShouldWorkingHours.ZERO;
+
+        for (Map.Entry<UserIdComposite, WorkingTimeCalendar> entry : workingTimeCalendarByUser.entrySet()) {
+            final WorkingTimeCalendar calendar = entry.getValue();
+
+            final PlannedWorkingHours userPlanned = calendar.plannedWorkingHours(date).orElse(PlannedWorkingHours.ZERO);
+            plannedByUser.put(entry.getKey(), userPlanned);
+            planned = planned.plus(userPlanned);
+
+            final ShouldWorkingHours userShould = calendar.shouldWorkingHours(date).orElse(ShouldWorkingHours.ZERO);
+            shouldByUser.put(entry.getKey(), userShould);
+            should = should.plus(userShould);
+        }
+
+        final WorkDuration workDuration = workDurationByUser.values().stream().reduce(WorkDuration.ZERO, WorkDuration::plus);
+
+        return new ReportAggregates(unmodifiableMap(plannedByUser), unmodifiableMap(shouldByUser), workDurationByUser, planned, should, workDuration);
+    }
+
+    /**
+     * Summarizes already summarized elements, e.g. the {@link ReportDay days} of a {@link ReportWeek}.
+     */
+    static ReportAggregates summarize(List<? extends HasWorkDurationByUser> elements) {
+
+        final Map<UserIdComposite, PlannedWorkingHours> plannedByUser = summarizePlannedWorkingHoursByUser(elements);
+        final Map<UserIdComposite, ShouldWorkingHours> shouldByUser = summarizeShouldWorkingHoursByUser(elements);
+        final Map<UserIdComposite, WorkDuration> workDurationByUser = summarizeWorkDurationByUser(elements);
+
+        return new ReportAggregates(
+            unmodifiableMap(plannedByUser),
+            unmodifiableMap(shouldByUser),
+            unmodifiableMap(workDurationByUser),
+            summarizePlannedWorkingHours(List.copyOf(plannedByUser.values()), identity()),
+            summarizeShouldWorkingHours(List.copyOf(shouldByUser.values()), identity()),
+            summarizeWorkDuration(List.copyOf(workDurationByUser.values()), identity())
+        );
+    }
+}
@@ -90,6 +90,26 @@ class ReportCsvController {
         writeCsv(fileName, response, csvWriteConsumer);
     }
 
+    @GetMapping(value = "/report/year/{year}", params = {"csv"})
+    public void yearlyUserReportCsv(
+        @PathVariable("year") Integer year,
+        @RequestParam(value = "user", required = false, defaultValue = "") List<Long> userIdsParam,
+        @CurrentUser CurrentOidcUser currentUser,
+        Locale locale,
+        HttpServletResponse response
+    ) {
+
+        final Year reportYear = year(year)
+            .orElseThrow(() -> new ResponseStatusException(BAD_REQUEST, "Invalid year."));
+
+        final List<UserLocalId> userLocalIds = userIdsParam.isEmpty()
+            ? List.of(currentUser.getUserIdComposite().localId())
+            : userIdsParam.stream().map(UserLocalId::new).toList();
+        final String fileName = messageSource.getMessage("report.yearly.csv.filename", new Object[]{year}, locale);
+
+        writeCsv(fileName, response, writer -> reportCsvService.writeYearReportCsvForUserLocalIds(reportYear, locale, userLocalIds, writer));
+    }
+
     private void writeCsv(String filename, HttpServletResponse response, Consumer<PrintWriter> csvConsumer) {
         response.setContentType("text/csv");
         response.setCharacterEncoding("utf-8");
@@ -112,6 +132,15 @@ class ReportCsvController {
         }
     }
 
+    private static Optional<Year> year(int year) {
+        try {
+            return Optional.of(Year.of(year));
+        } catch (DateTimeException exception) {
+            LOG.error("could not create Year with year={}", year, exception);
+            return Optional.empty();
+        }
+    }
+
     private static Optional<YearMonth> yearMonth(int year, int month) {
         try {
             return Optional.of(YearMonth.of(year, month));
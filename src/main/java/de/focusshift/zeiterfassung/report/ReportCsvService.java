@@ -1,30 +1,48 @@
 package de.focusshift.zeiterfassung.report;
 
+import de.focusshift.zeiterfassung.timeentry.TimeEntry;
+import de.focusshift.zeiterfassung.timeentry.TimeEntryService;
 import de.focusshift.zeiterfassung.user.DateFormatter;
 import de.focusshift.zeiterfassung.user.UserId;
+import de.focusshift.zeiterfassung.user.UserIdComposite;
+import de.focusshift.zeiterfassung.usermanagement.User;
 import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import de.focusshift.zeiterfassung.usermanagement.UserManagementService;
 import org.springframework.context.MessageSource;
 import org.springframework.stereotype.Service;
 
 import java.io.PrintWriter;
 import java.text.NumberFormat;
+import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.Month;
 import java.time.Year;
 import java.time.YearMonth;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
 
 @Service
 class ReportCsvService {
 
     private static final int FRACTION_DIGITS = 3;
     private final ReportService reportService;
+    private final ReportPermissionService reportPermissionService;
+    private final TimeEntryService timeEntryService;
+    private final UserManagementService userManagementService;
     private final DateFormatter dateFormatter;
     private final MessageSource messageSource;
 
-    ReportCsvService(ReportService reportService, DateFormatter dateFormatter, MessageSource messageSource) {
+    ReportCsvService(ReportService reportService, ReportPermissionService reportPermissionService,
+                     TimeEntryService timeEntryService, UserManagementService userManagementService,
+                     DateFormatter dateFormatter, MessageSource messageSource) {
         this.reportService = reportService;
+        this.reportPermissionService = reportPermissionService;
+        this.timeEntryService = timeEntryService;
+        this.userManagementService = userManagementService;
         this.dateFormatter = dateFormatter;
         this.messageSource = messageSource;
     }
@@ -44,8 +62,56 @@ class ReportCsvService {
     }
 
     void writeMonthReportCsvForUserLocalIds(YearMonth yearMonth, Locale locale, List<UserLocalId> userLocalIds, PrintWriter writer) {
-        final ReportMonth reportMonth = reportService.getReportMonth(yearMonth, userLocalIds);
-        writeMonthCsv(reportMonth, yearMonth, locale, writer);
+        final LocalDate firstOfMonth = yearMonth.atDay(1);
+        writeReportCsvForUserLocalIds(firstOfMonth, firstOfMonth.plusMonths(1), locale, userLocalIds, writer);
+    }
+
+    void writeYearReportCsvForUserLocalIds(Year year, Locale locale, List<UserLocalId> userLocalIds, PrintWriter writer) {
+        final LocalDate firstOfYear = year.atDay(1);
+        writeReportCsvForUserLocalIds(firstOfYear, firstOfYear.plusYears(1), locale, userLocalIds, writer);
+    }
+
+    /**
+     * Writes time entries of the given interval sorted by start straight to the writer, one line per time entry.
+     *
+     * <p>
+     * Unlike week and month reports no {@link ReportDay}s are created, so the memory needed does not grow with the
+     * number of users or the length of the interval.
+     */
+    private void writeReportCsvForUserLocalIds(LocalDate from, LocalDate toExclusive, Locale locale, List<UserLocalId> userLocalIds, PrintWriter writer) {
+
+        writeHeader(locale, writer);
+
+        final List<UserLocalId> permittedUserLocalIds = reportPermissionService.filterUserLocalIdsByCurrentUserHasPermissionFor(userLocalIds);
+        if (permittedUserLocalIds.isEmpty()) {
+            return;
+        }
+
+        final Map<UserIdComposite, User> userById = userManagementService.findAllUsersByLocalIds(permittedUserLocalIds).stream()
+            .collect(toMap(User::userIdComposite, identity()));
+
+        final NumberFormat numberFormat = numberFormat(locale);
+        final StringBuilder line = new StringBuilder(128);
+        final LocalDate[] lastDate = new LocalDate[1];
+        final String[] lastDateString = new String[1];
+
+        timeEntryService.forEachEntry(from, toExclusive, permittedUserLocalIds, timeEntry -> {
+            final User user = userById.get(timeEntry.userIdComposite());
+            if (user == null) {
+                return;
+            }
+
+            // time entries are sorted by start, the formatted date can be reused for following entries
+            final LocalDate date = timeEntry.start().toLocalDate();
+            if (!date.equals(lastDate[0])) {
+                lastDate[0] = date;
+                lastDateString[0] = dateFormatter.formatDate(date);
+            }
+
+            line.setLength(0);
+            appendCsvLine(line, lastDateString[0], user, timeEntry, numberFormat);
+            writer.println(line);
+        });
     }
 
     private void writeWeekCsv(ReportWeek reportWeek, Locale locale, PrintWriter writer) {
@@ -85,9 +151,7 @@ class ReportCsvService {
 
     private void writeWeek(ReportWeek reportWeek, Locale locale, PrintWriter writer) {
 
-        final NumberFormat numberFormat = NumberFormat.getInstance(locale);
-        numberFormat.setMaximumFractionDigits(FRACTION_DIGITS);
-        numberFormat.setMinimumFractionDigits(FRACTION_DIGITS);
+        final NumberFormat numberFormat = numberFormat(locale);
 
         reportWeek.reportDays()
             .stream()
@@ -109,4 +173,22 @@ class ReportCsvService {
 
         return String.format("%s;%s;%s;%s;%s;%s;%s;%s", date, givenName, familyName, start, end, hoursWorked, comment, isBreak);
     }
+
+    private static void appendCsvLine(StringBuilder line, String date, User user, TimeEntry timeEntry, NumberFormat numberFormat) {
+        line.append(date).append(';')
+            .append(user.givenName()).append(';')
+            .append(user.familyName()).append(';')
+            .append(timeEntry.start().toLocalTime()).append(';')
+            .append(timeEntry.end().toLocalTime()).append(';')
+            .append(numberFormat.format(timeEntry.workDuration().hoursDoubleValue())).append(';')
+            .append(timeEntry.comment()).append(';')
+            .append(timeEntry.isBreak());
+    }
+
+    private static NumberFormat numberFormat(Locale locale) {
+        final NumberFormat numberFormat = NumberFormat.getInstance(locale);
+        numberFormat.setMaximumFractionDigits(FRACTION_DIGITS);
+        numberFormat.setMinimumFractionDigits(FRACTION_DIGITS);
+        return numberFormat;
+    }
 }
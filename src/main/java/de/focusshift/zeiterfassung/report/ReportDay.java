@@ -10,9 +10,7 @@ import java.time.LocalDate;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
-
-import static java.util.stream.Collectors.toMap;
+import java.util.Objects;
 
 /**
  * Report information for a certain date and users.
@@ -20,56 +18,132 @@ import static java.util.stream.Collectors.toMap;
  * <p>
  * All byUser Maps contains values for the same keys. (Please ensure this on constructing this object.)
  *
- * @param date
- * @param locked                    true if date is locked for adding/editing time entries
- * @param workingTimeCalendarByUser {@linkplain WorkingTimeCalendar} for all relevant users
- * @param reportDayEntriesByUser    {@linkplain ReportDayEntry entries} for all relevant users
- * @param workDurationByUser        calculated {@linkplain WorkDuration} for all relevant users
- * @param detailDayAbsencesByUser   {@linkplain ReportDayAbsence absences} for all relevant users
+ * <p>
+ * Planned, should and worked durations are summarized once on first access and reused afterwards.
  */
-public record ReportDay(
-    LocalDate date,
-    boolean locked,
-    Map<UserIdComposite, WorkingTimeCalendar> workingTimeCalendarByUser,
-    Map<UserIdComposite, List<ReportDayEntry>> reportDayEntriesByUser,
-    Map<UserIdComposite, WorkDuration> workDurationByUser,
-    Map<UserIdComposite, List<ReportDayAbsence>> detailDayAbsencesByUser
-) implements HasWorkDurationByUser {
+public final class ReportDay implements HasWorkDurationByUser {
+
+    private final LocalDate date;
+    private final boolean locked;
+    private final Map<UserIdComposite, WorkingTimeCalendar> workingTimeCalendarByUser;
+    private final Map<UserIdComposite, List<ReportDayEntry>> reportDayEntriesByUser;
+    private final Map<UserIdComposite, WorkDuration> workDurationByUser;
+    private final Map<UserIdComposite, List<ReportDayAbsence>> detailDayAbsencesByUser;
+
+    private ReportAggregates aggregates;
+
+    /**
+     * @param date
+     * @param locked                    true if date is locked for adding/editing time entries
+     * @param workingTimeCalendarByUser {@linkplain WorkingTimeCalendar} for all relevant users
+     * @param reportDayEntriesByUser    {@linkplain ReportDayEntry entries} for all relevant users
+     * @param workDurationByUser        calculated {@linkplain WorkDuration} for all relevant users
+     * @param detailDayAbsencesByUser   {@linkplain ReportDayAbsence absences} for all relevant users
+     */
+    public ReportDay(
+        LocalDate date,
+        boolean locked,
+        Map<UserIdComposite, WorkingTimeCalendar> workingTimeCalendarByUser,
+        Map<UserIdComposite, List<ReportDayEntry>> reportDayEntriesByUser,
+        Map<UserIdComposite, WorkDuration> workDurationByUser,
+        Map<UserIdComposite, List<ReportDayAbsence>> detailDayAbsencesByUser
+    ) {
+        this.date = date;
+        this.locked = locked;
+        this.workingTimeCalendarByUser = workingTimeCalendarByUser;
+        this.reportDayEntriesByUser = reportDayEntriesByUser;
+        this.workDurationByUser = workDurationByUser;
+        this.detailDayAbsencesByUser = detailDayAbsencesByUser;
+    }
+
+    public LocalDate date() {
+        return date;
+    }
+
+    public boolean locked() {
+        return locked;
+    }
+
+    public Map<UserIdComposite, WorkingTimeCalendar> workingTimeCalendarByUser() {
+        return workingTimeCalendarByUser;
+    }
+
+    public Map<UserIdComposite, List<ReportDayEntry>> reportDayEntriesByUser() {
+        return reportDayEntriesByUser;
+    }
+
+    @Override
+    public Map<UserIdComposite, WorkDuration> workDurationByUser() {
+        return workDurationByUser;
+    }
+
+    public Map<UserIdComposite, List<ReportDayAbsence>> detailDayAbsencesByUser() {
+        return detailDayAbsencesByUser;
+    }
 
     public List<ReportDayEntry> reportDayEntries() {
         return reportDayEntriesByUser.values().stream().flatMap(Collection::stream).toList();
     }
 
     public PlannedWorkingHours plannedWorkingHours() {
-        return workingTimeCalendarByUser.values().stream()
-            .map(calendar -> calendar.plannedWorkingHours(date))
-            .flatMap(Optional::stream)
-            .reduce(PlannedWorkingHours.ZERO, PlannedWorkingHours::plus);
+        return aggregates().plannedWorkingHours();
     }
 
+    @Override
     public Map<UserIdComposite, PlannedWorkingHours> plannedWorkingHoursByUser() {
-        return workingTimeCalendarByUser.entrySet().stream().collect(toMap(
-            Map.Entry::getKey,
-            entry -> entry.getValue().plannedWorkingHours(date).orElse(PlannedWorkingHours.ZERO)
-        ));
+        return aggregates().plannedWorkingHoursByUser();
     }
 
     public ShouldWorkingHours shouldWorkingHours() {
-        return workingTimeCalendarByUser.values().stream()
-            .map(calendar -> calendar.shouldWorkingHours(date))
-            .flatMap(Optional::stream)
-            .reduce(ShouldWorkingHours.ZERO, ShouldWorkingHours::plus);
+        return aggregates().shouldWorkingHours();
     }
 
+    @Override
     public Map<UserIdComposite, ShouldWorkingHours> shouldWorkingHoursByUser() {
-        return workingTimeCalendarByUser.entrySet().stream()
-            .collect(toMap(
-                Map.Entry::getKey,
-                entry -> entry.getValue().shouldWorkingHours(date).orElse(ShouldWorkingHours.ZERO))
-            );
+        return aggregates().shouldWorkingHoursByUser();
     }
 
     public WorkDuration workDuration() {
-        return workDurationByUser.values().stream().reduce(WorkDuration.ZERO, WorkDuration::plus);
+        return aggregates().workDuration();
+    }
+
+    private ReportAggregates aggregates() {
+        // ReportAggregates is immutable, concurrent first calls just compute the same value
+        ReportAggregates result = aggregates;
+        if (result == null) {
+            result = ReportAggregates.ofDay(date, workingTimeCalendarByUser, workDurationByUser);
+            aggregates = result;
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ReportDay that = (ReportDay) o;
+        return locked == that.locked
+            && Objects.equals(date, that.date)
+            && Objects.equals(workingTimeCalendarByUser, that.workingTimeCalendarByUser)
+            && Objects.equals(reportDayEntriesByUser, that.reportDayEntriesByUser)
+            && Objects.equals(workDurationByUser, that.workDurationByUser)
+            && Objects.equals(detailDayAbsencesByUser, that.detailDayAbsencesByUser);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(date, locked, workingTimeCalendarByUser, reportDayEntriesByUser, workDurationByUser, detailDayAbsencesByUser);
+    }
+
+    @Override
+    public String toString() {
+        return "ReportDay{" +
+            "date=" + date +
+            ", locked=" + locked +
+            ", workingTimeCalendarByUser=" + workingTimeCalendarByUser +
+            ", reportDayEntriesByUser=" + reportDayEntriesByUser +
+            ", workDurationByUser=" + workDurationByUser +
+            ", detailDayAbsencesByUser=" + detailDayAbsencesByUser +
+            '}';
     }
 }
@@ -9,31 +9,50 @@ import de.focusshift.zeiterfassung.workingtime.PlannedWorkingHours;
 import java.time.YearMonth;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 import static de.focusshift.zeiterfassung.report.ReportFunctions.calculateAverageDayWorkDuration;
-import static de.focusshift.zeiterfassung.report.ReportFunctions.summarizePlannedWorkingHours;
-import static de.focusshift.zeiterfassung.report.ReportFunctions.summarizePlannedWorkingHoursByUser;
-import static de.focusshift.zeiterfassung.report.ReportFunctions.summarizeShouldWorkingHours;
-import static de.focusshift.zeiterfassung.report.ReportFunctions.summarizeShouldWorkingHoursByUser;
-import static de.focusshift.zeiterfassung.report.ReportFunctions.summarizeWorkDuration;
-import static de.focusshift.zeiterfassung.report.ReportFunctions.summarizeWorkDurationByUser;
 
-record ReportMonth(YearMonth yearMonth, List<ReportWeek> weeks) implements HasWorkDurationByUser, HasWorkedHoursRatio {
+/**
+ * Report information for a certain month. Durations are summarized once on first access and reused afterwards.
+ */
+final class ReportMonth implements HasWorkDurationByUser, HasWorkedHoursRatio {
+
+    private final YearMonth yearMonth;
+    private final List<ReportWeek> weeks;
+
+    private ReportAggregates aggregates;
+
+    ReportMonth(YearMonth yearMonth, List<ReportWeek> weeks) {
+        this.yearMonth = yearMonth;
+        this.weeks = weeks;
+    }
+
+    public YearMonth yearMonth() {
+        return yearMonth;
+    }
+
+    public List<ReportWeek> weeks() {
+        return weeks;
+    }
 
     public PlannedWorkingHours plannedWorkingHours() {
-        return summarizePlannedWorkingHours(weeks, ReportWeek::plannedWorkingHours);
+        return aggregates().plannedWorkingHours();
     }
 
+    @Override
     public Map<UserIdComposite, PlannedWorkingHours> plannedWorkingHoursByUser() {
-        return summarizePlannedWorkingHoursByUser(weeks);
+        return aggregates().plannedWorkingHoursByUser();
     }
 
+    @Override
     public ShouldWorkingHours shouldWorkingHours() {
-        return summarizeShouldWorkingHours(weeks, ReportWeek::shouldWorkingHours);
+        return aggregates().shouldWorkingHours();
     }
 
+    @Override
     public Map<UserIdComposite, ShouldWorkingHours> shouldWorkingHoursByUser() {
-        return summarizeShouldWorkingHoursByUser(weeks);
+        return aggregates().shouldWorkingHoursByUser();
     }
 
     public WorkDuration averageDayWorkDuration() {
@@ -42,10 +61,41 @@ record ReportMonth(YearMonth yearMonth, List<ReportWeek> weeks) implements HasWo
 
     @Override
     public WorkDuration workDuration() {
-        return summarizeWorkDuration(weeks, ReportWeek::workDuration);
+        return aggregates().workDuration();
     }
 
+    @Override
     public Map<UserIdComposite, WorkDuration> workDurationByUser() {
-        return summarizeWorkDurationByUser(weeks);
+        return aggregates().workDurationByUser();
+    }
+
+    private ReportAggregates aggregates() {
+        ReportAggregates result = aggregates;
+        if (result == null) {
+            result = ReportAggregates.summarize(weeks);
+            aggregates = result;
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ReportMonth that = (ReportMonth) o;
+        return Objects.equals(yearMonth, that.yearMonth) && Objects.equals(weeks, that.weeks);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(yearMonth, weeks);
+    }
+
+    @Override
+    public String toString() {
+        return "ReportMonth{" +
+            "yearMonth=" + yearMonth +
+            ", weeks=" + weeks +
+            '}';
     }
 }
@@ -1,6 +1,7 @@
 package de.focusshift.zeiterfassung.report;
 
 import de.focus_shift.launchpad.api.HasLaunchpad;
+import de.focusshift.zeiterfassung.data.version.DataVersionService;
 import de.focusshift.zeiterfassung.search.HasUserSearch;
 import de.focusshift.zeiterfassung.search.UserSearchViewHelper;
 import de.focusshift.zeiterfassung.security.CurrentUser;
@@ -12,6 +13,7 @@ import de.focusshift.zeiterfassung.timeentry.TimeEntryDialogHelper;
 import de.focusshift.zeiterfassung.user.DateFormatter;
 import de.focusshift.zeiterfassung.usermanagement.User;
 import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import de.focusshift.zeiterfassung.web.ETagViewHelper;
 import de.focusshift.zeiterfassung.workduration.WorkDuration;
 import jakarta.annotation.Nullable;
 import jakarta.servlet.http.HttpServletRequest;
@@ -27,6 +29,7 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.ModelAndView;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
@@ -36,6 +39,7 @@ import java.math.MathContext;
 import java.time.Clock;
 import java.time.DateTimeException;
 import java.time.Duration;
+import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.List;
 import java.util.Locale;
@@ -63,18 +67,22 @@ class ReportMonthController implements HasTimeClock, HasLaunchpad, HasUserSearch
     private final TimeEntryDialogHelper timeEntryDialogHelper;
     private final UserSearchViewHelper userSearchViewHelper;
     private final ReportPermissionService reportPermissionService;
+    private final DataVersionService dataVersionService;
+    private final ETagViewHelper eTagViewHelper;
     private final Clock clock;
 
     ReportMonthController(ReportService reportService, ReportPermissionService reportPermissionService,
                           DateFormatter dateFormatter, ReportViewHelper viewHelper,
                           TimeEntryDialogHelper timeEntryDialogHelper, UserSearchViewHelper userSearchViewHelper,
-                          Clock clock) {
+                          DataVersionService dataVersionService, ETagViewHelper eTagViewHelper, Clock clock) {
         this.reportService = reportService;
         this.dateFormatter = dateFormatter;
         this.viewHelper = viewHelper;
         this.timeEntryDialogHelper = timeEntryDialogHelper;
         this.reportPermissionService = reportPermissionService;
         this.userSearchViewHelper = userSearchViewHelper;
+        this.dataVersionService = dataVersionService;
+        this.eTagViewHelper = eTagViewHelper;
         this.clock = clock;
     }
 
@@ -95,12 +103,13 @@ class ReportMonthController implements HasTimeClock, HasLaunchpad, HasUserSearch
         @RequestParam(value = "everyone", required = false) String allUsersSelectedParam,
         @RequestParam(value = "user", required = false, defaultValue = "") List<Long> userIdsParam,
         @RequestParam(value = "timeEntryId", required = false) Long timeEntryId,
+        @RequestParam(value = "historyBefore", required = false) Long historyBefore,
         @CurrentUser CurrentOidcUser currentUser,
-        Model model, Locale locale
+        Model model, Locale locale, ServletWebRequest webRequest
     ) {
 
         if (timeEntryId != null) {
-            return monthlyUserReportWithDialog(currentUser, year, month, allUsersSelectedParam, userIdsParam, timeEntryId, model);
+            return monthlyUserReportWithDialog(currentUser, year, month, allUsersSelectedParam, userIdsParam, timeEntryId, historyBefore, model);
         }
 
         final YearMonth yearMonth = yearMonth(year, month)
@@ -109,6 +118,11 @@ class ReportMonthController implements HasTimeClock, HasLaunchpad, HasUserSearch
         final List<UserLocalId> userLocalIds = userIdsParam.stream().map(UserLocalId::new).toList();
         final boolean allUsersSelected = allUsersSelectedParam != null;
 
+        final String dataVersion = getDataVersion(currentUser, allUsersSelected, yearMonth, userLocalIds);
+        if (eTagViewHelper.checkNotModified(webRequest, dataVersion)) {
+            return null;
+        }
+
         final ReportMonth reportMonth = getReportMonth(currentUser, allUsersSelected, yearMonth, userLocalIds);
         final GraphMonthDto graphMonthDto = toGraphMonthDto(reportMonth);
         final DetailMonthDto detailMonthDto = toDetailMonthDto(reportMonth, allUsersSelectedParam, userIdsParam, locale);
@@ -201,15 +215,35 @@ class ReportMonthController implements HasTimeClock, HasLaunchpad, HasUserSearch
         return new ModelAndView("redirect:%s".formatted(url));
     }
 
-    private ModelAndView monthlyUserReportWithDialog(CurrentOidcUser currentUser, int year, int month, @Nullable String everyoneParam, List<Long> userParam, Long timeEntryId, Model model) {
+    private ModelAndView monthlyUserReportWithDialog(CurrentOidcUser currentUser, int year, int month, @Nullable String everyoneParam, List<Long> userParam,
+                                                     Long timeEntryId, @Nullable Long historyBefore, Model model) {
 
         final String editFormAction = getEditTimeEntryFormAction(year, month, everyoneParam, userParam);
         final String cancelAction = getMonthlyUserReportUrl(year, month, everyoneParam, userParam, null);
-        timeEntryDialogHelper.addTimeEntryEditToModel(model, currentUser, timeEntryId, editFormAction, cancelAction);
+        timeEntryDialogHelper.addTimeEntryEditToModel(model, currentUser, timeEntryId, historyBefore,
+            revision -> getMonthlyUserReportUrl(year, month, everyoneParam, userParam, timeEntryId, revision), editFormAction, cancelAction);
 
         return new ModelAndView("reports/user-report-edit-time-entry");
     }
 
+    private String getDataVersion(CurrentOidcUser currentUser, boolean allUsersSelected, YearMonth yearMonth, List<UserLocalId> userLocalIds) {
+
+        final LocalDate from = yearMonth.atDay(1);
+        final LocalDate toExclusive = yearMonth.plusMonths(1).atDay(1);
+
+        final String dataVersion;
+
+        if (allUsersSelected) {
+            dataVersion = dataVersionService.getDataVersionOfAllUsers(currentUser.getUserIdComposite(), from, toExclusive);
+        } else if (userLocalIds.isEmpty()) {
+            dataVersion = dataVersionService.getDataVersion(currentUser.getUserIdComposite(), from, toExclusive, List.of(currentUser.getUserIdComposite().localId()));
+        } else {
+            dataVersion = dataVersionService.getDataVersion(currentUser.getUserIdComposite(), from, toExclusive, userLocalIds);
+        }
+
+        return dataVersion;
+    }
+
     private ReportMonth getReportMonth(CurrentOidcUser currentUser, boolean allUsersSelected, YearMonth yearMonth, List<UserLocalId> userLocalIds) {
 
         final ReportMonth reportMonth;
@@ -291,8 +325,22 @@ class ReportMonthController implements HasTimeClock, HasLaunchpad, HasUserSearch
      * @param timeEntryId <code>null</code> to show reports, <code>timeEntryId</code> to show the dialog
      */
     private String getMonthlyUserReportUrl(int year, int month, @Nullable String everyoneParam, List<Long> userParam, @Nullable Long timeEntryId) {
+        return getMonthlyUserReportUrl(year, month, everyoneParam, userParam, timeEntryId, null);
+    }
+
+    /**
+     * Creates the url which then shows report view or the timeEntry dialog. Depends on value of timeEntryId.
+     *
+     * @param year report year
+     * @param month report month
+     * @param everyoneParam whether every user should be shown, or not
+     * @param userParam list of user ids that should be shown
+     * @param timeEntryId <code>null</code> to show reports, <code>timeEntryId</code> to show the dialog
+     * @param historyBefore <code>null</code> to show the newest history of the timeEntry, otherwise revisions older than this one
+     */
+    private String getMonthlyUserReportUrl(int year, int month, @Nullable String everyoneParam, List<Long> userParam, @Nullable Long timeEntryId, @Nullable Long historyBefore) {
         return fromMethodCall(on(ReportMonthController.class)
-            .monthlyUserReport(year, month, everyoneParam, userParam, timeEntryId, null,null,null))
+            .monthlyUserReport(year, month, everyoneParam, userParam, timeEntryId, historyBefore, null, null, null, null))
             .build().toUriString();
     }
 
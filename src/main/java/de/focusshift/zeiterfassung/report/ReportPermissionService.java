@@ -52,12 +52,13 @@ class ReportPermissionService {
     /**
      * This method returns a list of all {@link User}s the logged-in user is permitted to see reports for.
      * Note that the logged-in user is part of the list. So the returned list has at least one element.
+     * All users are served by the in-memory user index, since this is called for every report render.
      *
      * @return a list of all valid {@link User}s.
      */
     List<User> findAllPermittedUsersForCurrentUser() {
         if (currentUserHasPermissionForAllUsers()) {
-            return userManagementService.findAllUsers();
+            return userManagementService.findAllUsers("");
         }
 
         final UserId userId = authenticationFacade.getCurrentUserIdComposite().id();
@@ -1,5 +1,6 @@
 package de.focusshift.zeiterfassung.report;
 
+import de.focusshift.zeiterfassung.UserCountBucket;
 import de.focusshift.zeiterfassung.absence.Absence;
 import de.focusshift.zeiterfassung.settings.LockTimeEntriesSettings;
 import de.focusshift.zeiterfassung.timeentry.TimeEntry;
@@ -15,6 +16,8 @@ import de.focusshift.zeiterfassung.usermanagement.UserManagementService;
 import de.focusshift.zeiterfassung.workduration.WorkDuration;
 import de.focusshift.zeiterfassung.workingtime.WorkingTimeCalendar;
 import de.focusshift.zeiterfassung.workingtime.WorkingTimeCalendarService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -45,13 +48,15 @@ public class ReportServiceRaw {
     private final UserDateService userDateService;
     private final WorkingTimeCalendarService workingTimeCalendarService;
     private final TimeEntryLockService timeEntryLockService;
+    private final MeterRegistry meterRegistry;
 
     ReportServiceRaw(
         TimeEntryDayService timeEntryDayService,
         UserManagementService userManagementService,
         UserDateService userDateService,
         WorkingTimeCalendarService workingTimeCalendarService,
-        TimeEntryLockService timeEntryLockService
+        TimeEntryLockService timeEntryLockService,
+        MeterRegistry meterRegistry
     ) {
 
         this.timeEntryDayService = timeEntryDayService;
@@ -59,10 +64,13 @@ public class ReportServiceRaw {
         this.userDateService = userDateService;
         this.workingTimeCalendarService = workingTimeCalendarService;
         this.timeEntryLockService = timeEntryLockService;
+        this.meterRegistry = meterRegistry;
     }
 
     public ReportDay getReportDayForAllUsers(LocalDate date) {
 
+        final Timer.Sample sample = Timer.start(meterRegistry);
+
         final Map<UserIdComposite, User> userById = userManagementService.findAllUsers().stream()
             .collect(toMap(User::userIdComposite, identity()));
 
@@ -74,69 +82,95 @@ public class ReportServiceRaw {
 
         final boolean locked = timeEntryLockService.isLocked(date);
 
-        return toReportDay(date, userById, workingTimeCalendarByUserId, timeEntryDaysByDate, locked);
+        return recorded(sample, "day", userById.size(), toReportDay(date, userById, workingTimeCalendarByUserId, timeEntryDaysByDate, locked));
     }
 
     ReportWeek getReportWeek(Year year, int week, UserLocalId userLocalId) {
 
+        final Timer.Sample sample = Timer.start(meterRegistry);
+
         final User user = userManagementService.findUserByLocalId(userLocalId)
             .orElseThrow(() -> new IllegalStateException("could not find user=%s".formatted(userLocalId)));
 
-        return createReportWeek(year, week,
+        return recorded(sample, "week", 1, createReportWeek(year, week,
             List.of(user),
             period -> Map.of(user.userIdComposite(), timeEntryDayService.getTimeEntryDays(period.from(), period.toExclusive(), userLocalId)),
-            period -> workingTimeCalendarService.getWorkingTimeCalendarForUsers(period.from(), period.toExclusive(), List.of(user.userLocalId())));
+            period -> workingTimeCalendarService.getWorkingTimeCalendarForUsers(period.from(), period.toExclusive(), List.of(user.userLocalId()))));
     }
 
     ReportWeek getReportWeek(Year year, int week, List<UserLocalId> userLocalIds) {
 
+        final Timer.Sample sample = Timer.start(meterRegistry);
+
         final List<User> users = userManagementService.findAllUsersByLocalIds(userLocalIds);
 
-        return createReportWeek(year, week,
+        return recorded(sample, "week", users.size(), createReportWeek(year, week,
             users,
             period -> timeEntryDayService.getTimeEntryDays(period.from(), period.toExclusive(), userLocalIds),
-            period -> workingTimeCalendarService.getWorkingTimeCalendarForUsers(period.from(), period.toExclusive(), userLocalIds));
+            period -> workingTimeCalendarService.getWorkingTimeCalendarForUsers(period.from(), period.toExclusive(), userLocalIds)));
     }
 
     ReportWeek getReportWeekForAllUsers(Year year, int week) {
 
+        final Timer.Sample sample = Timer.start(meterRegistry);
+
         final List<User> users = userManagementService.findAllUsers();
 
-        return createReportWeek(year, week,
+        return recorded(sample, "week", users.size(), createReportWeek(year, week,
             users,
             period -> timeEntryDayService.getTimeEntryDaysForAllUsers(period.from(), period.toExclusive()),
-            period -> workingTimeCalendarService.getWorkingTimeCalendarForAllUsers(period.from(), period.toExclusive()));
+            period -> workingTimeCalendarService.getWorkingTimeCalendarForAllUsers(period.from(), period.toExclusive())));
     }
 
     ReportMonth getReportMonth(YearMonth yearMonth, UserId userId) {
 
+        final Timer.Sample sample = Timer.start(meterRegistry);
+
         final User user = userManagementService.findUserById(userId)
             .orElseThrow(() -> new IllegalStateException("could not find user id=%s".formatted(userId)));
 
-        return createReportMonth(yearMonth,
+        return recorded(sample, "month", 1, createReportMonth(yearMonth,
             List.of(user),
             period -> timeEntryDayService.getTimeEntryDays(period.from(), period.toExclusive(), List.of(user.userLocalId())),
-            period -> workingTimeCalendarService.getWorkingTimeCalendarForUsers(period.from(), period.toExclusive(), List.of(user.userLocalId())));
+            period -> workingTimeCalendarService.getWorkingTimeCalendarForUsers(period.from(), period.toExclusive(), List.of(user.userLocalId()))));
     }
 
     ReportMonth getReportMonth(YearMonth yearMonth, List<UserLocalId> userLocalIds) {
 
+        final Timer.Sample sample = Timer.start(meterRegistry);
+
         final List<User> users = userManagementService.findAllUsersByLocalIds(userLocalIds);
 
-        return createReportMonth(yearMonth,
+        return recorded(sample, "month", users.size(), createReportMonth(yearMonth,
             users,
             period -> timeEntryDayService.getTimeEntryDays(period.from(), period.toExclusive(), userLocalIds),
-            period -> workingTimeCalendarService.getWorkingTimeCalendarForUsers(period.from(), period.toExclusive(), userLocalIds));
+            period -> workingTimeCalendarService.getWorkingTimeCalendarForUsers(period.from(), period.toExclusive(), userLocalIds)));
     }
 
     ReportMonth getReportMonthForAllUsers(YearMonth yearMonth) {
 
+        final Timer.Sample sample = Timer.start(meterRegistry);
+
         final List<User> users = userManagementService.findAllUsers();
 
-        return createReportMonth(yearMonth,
+        return recorded(sample, "month", users.size(), createReportMonth(yearMonth,
             users,
             period -> timeEntryDayService.getTimeEntryDaysForAllUsers(period.from(), period.toExclusive()),
-            period -> workingTimeCalendarService.getWorkingTimeCalendarForAllUsers(period.from(), period.toExclusive()));
+            period -> workingTimeCalendarService.getWorkingTimeCalendarForAllUsers(period.from(), period.toExclusive())));
+    }
+
+    /**
+     * Records the duration of creating a report, tagged with the type of the report and the number of users as
+     * {@link UserCountBucket} to keep the number of tags low.
+     */
+    private <T> T recorded(Timer.Sample sample, String report, int users, T result) {
+        sample.stop(Timer.builder("zeiterfassung.report.duration")
+            .description("Duration of creating a report")
+            .tag("report", report)
+            .tag("users", UserCountBucket.of(users))
+            .publishPercentileHistogram()
+            .register(meterRegistry));
+        return result;
     }
 
     private Map<LocalDate, Map<UserIdComposite, TimeEntryDay>> timeEntryDaysForAllUsers(LocalDate from, LocalDate toExclusive) {
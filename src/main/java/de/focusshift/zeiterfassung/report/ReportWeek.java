@@ -10,32 +10,51 @@ import java.time.LocalDate;
 import java.time.temporal.WeekFields;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 import static de.focusshift.zeiterfassung.report.ReportFunctions.calculateAverageDayWorkDuration;
-import static de.focusshift.zeiterfassung.report.ReportFunctions.summarizePlannedWorkingHours;
-import static de.focusshift.zeiterfassung.report.ReportFunctions.summarizePlannedWorkingHoursByUser;
-import static de.focusshift.zeiterfassung.report.ReportFunctions.summarizeShouldWorkingHours;
-import static de.focusshift.zeiterfassung.report.ReportFunctions.summarizeShouldWorkingHoursByUser;
-import static de.focusshift.zeiterfassung.report.ReportFunctions.summarizeWorkDuration;
-import static de.focusshift.zeiterfassung.report.ReportFunctions.summarizeWorkDurationByUser;
 import static java.util.Locale.GERMANY;
 
-record ReportWeek(LocalDate firstDateOfWeek, List<ReportDay> reportDays) implements HasWorkDurationByUser, HasWorkedHoursRatio {
+/**
+ * Report information for a certain week. Durations are summarized once on first access and reused afterwards.
+ */
+final class ReportWeek implements HasWorkDurationByUser, HasWorkedHoursRatio {
+
+    private final LocalDate firstDateOfWeek;
+    private final List<ReportDay> reportDays;
+
+    private ReportAggregates aggregates;
+
+    ReportWeek(LocalDate firstDateOfWeek, List<ReportDay> reportDays) {
+        this.firstDateOfWeek = firstDateOfWeek;
+        this.reportDays = reportDays;
+    }
+
+    public LocalDate firstDateOfWeek() {
+        return firstDateOfWeek;
+    }
+
+    public List<ReportDay> reportDays() {
+        return reportDays;
+    }
 
     public PlannedWorkingHours plannedWorkingHours() {
-        return summarizePlannedWorkingHours(reportDays, ReportDay::plannedWorkingHours);
+        return aggregates().plannedWorkingHours();
     }
 
+    @Override
     public Map<UserIdComposite, PlannedWorkingHours> plannedWorkingHoursByUser() {
-        return summarizePlannedWorkingHoursByUser(reportDays);
+        return aggregates().plannedWorkingHoursByUser();
     }
 
+    @Override
     public ShouldWorkingHours shouldWorkingHours() {
-        return summarizeShouldWorkingHours(reportDays, ReportDay::shouldWorkingHours);
+        return aggregates().shouldWorkingHours();
     }
 
+    @Override
     public Map<UserIdComposite, ShouldWorkingHours> shouldWorkingHoursByUser() {
-        return summarizeShouldWorkingHoursByUser(reportDays);
+        return aggregates().shouldWorkingHoursByUser();
     }
 
     public WorkDuration averageDayWorkDuration() {
@@ -44,11 +63,12 @@ record ReportWeek(LocalDate firstDateOfWeek, List<ReportDay> reportDays) impleme
 
     @Override
     public WorkDuration workDuration() {
-        return summarizeWorkDuration(this.reportDays, ReportDay::workDuration);
+        return aggregates().workDuration();
     }
 
+    @Override
     public Map<UserIdComposite, WorkDuration> workDurationByUser() {
-        return summarizeWorkDurationByUser(this.reportDays);
+        return aggregates().workDurationByUser();
     }
 
     public LocalDate lastDateOfWeek() {
@@ -61,4 +81,34 @@ record ReportWeek(LocalDate firstDateOfWeek, List<ReportDay> reportDays) impleme
     public int calenderWeek() {
         return firstDateOfWeek.get(WeekFields.of(GERMANY).weekOfWeekBasedYear());
     }
+
+    private ReportAggregates aggregates() {
+        ReportAggregates result = aggregates;
+        if (result == null) {
+            result = ReportAggregates.summarize(reportDays);
+            aggregates = result;
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ReportWeek that = (ReportWeek) o;
+        return Objects.equals(firstDateOfWeek, that.firstDateOfWeek) && Objects.equals(reportDays, that.reportDays);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(firstDateOfWeek, reportDays);
+    }
+
+    @Override
+    public String toString() {
+        return "ReportWeek{" +
+            "firstDateOfWeek=" + firstDateOfWeek +
+            ", reportDays=" + reportDays +
+            '}';
+    }
 }
@@ -1,6 +1,7 @@
 package de.focusshift.zeiterfassung.report;
 
 import de.focus_shift.launchpad.api.HasLaunchpad;
+import de.focusshift.zeiterfassung.data.version.DataVersionService;
 import de.focusshift.zeiterfassung.search.HasUserSearch;
 import de.focusshift.zeiterfassung.search.UserSearchViewHelper;
 import de.focusshift.zeiterfassung.security.CurrentUser;
@@ -10,6 +11,7 @@ import de.focusshift.zeiterfassung.timeentry.TimeEntryDTO;
 import de.focusshift.zeiterfassung.timeentry.TimeEntryDialogHelper;
 import de.focusshift.zeiterfassung.usermanagement.User;
 import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import de.focusshift.zeiterfassung.web.ETagViewHelper;
 import jakarta.annotation.Nullable;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
@@ -24,6 +26,7 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.ModelAndView;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
@@ -31,6 +34,7 @@ import org.threeten.extra.YearWeek;
 
 import java.time.Clock;
 import java.time.DateTimeException;
+import java.time.LocalDate;
 import java.time.Year;
 import java.util.List;
 import java.util.Locale;
@@ -43,6 +47,7 @@ import static de.focusshift.zeiterfassung.web.HotwiredTurboConstants.TURBO_FRAME
 import static de.focusshift.zeiterfassung.web.HotwiredTurboConstants.TURBO_REFRESH_SCROLL_ATTRIBUTE;
 import static java.lang.String.format;
 import static java.lang.invoke.MethodHandles.lookup;
+import static java.time.DayOfWeek.MONDAY;
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.web.servlet.mvc.method.annotation.MvcUriComponentsBuilder.fromMethodCall;
 import static org.springframework.web.servlet.mvc.method.annotation.MvcUriComponentsBuilder.on;
@@ -59,16 +64,21 @@ class ReportWeekController implements HasTimeClock, HasLaunchpad, HasUserSearch
     private final ReportViewHelper reportViewHelper;
     private final TimeEntryDialogHelper timeEntryDialogHelper;
     private final UserSearchViewHelper userSearchViewHelper;
+    private final DataVersionService dataVersionService;
+    private final ETagViewHelper eTagViewHelper;
     private final Clock clock;
 
     ReportWeekController(ReportService reportService, ReportPermissionService reportPermissionService,
                          ReportViewHelper reportViewHelper, TimeEntryDialogHelper timeEntryDialogHelper,
-                         UserSearchViewHelper userSearchViewHelper, Clock clock) {
+                         UserSearchViewHelper userSearchViewHelper, DataVersionService dataVersionService,
+                         ETagViewHelper eTagViewHelper, Clock clock) {
         this.reportService = reportService;
         this.reportPermissionService = reportPermissionService;
         this.reportViewHelper = reportViewHelper;
         this.timeEntryDialogHelper = timeEntryDialogHelper;
         this.userSearchViewHelper = userSearchViewHelper;
+        this.dataVersionService = dataVersionService;
+        this.eTagViewHelper = eTagViewHelper;
         this.clock = clock;
     }
 
@@ -89,11 +99,12 @@ class ReportWeekController implements HasTimeClock, HasLaunchpad, HasUserSearch
         @RequestParam(value = "everyone", required = false) String allUsersSelectedParam,
         @RequestParam(value = "user", required = false, defaultValue = "") List<Long> userIdsParam,
         @RequestParam(value = "timeEntryId", required = false) Long timeEntryId,
+        @RequestParam(value = "historyBefore", required = false) Long historyBefore,
         @CurrentUser CurrentOidcUser currentUser,
-        Model model, Locale locale) {
+        Model model, Locale locale, ServletWebRequest webRequest) {
 
         if (timeEntryId != null) {
-            return weeklyUserReportWithDialog(currentUser, year, week, allUsersSelectedParam, userIdsParam, timeEntryId, model);
+            return weeklyUserReportWithDialog(currentUser, year, week, allUsersSelectedParam, userIdsParam, timeEntryId, historyBefore, model);
         }
 
         final YearWeek reportYearWeek = yearWeek(year, week)
@@ -103,6 +114,11 @@ class ReportWeekController implements HasTimeClock, HasLaunchpad, HasUserSearch
         final List<UserLocalId> selectedUserLocalIds = userIdsParam.stream().map(UserLocalId::new).toList();
         final boolean allUsersSelected = allUsersSelectedParam != null;
 
+        final String dataVersion = getDataVersion(currentUser, reportYearWeek, allUsersSelected, selectedUserLocalIds);
+        if (eTagViewHelper.checkNotModified(webRequest, dataVersion)) {
+            return null;
+        }
+
         final ReportWeek reportWeek = getReportWeek(currentUser, reportYearWeek, allUsersSelected, reportYear, selectedUserLocalIds);
         final GraphWeekDto graphWeekDto = reportViewHelper.toGraphWeekDto(reportWeek, reportWeek.firstDateOfWeek().getMonth());
         final DetailWeekDto detailWeekDto = reportViewHelper.toDetailWeekDto(reportWeek, reportWeek.firstDateOfWeek().getMonth(), locale,
@@ -197,11 +213,13 @@ class ReportWeekController implements HasTimeClock, HasLaunchpad, HasUserSearch
         return new ModelAndView("redirect:%s".formatted(url));
     }
 
-    private ModelAndView weeklyUserReportWithDialog(CurrentOidcUser currentUser, int year, int week, @Nullable String everyoneParam, List<Long> userParam, Long timeEntryId, Model model) {
+    private ModelAndView weeklyUserReportWithDialog(CurrentOidcUser currentUser, int year, int week, @Nullable String everyoneParam, List<Long> userParam,
+                                                    Long timeEntryId, @Nullable Long historyBefore, Model model) {
 
         final String editFormAction = createEditTimeEntryFormAction(year, week, everyoneParam, userParam);
         final String closeDialogUrl = createWeeklyUserReportUrl(year, week, everyoneParam, userParam, null);
-        timeEntryDialogHelper.addTimeEntryEditToModel(model, currentUser, timeEntryId, editFormAction, closeDialogUrl);
+        timeEntryDialogHelper.addTimeEntryEditToModel(model, currentUser, timeEntryId, historyBefore,
+            revision -> createWeeklyUserReportUrl(year, week, everyoneParam, userParam, timeEntryId, revision), editFormAction, closeDialogUrl);
 
         return new ModelAndView("reports/user-report-edit-time-entry");
     }
@@ -230,11 +248,43 @@ class ReportWeekController implements HasTimeClock, HasLaunchpad, HasUserSearch
      * @param timeEntryId <code>null</code> to show reports, <code>timeEntryId</code> to show the dialog
      */
     private String createWeeklyUserReportUrl(int year, int week, @Nullable String everyoneParam, List<Long> userParam, @Nullable Long timeEntryId) {
+        return createWeeklyUserReportUrl(year, week, everyoneParam, userParam, timeEntryId, null);
+    }
+
+    /**
+     * Creates the url which then shows report view or the timeEntry dialog. Depends on value of timeEntryId.
+     *
+     * @param year report year
+     * @param week report week
+     * @param everyoneParam whether every user should be shown, or not
+     * @param userParam list of user ids that should be shown
+     * @param timeEntryId <code>null</code> to show reports, <code>timeEntryId</code> to show the dialog
+     * @param historyBefore <code>null</code> to show the newest history of the timeEntry, otherwise revisions older than this one
+     */
+    private String createWeeklyUserReportUrl(int year, int week, @Nullable String everyoneParam, List<Long> userParam, @Nullable Long timeEntryId, @Nullable Long historyBefore) {
         return fromMethodCall(on(ReportWeekController.class)
-            .weeklyUserReport(year, week, everyoneParam, userParam, timeEntryId, null,null,null))
+            .weeklyUserReport(year, week, everyoneParam, userParam, timeEntryId, historyBefore, null, null, null, null))
             .build().toUriString();
     }
 
+    private String getDataVersion(CurrentOidcUser currentUser, YearWeek reportYearWeek, boolean allUsersSelected, List<UserLocalId> userLocalIds) {
+
+        final LocalDate from = reportYearWeek.atDay(MONDAY);
+        final LocalDate toExclusive = from.plusWeeks(1);
+
+        final String dataVersion;
+
+        if (allUsersSelected) {
+            dataVersion = dataVersionService.getDataVersionOfAllUsers(currentUser.getUserIdComposite(), from, toExclusive);
+        } else if (userLocalIds.isEmpty()) {
+            dataVersion = dataVersionService.getDataVersion(currentUser.getUserIdComposite(), from, toExclusive, List.of(currentUser.getUserIdComposite().localId()));
+        } else {
+            dataVersion = dataVersionService.getDataVersion(currentUser.getUserIdComposite(), from, toExclusive, userLocalIds);
+        }
+
+        return dataVersion;
+    }
+
     private ReportWeek getReportWeek(CurrentOidcUser currentUser, YearWeek reportYearWeek, boolean allUsersSelected, Year reportYear, List<UserLocalId> userLocalIds) {
 
         final ReportWeek reportWeek;
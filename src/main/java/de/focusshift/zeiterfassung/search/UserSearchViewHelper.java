@@ -88,9 +88,8 @@ public class UserSearchViewHelper {
 
     private void prepareUserSearchModel(Model model, CurrentOidcUser currentUser, String query, UserSuggestionSupplier customizer) {
 
-        final List<User> users = userManagementService.findAllUsers(query);
+        final List<User> users = userManagementService.findUsers(query, USER_RESULT_LIMIT);
         final List<UserSuggestion> suggestions = users.stream()
-            .limit(USER_RESULT_LIMIT)
             .map(user -> toUserSearchSuggestion(currentUser, user, query, customizer))
             .toList();
 
@@ -1,74 +1,216 @@
 package de.focusshift.zeiterfassung.security;
 
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
-import org.springframework.security.oauth2.core.oidc.user.OidcUser;
-import org.springframework.security.oauth2.core.user.OAuth2User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.IndexResolver;
 import org.springframework.session.MapSession;
 import org.springframework.session.Session;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
-import static java.util.stream.Collectors.toMap;
+import static java.lang.invoke.MethodHandles.lookup;
+import static java.util.Comparator.comparing;
 
+/**
+ * Keeps the sessions in memory of the single application instance.
+ *
+ * <p>
+ * Only the {@link FindByIndexNameSessionRepository#PRINCIPAL_NAME_INDEX_NAME principal name index} is supported,
+ * resolved by the given {@link IndexResolver} and looked up without scanning the sessions. Expired sessions are
+ * removed on access and by a scheduled clean up. Beyond {@code maxSessions} the least recently used sessions are
+ * removed.
+ */
 class IndexNameMapSessionRepository implements FindByIndexNameSessionRepository<Session> {
 
+    private static final Logger LOG = LoggerFactory.getLogger(lookup().lookupClass());
+
     // <SessionId, Session>
     private final ConcurrentHashMap<String, Session> sessions = new ConcurrentHashMap<>();
-    // <AttributeName, <SessionId, AttributeValue>>
-    private final ConcurrentHashMap<String, ConcurrentHashMap<String, String>> indexMap = new ConcurrentHashMap<>();
+    // <PrincipalName, SessionIds>
+    private final ConcurrentHashMap<String, Set<String>> sessionIdsByPrincipalName = new ConcurrentHashMap<>();
+    // <SessionId, PrincipalName>
+    private final ConcurrentHashMap<String, String> principalNameBySessionId = new ConcurrentHashMap<>();
+
+    private final IndexResolver<Session> indexResolver;
+    private final Duration maxInactiveInterval;
+    private final int maxSessions;
+    private final Clock clock;
+
+    private final Counter expiredCounter;
+    private final Counter evictedCounter;
+
+    IndexNameMapSessionRepository(IndexResolver<Session> indexResolver, Duration maxInactiveInterval, int maxSessions,
+                                  Clock clock, MeterRegistry meterRegistry) {
+        this.indexResolver = indexResolver;
+        this.maxInactiveInterval = maxInactiveInterval;
+        this.maxSessions = maxSessions;
+        this.clock = clock;
+        this.expiredCounter = removedCounter("expired", meterRegistry);
+        this.evictedCounter = removedCounter("evicted", meterRegistry);
+
+        Gauge.builder("zeiterfassung.session.size", sessions, Map::size)
+            .description("Number of sessions kept in memory")
+            .register(meterRegistry);
+    }
 
     @Override
     public Session findById(String id) {
-        return sessions.get(id);
+        final Session session = sessions.get(id);
+        if (session != null && isExpired(session, clock.instant())) {
+            remove(id, expiredCounter);
+            return null;
+        }
+        return session;
     }
 
     @Override
     public Session createSession() {
-        return new MapSession();
+        final MapSession session = new MapSession();
+        session.setMaxInactiveInterval(maxInactiveInterval);
+        return session;
     }
 
     @Override
     public void save(final Session session) {
-        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication instanceof final OAuth2AuthenticationToken token) {
-            final OAuth2User oAuth2User = token.getPrincipal();
-            if (oAuth2User instanceof final OidcUser oidcUser) {
-                session.setAttribute(PRINCIPAL_NAME_INDEX_NAME, oidcUser.getSubject());
-            }
+
+        final String sessionId = session.getId();
+
+        // the id changes on login to prevent session fixation
+        if (session instanceof final MapSession mapSession && !sessionId.equals(mapSession.getOriginalId())) {
+            deleteById(mapSession.getOriginalId());
         }
 
-        sessions.put(session.getId(), session);
-        for (final String attributeName : session.getAttributeNames()) {
-            indexMap.computeIfAbsent(attributeName, k -> new ConcurrentHashMap<>())
-                .put(session.getId(), session.getAttribute(attributeName).toString());
+        final String principalName = indexResolver.resolveIndexesFor(session).get(PRINCIPAL_NAME_INDEX_NAME);
+        if (principalName != null) {
+            session.setAttribute(PRINCIPAL_NAME_INDEX_NAME, principalName);
+        }
+
+        final boolean added = sessions.put(sessionId, session) == null;
+        index(sessionId, principalName);
+
+        if (added && sessions.size() > maxSessions) {
+            evictLeastRecentlyUsed();
         }
     }
 
     @Override
     public void deleteById(final String id) {
-        final Session session = sessions.remove(id);
-        if (session != null) {
-            for (final String attributeName : session.getAttributeNames()) {
-                final ConcurrentHashMap<String, String> index = indexMap.get(attributeName);
-                if (index != null) {
-                    index.remove(id);
-                }
-            }
+        sessions.remove(id);
+        final String principalName = principalNameBySessionId.remove(id);
+        if (principalName != null) {
+            unindex(principalName, id);
         }
     }
 
     @Override
     public Map<String, Session> findByIndexNameAndIndexValue(final String indexName, final String indexValue) {
-        final ConcurrentHashMap<String, String> index = indexMap.get(indexName);
-        if (index != null) {
-            return index.entrySet().stream()
-                    .filter(entry -> entry.getValue().equals(indexValue))
-                    .collect(toMap(Map.Entry::getKey, entry -> sessions.get(entry.getKey())));
+
+        if (!PRINCIPAL_NAME_INDEX_NAME.equals(indexName)) {
+            return Map.of();
+        }
+
+        final Set<String> sessionIds = sessionIdsByPrincipalName.get(indexValue);
+        if (sessionIds == null) {
+            return Map.of();
+        }
+
+        final Map<String, Session> sessionsById = new HashMap<>();
+        for (final String sessionId : sessionIds) {
+            final Session session = findById(sessionId);
+            if (session != null) {
+                sessionsById.put(sessionId, session);
+            }
+        }
+
+        return sessionsById;
+    }
+
+    @Scheduled(fixedDelayString = "${zeiterfassung.security.session.cleanup-interval:PT1M}")
+    void cleanUpExpiredSessions() {
+        final int removed = removeExpiredSessions();
+        if (removed > 0) {
+            LOG.debug("Removed {} expired sessions", removed);
         }
-        return Map.of();
+    }
+
+    private int removeExpiredSessions() {
+        final Instant now = clock.instant();
+        int removed = 0;
+        for (final Session session : sessions.values()) {
+            if (isExpired(session, now)) {
+                remove(session.getId(), expiredCounter);
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    private void evictLeastRecentlyUsed() {
+
+        // expired sessions make room without logging out anybody
+        removeExpiredSessions();
+
+        while (sessions.size() > maxSessions) {
+            sessions.values().stream()
+                .min(comparing(Session::getLastAccessedTime))
+                .ifPresent(session -> remove(session.getId(), evictedCounter));
+        }
+    }
+
+    private void remove(String sessionId, Counter counter) {
+        if (sessions.containsKey(sessionId)) {
+            deleteById(sessionId);
+            counter.increment();
+        }
+    }
+
+    private void index(String sessionId, String principalName) {
+
+        final String previous = principalName == null
+            ? principalNameBySessionId.remove(sessionId)
+            : principalNameBySessionId.put(sessionId, principalName);
+
+        if (previous != null && !previous.equals(principalName)) {
+            unindex(previous, sessionId);
+        }
+
+        if (principalName != null) {
+            sessionIdsByPrincipalName.compute(principalName, (name, sessionIds) -> {
+                final Set<String> ids = sessionIds == null ? ConcurrentHashMap.newKeySet() : sessionIds;
+                ids.add(sessionId);
+                return ids;
+            });
+        }
+    }
+
+    private void unindex(String principalName, String sessionId) {
+        sessionIdsByPrincipalName.computeIfPresent(principalName, (name, sessionIds) -> {
+            sessionIds.remove(sessionId);
+            return sessionIds.isEmpty() ? null : sessionIds;
+        });
+    }
+
+    private static boolean isExpired(Session session, Instant now) {
+        final Duration sessionMaxInactiveInterval = session.getMaxInactiveInterval();
+        return !sessionMaxInactiveInterval.isNegative()
+            && !now.isBefore(session.getLastAccessedTime().plus(sessionMaxInactiveInterval));
+    }
+
+    private static Counter removedCounter(String reason, MeterRegistry meterRegistry) {
+        return Counter.builder("zeiterfassung.session.removed")
+            .description("Sessions removed from memory without logout")
+            .tag("reason", reason)
+            .register(meterRegistry);
     }
 }
@@ -0,0 +1,43 @@
+package de.focusshift.zeiterfassung.security;
+
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.security.oauth2.core.oidc.user.OidcUser;
+import org.springframework.session.IndexResolver;
+import org.springframework.session.Session;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.springframework.security.web.context.HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY;
+import static org.springframework.session.FindByIndexNameSessionRepository.PRINCIPAL_NAME_INDEX_NAME;
+
+/**
+ * Resolves the principal name index of a session, which is the subject of the {@link OidcUser} the session belongs to.
+ *
+ * <p>
+ * The security context stored in the session is preferred over the one of the current thread. Otherwise, saving the
+ * session of another user, e.g. to mark it for reloading the authorities, would index it with the subject of the
+ * user currently logged in.
+ */
+class OidcSubjectIndexResolver implements IndexResolver<Session> {
+
+    @Override
+    public Map<String, String> resolveIndexesFor(Session session) {
+        return subjectOf(session.getAttribute(SPRING_SECURITY_CONTEXT_KEY))
+            .or(() -> Optional.<String>ofNullable(session.getAttribute(PRINCIPAL_NAME_INDEX_NAME)))
+            .or(() -> subjectOf(SecurityContextHolder.getContext()))
+            .map(subject -> Map.of(PRINCIPAL_NAME_INDEX_NAME, subject))
+            .orElseGet(Map::of);
+    }
+
+    private static Optional<String> subjectOf(Object securityContext) {
+        if (securityContext instanceof final SecurityContext context
+            && context.getAuthentication() instanceof final OAuth2AuthenticationToken token
+            && token.getPrincipal() instanceof final OidcUser oidcUser) {
+            return Optional.of(oidcUser.getSubject());
+        }
+        return Optional.empty();
+    }
+}
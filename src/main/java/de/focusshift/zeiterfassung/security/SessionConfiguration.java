@@ -1,17 +1,45 @@
 package de.focusshift.zeiterfassung.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.IndexResolver;
 import org.springframework.session.Session;
 import org.springframework.session.config.annotation.web.http.EnableSpringHttpSession;
 
+import java.time.Clock;
+
+/**
+ * Sessions are kept in memory by default. With {@code zeiterfassung.security.session.store=jdbc} the session
+ * repository of spring boot stores them in the database instead, so that all instances share them. The
+ * {@link IndexResolver} is used by both stores to index sessions by the subject of the logged-in user.
+ */
 @Configuration
-@EnableSpringHttpSession
+@EnableConfigurationProperties(SessionProperties.class)
 class SessionConfiguration {
 
     @Bean
-    FindByIndexNameSessionRepository<Session> sessionRepository() {
-        return new IndexNameMapSessionRepository();
+    IndexResolver<Session> sessionIndexResolver() {
+        return new OidcSubjectIndexResolver();
+    }
+
+    @Configuration
+    @EnableSpringHttpSession
+    @ConditionalOnProperty(value = "zeiterfassung.security.session.store", havingValue = "memory", matchIfMissing = true)
+    static class MemorySessionConfiguration {
+
+        @Bean
+        FindByIndexNameSessionRepository<Session> sessionRepository(
+            IndexResolver<Session> sessionIndexResolver,
+            SessionProperties properties,
+            Clock clock,
+            MeterRegistry meterRegistry
+        ) {
+            return new IndexNameMapSessionRepository(sessionIndexResolver, properties.maxInactiveInterval(),
+                properties.maxSessions(), clock, meterRegistry);
+        }
     }
 }
@@ -0,0 +1,30 @@
+package de.focusshift.zeiterfassung.security;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * @param store where sessions are kept, {@code memory} of the single instance or {@code jdbc} shared by all instances
+ * @param maxInactiveInterval duration after the last request after which a session of the memory store expires
+ * @param maxSessions maximum number of sessions of the memory store, the least recently used sessions are removed beyond
+ * @param cleanupInterval delay between two runs removing expired sessions of the memory store
+ */
+@Validated
+@ConfigurationProperties("zeiterfassung.security.session")
+record SessionProperties(
+    @DefaultValue("memory") @NotNull Store store,
+    @DefaultValue("PT30M") @NotNull Duration maxInactiveInterval,
+    @DefaultValue("10000") @Min(1) int maxSessions,
+    @DefaultValue("PT1M") @NotNull Duration cleanupInterval
+) {
+
+    enum Store {
+        MEMORY,
+        JDBC
+    }
+}
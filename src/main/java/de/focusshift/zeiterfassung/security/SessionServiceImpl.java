@@ -52,6 +52,10 @@ class SessionServiceImpl<S extends Session> implements SessionService {
     @Override
     public void unmarkSessionToReloadAuthorities(String sessionId) {
         final S session = sessionRepository.findById(sessionId);
+        if (session == null) {
+            LOG.debug("Session {} expired already. Ignore removing session reload hint.", sessionId);
+            return;
+        }
         session.removeAttribute(RELOAD_AUTHORITIES);
         sessionRepository.save(session);
     }
@@ -0,0 +1,12 @@
+package de.focusshift.zeiterfassung.settings;
+
+import de.focusshift.zeiterfassung.publicholiday.FederalState;
+
+/**
+ * Event dispatched after the global {@link FederalStateSettings} have been updated.
+ *
+ * @param federalState the updated default federal-state
+ * @param worksOnPublicHoliday the updated default whether persons are working on public holidays or not
+ */
+public record FederalStateSettingsUpdatedEvent(FederalState federalState, boolean worksOnPublicHoliday) {
+}
@@ -0,0 +1,124 @@
+package de.focusshift.zeiterfassung.settings;
+
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantId;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Cache of the {@link SettingsSnapshot} per tenant.
+ *
+ * <p>
+ * Settings are read on almost every request and for every date of a report, but change rarely. A cached snapshot is
+ * answered with a map lookup instead of a query per settings type. Snapshots are evicted by {@link SettingsService}
+ * when settings are updated and again after the transaction of a {@link SettingsChangedEvent} has been completed.
+ * Snapshots loaded concurrently to an eviction are not cached. Snapshots expire after the time to live, since
+ * other instances could have changed the settings as well.
+ */
+class SettingsCache {
+
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
+    private final boolean enabled;
+    private final Duration timeToLive;
+    private final TenantContextHolder tenantContextHolder;
+    private final Clock clock;
+    private final Map<TenantId, Entry> snapshots = new ConcurrentHashMap<>();
+
+    /**
+     * incremented on every eviction, used to detect snapshots loaded concurrently to an eviction.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    SettingsCache(boolean enabled, Duration timeToLive, TenantContextHolder tenantContextHolder, Clock clock, MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.timeToLive = timeToLive;
+        this.tenantContextHolder = tenantContextHolder;
+        this.clock = clock;
+
+        this.hitCounter = Counter.builder("zeiterfassung.settings.cache.gets").tag("result", "hit").register(meterRegistry);
+        this.missCounter = Counter.builder("zeiterfassung.settings.cache.gets").tag("result", "miss").register(meterRegistry);
+
+        Gauge.builder("zeiterfassung.settings.cache.size", snapshots, Map::size)
+            .description("Number of tenants with cached settings")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached {@link SettingsSnapshot} of the current tenant, loaded with the given loader when missing
+     * or expired.
+     *
+     * @param loader loads the settings of the current tenant
+     * @return the settings of the current tenant, empty when the cache is disabled or there is no current tenant
+     */
+    Optional<SettingsSnapshot> get(Supplier<SettingsSnapshot> loader) {
+
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        final Optional<TenantId> maybeTenantId = tenantContextHolder.getCurrentTenantId();
+        if (maybeTenantId.isEmpty()) {
+            return Optional.empty();
+        }
+
+        final TenantId tenantId = maybeTenantId.get();
+        final Instant now = Instant.now(clock);
+
+        final Entry cached = snapshots.get(tenantId);
+        if (cached != null && now.isBefore(cached.expiresAt())) {
+            hitCounter.increment();
+            return Optional.of(cached.snapshot());
+        }
+
+        missCounter.increment();
+
+        final long generationAtLoad = generation.get();
+        final Entry loaded = new Entry(loader.get(), now.plus(timeToLive));
+        snapshots.put(tenantId, loaded);
+
+        // an eviction after loading has started could have missed the put above, the loaded snapshot could be outdated
+        if (generation.get() != generationAtLoad) {
+            LOG.debug("Not caching settings of tenantId={} loaded concurrently to an eviction.", tenantId.tenantId());
+            snapshots.remove(tenantId, loaded);
+        }
+
+        return Optional.of(loaded.snapshot());
+    }
+
+    /**
+     * Evicts the settings of the current tenant, the settings of every tenant when there is no current tenant.
+     */
+    void evict() {
+        generation.incrementAndGet();
+        tenantContextHolder.getCurrentTenantId().ifPresentOrElse(snapshots::remove, snapshots::clear);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void on(SettingsChangedEvent event) {
+        // other threads could have loaded the settings before the update has been committed or rolled back
+        evict();
+    }
+
+    private record Entry(SettingsSnapshot snapshot, Instant expiresAt) {
+    }
+}
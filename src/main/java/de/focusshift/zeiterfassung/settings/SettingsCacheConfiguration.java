@@ -0,0 +1,24 @@
+package de.focusshift.zeiterfassung.settings;
+
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+@Configuration
+@EnableConfigurationProperties(SettingsCacheProperties.class)
+class SettingsCacheConfiguration {
+
+    @Bean
+    SettingsCache settingsCache(
+        SettingsCacheProperties properties,
+        TenantContextHolder tenantContextHolder,
+        Clock clock,
+        MeterRegistry meterRegistry
+    ) {
+        return new SettingsCache(properties.enabled(), properties.timeToLive(), tenantContextHolder, clock, meterRegistry);
+    }
+}
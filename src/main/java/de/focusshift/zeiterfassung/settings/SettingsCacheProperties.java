@@ -0,0 +1,19 @@
+package de.focusshift.zeiterfassung.settings;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * @param enabled whether settings are cached or read from the database on every call
+ * @param timeToLive duration after which the settings of a tenant are reloaded from the database
+ */
+@Validated
+@ConfigurationProperties("zeiterfassung.settings.cache")
+record SettingsCacheProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("PT1M") Duration timeToLive
+) {
+}
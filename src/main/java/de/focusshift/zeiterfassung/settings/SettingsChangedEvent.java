@@ -0,0 +1,7 @@
+package de.focusshift.zeiterfassung.settings;
+
+/**
+ * Event dispatched after settings of the current tenant have been updated.
+ */
+public record SettingsChangedEvent() {
+}
@@ -26,6 +26,7 @@ class SettingsService implements FederalStateSettingsService, LockTimeEntriesSet
     private final LockTimeEntriesSettingsRepository lockTimeEntriesSettingsRepository;
     private final SubtractBreakFromTimeEntrySettingsRepository subtractBreakFromTimeEntrySettingsRepository;
     private final ApplicationEventPublisher applicationEventPublisher;
+    private final SettingsCache settingsCache;
     private final Clock clock;
 
     SettingsService(
@@ -33,33 +34,36 @@ class SettingsService implements FederalStateSettingsService, LockTimeEntriesSet
         LockTimeEntriesSettingsRepository lockTimeEntriesSettingsRepository,
         SubtractBreakFromTimeEntrySettingsRepository subtractBreakFromTimeEntrySettingsRepository,
         ApplicationEventPublisher applicationEventPublisher,
+        SettingsCache settingsCache,
         Clock clock
     ) {
         this.federalStateSettingsRepository = federalStateSettingsRepository;
         this.lockTimeEntriesSettingsRepository = lockTimeEntriesSettingsRepository;
         this.subtractBreakFromTimeEntrySettingsRepository = subtractBreakFromTimeEntrySettingsRepository;
         this.applicationEventPublisher = applicationEventPublisher;
+        this.settingsCache = settingsCache;
         this.clock = clock;
     }
 
     @Override
     public FederalStateSettings getFederalStateSettings() {
-        return getFederalStateEntity()
-            .map(SettingsService::toFederalStateSettings)
-            .orElse(FederalStateSettings.DEFAULT);
+        return settingsCache.get(this::loadSettingsSnapshot)
+            .map(SettingsSnapshot::federalStateSettings)
+            .orElseGet(this::loadFederalStateSettings);
     }
 
     @Override
     public LockTimeEntriesSettings getLockTimeEntriesSettings() {
-        return getLockTimeEntriesSettingsEntity()
-            .map(SettingsService::toLockTimeEntriesSettings)
-            .orElse(LockTimeEntriesSettings.DEFAULT);
+        return settingsCache.get(this::loadSettingsSnapshot)
+            .map(SettingsSnapshot::lockTimeEntriesSettings)
+            .orElseGet(this::loadLockTimeEntriesSettings);
     }
 
     @Override
     public Optional<SubtractBreakFromTimeEntrySettings> getSubtractBreakFromTimeEntrySettings() {
-        return getSubtractBreakFromTimeEntrySettingsEntity()
-            .map(SettingsService::toSubtractBreakFromTimeEntrySettings);
+        return settingsCache.get(this::loadSettingsSnapshot)
+            .map(SettingsSnapshot::subtractBreakFromTimeEntrySettings)
+            .orElseGet(this::loadSubtractBreakFromTimeEntrySettings);
     }
 
     /**
@@ -76,6 +80,8 @@ class SettingsService implements FederalStateSettingsService, LockTimeEntriesSet
         entity.setWorksOnPublicHoliday(worksOnPublicHoliday);
 
         final FederalStateSettingsEntity saved = federalStateSettingsRepository.save(entity);
+        settingsChanged();
+        applicationEventPublisher.publishEvent(new FederalStateSettingsUpdatedEvent(saved.getFederalState(), saved.isWorksOnPublicHoliday()));
 
         return toFederalStateSettings(saved);
     }
@@ -97,6 +103,8 @@ class SettingsService implements FederalStateSettingsService, LockTimeEntriesSet
         entity.setLockTimeEntriesDaysInPast(lockTimeEntriesDaysInPast);
 
         final LockTimeEntriesSettingsEntity saved = lockTimeEntriesSettingsRepository.save(entity);
+        // before publishing DayLockedEvents, so that handlers already use the updated settings
+        settingsChanged();
 
         if (saved.isLockingIsActive()) {
             LOG.info("LockTimeEntriesSettings updated: locking is active. Looking for updated DayLocked events now (previousLockTimeEntriesDaysInPast={} lockTimeEntriesDaysInPast={})", previousLockTimeEntriesDaysInPast, lockTimeEntriesDaysInPast);
@@ -126,9 +134,37 @@ class SettingsService implements FederalStateSettingsService, LockTimeEntriesSet
         entity.setSubtractBreakFromTimeEntryEnabledTimestamp(featureActiveTimestamp);
 
         final SubtractBreakFromTimeEntrySettingsEntity saved = subtractBreakFromTimeEntrySettingsRepository.save(entity);
+        settingsChanged();
+        applicationEventPublisher.publishEvent(new SubtractBreakFromTimeEntrySettingsUpdatedEvent(featureActive, featureActiveTimestamp));
         return toSubtractBreakFromTimeEntrySettings(saved);
     }
 
+    private void settingsChanged() {
+        settingsCache.evict();
+        applicationEventPublisher.publishEvent(new SettingsChangedEvent());
+    }
+
+    private SettingsSnapshot loadSettingsSnapshot() {
+        return new SettingsSnapshot(loadFederalStateSettings(), loadLockTimeEntriesSettings(), loadSubtractBreakFromTimeEntrySettings());
+    }
+
+    private FederalStateSettings loadFederalStateSettings() {
+        return getFederalStateEntity()
+            .map(SettingsService::toFederalStateSettings)
+            .orElse(FederalStateSettings.DEFAULT);
+    }
+
+    private LockTimeEntriesSettings loadLockTimeEntriesSettings() {
+        return getLockTimeEntriesSettingsEntity()
+            .map(SettingsService::toLockTimeEntriesSettings)
+            .orElse(LockTimeEntriesSettings.DEFAULT);
+    }
+
+    private Optional<SubtractBreakFromTimeEntrySettings> loadSubtractBreakFromTimeEntrySettings() {
+        return getSubtractBreakFromTimeEntrySettingsEntity()
+            .map(SettingsService::toSubtractBreakFromTimeEntrySettings);
+    }
+
     private Optional<FederalStateSettingsEntity> getFederalStateEntity() {
         // `findFirst` is sufficient as there exists only one FederalStateSettingsEntity per tenant.
         // however, the tenantId is handled transparently in the background. and we only have the public API of `findAll`.
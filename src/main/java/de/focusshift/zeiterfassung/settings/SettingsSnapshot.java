@@ -0,0 +1,17 @@
+package de.focusshift.zeiterfassung.settings;
+
+import java.util.Optional;
+
+/**
+ * All settings of a tenant, loaded at once to be cached by {@link SettingsCache}.
+ *
+ * @param federalStateSettings settings of the federal state
+ * @param lockTimeEntriesSettings settings of locking time entries
+ * @param subtractBreakFromTimeEntrySettings settings of subtracting breaks, empty when never configured
+ */
+record SettingsSnapshot(
+    FederalStateSettings federalStateSettings,
+    LockTimeEntriesSettings lockTimeEntriesSettings,
+    Optional<SubtractBreakFromTimeEntrySettings> subtractBreakFromTimeEntrySettings
+) {
+}
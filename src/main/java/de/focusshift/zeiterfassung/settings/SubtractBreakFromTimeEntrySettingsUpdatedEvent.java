@@ -0,0 +1,12 @@
+package de.focusshift.zeiterfassung.settings;
+
+import java.time.Instant;
+
+/**
+ * Event dispatched after the {@link SubtractBreakFromTimeEntrySettings} have been updated.
+ *
+ * @param featureActive the updated state whether breaks are subtracted from time entries or not
+ * @param featureActiveTimestamp the updated timestamp from which breaks are subtracted
+ */
+public record SubtractBreakFromTimeEntrySettingsUpdatedEvent(boolean featureActive, Instant featureActiveTimestamp) {
+}
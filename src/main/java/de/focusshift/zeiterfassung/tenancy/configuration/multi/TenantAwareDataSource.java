@@ -2,59 +2,135 @@ package de.focusshift.zeiterfassung.tenancy.configuration.multi;
 
 import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
 import de.focusshift.zeiterfassung.tenancy.tenant.TenantId;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.jspecify.annotations.NonNull;
-import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.jdbc.datasource.ConnectionProxy;
 import org.springframework.jdbc.datasource.DelegatingDataSource;
 
 import javax.sql.DataSource;
-import java.lang.reflect.InvocationHandler;
-import java.lang.reflect.Method;
-import java.lang.reflect.Proxy;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import static java.lang.invoke.MethodHandles.lookup;
 
+/**
+ * Binds the current tenant to every connection via {@code app.tenant_id} which is used by the row level security
+ * policies of the database.
+ *
+ * <p>
+ * By default the tenant is set on every connection checkout and reset when the connection is closed. With
+ * {@code reuseTenantBinding} the tenant bound to a physical connection of the pool is remembered instead. The
+ * {@code SET} is skipped when the connection is already bound to the current tenant and nothing is reset on close.
+ * A connection bound to another tenant is always bound to the current one before it is handed out, therefore row
+ * level security is still enforced.
+ */
 class TenantAwareDataSource extends DelegatingDataSource {
 
     private static final Logger LOG = LoggerFactory.getLogger(lookup().lookupClass());
     private static final String FALLBACK_TENANT_ID = "DEFAULT";
 
     private final TenantContextHolder tenantContextHolder;
+    private final boolean reuseTenantBinding;
+    private final MeterRegistry meterRegistry;
 
-    TenantAwareDataSource(DataSource targetDataSource, TenantContextHolder tenantContextHolder) {
+    // physical connection -> bound tenant id. entries vanish when the pool discards the connection.
+    private final Map<Connection, String> tenantIdByPhysicalConnection = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final Timer setTimer;
+    private final Timer resetTimer;
+    private final Counter skippedCounter;
+
+    TenantAwareDataSource(DataSource targetDataSource, TenantContextHolder tenantContextHolder, boolean reuseTenantBinding, MeterRegistry meterRegistry) {
         super(targetDataSource);
         this.tenantContextHolder = tenantContextHolder;
+        this.reuseTenantBinding = reuseTenantBinding;
+        this.meterRegistry = meterRegistry;
+        this.setTimer = bindingTimer("set", meterRegistry);
+        this.resetTimer = bindingTimer("reset", meterRegistry);
+        this.skippedCounter = Counter.builder("zeiterfassung.datasource.tenant.binding.skipped")
+            .description("Connection checkouts that were already bound to the current tenant")
+            .register(meterRegistry);
     }
 
     @NonNull
     @Override
     public Connection getConnection() throws SQLException {
-        final Connection connection = getTargetDataSource().getConnection();
-        setTenantId(connection);
-        return getTenantAwareConnectionProxy(connection);
+        return tenantAware(getTargetDataSource().getConnection());
     }
 
     @NonNull
     @Override
     public Connection getConnection(@NonNull String username, @NonNull String password) throws SQLException {
-        final Connection connection = getTargetDataSource().getConnection(username, password);
-        setTenantId(connection);
-        return getTenantAwareConnectionProxy(connection);
+        return tenantAware(getTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection tenantAware(Connection connection) throws SQLException {
+        final String tenantId = resolveTenantId();
+        try {
+            // a SET within a transaction would be reverted on rollback, so only remember bindings of auto commit connections.
+            if (reuseTenantBinding && connection.getAutoCommit()) {
+                bindReusing(connection, tenantId);
+                return new TenantAwareConnection(connection, target -> {});
+            } else {
+                setTenantId(connection, tenantId);
+                return new TenantAwareConnection(connection, this::clearTenantId);
+            }
+        } catch (SQLException | RuntimeException exception) {
+            try {
+                connection.close();
+            } catch (SQLException closeException) {
+                exception.addSuppressed(closeException);
+            }
+            throw exception;
+        }
     }
 
-    private void setTenantId(Connection connection) throws SQLException {
+    private void bindReusing(Connection connection, String tenantId) throws SQLException {
+        final Connection physicalConnection = physicalConnection(connection);
+        if (tenantId.equals(tenantIdByPhysicalConnection.get(physicalConnection))) {
+            skippedCounter.increment();
+            return;
+        }
+        // forget the binding first, a failing SET must not leave a stale entry behind.
+        tenantIdByPhysicalConnection.remove(physicalConnection);
+        setTenantId(connection, tenantId);
+        tenantIdByPhysicalConnection.put(physicalConnection, tenantId);
+    }
+
+    private static Connection physicalConnection(Connection connection) throws SQLException {
+        final Connection physicalConnection = connection.unwrap(Connection.class);
+        return physicalConnection == null ? connection : physicalConnection;
+    }
+
+    private void setTenantId(Connection connection, String tenantId) throws SQLException {
+        final Timer.Sample sample = Timer.start(meterRegistry);
         try (final Statement sql = connection.createStatement()) {
-            final String tenantId = resolveTenantId();
             if (LOG.isDebugEnabled()) {
                 LOG.debug("setting parameter app.tenant_id={}", tenantId);
             }
             sql.execute("SET app.tenant_id TO '%s'".formatted(tenantId));
+        } finally {
+            sample.stop(setTimer);
+        }
+    }
+
+    private void clearTenantId(Connection connection) throws SQLException {
+        final Timer.Sample sample = Timer.start(meterRegistry);
+        try (final PreparedStatement sql = connection.prepareStatement("RESET app.tenant_id")) {
+            sql.execute();
+        } finally {
+            sample.stop(resetTimer);
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("parameter app.tenant_id has been reset");
         }
     }
 
@@ -68,55 +144,10 @@ class TenantAwareDataSource extends DelegatingDataSource {
             });
     }
 
-    // Connection Proxy that intercepts close() to reset the tenant_id
-    protected Connection getTenantAwareConnectionProxy(Connection connection) {
-        return (Connection) Proxy.newProxyInstance(
-            ConnectionProxy.class.getClassLoader(),
-            new Class[]{ConnectionProxy.class},
-            new TenantAwareInvocationHandler(connection));
-    }
-
-    private record TenantAwareInvocationHandler(Connection target) implements InvocationHandler {
-
-        @Nullable
-        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-            switch (method.getName()) {
-                case "equals":
-                    return proxy == args[0];
-                case "hashCode":
-                    return System.identityHashCode(proxy);
-                case "toString":
-                    return "Tenant-aware proxy for target Connection [" + this.target.toString() + "]";
-                case "unwrap":
-                    if (((Class) args[0]).isInstance(proxy)) {
-                        return proxy;
-                    } else {
-                        return method.invoke(target, args);
-                    }
-                case "isWrapperFor":
-                    if (((Class) args[0]).isInstance(proxy)) {
-                        return true;
-                    } else {
-                        return method.invoke(target, args);
-                    }
-                case "getTargetConnection":
-                    return target;
-                default:
-                    if (method.getName().equals("close")) {
-                        // this is the main purpose of this invocation handler!
-                        clearTenantId(target);
-                    }
-                    return method.invoke(target, args);
-            }
-        }
-
-        private void clearTenantId(Connection connection) throws SQLException {
-            try (final PreparedStatement sql = connection.prepareStatement("RESET app.tenant_id")) {
-                sql.execute();
-            }
-            if (LOG.isDebugEnabled()) {
-                LOG.debug("parameter app.tenant_id has been reset");
-            }
-        }
+    private static Timer bindingTimer(String operation, MeterRegistry meterRegistry) {
+        return Timer.builder("zeiterfassung.datasource.tenant.binding")
+            .description("Duration of binding the tenant to a connection")
+            .tag("operation", operation)
+            .register(meterRegistry);
     }
 }
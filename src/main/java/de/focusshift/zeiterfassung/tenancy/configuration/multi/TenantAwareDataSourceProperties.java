@@ -0,0 +1,16 @@
+package de.focusshift.zeiterfassung.tenancy.configuration.multi;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * @param reuseTenantBinding whether the tenant bound to a pooled connection is kept on close and the {@code SET} is
+ *                           skipped on checkout for the same tenant, or the tenant is set and reset for every checkout
+ */
+@Validated
+@ConfigurationProperties("zeiterfassung.tenant.datasource")
+record TenantAwareDataSourceProperties(
+    @DefaultValue("false") boolean reuseTenantBinding
+) {
+}
@@ -4,6 +4,8 @@ import com.zaxxer.hikari.HikariDataSource;
 import de.focusshift.zeiterfassung.absence.AbsenceTypeEntity;
 import de.focusshift.zeiterfassung.absence.AbsenceWriteEntity;
 import de.focusshift.zeiterfassung.companyvacation.CompanyVacationEntity;
+import de.focusshift.zeiterfassung.integration.outbox.OutboxMessageEntity;
+import de.focusshift.zeiterfassung.overtime.OvertimeDayEntity;
 import de.focusshift.zeiterfassung.settings.FederalStateSettingsEntity;
 import de.focusshift.zeiterfassung.tenancy.tenant.TenantAwareRevisionEntity;
 import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
@@ -13,8 +15,10 @@ import de.focusshift.zeiterfassung.timeentry.TimeEntryEntity;
 import de.focusshift.zeiterfassung.user.UserSettingsEntity;
 import de.focusshift.zeiterfassung.usermanagement.OvertimeAccountEntity;
 import de.focusshift.zeiterfassung.workingtime.WorkingTimeEntity;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
 import org.springframework.boot.jpa.EntityManagerFactoryBuilder;
 import org.springframework.context.annotation.Bean;
@@ -46,13 +50,16 @@ import static org.hibernate.cfg.AvailableSettings.BEAN_CONTAINER;
         OvertimeAccountEntity.class,
         FederalStateSettingsEntity.class,
         CompanyVacationEntity.class,
-        UserSettingsEntity.class
+        UserSettingsEntity.class,
+        OvertimeDayEntity.class,
+        OutboxMessageEntity.class
         // SubtractBreakFromTimeEntrySettingsEntity.class, // disabled for now to prevent duplicated bean definitions
         // LockTimeEntriesSettingsEntity.class // disabled for now to prevent duplicated bean definitions
     },
     entityManagerFactoryRef = "tenantAwareEntityManagerFactory",
     transactionManagerRef = "tenantAwareTransactionManager"
 )
+@EnableConfigurationProperties(TenantAwareDataSourceProperties.class)
 @ConditionalOnMultiTenantMode
 class TenantAwareDatabaseConfiguration {
 
@@ -68,14 +75,16 @@ class TenantAwareDatabaseConfiguration {
     @ConfigurationProperties("spring.datasource.hikari")
     DataSource tenantAwareDataSource(
         DataSourceProperties tenantAwareDataSourceProperties,
-        TenantContextHolder tenantContextHolder
+        TenantContextHolder tenantContextHolder,
+        TenantAwareDataSourceProperties properties,
+        MeterRegistry meterRegistry
     ) {
         final HikariDataSource dataSource = tenantAwareDataSourceProperties
             .initializeDataSourceBuilder()
             .type(HikariDataSource.class)
             .build();
         dataSource.setPoolName("tenantAwareDataSource");
-        return new TenantAwareDataSource(dataSource, tenantContextHolder);
+        return new TenantAwareDataSource(dataSource, tenantContextHolder, properties.reuseTenantBinding(), meterRegistry);
     }
 
     @Bean
@@ -102,7 +111,9 @@ class TenantAwareDatabaseConfiguration {
                 OvertimeAccountEntity.class,
                 FederalStateSettingsEntity.class,
                 CompanyVacationEntity.class,
-                UserSettingsEntity.class
+                UserSettingsEntity.class,
+                OvertimeDayEntity.class,
+                OutboxMessageEntity.class
                 // SubtractBreakFromTimeEntrySettingsEntity.class, // disabled for now to prevent duplicated bean definitions
                 // LockTimeEntriesSettingsEntity.class // disabled for now to prevent duplicated bean definitions
             )
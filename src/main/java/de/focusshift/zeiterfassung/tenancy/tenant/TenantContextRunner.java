@@ -1,26 +1,60 @@
 package de.focusshift.zeiterfassung.tenancy.tenant;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
-import org.springframework.stereotype.Component;
 
-import java.util.stream.Stream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
 
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static org.slf4j.LoggerFactory.getLogger;
 
-@Component
+/**
+ * Runs functions for every active tenant with the tenant context of the respective tenant.
+ *
+ * <p>
+ * Tenants are processed one after another by default. In parallel mode every tenant is processed on its own virtual
+ * thread, at most {@code concurrency} tenants at the same time. The returned runnable finishes when all tenants have
+ * been processed in both modes, so a surrounding scheduler lock is held until the work is done.
+ *
+ * <p>
+ * The duration of every tenant run is recorded as {@code zeiterfassung.tenant.task.duration}
+ * tagged with {@code task}, {@code tenant} and {@code outcome}. The duration of the last run is additionally
+ * available as gauge {@code zeiterfassung.tenant.task.last.duration} tagged with {@code task} and {@code tenant},
+ * since scheduled tasks run too rarely for a rate of the timer.
+ */
 public class TenantContextRunner {
 
     private static final Logger LOG = getLogger(TenantContextRunner.class);
 
+    private static final String DEFAULT_TASK_NAME = "default";
+
     private final TenantContextHolder tenantContextHolder;
     private final TenantService tenantService;
+    private final boolean parallel;
+    private final int concurrency;
+    private final MeterRegistry meterRegistry;
+    private final Map<LastDurationKey, AtomicLong> lastDurationNanos = new ConcurrentHashMap<>();
 
     TenantContextRunner(
         TenantContextHolder tenantContextHolder,
-        TenantService tenantService
+        TenantService tenantService,
+        boolean parallel,
+        int concurrency,
+        MeterRegistry meterRegistry
     ) {
         this.tenantContextHolder = tenantContextHolder;
         this.tenantService = tenantService;
+        this.parallel = parallel;
+        this.concurrency = concurrency;
+        this.meterRegistry = meterRegistry;
     }
 
     /**
@@ -31,18 +65,87 @@ public class TenantContextRunner {
      * @return a runnable
      */
     public Runnable runForEachActiveTenant(Runnable function) {
-        return () -> getAllActiveTenants().forEach(tenant -> {
-            try {
-                tenantContextHolder.runInTenantIdContext(new TenantId(tenant.tenantId()), function);
-            } catch (Exception exception) {
-                LOG.error("Unexpected error while running function for tenant={}. Continuing with remaining tenants.", tenant.tenantId(), exception);
+        return runForEachActiveTenant(DEFAULT_TASK_NAME, function);
+    }
+
+    /**
+     * Pass a runnable function that will be executed for every active tenant
+     * and preconfigured tenant context
+     *
+     * @param taskName name of the task used for metrics and logging
+     * @param function to run for each tenant
+     * @return a runnable
+     */
+    public Runnable runForEachActiveTenant(String taskName, Runnable function) {
+        return () -> {
+            final List<Tenant> tenants = getAllActiveTenants();
+            if (parallel) {
+                runInParallel(taskName, tenants, function);
+            } else {
+                tenants.forEach(tenant -> runForTenant(taskName, tenant, function));
             }
+        };
+    }
+
+    private void runInParallel(String taskName, List<Tenant> tenants, Runnable function) {
+
+        final Semaphore permits = new Semaphore(concurrency);
+
+        // close() waits until every submitted task is done
+        try (ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("tenant-" + taskName + "-", 0).factory())) {
+            for (Tenant tenant : tenants) {
+                executor.execute(() -> {
+                    permits.acquireUninterruptibly();
+                    try {
+                        runForTenant(taskName, tenant, function);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+    }
+
+    private void runForTenant(String taskName, Tenant tenant, Runnable function) {
+
+        final Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+
+        try {
+            tenantContextHolder.runInTenantIdContext(new TenantId(tenant.tenantId()), function);
+        } catch (Exception exception) {
+            outcome = "failure";
+            LOG.error("Unexpected error while running function task={} for tenant={}. Continuing with remaining tenants.", taskName, tenant.tenantId(), exception);
+        } finally {
+            final long durationNanos = sample.stop(Timer.builder("zeiterfassung.tenant.task.duration")
+                .description("Duration of running a task for a single tenant")
+                .tag("task", taskName)
+                .tag("tenant", tenant.tenantId())
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+            lastDurationNanos(taskName, tenant.tenantId()).set(durationNanos);
+        }
+    }
+
+    private AtomicLong lastDurationNanos(String taskName, String tenantId) {
+        return lastDurationNanos.computeIfAbsent(new LastDurationKey(taskName, tenantId), key -> {
+            final AtomicLong nanos = new AtomicLong();
+            TimeGauge.builder("zeiterfassung.tenant.task.last.duration", nanos, NANOSECONDS, AtomicLong::get)
+                .description("Duration of the last run of a task for a single tenant")
+                .tag("task", taskName)
+                .tag("tenant", tenantId)
+                .register(meterRegistry);
+            return nanos;
         });
     }
 
-    private Stream<Tenant> getAllActiveTenants() {
+    private record LastDurationKey(String taskName, String tenantId) {
+    }
+
+    private List<Tenant> getAllActiveTenants() {
         return tenantService.findAllTenants()
             .stream()
-            .filter(tenant -> tenant.status().equals(TenantStatus.ACTIVE));
+            .filter(tenant -> tenant.status().equals(TenantStatus.ACTIVE))
+            .toList();
     }
 }
@@ -0,0 +1,21 @@
+package de.focusshift.zeiterfassung.tenancy.tenant;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(TenantContextRunnerProperties.class)
+class TenantContextRunnerConfiguration {
+
+    @Bean
+    TenantContextRunner tenantContextRunner(
+        TenantContextHolder tenantContextHolder,
+        TenantService tenantService,
+        TenantContextRunnerProperties properties,
+        MeterRegistry meterRegistry
+    ) {
+        return new TenantContextRunner(tenantContextHolder, tenantService, properties.parallel(), properties.concurrency(), meterRegistry);
+    }
+}
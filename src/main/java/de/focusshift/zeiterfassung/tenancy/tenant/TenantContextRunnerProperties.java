@@ -0,0 +1,18 @@
+package de.focusshift.zeiterfassung.tenancy.tenant;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * @param parallel    whether functions are run for active tenants in parallel (on virtual threads) or one after another
+ * @param concurrency maximum number of tenants a function is run for at the same time in parallel mode
+ */
+@Validated
+@ConfigurationProperties("zeiterfassung.tenant.context-runner")
+record TenantContextRunnerProperties(
+    @DefaultValue("false") boolean parallel,
+    @DefaultValue("4") @Min(1) int concurrency
+) {
+}
@@ -0,0 +1,221 @@
+package de.focusshift.zeiterfassung.tenancy.user;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static java.util.Objects.requireNonNullElse;
+
+/**
+ * In-memory trigram index of the {@link TenantUser}s of one tenant.
+ *
+ * <p>
+ * A user matches a query when the normalised query is contained in the normalised full name
+ * ({@code givenName familyName}) of the user. Normalisation strips surrounding whitespace and case. Queries with at
+ * least three characters are answered by intersecting the trigram posting lists, shorter queries by scanning all users.
+ *
+ * <p>
+ * Matching and ranking are the same as of {@link TenantUserRepository#findAllByNiceNameContainingIgnoreCaseRanked},
+ * which answers the search for tenants without directory. Changes have to be made on both.
+ */
+class TenantUserDirectory {
+
+    private static final int GRAM_LENGTH = 3;
+
+    private static final int RANK_NAME_PREFIX = 0;
+    private static final int RANK_WORD_PREFIX = 1;
+    private static final int RANK_CONTAINED = 2;
+
+    private static final Comparator<IndexedUser> RESULT_ORDER = Comparator
+        .comparing((IndexedUser indexed) -> indexed.sortKey)
+        .thenComparing(indexed -> indexed.user.localId());
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, IndexedUser> usersByLocalId = new HashMap<>();
+    private final TreeSet<IndexedUser> sortedUsers = new TreeSet<>(RESULT_ORDER);
+    private final Map<String, Set<IndexedUser>> postings = new HashMap<>();
+
+    TenantUserDirectory(List<TenantUser> users) {
+        users.forEach(this::add);
+    }
+
+    /**
+     * Returns the first {@code limit} users matching the given query. Users whose full name starts with the query are
+     * ranked first, followed by users with a word (e.g. the family name) starting with the query. Users with the same
+     * rank are ordered by given name and family name.
+     *
+     * @param query search query, an empty query matches every user
+     * @param limit maximum number of returned users
+     * @return matching users, never {@code null}
+     */
+    List<TenantUser> search(String query, int limit) {
+
+        final String normalizedQuery = normalize(query);
+
+        lock.readLock().lock();
+        try {
+            if (normalizedQuery.isEmpty()) {
+                // every user has the same rank
+                return sortedUsers.stream()
+                    .limit(limit)
+                    .map(IndexedUser::user)
+                    .toList();
+            }
+
+            if (normalizedQuery.length() < GRAM_LENGTH) {
+                return ranked(sortedUsers, normalizedQuery, limit);
+            }
+
+            final Set<String> grams = grams(normalizedQuery);
+            Set<IndexedUser> smallest = null;
+            for (String gram : grams) {
+                final Set<IndexedUser> posting = postings.get(gram);
+                if (posting == null) {
+                    return List.of();
+                }
+                if (smallest == null || posting.size() < smallest.size()) {
+                    smallest = posting;
+                }
+            }
+
+            // a user containing every gram of the query does not necessarily contain the query,
+            // therefore every candidate is verified against the query.
+            return ranked(smallest, normalizedQuery, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds the given user or replaces the already indexed user with the same local id.
+     *
+     * @param user user to index
+     */
+    void upsert(TenantUser user) {
+        lock.writeLock().lock();
+        try {
+            remove(user.localId());
+            add(user);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return usersByLocalId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(TenantUser user) {
+        final IndexedUser indexed = new IndexedUser(user);
+        usersByLocalId.put(user.localId(), indexed);
+        sortedUsers.add(indexed);
+        for (String gram : indexed.grams()) {
+            postings.computeIfAbsent(gram, unused -> new HashSet<>()).add(indexed);
+        }
+    }
+
+    private void remove(Long localId) {
+        final IndexedUser indexed = usersByLocalId.remove(localId);
+        if (indexed == null) {
+            return;
+        }
+
+        sortedUsers.remove(indexed);
+        for (String gram : indexed.grams()) {
+            final Set<IndexedUser> posting = postings.get(gram);
+            if (posting != null) {
+                posting.remove(indexed);
+                if (posting.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    private static List<TenantUser> ranked(Collection<IndexedUser> candidates, String normalizedQuery, int limit) {
+
+        final List<RankedUser> matches = new ArrayList<>();
+        for (IndexedUser indexed : candidates) {
+            final int rank = indexed.rank(normalizedQuery);
+            if (rank >= 0) {
+                matches.add(new RankedUser(rank, indexed));
+            }
+        }
+
+        return matches.stream()
+            .sorted(Comparator.comparingInt(RankedUser::rank).thenComparing(RankedUser::indexed, RESULT_ORDER))
+            .limit(limit)
+            .map(ranked -> ranked.indexed().user())
+            .toList();
+    }
+
+    static String normalize(String value) {
+        return value.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> grams(String value) {
+        final Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    /**
+     * Identity based (no equals/hashCode override) to keep posting lists cheap.
+     */
+    private static final class IndexedUser {
+
+        private final TenantUser user;
+        private final String name;
+        private final String sortKey;
+
+        private IndexedUser(TenantUser user) {
+            this.user = user;
+            final String givenName = requireNonNullElse(user.givenName(), "");
+            final String familyName = requireNonNullElse(user.familyName(), "");
+            // same as the generated search_name column, given and family name are stripped when users are saved
+            this.name = (givenName + " " + familyName).toLowerCase(Locale.ROOT);
+            this.sortKey = givenName.toLowerCase(Locale.ROOT) + '\u0000' + familyName.toLowerCase(Locale.ROOT);
+        }
+
+        TenantUser user() {
+            return user;
+        }
+
+        /**
+         * @return rank of this user for the given query, {@code -1} when the user does not match
+         */
+        int rank(String normalizedQuery) {
+            if (name.startsWith(normalizedQuery)) {
+                return RANK_NAME_PREFIX;
+            } else if (name.contains(" " + normalizedQuery)) {
+                return RANK_WORD_PREFIX;
+            } else if (name.contains(normalizedQuery)) {
+                return RANK_CONTAINED;
+            }
+            return -1;
+        }
+
+        Set<String> grams() {
+            return TenantUserDirectory.grams(name);
+        }
+    }
+
+    private record RankedUser(int rank, IndexedUser indexed) {
+    }
+}
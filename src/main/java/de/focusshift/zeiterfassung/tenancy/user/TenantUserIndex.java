@@ -0,0 +1,192 @@
+package de.focusshift.zeiterfassung.tenancy.user;
+
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantId;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Bounded, tenant scoped cache of {@link TenantUserDirectory}s to answer user searches without querying the database.
+ *
+ * <p>
+ * The directory of a tenant is loaded on first use and kept up to date with {@link TenantUserCreatedEvent}s and
+ * {@link TenantUserUpdatedEvent}s after the transaction has been committed. Since other application instances could
+ * have changed users as well, a directory is reloaded after {@code timeToLive}. Tenants with more than
+ * {@code maxUsersPerTenant} users are not indexed at all. Their users are counted instead of loaded, and the tenant is
+ * remembered as not indexed for {@code timeToLive}, so their searches go straight to the database.
+ */
+class TenantUserIndex {
+
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
+    private final boolean enabled;
+    private final int maxUsersPerTenant;
+    private final Duration timeToLive;
+    private final TenantContextHolder tenantContextHolder;
+    private final Clock clock;
+    private final Map<TenantId, Entry> directories;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    /**
+     * incremented on every change of a user, used to detect directories loaded concurrently to a change.
+     */
+    private long generation = 0;
+
+    TenantUserIndex(boolean enabled, int maxTenants, int maxUsersPerTenant, Duration timeToLive,
+                    TenantContextHolder tenantContextHolder, Clock clock, MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.maxUsersPerTenant = maxUsersPerTenant;
+        this.timeToLive = timeToLive;
+        this.tenantContextHolder = tenantContextHolder;
+        this.clock = clock;
+
+        this.hitCounter = Counter.builder("zeiterfassung.user-index.gets").tag("result", "hit").register(meterRegistry);
+        this.missCounter = Counter.builder("zeiterfassung.user-index.gets").tag("result", "miss").register(meterRegistry);
+
+        // access ordered to evict the directory of the least recently used tenant when maxTenants is exceeded
+        this.directories = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<TenantId, Entry> eldest) {
+                return size() > maxTenants;
+            }
+        };
+
+        Gauge.builder("zeiterfassung.user-index.size", this, TenantUserIndex::size)
+            .description("Number of indexed users over all tenants")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Searches the users of the current tenant.
+     *
+     * @param query search query, an empty query matches every user
+     * @param limit maximum number of returned users
+     * @param counter counts the users of the current tenant before they are loaded
+     * @param loader loads all users of the current tenant when the directory is missing or expired
+     * @return matching users ranked like {@link TenantUserDirectory#search(String, int)},
+     * or empty when the index is disabled or the tenant is not indexed.
+     */
+    Optional<List<TenantUser>> search(String query, int limit, LongSupplier counter, Supplier<List<TenantUser>> loader) {
+
+        final Optional<TenantId> tenantId = tenantContextHolder.getCurrentTenantId();
+        if (!enabled || tenantId.isEmpty()) {
+            return Optional.empty();
+        }
+
+        return directory(tenantId.get(), counter, loader).map(directory -> directory.search(query, limit));
+    }
+
+    synchronized int size() {
+        return directories.values().stream()
+            .filter(entry -> entry.directory() != null)
+            .mapToInt(entry -> entry.directory().size())
+            .sum();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(TenantUserCreatedEvent event) {
+        upsert(event.tenantUser());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(TenantUserUpdatedEvent event) {
+        upsert(event.tenantUser());
+    }
+
+    private Optional<TenantUserDirectory> directory(TenantId tenantId, LongSupplier counter, Supplier<List<TenantUser>> loader) {
+
+        final Instant now = clock.instant();
+        final long generationAtLoad;
+
+        synchronized (this) {
+            final Entry cached = directories.get(tenantId);
+            if (cached != null && cached.expiresAt().isAfter(now)) {
+                hitCounter.increment();
+                return Optional.ofNullable(cached.directory());
+            }
+            generationAtLoad = generation;
+        }
+
+        missCounter.increment();
+
+        final long userCount = counter.getAsLong();
+        if (userCount > maxUsersPerTenant) {
+            return notIndexed(tenantId, userCount, now);
+        }
+
+        final List<TenantUser> users = loader.get();
+        if (users.size() > maxUsersPerTenant) {
+            // users have been created since they were counted
+            return notIndexed(tenantId, users.size(), now);
+        }
+
+        final TenantUserDirectory directory = new TenantUserDirectory(users);
+
+        synchronized (this) {
+            if (generationAtLoad == generation) {
+                directories.put(tenantId, new Entry(directory, now.plus(timeToLive)));
+            } else {
+                LOG.debug("Not caching user directory loaded concurrently to a user change.");
+            }
+        }
+
+        return Optional.of(directory);
+    }
+
+    private Optional<TenantUserDirectory> notIndexed(TenantId tenantId, long userCount, Instant now) {
+        LOG.debug("Not indexing {} users of tenant, exceeds maximum of {} users.", userCount, maxUsersPerTenant);
+        synchronized (this) {
+            directories.put(tenantId, new Entry(null, now.plus(timeToLive)));
+        }
+        return Optional.empty();
+    }
+
+    private void upsert(TenantUser tenantUser) {
+
+        final Optional<TenantId> tenantId = tenantContextHolder.getCurrentTenantId();
+
+        synchronized (this) {
+            generation++;
+
+            if (tenantId.isEmpty()) {
+                // unknown tenant, the user could be part of any directory
+                directories.clear();
+                return;
+            }
+
+            final Entry entry = directories.get(tenantId.get());
+            if (entry != null && entry.directory() != null) {
+                entry.directory().upsert(tenantUser);
+                if (entry.directory().size() > maxUsersPerTenant) {
+                    directories.remove(tenantId.get());
+                }
+            }
+        }
+    }
+
+    /**
+     * @param directory users of the tenant, {@code null} when the tenant has too many users to be indexed
+     * @param expiresAt instant the entry has to be loaded again
+     */
+    private record Entry(@Nullable TenantUserDirectory directory, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,25 @@
+package de.focusshift.zeiterfassung.tenancy.user;
+
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+@Configuration
+@EnableConfigurationProperties(TenantUserIndexProperties.class)
+class TenantUserIndexConfiguration {
+
+    @Bean
+    TenantUserIndex tenantUserIndex(
+        TenantUserIndexProperties properties,
+        TenantContextHolder tenantContextHolder,
+        Clock clock,
+        MeterRegistry meterRegistry
+    ) {
+        return new TenantUserIndex(properties.enabled(), properties.maxTenants(), properties.maxUsersPerTenant(),
+            properties.timeToLive(), tenantContextHolder, clock, meterRegistry);
+    }
+}
@@ -0,0 +1,24 @@
+package de.focusshift.zeiterfassung.tenancy.user;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * @param enabled whether user searches are answered by the in-memory index or by the database
+ * @param maxTenants maximum number of tenants with an indexed user directory
+ * @param maxUsersPerTenant tenants with more users are not indexed and searched in the database
+ * @param timeToLive duration after which the user directory of a tenant is reloaded from the database
+ */
+@Validated
+@ConfigurationProperties("zeiterfassung.user-index")
+record TenantUserIndexProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("100") @Min(1) int maxTenants,
+    @DefaultValue("10000") @Min(1) int maxUsersPerTenant,
+    @DefaultValue("PT5M") Duration timeToLive
+) {
+}
@@ -22,7 +22,31 @@ interface TenantUserRepository extends CrudRepository<TenantUserEntity, Long> {
     @NonNull
     List<TenantUserEntity> findAllByIdIsInOrderByGivenNameAscFamilyNameAsc(Collection<Long> localIds);
 
+    /**
+     * Finds users whose nice name ({@code givenName familyName}) contains the given pattern, ignoring case.
+     * Uses the trigram index on the generated {@code search_name} column.
+     *
+     * <p>
+     * Users whose nice name starts with the pattern are ranked first, followed by users with a word (e.g. the family
+     * name) starting with the pattern. Users with the same rank are ordered by given name and family name.
+     * {@link TenantUserDirectory} matches and ranks the same way.
+     *
+     * @param pattern search query with escaped {@code LIKE} wildcards ({@code \}, {@code %} and {@code _})
+     * @param limit maximum number of users
+     * @return ranked users matching the pattern
+     */
     @NonNull
-    @Query("select u from TenantUserEntity u where cast(strpos(lower(concat(u.givenName,' ',u.familyName)), lower(:query)) AS INTEGER) > 0 ORDER BY u.familyName desc")
-    List<TenantUserEntity> findAllByNiceNameContainingIgnoreCaseOrderByGivenNameAscFamilyNameAsc(@Param("query") String query);
+    @Query(value = """
+        SELECT u.* FROM tenant_user u
+        WHERE u.search_name LIKE '%' || lower(CAST(:pattern AS TEXT)) || '%'
+        ORDER BY
+          CASE
+            WHEN u.search_name LIKE lower(CAST(:pattern AS TEXT)) || '%' THEN 0
+            WHEN u.search_name LIKE '% ' || lower(CAST(:pattern AS TEXT)) || '%' THEN 1
+            ELSE 2
+          END,
+          u.given_name, u.family_name, u.id
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<TenantUserEntity> findAllByNiceNameContainingIgnoreCaseRanked(@Param("pattern") String pattern, @Param("limit") int limit);
 }
@@ -18,6 +18,16 @@ public interface TenantUserService {
 
     List<TenantUser> findAllUsers(String query);
 
+    /**
+     * Finds the first {@code limit} users whose name contains the given query, ignoring case. Users are searched in
+     * the in-memory {@link TenantUserIndex} when enabled, which additionally matches emails and ignores diacritics.
+     *
+     * @param query search query, an empty query matches every user
+     * @param limit maximum number of returned users
+     * @return matching users, never {@code null}
+     */
+    List<TenantUser> findUsers(String query, int limit);
+
     List<TenantUser> findAllUsersById(Collection<UserId> userIds);
 
     List<TenantUser> findAllUsersByLocalId(Collection<UserLocalId> userLocalIds);
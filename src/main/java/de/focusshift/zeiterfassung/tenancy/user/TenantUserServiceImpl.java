@@ -25,11 +25,14 @@ class TenantUserServiceImpl implements TenantUserService {
     private static final Logger LOG = getLogger(lookup().lookupClass());
 
     private final TenantUserRepository tenantUserRepository;
+    private final TenantUserIndex tenantUserIndex;
     private final ApplicationEventPublisher applicationEventPublisher;
     private final Clock clock;
 
-    TenantUserServiceImpl(TenantUserRepository tenantUserRepository, ApplicationEventPublisher applicationEventPublisher, Clock clock) {
+    TenantUserServiceImpl(TenantUserRepository tenantUserRepository, TenantUserIndex tenantUserIndex,
+                          ApplicationEventPublisher applicationEventPublisher, Clock clock) {
         this.tenantUserRepository = tenantUserRepository;
+        this.tenantUserIndex = tenantUserIndex;
         this.applicationEventPublisher = applicationEventPublisher;
         this.clock = clock;
     }
@@ -72,7 +75,7 @@ class TenantUserServiceImpl implements TenantUserService {
 
         final TenantUserEntity persisted = tenantUserRepository.save(next);
 
-        return entityToTenantUser(persisted);
+        return publishUpdated(persisted);
     }
 
     @Override
@@ -82,7 +85,13 @@ class TenantUserServiceImpl implements TenantUserService {
 
     @Override
     public List<TenantUser> findAllUsers(String query) {
-        return mapToTenantUser(tenantUserRepository.findAllByNiceNameContainingIgnoreCaseOrderByGivenNameAscFamilyNameAsc(query));
+        return findUsers(query, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<TenantUser> findUsers(String query, int limit) {
+        return tenantUserIndex.search(query, limit, tenantUserRepository::count, this::findAllUsers)
+            .orElseGet(() -> mapToTenantUser(tenantUserRepository.findAllByNiceNameContainingIgnoreCaseRanked(escapeLikeWildcards(query.strip()), limit)));
     }
 
     @Override
@@ -118,7 +127,7 @@ class TenantUserServiceImpl implements TenantUserService {
         final TenantUserEntity next =
             new TenantUserEntity(current.getId(), current.getUuid(), current.getFirstLoginAt(), current.getLastLoginAt(), current.getGivenName(), current.getFamilyName(), current.getEmail(), current.getAuthorities(), current.getCreatedAt(), now, current.getDeactivatedAt(), now, UserStatus.DELETED);
 
-        tenantUserRepository.save(next);
+        publishUpdated(tenantUserRepository.save(next));
     }
 
     @Override
@@ -135,7 +144,7 @@ class TenantUserServiceImpl implements TenantUserService {
         final TenantUserEntity next =
             new TenantUserEntity(current.getId(), current.getUuid(), current.getFirstLoginAt(), current.getLastLoginAt(), current.getGivenName(), current.getFamilyName(), current.getEmail(), current.getAuthorities(), current.getCreatedAt(), now, current.getDeactivatedAt(), current.getDeletedAt(), UserStatus.ACTIVE);
 
-        tenantUserRepository.save(next);
+        publishUpdated(tenantUserRepository.save(next));
     }
 
     @Override
@@ -148,7 +157,13 @@ class TenantUserServiceImpl implements TenantUserService {
         final TenantUserEntity next =
             new TenantUserEntity(current.getId(), current.getUuid(), current.getFirstLoginAt(), current.getLastLoginAt(), current.getGivenName(), current.getFamilyName(), current.getEmail(), current.getAuthorities(), current.getCreatedAt(), now, now, current.getDeletedAt(), UserStatus.DEACTIVATED);
 
-        tenantUserRepository.save(next);
+        publishUpdated(tenantUserRepository.save(next));
+    }
+
+    private TenantUser publishUpdated(TenantUserEntity persisted) {
+        final TenantUser tenantUser = entityToTenantUser(persisted);
+        applicationEventPublisher.publishEvent(new TenantUserUpdatedEvent(tenantUser));
+        return tenantUser;
     }
 
     private Optional<TenantUser> mapToTenantUser(Optional<TenantUserEntity> optional) {
@@ -182,6 +197,10 @@ class TenantUserServiceImpl implements TenantUserService {
         return new TenantUser(uuid, id, givenName, familyName, eMail, firstLoginAt, authorities, createdAt, updatedAt, deactivatedAt, deletedAt, status);
     }
 
+    private static String escapeLikeWildcards(String query) {
+        return query.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
     private static Set<SecurityRole> prepareAuthorities(Collection<SecurityRole> authorities) {
         // ensure that the user has the ZEITERFASSUNG_USER permission
         // because this is the default permission for all users and is not
@@ -0,0 +1,4 @@
+package de.focusshift.zeiterfassung.tenancy.user;
+
+public record TenantUserUpdatedEvent(TenantUser tenantUser) {
+}
@@ -4,6 +4,7 @@ import de.focusshift.zeiterfassung.timeentry.TimeEntryService;
 import de.focusshift.zeiterfassung.user.UserId;
 import de.focusshift.zeiterfassung.user.UserIdComposite;
 import de.focusshift.zeiterfassung.user.UserSettingsProvider;
+import de.focusshift.zeiterfassung.web.RequestLookupContext;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
@@ -17,23 +18,35 @@ import java.util.Optional;
 @Service
 public class TimeClockService {
 
+    private static final String CURRENT_TIME_CLOCK_LOOKUP = "current-time-clock";
+
     private final TimeClockRepository timeClockRepository;
     private final TimeEntryService timeEntryService;
     private final UserSettingsProvider userSettingsProvider;
     private final ApplicationEventPublisher applicationEventPublisher;
+    private final RequestLookupContext requestLookupContext;
     private final Clock clock;
 
     TimeClockService(TimeClockRepository timeClockRepository, TimeEntryService timeEntryService,
-                     UserSettingsProvider userSettingsProvider, ApplicationEventPublisher applicationEventPublisher, Clock clock) {
+                     UserSettingsProvider userSettingsProvider, ApplicationEventPublisher applicationEventPublisher,
+                     RequestLookupContext requestLookupContext, Clock clock) {
         this.timeClockRepository = timeClockRepository;
         this.timeEntryService = timeEntryService;
         this.userSettingsProvider = userSettingsProvider;
         this.applicationEventPublisher = applicationEventPublisher;
+        this.requestLookupContext = requestLookupContext;
         this.clock = clock;
     }
 
+    /**
+     * Returns the running {@link TimeClock} of the given user, loaded only once per web request.
+     *
+     * @param userId external user id
+     * @return the running {@link TimeClock}, empty when the user has not started one
+     */
     Optional<TimeClock> getCurrentTimeClock(UserId userId) {
-        return timeClockRepository.findByOwnerAndStoppedAtIsNull(userId.value()).map(TimeClockService::toTimeClock);
+        return requestLookupContext.get(CURRENT_TIME_CLOCK_LOOKUP, userId,
+            () -> timeClockRepository.findByOwnerAndStoppedAtIsNull(userId.value()).map(TimeClockService::toTimeClock));
     }
 
     void startTimeClock(UserId userId) throws TimeClockAlreadyStartedException {
@@ -42,6 +55,7 @@ public class TimeClockService {
 
         try {
             timeClockRepository.save(toEntity(timeClock));
+            requestLookupContext.evict(CURRENT_TIME_CLOCK_LOOKUP);
         } catch (DataIntegrityViolationException e) {
             // the partial unique index on time_clock (tenant_id, owner) WHERE stopped_at IS NULL
             // guarantees that only one running stopwatch per user (and tenant) can exist. This is the
@@ -54,12 +68,14 @@ public class TimeClockService {
     }
 
     /**
-     * Import a {@linkplain TimeClock} from another system.
+     * Import {@linkplain TimeClock}s from another system.
+     * All time clocks are saved in one transaction, so the inserts can be batched.
      *
-     * @param timeClock to import
+     * @param timeClocks to import
      */
-    public void importTimeClock(TimeClock timeClock) {
-        timeClockRepository.save(toEntity(timeClock));
+    public void importTimeClocks(List<TimeClock> timeClocks) {
+        timeClockRepository.saveAll(timeClocks.stream().map(TimeClockService::toEntity).toList());
+        requestLookupContext.evict(CURRENT_TIME_CLOCK_LOOKUP);
     }
 
     /**
@@ -88,6 +104,7 @@ public class TimeClockService {
         final TimeClockEntity timeClockEntity = toEntity(timeClock);
 
         final TimeClock updatedTimeClock = toTimeClock(timeClockRepository.save(timeClockEntity));
+        requestLookupContext.evict(CURRENT_TIME_CLOCK_LOOKUP);
 
         applicationEventPublisher.publishEvent(new TimeClockUpdatedEvent(userId, updatedTimeClock.startedAt(), updatedTimeClock.comment(), updatedTimeClock.isBreak()));
 
@@ -101,6 +118,8 @@ public class TimeClockService {
             .map(TimeClockService::toTimeClock)
             .ifPresent(timeClock -> {
 
+                requestLookupContext.evict(CURRENT_TIME_CLOCK_LOOKUP);
+
                 final ZonedDateTime start = timeClock.startedAt();
                 final ZonedDateTime end = timeClock.stoppedAt()
                     .orElseThrow(() -> new IllegalStateException("expected stoppedAt to contain a value."));
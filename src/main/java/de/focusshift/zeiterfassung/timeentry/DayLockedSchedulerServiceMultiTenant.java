@@ -35,7 +35,7 @@ class DayLockedSchedulerServiceMultiTenant implements DayLockedSchedulerService
 
     @Override
     public void checkDayLockedAndPublish() {
-        tenantContextRunner.runForEachActiveTenant(this::checkDayLockedForTenant).run();
+        tenantContextRunner.runForEachActiveTenant("day-locked", this::checkDayLockedForTenant).run();
     }
 
     private void checkDayLockedForTenant() {
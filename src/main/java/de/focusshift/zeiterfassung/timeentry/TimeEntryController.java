@@ -1,6 +1,7 @@
 package de.focusshift.zeiterfassung.timeentry;
 
 import de.focus_shift.launchpad.api.HasLaunchpad;
+import de.focusshift.zeiterfassung.data.version.DataVersionService;
 import de.focusshift.zeiterfassung.search.HasUserSearch;
 import de.focusshift.zeiterfassung.search.UserSearchViewHelper;
 import de.focusshift.zeiterfassung.security.CurrentUser;
@@ -14,6 +15,7 @@ import de.focusshift.zeiterfassung.user.YearFormat;
 import de.focusshift.zeiterfassung.usermanagement.User;
 import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
 import de.focusshift.zeiterfassung.usermanagement.UserManagementService;
+import de.focusshift.zeiterfassung.web.ETagViewHelper;
 import de.focusshift.zeiterfassung.web.NotFoundException;
 import jakarta.annotation.Nullable;
 import jakarta.servlet.http.HttpServletRequest;
@@ -29,6 +31,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.servlet.ModelAndView;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import org.springframework.web.servlet.view.RedirectView;
@@ -76,6 +79,8 @@ class TimeEntryController implements HasTimeClock, HasLaunchpad, HasUserSearch {
     private final TimeEntryViewHelper viewHelper;
     private final UserSearchViewHelper userSearchViewHelper;
     private final UserDateService userDateService;
+    private final DataVersionService dataVersionService;
+    private final ETagViewHelper eTagViewHelper;
     private final Clock clock;
 
     TimeEntryController(
@@ -88,6 +93,8 @@ class TimeEntryController implements HasTimeClock, HasLaunchpad, HasUserSearch {
         TimeEntryViewHelper viewHelper,
         UserSearchViewHelper userSearchViewHelper,
         UserDateService userDateService,
+        DataVersionService dataVersionService,
+        ETagViewHelper eTagViewHelper,
         Clock clock
     ) {
         this.timeEntryService = timeEntryService;
@@ -99,6 +106,8 @@ class TimeEntryController implements HasTimeClock, HasLaunchpad, HasUserSearch {
         this.viewHelper = viewHelper;
         this.userSearchViewHelper = userSearchViewHelper;
         this.userDateService = userDateService;
+        this.dataVersionService = dataVersionService;
+        this.eTagViewHelper = eTagViewHelper;
         this.clock = clock;
     }
 
@@ -106,10 +115,16 @@ class TimeEntryController implements HasTimeClock, HasLaunchpad, HasUserSearch {
     public ModelAndView timeEntries(@RequestParam(value = "year", required = false) Integer year,
                                     @RequestParam(value = "week", required = false) Integer weekOfYear,
                                     @RequestHeader(name = TURBO_FRAME_HEADER, required = false) String turboFrame,
-                                    Model model, Locale locale, @CurrentUser CurrentOidcUser currentUser) {
+                                    Model model, Locale locale, @CurrentUser CurrentOidcUser currentUser,
+                                    ServletWebRequest webRequest) {
 
         final UserLocalId currentUserLocalId = currentUser.getUserIdComposite().localId();
         final YearAndWeek yearAndWeek = yearAndWeek(year, weekOfYear);
+
+        if (isNotModified(webRequest, yearAndWeek, currentUserLocalId, currentUser)) {
+            return null;
+        }
+
         return prepareTimeEntriesForYearAndWeekOfYear(yearAndWeek, currentUserLocalId, currentUser, model, locale, turboFrame);
     }
 
@@ -118,17 +133,35 @@ class TimeEntryController implements HasTimeClock, HasLaunchpad, HasUserSearch {
                                          @RequestParam(value = "year", required = false) Integer year,
                                          @RequestParam(value = "week", required = false) Integer weekOfYear,
                                          @RequestHeader(name = TURBO_FRAME_HEADER, required = false) String turboFrame,
-                                         Model model, Locale locale, @CurrentUser CurrentOidcUser currentUser) {
+                                         Model model, Locale locale, @CurrentUser CurrentOidcUser currentUser,
+                                         ServletWebRequest webRequest) {
 
         assertTimeEntryAccess(currentUser, ownerLocalIdValue);
 
         final YearAndWeek yearAndWeek = yearAndWeek(year, weekOfYear);
         final UserLocalId ownerUserLocalId = new UserLocalId(ownerLocalIdValue);
+
+        if (isNotModified(webRequest, yearAndWeek, ownerUserLocalId, currentUser)) {
+            return null;
+        }
+
         prepareViewedUser(model, ownerUserLocalId);
 
         return prepareTimeEntriesForYearAndWeekOfYear(yearAndWeek, ownerUserLocalId, currentUser, model, locale, turboFrame);
     }
 
+    private boolean isNotModified(ServletWebRequest webRequest, YearAndWeek yearAndWeek, UserLocalId ownerLocalId, CurrentOidcUser currentUser) {
+
+        // monday of the week, the version covers the days around it for any first day of week of the user
+        final LocalDate monday = LocalDate.of(yearAndWeek.year(), 1, 4)
+            .with(WEEK_OF_WEEK_BASED_YEAR, yearAndWeek.week())
+            .with(previousOrSame(DayOfWeek.MONDAY));
+
+        final String dataVersion = dataVersionService.getDataVersion(currentUser.getUserIdComposite(), monday, monday.plusWeeks(1), List.of(ownerLocalId));
+
+        return eTagViewHelper.checkNotModified(webRequest, dataVersion);
+    }
+
     private ModelAndView prepareTimeEntriesForYearAndWeekOfYear(YearAndWeek yearAndWeek, UserLocalId ownerLocalId, CurrentOidcUser currentUser, Model model, Locale locale, String turboFrame) {
 
         if (!model.containsAttribute(IS_REDIRECTED) && "frame-time-entry-weeks".equals(turboFrame)) {
@@ -196,7 +229,7 @@ class TimeEntryController implements HasTimeClock, HasLaunchpad, HasUserSearch {
         }
 
         final String userTimeEntriesUri = fromMethodCall(on(TimeEntryController.class)
-            .otherTimeEntries(ownerLocalIdValue, null, null, null, model, locale, currentUser))
+            .otherTimeEntries(ownerLocalIdValue, null, null, null, model, locale, currentUser, null))
             .build().toUriString();
 
         LOG.info("User {} created new timeEntry for user {}. Redirecting to {}.", currentUserLocalId, ownerLocalId, userTimeEntriesUri);
@@ -403,7 +436,7 @@ class TimeEntryController implements HasTimeClock, HasLaunchpad, HasUserSearch {
         }
 
         final String userTimeEntriesUri = fromMethodCall(on(TimeEntryController.class)
-            .otherTimeEntries(ownerLocalIdValue, year, weekOfYear, null, model, locale, currentUser))
+            .otherTimeEntries(ownerLocalIdValue, year, weekOfYear, null, model, locale, currentUser, null))
             .build().toUriString();
 
         LOG.info("User {} deleted timeEntry {} of user {}. Redirecting to {}.", currentUserLocalId, timeEntryId, ownerLocalId, userTimeEntriesUri);
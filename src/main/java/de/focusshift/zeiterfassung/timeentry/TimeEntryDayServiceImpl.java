@@ -10,6 +10,7 @@ import de.focusshift.zeiterfassung.user.UserSettingsProvider;
 import de.focusshift.zeiterfassung.usermanagement.User;
 import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
 import de.focusshift.zeiterfassung.usermanagement.UserManagementService;
+import de.focusshift.zeiterfassung.web.RequestLookupContext;
 import de.focusshift.zeiterfassung.workduration.WorkDuration;
 import de.focusshift.zeiterfassung.workduration.WorkDurationCalculationService;
 import de.focusshift.zeiterfassung.workingtime.PlannedWorkingHours;
@@ -35,6 +36,8 @@ import static java.util.stream.Collectors.toMap;
 @Service
 class TimeEntryDayServiceImpl implements TimeEntryDayService {
 
+    static final String TIME_ENTRY_COUNT_LOOKUP = "time-entry-count";
+
     private final TimeEntryService timeEntryService;
     private final TimeEntryLockService timeEntryLockService;
     private final WorkDurationCalculationService workDurationCalculator;
@@ -44,6 +47,7 @@ class TimeEntryDayServiceImpl implements TimeEntryDayService {
     private final UserDateService userDateService;
     private final SubtractBreakFromTimeEntrySettingsService subtractBreakFromTimeEntrySettingsService;
     private final TimeEntryRepository timeEntryRepository;
+    private final RequestLookupContext requestLookupContext;
 
     TimeEntryDayServiceImpl(
         TimeEntryService timeEntryService,
@@ -54,7 +58,8 @@ class TimeEntryDayServiceImpl implements TimeEntryDayService {
         UserSettingsProvider userSettingsProvider,
         UserDateService userDateService,
         SubtractBreakFromTimeEntrySettingsService subtractBreakFromTimeEntrySettingsService,
-        TimeEntryRepository timeEntryRepository
+        TimeEntryRepository timeEntryRepository,
+        RequestLookupContext requestLookupContext
     ) {
         this.timeEntryService = timeEntryService;
         this.timeEntryLockService = timeEntryLockService;
@@ -65,6 +70,7 @@ class TimeEntryDayServiceImpl implements TimeEntryDayService {
         this.userDateService = userDateService;
         this.subtractBreakFromTimeEntrySettingsService = subtractBreakFromTimeEntrySettingsService;
         this.timeEntryRepository = timeEntryRepository;
+        this.requestLookupContext = requestLookupContext;
     }
 
     @Override
@@ -115,7 +121,8 @@ class TimeEntryDayServiceImpl implements TimeEntryDayService {
             .reduce(PlannedWorkingHours.ZERO, PlannedWorkingHours::plus);
 
         final TimeEntryWeek timeEntryWeek = new TimeEntryWeek(fromLocalDate, planned, timeEntryDays);
-        final long totalTimeEntries = timeEntryRepository.countAllByOwner(userId.value());
+        final long totalTimeEntries = requestLookupContext.get(TIME_ENTRY_COUNT_LOOKUP, userId,
+            () -> timeEntryRepository.countAllByOwner(userId.value()));
 
         return new TimeEntryWeekPage(timeEntryWeek, totalTimeEntries);
     }
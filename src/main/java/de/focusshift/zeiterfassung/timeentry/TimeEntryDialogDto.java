@@ -1,5 +1,7 @@
 package de.focusshift.zeiterfassung.timeentry;
 
+import jakarta.annotation.Nullable;
+
 import java.util.List;
 
 public record TimeEntryDialogDto(
@@ -7,6 +9,7 @@ public record TimeEntryDialogDto(
     String owner,
     String ownerInitials,
     List<TimeEntryHistoryItemDto> historyItems,
+    @Nullable String olderHistoryItemsUrl,
     String editTimeEntryFormAction,
     String dialogCloseFormAction
 ) {
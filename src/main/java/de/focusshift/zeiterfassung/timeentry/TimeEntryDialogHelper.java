@@ -7,6 +7,7 @@ import de.focusshift.zeiterfassung.user.UserId;
 import de.focusshift.zeiterfassung.user.UserSettingsProvider;
 import de.focusshift.zeiterfassung.usermanagement.User;
 import de.focusshift.zeiterfassung.usermanagement.UserManagementService;
+import jakarta.annotation.Nullable;
 import org.slf4j.Logger;
 import org.springframework.stereotype.Component;
 import org.springframework.ui.Model;
@@ -41,6 +42,8 @@ public class TimeEntryDialogHelper {
     private static final String TIME_ENTRY_MODEL_NAME = "timeEntry";
     private static final String TIME_ENTRY_DIALOG_MODEL_NAME = "timeEntryDialog";
 
+    private static final int HISTORY_PAGE_SIZE = 20;
+
     private final TimeEntryService timeEntryService;
     private final TimeEntryLockService timeEntryLockService;
     private final TimeEntryViewHelper timeEntryViewHelper;
@@ -61,14 +64,19 @@ public class TimeEntryDialogHelper {
         this.userManagementService = userManagementService;
     }
 
-    public void addTimeEntryEditToModel(Model model, CurrentOidcUser currentUser, Long timeEntryIdValue, String editFormAction, String cancelFormAction) {
+    /**
+     * @param historyBeforeRevision shows history revisions older than this revision, {@code null} for the newest ones
+     * @param olderHistoryUrl creates the url of the dialog showing history revisions older than the given revision
+     */
+    public void addTimeEntryEditToModel(Model model, CurrentOidcUser currentUser, Long timeEntryIdValue, @Nullable Long historyBeforeRevision,
+                                        Function<Long, String> olderHistoryUrl, String editFormAction, String cancelFormAction) {
 
         final TimeEntryId timeEntryId = new TimeEntryId(timeEntryIdValue);
         final TimeEntry timeEntry = timeEntryService.findTimeEntry(timeEntryId)
             .orElseThrow(() -> new IllegalStateException("Could not find timeEntry %d".formatted(timeEntryIdValue)));
 
         addTimeEntry(model, timeEntry);
-        addTimeEntryDialog(model, currentUser, timeEntry, editFormAction, cancelFormAction);
+        addTimeEntryDialog(model, currentUser, timeEntry, historyBeforeRevision, olderHistoryUrl, editFormAction, cancelFormAction);
     }
 
     public void saveTimeEntry(CurrentOidcUser currentUser, TimeEntryDTO timeEntryDTO, BindingResult errors, Model model, RedirectAttributes redirectAttributes) {
@@ -84,12 +92,17 @@ public class TimeEntryDialogHelper {
         }
     }
 
-    private void addTimeEntryDialog(Model model, CurrentOidcUser currentUser, TimeEntry timeEntry, String editFormAction, String cancelFormAction) {
+    private void addTimeEntryDialog(Model model, CurrentOidcUser currentUser, TimeEntry timeEntry, @Nullable Long historyBeforeRevision,
+                                    Function<Long, String> olderHistoryUrl, String editFormAction, String cancelFormAction) {
 
         final User timeEntryUser = userManagementService.findUserById(timeEntry.userIdComposite().id())
             .orElseThrow(() -> new IllegalStateException("Could not find user with id=%d".formatted(timeEntry.id().value())));
 
-        final List<TimeEntryHistoryItemDto> historyItems = getHistory(timeEntry.id());
+        final Optional<TimeEntryHistory> history = timeEntryService.findTimeEntryHistory(timeEntry.id(), historyBeforeRevision, HISTORY_PAGE_SIZE);
+        final List<TimeEntryHistoryItemDto> historyItems = getHistoryItems(timeEntry.id(), history);
+        final String olderHistoryItemsUrl = history.filter(TimeEntryHistory::hasOlderRevisions)
+            .map(page -> olderHistoryUrl.apply(page.revisions().getLast().metadata().revision()))
+            .orElse(null);
         final boolean isOwner = timeEntryUser.userIdComposite().equals(currentUser.getUserIdComposite());
         final boolean isLocked = timeEntryLockService.isLocked(timeEntry.start());
         final boolean allowedToEdit = (isOwner && !isLocked) || timeEntryLockService.isUserAllowedToBypassLock(currentUser.getRoles());
@@ -99,6 +112,7 @@ public class TimeEntryDialogHelper {
             timeEntryUser.fullName(),
             timeEntryUser.initials(),
             historyItems,
+            olderHistoryItemsUrl,
             editFormAction,
             cancelFormAction
         );
@@ -106,8 +120,8 @@ public class TimeEntryDialogHelper {
         model.addAttribute(TIME_ENTRY_DIALOG_MODEL_NAME, timeEntryDialogDto);
     }
 
-    private List<TimeEntryHistoryItemDto> getHistory(TimeEntryId timeEntryId) {
-        return timeEntryService.findTimeEntryHistory(timeEntryId)
+    private List<TimeEntryHistoryItemDto> getHistoryItems(TimeEntryId timeEntryId, Optional<TimeEntryHistory> timeEntryHistory) {
+        return timeEntryHistory
             .map(history -> {
 
                 final ZoneId zoneId = userSettingsProvider.zoneId();
@@ -117,6 +131,7 @@ public class TimeEntryDialogHelper {
                     .map(EntityRevisionMetadata::modifiedBy)
                     .filter(Optional::isPresent)
                     .map(Optional::get)
+                    .distinct()
                     .toList();
 
                 final Map<UserId, User> userById = userManagementService.findAllUsersByIds(userIds).stream()
@@ -124,8 +139,7 @@ public class TimeEntryDialogHelper {
 
                 return revisions.stream()
                     .map(item -> timeEntryHistoryItemDto(item, userById::get, zoneId))
-                    .toList()
-                    .reversed();
+                    .toList();
             }).orElseGet(() -> {
                 LOG.error("Could not find history for timeEntry with id={}, which is actually required for view rendering. Using empty list...", timeEntryId);
                 return List.of();
@@ -5,13 +5,14 @@ import java.util.List;
 import static java.util.Collections.unmodifiableList;
 
 /**
- * Audited History of a {@link TimeEntry}.
+ * Audited History of a {@link TimeEntry}, or a page of it.
  *
  * @param timeEntryId id of the related {@link TimeEntry}
- * @param revisions sorted revisions. first element is the initially created instance.
- *                  while the last element is the last/current modification.
+ * @param revisions sorted revisions. first element is the last/current modification.
+ *                  while the last element is the oldest revision of this page.
+ * @param hasOlderRevisions whether there are revisions older than the last element
  */
-public record TimeEntryHistory(TimeEntryId timeEntryId, List<TimeEntryHistoryItem> revisions) {
+public record TimeEntryHistory(TimeEntryId timeEntryId, List<TimeEntryHistoryItem> revisions, boolean hasOlderRevisions) {
 
     @Override
     public List<TimeEntryHistoryItem> revisions() {
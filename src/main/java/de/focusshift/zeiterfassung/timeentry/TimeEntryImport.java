@@ -0,0 +1,21 @@
+package de.focusshift.zeiterfassung.timeentry;
+
+import jakarta.annotation.Nullable;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Time entry of another system to import with {@link TimeEntryService#importTimeEntries(de.focusshift.zeiterfassung.usermanagement.UserLocalId, java.util.List)}.
+ *
+ * @param comment optional comment
+ * @param start start of the time entry
+ * @param end end of the time entry
+ * @param isBreak whether it is a break or not
+ */
+public record TimeEntryImport(
+    @Nullable String comment,
+    ZonedDateTime start,
+    ZonedDateTime end,
+    boolean isBreak
+) {
+}
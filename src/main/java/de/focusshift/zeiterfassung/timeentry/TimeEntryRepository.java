@@ -1,20 +1,63 @@
 package de.focusshift.zeiterfassung.timeentry;
 
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.history.RevisionRepository;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-interface TimeEntryRepository extends CrudRepository<TimeEntryEntity, Long>, RevisionRepository<TimeEntryEntity, Long, Long> {
+interface TimeEntryRepository extends CrudRepository<TimeEntryEntity, Long>, RevisionRepository<TimeEntryEntity, Long, Long>, TimeEntryRevisionRepository {
 
     long countAllByOwner(String owner);
 
-    List<TimeEntryEntity> findAllByStartGreaterThanEqualAndStartLessThanOrderByStartDesc(Instant start, Instant endExclusive);
+    /**
+     * Finds time entries sorted by start, newest first. Rows are not managed by the persistence context.
+     */
+    @Query("""
+        SELECT new de.focusshift.zeiterfassung.timeentry.TimeEntryRow(t.id, t.owner, t.comment, t.start, t.startZoneId, t.end, t.endZoneId, t.isBreak)
+        FROM TimeEntryEntity t
+        WHERE t.start >= :start AND t.start < :endExclusive
+        ORDER BY t.start DESC
+        """)
+    List<TimeEntryRow> findAllRowsByStartGreaterThanEqualAndStartLessThanOrderByStartDesc(Instant start, Instant endExclusive);
 
-    List<TimeEntryEntity> findAllByOwnerAndStartGreaterThanEqualAndStartLessThanOrderByStartDesc(String owner, Instant start, Instant endExclusive);
+    /**
+     * Finds time entries of the owner sorted by start, newest first. Rows are not managed by the persistence context.
+     */
+    @Query("""
+        SELECT new de.focusshift.zeiterfassung.timeentry.TimeEntryRow(t.id, t.owner, t.comment, t.start, t.startZoneId, t.end, t.endZoneId, t.isBreak)
+        FROM TimeEntryEntity t
+        WHERE t.owner = :owner AND t.start >= :start AND t.start < :endExclusive
+        ORDER BY t.start DESC
+        """)
+    List<TimeEntryRow> findAllRowsByOwnerAndStartGreaterThanEqualAndStartLessThanOrderByStartDesc(String owner, Instant start, Instant endExclusive);
 
-    List<TimeEntryEntity> findAllByOwnerIsInAndStartGreaterThanEqualAndStartLessThanOrderByStartDesc(List<String> owners, Instant start, Instant endExclusive);
+    /**
+     * Finds time entries of the owners sorted by start, newest first. Rows are not managed by the persistence context.
+     */
+    @Query("""
+        SELECT new de.focusshift.zeiterfassung.timeentry.TimeEntryRow(t.id, t.owner, t.comment, t.start, t.startZoneId, t.end, t.endZoneId, t.isBreak)
+        FROM TimeEntryEntity t
+        WHERE t.owner IN :owners AND t.start >= :start AND t.start < :endExclusive
+        ORDER BY t.start DESC
+        """)
+    List<TimeEntryRow> findAllRowsByOwnerIsInAndStartGreaterThanEqualAndStartLessThanOrderByStartDesc(List<String> owners, Instant start, Instant endExclusive);
+
+    /**
+     * Streams time entries sorted by start, oldest first. Must be consumed within a transaction.
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("""
+        SELECT new de.focusshift.zeiterfassung.timeentry.TimeEntryRow(t.id, t.owner, t.comment, t.start, t.startZoneId, t.end, t.endZoneId, t.isBreak)
+        FROM TimeEntryEntity t
+        WHERE t.owner IN :owners AND t.start >= :start AND t.start < :endExclusive
+        ORDER BY t.start, t.id
+        """)
+    Stream<TimeEntryRow> streamAllByOwnerIsInAndStartGreaterThanEqualAndStartLessThanOrderByStartAsc(List<String> owners, Instant start, Instant endExclusive);
 }
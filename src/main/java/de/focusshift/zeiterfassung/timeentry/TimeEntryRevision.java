@@ -0,0 +1,14 @@
+package de.focusshift.zeiterfassung.timeentry;
+
+import org.springframework.data.history.Revision;
+
+import java.util.Set;
+
+/**
+ * Audited revision of a {@link TimeEntryEntity}.
+ *
+ * @param revision revision containing the state of the time entry
+ * @param modifiedProperties names of the {@link TimeEntryEntity} properties modified by this revision
+ */
+record TimeEntryRevision(Revision<Long, TimeEntryEntity> revision, Set<String> modifiedProperties) {
+}
@@ -0,0 +1,22 @@
+package de.focusshift.zeiterfassung.timeentry;
+
+import jakarta.annotation.Nullable;
+
+import java.util.List;
+
+/**
+ * Reads audited revisions of time entries page by page.
+ */
+interface TimeEntryRevisionRepository {
+
+    /**
+     * Finds revisions of the time entry sorted by revision number, newest first. Pages are selected by the revision
+     * number instead of an offset, therefore older pages are as cheap as the first one.
+     *
+     * @param id id of the time entry
+     * @param beforeRevision only revisions older than this revision number, {@code null} for the newest revisions
+     * @param limit max number of revisions
+     * @return revisions with the properties modified by each of them
+     */
+    List<TimeEntryRevision> findRevisionsBefore(Long id, @Nullable Long beforeRevision, int limit);
+}
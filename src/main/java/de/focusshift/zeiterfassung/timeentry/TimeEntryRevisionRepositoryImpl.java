@@ -0,0 +1,69 @@
+package de.focusshift.zeiterfassung.timeentry;
+
+import jakarta.annotation.Nullable;
+import jakarta.persistence.EntityManager;
+import org.hibernate.envers.AuditReaderFactory;
+import org.hibernate.envers.RevisionNumber;
+import org.hibernate.envers.RevisionTimestamp;
+import org.hibernate.envers.RevisionType;
+import org.hibernate.envers.query.AuditEntity;
+import org.hibernate.envers.query.AuditQuery;
+import org.springframework.data.envers.repository.support.AnnotationRevisionMetadata;
+import org.springframework.data.history.Revision;
+import org.springframework.data.history.RevisionMetadata;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reads {@code time_entry_aud} with the modified flags written by {@code @Audited(withModifiedFlag = true)}, so that
+ * changes of a revision are known without comparing it to the previous revision.
+ */
+class TimeEntryRevisionRepositoryImpl implements TimeEntryRevisionRepository {
+
+    private final EntityManager entityManager;
+
+    TimeEntryRevisionRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @SuppressWarnings("unchecked")
+    public List<TimeEntryRevision> findRevisionsBefore(Long id, @Nullable Long beforeRevision, int limit) {
+
+        final AuditQuery query = AuditReaderFactory.get(entityManager).createQuery()
+            .forRevisionsOfEntityWithChanges(TimeEntryEntity.class, false)
+            .add(AuditEntity.id().eq(id))
+            .addOrder(AuditEntity.revisionNumber().desc())
+            .setMaxResults(limit);
+
+        if (beforeRevision != null) {
+            query.add(AuditEntity.revisionNumber().lt(beforeRevision));
+        }
+
+        final List<Object[]> rows = query.getResultList();
+
+        return rows.stream().map(TimeEntryRevisionRepositoryImpl::toTimeEntryRevision).toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static TimeEntryRevision toTimeEntryRevision(Object[] row) {
+
+        // entity, revision entity, revision type, names of modified properties
+        final TimeEntryEntity entity = (TimeEntryEntity) row[0];
+        final RevisionMetadata<Long> metadata = new AnnotationRevisionMetadata<>(row[1], RevisionNumber.class,
+            RevisionTimestamp.class, toRevisionType((RevisionType) row[2]));
+
+        return new TimeEntryRevision(Revision.of(metadata, entity), Set.copyOf((Set<String>) row[3]));
+    }
+
+    private static RevisionMetadata.RevisionType toRevisionType(RevisionType revisionType) {
+        return switch (revisionType) {
+            case ADD -> RevisionMetadata.RevisionType.INSERT;
+            case MOD -> RevisionMetadata.RevisionType.UPDATE;
+            case DEL -> RevisionMetadata.RevisionType.DELETE;
+        };
+    }
+}
@@ -0,0 +1,19 @@
+package de.focusshift.zeiterfassung.timeentry;
+
+import java.time.Instant;
+
+/**
+ * Unmanaged read-only view of a {@link TimeEntryEntity}, used to stream time entries without filling the persistence
+ * context.
+ */
+record TimeEntryRow(
+    Long id,
+    String owner,
+    String comment,
+    Instant start,
+    String startZoneId,
+    Instant end,
+    String endZoneId,
+    boolean isBreak
+) {
+}
@@ -11,6 +11,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface TimeEntryService {
 
@@ -23,12 +24,14 @@ public interface TimeEntryService {
     Optional<TimeEntry> findTimeEntry(TimeEntryId id);
 
     /**
-     * Find the {@linkplain TimeEntryHistory} for the given time entry.
+     * Find a page of the {@linkplain TimeEntryHistory} for the given time entry, newest revision first.
      *
      * @param id id of the time entry
+     * @param beforeRevision only revisions older than this revision, {@code null} for the newest revisions
+     * @param limit max number of revisions
      * @return the {@linkplain TimeEntryHistory} or empty optional when the time entry is unknown
      */
-    Optional<TimeEntryHistory> findTimeEntryHistory(TimeEntryId id);
+    Optional<TimeEntryHistory> findTimeEntryHistory(TimeEntryId id, @Nullable Long beforeRevision, int limit);
 
     /**
      * {@linkplain TimeEntry}s for the given criteria sorted by {@linkplain TimeEntry#start()}, newest is the first item.
@@ -59,6 +62,17 @@ public interface TimeEntryService {
      */
     Map<UserIdComposite, List<TimeEntry>> getEntriesForAllUsers(LocalDate from, LocalDate toExclusive);
 
+    /**
+     * Passes {@linkplain TimeEntry}s for the given criteria sorted by {@linkplain TimeEntry#start()}, oldest first,
+     * to the given consumer. Time entries are read one by one and are not collected in memory.
+     *
+     * @param from         first date of interval
+     * @param toExclusive  last date (exclusive) of interval
+     * @param userLocalIds to get {@linkplain TimeEntry}s for
+     * @param consumer     consumer of every {@linkplain TimeEntry}
+     */
+    void forEachEntry(LocalDate from, LocalDate toExclusive, Collection<UserLocalId> userLocalIds, Consumer<TimeEntry> consumer);
+
 
 
     /**
@@ -78,6 +92,20 @@ public interface TimeEntryService {
      */
     TimeEntry createTimeEntry(UserLocalId userLocalId, @Nullable String comment, ZonedDateTime start, ZonedDateTime end, boolean isBreak);
 
+    /**
+     * Imports {@linkplain TimeEntry time entries} of a user from another system.
+     *
+     * <p>
+     * All time entries are saved in one transaction, so the inserts can be batched. Instead of a
+     * {@linkplain de.focusshift.zeiterfassung.timeentry.events.TimeEntryCreatedEvent} for every time entry a single
+     * {@linkplain de.focusshift.zeiterfassung.timeentry.events.TimeEntriesImportedEvent} is published.
+     * Like {@link #createTimeEntry(UserLocalId, String, ZonedDateTime, ZonedDateTime, boolean)} this does not check locked days.
+     *
+     * @param userLocalId id of the linked user
+     * @param timeEntries time entries to import
+     */
+    void importTimeEntries(UserLocalId userLocalId, List<TimeEntryImport> timeEntries);
+
     /**
      * Updates the existing {@linkplain TimeEntry}
      *
@@ -1,7 +1,9 @@
 package de.focusshift.zeiterfassung.timeentry;
 
+import de.focusshift.zeiterfassung.DateRange;
 import de.focusshift.zeiterfassung.data.history.EntityRevisionMapper;
 import de.focusshift.zeiterfassung.data.history.EntityRevisionMetadata;
+import de.focusshift.zeiterfassung.timeentry.events.TimeEntriesImportedEvent;
 import de.focusshift.zeiterfassung.timeentry.events.TimeEntryCreatedEvent;
 import de.focusshift.zeiterfassung.timeentry.events.TimeEntryDeletedEvent;
 import de.focusshift.zeiterfassung.timeentry.events.TimeEntryUpdatedEvent;
@@ -12,14 +14,15 @@ import de.focusshift.zeiterfassung.user.UserSettingsProvider;
 import de.focusshift.zeiterfassung.usermanagement.User;
 import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
 import de.focusshift.zeiterfassung.usermanagement.UserManagementService;
+import de.focusshift.zeiterfassung.web.RequestLookupContext;
 import de.focusshift.zeiterfassung.workduration.WorkDuration;
 import jakarta.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.history.Revision;
-import org.springframework.data.history.Revisions;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -36,17 +39,21 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.function.Supplier;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import static de.focusshift.zeiterfassung.timeentry.TimeEntryDayServiceImpl.TIME_ENTRY_COUNT_LOOKUP;
 import static java.lang.invoke.MethodHandles.lookup;
 import static java.time.ZoneOffset.UTC;
 import static java.time.temporal.ChronoUnit.MINUTES;
 import static java.time.temporal.ChronoUnit.SECONDS;
-import static java.util.Comparator.comparing;
 import static java.util.Objects.requireNonNullElse;
 import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toMap;
+import static org.springframework.data.history.RevisionMetadata.RevisionType.INSERT;
 
 @Service
 class TimeEntryServiceImpl implements TimeEntryService {
@@ -55,12 +62,15 @@ class TimeEntryServiceImpl implements TimeEntryService {
 
     public static final BigDecimal ONE_MINUTE_IN_SECONDS = BigDecimal.valueOf(60);
 
+    private static final Map<String, ZoneId> ZONE_IDS = new ConcurrentHashMap<>();
+
     private final TimeEntryRepository timeEntryRepository;
     private final TimeEntryLockService timeEntryLockService;
     private final UserManagementService userManagementService;
     private final UserSettingsProvider userSettingsProvider;
     private final EntityRevisionMapper entityRevisionMapper;
     private final ApplicationEventPublisher applicationEventPublisher;
+    private final RequestLookupContext requestLookupContext;
     private final Clock clock;
 
     TimeEntryServiceImpl(
@@ -70,6 +80,7 @@ class TimeEntryServiceImpl implements TimeEntryService {
         UserSettingsProvider userSettingsProvider,
         EntityRevisionMapper entityRevisionMapper,
         ApplicationEventPublisher applicationEventPublisher,
+        RequestLookupContext requestLookupContext,
         Clock clock
     ) {
         this.timeEntryRepository = timeEntryRepository;
@@ -78,6 +89,7 @@ class TimeEntryServiceImpl implements TimeEntryService {
         this.userSettingsProvider = userSettingsProvider;
         this.entityRevisionMapper = entityRevisionMapper;
         this.applicationEventPublisher = applicationEventPublisher;
+        this.requestLookupContext = requestLookupContext;
         this.clock = clock;
     }
 
@@ -87,46 +99,27 @@ class TimeEntryServiceImpl implements TimeEntryService {
     }
 
     @Override
-    public Optional<TimeEntryHistory> findTimeEntryHistory(TimeEntryId id) {
+    public Optional<TimeEntryHistory> findTimeEntryHistory(TimeEntryId id, @Nullable Long beforeRevision, int limit) {
 
-        final Revisions<Long, TimeEntryEntity> revisions = timeEntryRepository.findRevisions(id.value());
+        // one more revision than requested tells whether there are older revisions
+        final List<TimeEntryRevision> revisions = timeEntryRepository.findRevisionsBefore(id.value(), beforeRevision, limit + 1);
         if (revisions.isEmpty()) {
-            LOG.warn("Could not find any revision for {}. A valid TimeEntry should have at least one revision of type INSERT.", id);
-            return Optional.empty();
+            if (beforeRevision == null) {
+                LOG.warn("Could not find any revision for {}. A valid TimeEntry should have at least one revision of type INSERT.", id);
+                return Optional.empty();
+            }
+            return Optional.of(new TimeEntryHistory(id, List.of(), false));
         }
 
-        final UserId userId = new UserId(revisions.iterator().next().getEntity().getOwner());
+        final UserId userId = new UserId(revisions.getFirst().revision().getEntity().getOwner());
         final User user = findUser(userId);
 
-        final List<TimeEntryHistoryItem> historyItems = new ArrayList<>();
-        TimeEntry previousTimeEntry = null;
-
-        for (Revision<Long, TimeEntryEntity> revision : revisions.getContent()) {
-
-            final TimeEntryEntity entity = revision.getEntity();
-            final TimeEntry timeEntry = toTimeEntry(entity, user);
-            final EntityRevisionMetadata entityRevisionMetadata = entityRevisionMapper.toEntityRevisionMetadata(revision);
-
-            TimeEntryHistoryItem historyItem;
-
-            if (previousTimeEntry == null) {
-                historyItem = new TimeEntryHistoryItem(entityRevisionMetadata, timeEntry, true, true, true, true);
-            } else {
-                historyItem = new TimeEntryHistoryItem(
-                    entityRevisionMetadata,
-                    timeEntry,
-                    hasBeenModified(previousTimeEntry::comment, timeEntry::comment),
-                    hasBeenModified(previousTimeEntry::start, timeEntry::start),
-                    hasBeenModified(previousTimeEntry::end, timeEntry::end),
-                    hasBeenModified(previousTimeEntry::isBreak, timeEntry::isBreak)
-                );
-            }
-
-            historyItems.add(historyItem);
-            previousTimeEntry = timeEntry;
-        }
+        final List<TimeEntryHistoryItem> historyItems = revisions.stream()
+            .limit(limit)
+            .map(revision -> toTimeEntryHistoryItem(revision, user))
+            .toList();
 
-        return Optional.of(new TimeEntryHistory(id, historyItems));
+        return Optional.of(new TimeEntryHistory(id, historyItems, revisions.size() > limit));
     }
 
     @Override
@@ -138,10 +131,10 @@ class TimeEntryServiceImpl implements TimeEntryService {
         final Instant fromInstant = toInstant(from);
         final Instant toInstant = toInstant(toExclusive);
 
+        // rows are sorted newest first already. truncating start to minutes keeps that order.
         return timeEntryRepository
-            .findAllByOwnerAndStartGreaterThanEqualAndStartLessThanOrderByStartDesc(userId.value(), fromInstant, toInstant).stream()
-            .map(timeEntryEntity -> toTimeEntry(timeEntryEntity, user))
-            .sorted(comparing(TimeEntry::start).reversed())
+            .findAllRowsByOwnerAndStartGreaterThanEqualAndStartLessThanOrderByStartDesc(userId.value(), fromInstant, toInstant).stream()
+            .map(row -> toTimeEntry(row, user))
             .toList();
     }
 
@@ -151,12 +144,12 @@ class TimeEntryServiceImpl implements TimeEntryService {
         final Instant fromInstant = toInstant(from);
         final Instant toInstant = toInstant(toExclusive);
 
-        final Map<UserId, User> userByUserId = userManagementService.findAllUsers()
+        final Map<String, User> userByUserIdValue = userManagementService.findAllUsers()
             .stream()
-            .collect(toMap(User::userId, identity()));
+            .collect(toMap(user -> user.userId().value(), identity()));
 
-        return timeEntryRepository.findAllByStartGreaterThanEqualAndStartLessThanOrderByStartDesc(fromInstant, toInstant).stream()
-            .map(timeEntryEntity -> toTimeEntry(timeEntryEntity, userByUserId))
+        return timeEntryRepository.findAllRowsByStartGreaterThanEqualAndStartLessThanOrderByStartDesc(fromInstant, toInstant).stream()
+            .map(row -> toTimeEntry(row, userByUserIdValue))
             .filter(Objects::nonNull)
             .collect(groupingBy(TimeEntry::userIdComposite));
     }
@@ -170,15 +163,15 @@ class TimeEntryServiceImpl implements TimeEntryService {
         final List<User> users = userManagementService.findAllUsersByLocalIds(userLocalIds);
 
         final List<String> userIdValues = new ArrayList<>();
-        final Map<UserId, User> userByUserId = new HashMap<>();
+        final Map<String, User> userByUserIdValue = new HashMap<>();
         for (User user : users) {
             userIdValues.add(user.userIdComposite().id().value());
-            userByUserId.put(user.userId(), user);
+            userByUserIdValue.put(user.userId().value(), user);
         }
 
         final Map<UserIdComposite, List<TimeEntry>> result = timeEntryRepository
-            .findAllByOwnerIsInAndStartGreaterThanEqualAndStartLessThanOrderByStartDesc(userIdValues, fromInstant, toInstant).stream()
-            .map(timeEntryEntity -> toTimeEntry(timeEntryEntity, userByUserId))
+            .findAllRowsByOwnerIsInAndStartGreaterThanEqualAndStartLessThanOrderByStartDesc(userIdValues, fromInstant, toInstant).stream()
+            .map(row -> toTimeEntry(row, userByUserIdValue))
             .filter(Objects::nonNull)
             .collect(groupingBy(TimeEntry::userIdComposite));
 
@@ -188,6 +181,24 @@ class TimeEntryServiceImpl implements TimeEntryService {
         return result;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachEntry(LocalDate from, LocalDate toExclusive, Collection<UserLocalId> userLocalIds, Consumer<TimeEntry> consumer) {
+
+        final Map<String, User> userByUserIdValue = userManagementService.findAllUsersByLocalIds(userLocalIds).stream()
+            .collect(toMap(user -> user.userId().value(), identity()));
+
+        if (userByUserIdValue.isEmpty()) {
+            return;
+        }
+
+        final List<String> owners = List.copyOf(userByUserIdValue.keySet());
+
+        try (Stream<TimeEntryRow> rows = timeEntryRepository.streamAllByOwnerIsInAndStartGreaterThanEqualAndStartLessThanOrderByStartAsc(owners, toInstant(from), toInstant(toExclusive))) {
+            rows.forEach(row -> consumer.accept(toTimeEntry(row, userByUserIdValue.get(row.owner()))));
+        }
+    }
+
     @Override
     public TimeEntry createTimeEntry(UserLocalId userLocalId, String comment, ZonedDateTime start, ZonedDateTime end, boolean isBreak) {
 
@@ -203,6 +214,7 @@ class TimeEntryServiceImpl implements TimeEntryService {
         entity.setBreak(isBreak);
 
         final TimeEntry saved = save(entity, user);
+        requestLookupContext.evict(TIME_ENTRY_COUNT_LOOKUP);
 
         LOG.info("Created timeEntry {} of user {}. Publish TimeEntryCreated application event.", saved.id(), saved.userIdComposite().localId());
         applicationEventPublisher.publishEvent(new TimeEntryCreatedEvent(
@@ -216,6 +228,44 @@ class TimeEntryServiceImpl implements TimeEntryService {
         return saved;
     }
 
+    @Override
+    @Transactional
+    public void importTimeEntries(UserLocalId userLocalId, List<TimeEntryImport> timeEntries) {
+
+        if (timeEntries.isEmpty()) {
+            return;
+        }
+
+        final User user = findUser(userLocalId);
+        final String owner = user.userIdComposite().id().value();
+        final Instant now = Instant.now(clock);
+
+        LocalDate from = LocalDate.MAX;
+        LocalDate to = LocalDate.MIN;
+
+        final List<TimeEntryEntity> entities = new ArrayList<>(timeEntries.size());
+        for (TimeEntryImport timeEntry : timeEntries) {
+            final TimeEntryEntity entity = new TimeEntryEntity();
+            entity.setOwner(owner);
+            entity.setComment(requireNonNullElse(timeEntry.comment(), "").strip());
+            setStart(entity, timeEntry.start());
+            setEnd(entity, timeEntry.end());
+            entity.setBreak(timeEntry.isBreak());
+            entity.setUpdatedAt(now);
+            entities.add(entity);
+
+            final LocalDate date = timeEntry.start().toLocalDate();
+            from = date.isBefore(from) ? date : from;
+            to = date.isAfter(to) ? date : to;
+        }
+
+        timeEntryRepository.saveAll(entities);
+        requestLookupContext.evict(TIME_ENTRY_COUNT_LOOKUP);
+
+        LOG.info("Imported {} timeEntries of user {}. Publish TimeEntriesImported application event.", entities.size(), userLocalId);
+        applicationEventPublisher.publishEvent(new TimeEntriesImportedEvent(user.userIdComposite(), new DateRange(from, to)));
+    }
+
     @Override
     public TimeEntry updateTimeEntry(TimeEntryId id, String comment, @Nullable ZonedDateTime start, @Nullable ZonedDateTime end,
                                      @Nullable Duration duration, boolean isBreak) throws TimeEntryUpdateNotPlausibleException {
@@ -253,6 +303,7 @@ class TimeEntryServiceImpl implements TimeEntryService {
         findTimeEntry(id).ifPresentOrElse(
             timeEntry -> {
                 timeEntryRepository.deleteById(timeEntry.id().value());
+                requestLookupContext.evict(TIME_ENTRY_COUNT_LOOKUP);
                 LOG.info("Deleted timeEntry {}. Publish TimeEntryDeleted application event.", id);
                 final boolean locked = timeEntryLockService.isLocked(timeEntry.start());
                 final WorkDuration workDuration = timeEntry.workDuration();
@@ -355,20 +406,24 @@ class TimeEntryServiceImpl implements TimeEntryService {
     }
 
     @Nullable
-    private TimeEntry toTimeEntry(TimeEntryEntity timeEntryEntity, Map<UserId, User> userByUserId) {
-        final UserId userId = new UserId(timeEntryEntity.getOwner());
-        final User user = userByUserId.get(userId);
+    private TimeEntry toTimeEntry(TimeEntryRow row, Map<String, User> userByUserIdValue) {
+        final User user = userByUserIdValue.get(row.owner());
         if (user == null) {
-            LOG.info("Cannot map TimeEntryEntity {} because user={} does not exist anymore. Ignoring it.", timeEntryEntity.id, userId);
+            LOG.info("Cannot map TimeEntryEntity {} because user={} does not exist anymore. Ignoring it.", row.id(), row.owner());
             return null;
         }
-        return toTimeEntry(timeEntryEntity, user);
+        return toTimeEntry(row, user);
     }
 
     private TimeEntry toTimeEntry(TimeEntryEntity entity, User user) {
+        return toTimeEntry(new TimeEntryRow(entity.getId(), entity.getOwner(), entity.getComment(), entity.getStart(),
+            entity.getStartZoneId(), entity.getEnd(), entity.getEndZoneId(), entity.isBreak()), user);
+    }
 
-        final Instant actualStart = entity.getStart();
-        final Instant actualEnd = entity.getEnd();
+    private TimeEntry toTimeEntry(TimeEntryRow row, User user) {
+
+        final Instant actualStart = row.start();
+        final Instant actualEnd = row.end();
 
         final BigDecimal minutesDelta = BigDecimal.valueOf(actualStart.until(actualEnd, SECONDS))
             .divide(ONE_MINUTE_IN_SECONDS, RoundingMode.UP);
@@ -376,12 +431,17 @@ class TimeEntryServiceImpl implements TimeEntryService {
         final Instant start = actualStart.truncatedTo(MINUTES);
         final Instant end = start.plus(minutesDelta.longValue(), MINUTES);
 
-        final ZonedDateTime startDateTime = ZonedDateTime.ofInstant(start, ZoneId.of(entity.getStartZoneId()));
-        final ZonedDateTime endDateTime = ZonedDateTime.ofInstant(end, ZoneId.of(entity.getEndZoneId()));
+        final ZonedDateTime startDateTime = ZonedDateTime.ofInstant(start, zoneId(row.startZoneId()));
+        final ZonedDateTime endDateTime = ZonedDateTime.ofInstant(end, zoneId(row.endZoneId()));
 
         final UserIdComposite userIdComposite = user.userIdComposite();
 
-        return new TimeEntry(new TimeEntryId(entity.getId()), userIdComposite, entity.getComment(), startDateTime, endDateTime, entity.isBreak());
+        return new TimeEntry(new TimeEntryId(row.id()), userIdComposite, row.comment(), startDateTime, endDateTime, row.isBreak());
+    }
+
+    private static ZoneId zoneId(String zoneId) {
+        // there are only a few hundred zone ids. parse every one of them once instead of once per row.
+        return ZONE_IDS.computeIfAbsent(zoneId, ZoneId::of);
     }
 
     private Instant toInstant(LocalDate localDate) {
@@ -390,7 +450,25 @@ class TimeEntryServiceImpl implements TimeEntryService {
         return localDate.atStartOfDay().atZone(userSettingsProvider.zoneId()).toInstant();
     }
 
-    private <T> boolean hasBeenModified(Supplier<T> a, Supplier<T> b) {
-        return !a.get().equals(b.get());
+    private TimeEntryHistoryItem toTimeEntryHistoryItem(TimeEntryRevision timeEntryRevision, User user) {
+
+        final Revision<Long, TimeEntryEntity> revision = timeEntryRevision.revision();
+        final TimeEntry timeEntry = toTimeEntry(revision.getEntity(), user);
+        final EntityRevisionMetadata entityRevisionMetadata = entityRevisionMapper.toEntityRevisionMetadata(revision);
+
+        if (revision.getMetadata().getRevisionType() == INSERT) {
+            return new TimeEntryHistoryItem(entityRevisionMetadata, timeEntry, true, true, true, true);
+        }
+
+        final Set<String> modified = timeEntryRevision.modifiedProperties();
+
+        return new TimeEntryHistoryItem(
+            entityRevisionMetadata,
+            timeEntry,
+            modified.contains("comment"),
+            modified.contains("start") || modified.contains("startZoneId"),
+            modified.contains("end") || modified.contains("endZoneId"),
+            modified.contains("isBreak")
+        );
     }
 }
@@ -0,0 +1,18 @@
+package de.focusshift.zeiterfassung.timeentry.events;
+
+import de.focusshift.zeiterfassung.DateRange;
+import de.focusshift.zeiterfassung.timeentry.TimeEntry;
+import de.focusshift.zeiterfassung.user.UserIdComposite;
+
+/**
+ * Event dispatched once after {@link TimeEntry}s of a user have been imported from another system.
+ * It replaces the {@link TimeEntryCreatedEvent} of every single imported time entry.
+ *
+ * @param ownerUserIdComposite owner of the imported time entries
+ * @param dateRange dates of the first and the last imported time entry
+ */
+public record TimeEntriesImportedEvent(
+    UserIdComposite ownerUserIdComposite,
+    DateRange dateRange
+) {
+}
@@ -48,7 +48,7 @@ class DayLockedRepublishServiceMultiTenant implements DayLockedRepublishService
         }
 
         LOG.info("Republishing DayLockedEvents for all active tenants from={} to={}", from, to);
-        tenantContextRunner.runForEachActiveTenant(() -> republishForCurrentTenant(from, to)).run();
+        tenantContextRunner.runForEachActiveTenant("day-locked-republish", () -> republishForCurrentTenant(from, to)).run();
     }
 
     @Override
@@ -1,5 +1,6 @@
 package de.focusshift.zeiterfassung.user;
 
+import de.focusshift.zeiterfassung.web.RequestLookupContext;
 import jakarta.servlet.ServletRequest;
 import jakarta.servlet.http.HttpServletRequest;
 import org.jspecify.annotations.Nullable;
@@ -21,12 +22,16 @@ class UserSettingsService {
 
     private static final Logger LOG = getLogger(lookup().lookupClass());
 
+    private static final String USER_SETTINGS_LOOKUP = "user-settings";
+
     private final UserSettingsRepository userSettingsRepository;
     private final LocaleResolver localeResolver;
+    private final RequestLookupContext requestLookupContext;
 
-    UserSettingsService(UserSettingsRepository userSettingsRepository, LocaleResolver localeResolver) {
+    UserSettingsService(UserSettingsRepository userSettingsRepository, LocaleResolver localeResolver, RequestLookupContext requestLookupContext) {
         this.userSettingsRepository = userSettingsRepository;
         this.localeResolver = localeResolver;
+        this.requestLookupContext = requestLookupContext;
     }
 
     Optional<Theme> findTheme(UserIdComposite userIdComposite) {
@@ -39,9 +44,15 @@ class UserSettingsService {
         return userSettingsRepository.findByTenantUserLocalId(localId).map(UserSettingsEntity::getLocale);
     }
 
+    /**
+     * Returns the {@link UserSettings} of the given person, loaded only once per web request.
+     *
+     * @param userIdComposite to get the {@link UserSettings} for
+     * @return the persisted {@link UserSettings} or the default ones
+     */
     UserSettings getUserSettings(UserIdComposite userIdComposite) {
-        final UserSettingsEntity entity = findOrGetDefault(userIdComposite);
-        return toUserSettings(entity);
+        return requestLookupContext.get(USER_SETTINGS_LOOKUP, userIdComposite.localId(),
+            () -> toUserSettings(findOrGetDefault(userIdComposite)));
     }
 
     /**
@@ -64,6 +75,7 @@ class UserSettingsService {
         entity.setLocaleBrowserSpecific(localeFromRequest);
 
         final UserSettingsEntity persistedEntity = userSettingsRepository.save(entity);
+        requestLookupContext.evict(USER_SETTINGS_LOOKUP);
         LOG.info("Updated user settings to {}", persistedEntity);
 
         setLocale(persistedEntity.getLocale());
@@ -82,6 +94,7 @@ class UserSettingsService {
         entity.setTenantUserLocalId(userIdComposite.localId().value());
         entity.setNavigationCollapsed(navigationCollapsed);
         userSettingsRepository.save(entity);
+        requestLookupContext.evict(USER_SETTINGS_LOOKUP);
         LOG.info("updated user={} navigation collapsed={}", userIdComposite, navigationCollapsed);
     }
 
@@ -107,6 +120,7 @@ class UserSettingsService {
                 defaultUserSettingsEntity.setLocaleBrowserSpecific(localeBrowserSpecific);
                 userSettingsRepository.save(defaultUserSettingsEntity);
             });
+        requestLookupContext.evict(USER_SETTINGS_LOOKUP);
     }
 
     private UserSettingsEntity findOrGetDefault(UserIdComposite userIdComposite) {
@@ -18,6 +18,15 @@ public interface UserManagementService {
 
     List<User> findAllUsers(String query);
 
+    /**
+     * Finds the first {@code limit} users matching the given query, e.g. to suggest users while typing.
+     *
+     * @param query search query, an empty query matches every user
+     * @param limit maximum number of returned users
+     * @return matching users, never {@code null}
+     */
+    List<User> findUsers(String query, int limit);
+
     List<User> findAllUsersByIds(Collection<UserId> ids);
 
     List<User> findAllUsersByLocalIds(Collection<UserLocalId> localIds);
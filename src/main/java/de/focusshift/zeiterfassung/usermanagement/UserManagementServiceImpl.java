@@ -3,8 +3,11 @@ package de.focusshift.zeiterfassung.usermanagement;
 import de.focusshift.zeiterfassung.security.SecurityRole;
 import de.focusshift.zeiterfassung.tenancy.user.TenantUser;
 import de.focusshift.zeiterfassung.tenancy.user.TenantUserService;
+import de.focusshift.zeiterfassung.tenancy.user.TenantUserUpdatedEvent;
 import de.focusshift.zeiterfassung.user.UserId;
 import de.focusshift.zeiterfassung.user.UserIdComposite;
+import de.focusshift.zeiterfassung.web.RequestLookupContext;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 import java.util.Collection;
@@ -15,10 +18,14 @@ import java.util.Set;
 @Service
 class UserManagementServiceImpl implements UserManagementService {
 
+    private static final String USER_BY_LOCAL_ID_LOOKUP = "user-by-local-id";
+
     private final TenantUserService tenantUserService;
+    private final RequestLookupContext requestLookupContext;
 
-    UserManagementServiceImpl(TenantUserService tenantUserService) {
+    UserManagementServiceImpl(TenantUserService tenantUserService, RequestLookupContext requestLookupContext) {
         this.tenantUserService = tenantUserService;
+        this.requestLookupContext = requestLookupContext;
     }
 
     @Override
@@ -28,7 +35,8 @@ class UserManagementServiceImpl implements UserManagementService {
 
     @Override
     public Optional<User> findUserByLocalId(UserLocalId userId) {
-        return mapToUser(tenantUserService.findByLocalId(userId));
+        // controllers and services resolve the same user several times while rendering one page
+        return requestLookupContext.get(USER_BY_LOCAL_ID_LOOKUP, userId, () -> mapToUser(tenantUserService.findByLocalId(userId)));
     }
 
     @Override
@@ -41,6 +49,11 @@ class UserManagementServiceImpl implements UserManagementService {
         return mapToUser(tenantUserService.findAllUsers(query));
     }
 
+    @Override
+    public List<User> findUsers(String query, int limit) {
+        return mapToUser(tenantUserService.findUsers(query, limit));
+    }
+
     @Override
     public List<User> findAllUsersByIds(Collection<UserId> userIds) {
         return mapToUser(tenantUserService.findAllUsersById(userIds));
@@ -64,6 +77,11 @@ class UserManagementServiceImpl implements UserManagementService {
         return tenantUserToUser(tenantUserService.updateUser(tenantUserWithNewPermissions));
     }
 
+    @EventListener
+    void on(TenantUserUpdatedEvent event) {
+        requestLookupContext.evict(USER_BY_LOCAL_ID_LOOKUP);
+    }
+
     private static Optional<User> mapToUser(Optional<TenantUser> optional) {
         return optional.map(UserManagementServiceImpl::tenantUserToUser);
     }
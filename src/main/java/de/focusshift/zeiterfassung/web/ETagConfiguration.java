@@ -0,0 +1,16 @@
+package de.focusshift.zeiterfassung.web;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ETagProperties.class)
+class ETagConfiguration {
+
+    @Bean
+    ETagViewHelper eTagViewHelper(ETagProperties properties, MeterRegistry meterRegistry) {
+        return new ETagViewHelper(properties.enabled(), meterRegistry);
+    }
+}
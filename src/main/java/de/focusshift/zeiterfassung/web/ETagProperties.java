@@ -0,0 +1,16 @@
+package de.focusshift.zeiterfassung.web;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * @param enabled whether report and time entry pages are answered with {@code 304 Not Modified} when the browser
+ *                has the current page already. Browsers store these pages then, marked as private.
+ */
+@Validated
+@ConfigurationProperties("zeiterfassung.web.etag")
+record ETagProperties(
+    @DefaultValue("true") boolean enabled
+) {
+}
@@ -0,0 +1,121 @@
+package de.focusshift.zeiterfassung.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.support.RequestContextUtils;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static de.focusshift.zeiterfassung.web.HotwiredTurboConstants.TURBO_FRAME_HEADER;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNullElse;
+import static java.util.stream.Collectors.joining;
+import static org.springframework.http.HttpHeaders.CACHE_CONTROL;
+import static org.springframework.util.DigestUtils.md5DigestAsHex;
+
+/**
+ * Answers a page with {@code 304 Not Modified} when the browser has the current page already.
+ *
+ * <p>
+ * The ETag of a page is derived from the version of the data shown by the page and everything else a page depends on:
+ * the url, the requested Turbo frame, the locale, the signed-in user with its authorities and the session containing
+ * the CSRF token. Every instance of the application has its own ETags, so a new deployment with other templates or
+ * configuration never answers with a page rendered by an earlier one.
+ *
+ * <pre>{@code
+ * if (eTagViewHelper.checkNotModified(webRequest, dataVersion)) {
+ *     return null;
+ * }
+ * }</pre>
+ *
+ * <p>
+ * Checks are recorded as {@code zeiterfassung.views.conditional} tagged with whether the page was modified.
+ */
+public class ETagViewHelper {
+
+    private final String instance = UUID.randomUUID().toString();
+
+    private final boolean enabled;
+    private final MeterRegistry meterRegistry;
+
+    public ETagViewHelper(boolean enabled, MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Sets the ETag of the page and answers with {@code 304 Not Modified} when it matches {@code If-None-Match}.
+     *
+     * @param webRequest current request
+     * @param dataVersion version of the data shown by the page
+     * @return {@code true} when the browser has the current page already, the page must not be rendered then
+     */
+    public boolean checkNotModified(ServletWebRequest webRequest, String dataVersion) {
+
+        if (!enabled) {
+            return false;
+        }
+
+        final HttpServletRequest request = webRequest.getRequest();
+
+        final Map<String, ?> inputFlashMap = RequestContextUtils.getInputFlashMap(request);
+        if (inputFlashMap != null && !inputFlashMap.isEmpty()) {
+            // flash attributes like validation errors are shown once, the page differs from the stored one
+            return false;
+        }
+
+        final HttpServletResponse response = webRequest.getResponse();
+        if (response != null) {
+            // pages contain personal data. browsers may store them but have to ask whether they are still current.
+            response.setHeader(CACHE_CONTROL, "private, no-cache");
+        }
+
+        final boolean notModified = webRequest.checkNotModified(eTag(request, dataVersion));
+        counter(notModified ? "not-modified" : "modified").increment();
+
+        return notModified;
+    }
+
+    private String eTag(HttpServletRequest request, String dataVersion) {
+
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        final String principal = authentication == null ? "" : authentication.getName();
+        final String authorities = authentication == null ? "" : authentication.getAuthorities().stream()
+            .map(GrantedAuthority::getAuthority)
+            .sorted()
+            .collect(joining(","));
+
+        final HttpSession session = request.getSession(false);
+
+        final String version = String.join("|",
+            instance,
+            dataVersion,
+            request.getRequestURI(),
+            requireNonNullElse(request.getQueryString(), ""),
+            requireNonNullElse(request.getHeader(TURBO_FRAME_HEADER), ""),
+            LocaleContextHolder.getLocale().toLanguageTag(),
+            principal,
+            authorities,
+            session == null ? "" : session.getId()
+        );
+
+        // weak, the rendered page may differ in details like the masked CSRF token
+        return "W/\"" + md5DigestAsHex(version.getBytes(UTF_8)) + "\"";
+    }
+
+    private Counter counter(String result) {
+        return Counter.builder("zeiterfassung.views.conditional")
+            .description("Conditional requests of pages, not modified pages are answered without rendering them")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+}
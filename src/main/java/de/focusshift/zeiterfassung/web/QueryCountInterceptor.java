@@ -0,0 +1,50 @@
+package de.focusshift.zeiterfassung.web;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Records the number of SQL statements of every request as {@code zeiterfassung.http.server.requests.queries},
+ * tagged with the method and the uri pattern of the request like {@code http.server.requests}.
+ */
+@Component
+class QueryCountInterceptor implements HandlerInterceptor {
+
+    private final MeterRegistry meterRegistry;
+
+    QueryCountInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        QueryCountStatementInspector.start();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+
+        final long queries = QueryCountStatementInspector.stop();
+        if (queries < 0) {
+            return;
+        }
+
+        // the pattern instead of the actual uri keeps the number of tags low
+        final Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+
+        DistributionSummary.builder("zeiterfassung.http.server.requests.queries")
+            .description("Number of SQL statements generated by hibernate while handling a request")
+            .baseUnit("queries")
+            .tag("method", request.getMethod())
+            .tag("uri", pattern == null ? "UNKNOWN" : pattern.toString())
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+            .record(queries);
+    }
+}
@@ -0,0 +1,38 @@
+package de.focusshift.zeiterfassung.web;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements generated by hibernate while handling a request.
+ *
+ * <p>
+ * Registered via {@code spring.jpa.properties.hibernate.session_factory.statement_inspector} in the
+ * {@code application.yaml}. Statements are only counted between {@link #start()} and {@link #stop()} of the same
+ * thread, see {@link QueryCountInterceptor}.
+ */
+public class QueryCountStatementInspector implements StatementInspector {
+
+    private static final ThreadLocal<long[]> COUNT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        final long[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    static void start() {
+        COUNT.set(new long[1]);
+    }
+
+    /**
+     * @return number of statements since {@link #start()}, {@code -1} when counting has not been started
+     */
+    static long stop() {
+        final long[] count = COUNT.get();
+        COUNT.remove();
+        return count == null ? -1 : count[0];
+    }
+}
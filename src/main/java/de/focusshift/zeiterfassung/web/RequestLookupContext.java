@@ -0,0 +1,109 @@
+package de.focusshift.zeiterfassung.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.springframework.web.context.request.RequestAttributes.SCOPE_REQUEST;
+
+/**
+ * Remembers lookups for the rest of the current web request.
+ *
+ * <p>
+ * Interceptors, controller advices, controllers and services often need the same data while rendering one page, e.g.
+ * the current user or the running time clock. The first lookup loads the value, further lookups of the same lookup
+ * and key within the request return the remembered value, which may be {@code null}. Outside a web request, e.g. in
+ * scheduled tasks or message listeners, every lookup loads the value.
+ *
+ * <p>
+ * Writes must {@link #evict(String) evict} the lookup, so that the request reads its own writes.
+ *
+ * <p>
+ * Hits and misses are recorded as {@code zeiterfassung.request.lookups} tagged with the name of the lookup.
+ */
+@Component
+public class RequestLookupContext {
+
+    private static final String ATTRIBUTE_NAME = RequestLookupContext.class.getName();
+
+    private final MeterRegistry meterRegistry;
+
+    public RequestLookupContext(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @param lookup name of the lookup, used as metric tag and therefore a constant
+     * @param key key of the value within the lookup, e.g. the id of a user
+     * @param loader loads the value when it is not known in the current request yet
+     * @return the value of the given lookup and key
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String lookup, Object key, Supplier<T> loader) {
+
+        final Map<LookupKey, Object> values = values(true);
+        if (values == null) {
+            return loader.get();
+        }
+
+        final LookupKey lookupKey = new LookupKey(lookup, key);
+        if (values.containsKey(lookupKey)) {
+            counter(lookup, "hit").increment();
+            return (T) values.get(lookupKey);
+        }
+
+        counter(lookup, "miss").increment();
+
+        // no computeIfAbsent, the loader may use other lookups of this request
+        final T value = loader.get();
+        values.put(lookupKey, value);
+
+        return value;
+    }
+
+    /**
+     * Forgets all values of the given lookup in the current request.
+     *
+     * @param lookup name of the lookup
+     */
+    public void evict(String lookup) {
+        final Map<LookupKey, Object> values = values(false);
+        if (values != null) {
+            values.keySet().removeIf(lookupKey -> lookupKey.lookup().equals(lookup));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<LookupKey, Object> values(boolean create) {
+
+        final RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return null;
+        }
+
+        Map<LookupKey, Object> values = (Map<LookupKey, Object>) requestAttributes.getAttribute(ATTRIBUTE_NAME, SCOPE_REQUEST);
+        if (values == null && create) {
+            values = new HashMap<>();
+            requestAttributes.setAttribute(ATTRIBUTE_NAME, values, SCOPE_REQUEST);
+        }
+
+        return values;
+    }
+
+    private Counter counter(String lookup, String result) {
+        return Counter.builder("zeiterfassung.request.lookups")
+            .description("Lookups of data within a web request, hits are answered by an earlier lookup of the same request")
+            .tag("lookup", lookup)
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    private record LookupKey(String lookup, Object key) {
+    }
+}
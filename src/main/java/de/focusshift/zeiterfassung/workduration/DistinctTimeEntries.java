@@ -0,0 +1,52 @@
+package de.focusshift.zeiterfassung.workduration;
+
+import de.focusshift.zeiterfassung.timeentry.TimeEntry;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * Distinct {@link TimeEntry}s like {@code stream().distinct()} without allocating anything for the common case of
+ * a few entries without duplicates.
+ */
+final class DistinctTimeEntries {
+
+    private static final int LINEAR_SCAN_LIMIT = 16;
+
+    private DistinctTimeEntries() {
+    }
+
+    /**
+     * @param timeEntries time entries, possibly containing equal entries
+     * @return the given collection if it does not contain equal entries, a distinct copy otherwise
+     */
+    static Collection<TimeEntry> of(Collection<TimeEntry> timeEntries) {
+
+        if (timeEntries.size() < 2 || timeEntries instanceof Set<TimeEntry>) {
+            return timeEntries;
+        }
+
+        if (timeEntries.size() <= LINEAR_SCAN_LIMIT
+            && timeEntries instanceof List<TimeEntry> list && list instanceof RandomAccess
+            && !containsEqualEntries(list)) {
+            return timeEntries;
+        }
+
+        return new HashSet<>(timeEntries);
+    }
+
+    private static boolean containsEqualEntries(List<TimeEntry> timeEntries) {
+        for (int i = 1; i < timeEntries.size(); i++) {
+            final TimeEntry timeEntry = timeEntries.get(i);
+            for (int j = 0; j < i; j++) {
+                if (timeEntry.equals(timeEntries.get(j))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -5,15 +5,8 @@ import org.springframework.stereotype.Component;
 
 import java.time.Duration;
 import java.time.ZonedDateTime;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.List;
-import java.util.Objects;
-import java.util.function.Predicate;
-
-import static java.time.Duration.between;
-import static java.util.Comparator.comparing;
-import static java.util.function.Predicate.not;
 
 /**
  * Specific strategy to calculate {@link WorkDuration}.
@@ -28,105 +21,141 @@ import static java.util.function.Predicate.not;
  * <ul>
  *   <li>worked from 08:00 to 10:00 with break from 09:00 to 10:00 --> 1 hour WorkDuration</li>
  * </ul>
+ *
+ * <p>
+ * Work entries are not merged, every work entry is reduced by the time it overlaps with any break. Overlapping and
+ * touching breaks are merged. The calculation works on primitive timestamps in nanos relative to the first entry,
+ * so entries must not span more than 292 years.
  */
 @Component
 class OverlappingBreakCalculator implements WorkDurationCalculator {
 
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
     @Override
     public WorkDuration calculateWorkDuration(Collection<TimeEntry> timeEntries) {
 
-        final List<Interval> notMergedWorkIntervals = workIntervals(timeEntries);
-        final List<Interval> mergedBreakIntervals = mergeIntervals(breakIntervals(timeEntries));
-        final List<Interval> notMergedBreakIntervalWithWorkIntervalOverlaps = breakIntervalOverlaps(notMergedWorkIntervals, mergedBreakIntervals);
+        final Collection<TimeEntry> entries = DistinctTimeEntries.of(timeEntries);
+        if (entries.isEmpty()) {
+            return WorkDuration.ZERO;
+        }
 
-        final Duration totalWork = summarizeDuration(notMergedWorkIntervals);
-        final Duration totalBreak = summarizeDuration(notMergedBreakIntervalWithWorkIntervalOverlaps);
+        final long origin = entries.iterator().next().start().toEpochSecond();
+        final int size = entries.size();
+
+        final long[] workStarts = new long[size];
+        final long[] workEnds = new long[size];
+        final long[] breakStarts = new long[size];
+        final long[] breakEnds = new long[size];
+        int workCount = 0;
+        int breakCount = 0;
+        long totalWork = 0;
+
+        for (TimeEntry entry : entries) {
+            final long start = nanos(entry.start(), origin);
+            final long end = nanos(entry.end(), origin);
+            if (entry.isBreak()) {
+                // empty or inverted breaks neither overlap with work nor with other breaks
+                if (end > start) {
+                    breakStarts[breakCount] = start;
+                    breakEnds[breakCount] = end;
+                    breakCount++;
+                }
+            } else {
+                totalWork += end - start;
+                if (end > start) {
+                    workStarts[workCount] = start;
+                    workEnds[workCount] = end;
+                    workCount++;
+                }
+            }
+        }
 
-        return new WorkDuration(totalWork.minus(totalBreak));
-    }
+        if (workCount == 0 || breakCount == 0) {
+            return new WorkDuration(Duration.ofNanos(totalWork));
+        }
 
-    private List<Interval> workIntervals(Collection<TimeEntry> timeEntries) {
-        return intervals(timeEntries, not(TimeEntry::isBreak));
-    }
+        final int mergedBreakCount = mergeIntervals(breakStarts, breakEnds, breakCount);
+        final long[] breakBefore = breakBefore(breakStarts, breakEnds, mergedBreakCount);
 
-    private List<Interval> breakIntervals(Collection<TimeEntry> timeEntries) {
-        return intervals(timeEntries, TimeEntry::isBreak);
+        long totalBreak = 0;
+        for (int i = 0; i < workCount; i++) {
+            totalBreak += breakUntil(workEnds[i], breakStarts, breakEnds, breakBefore, mergedBreakCount)
+                - breakUntil(workStarts[i], breakStarts, breakEnds, breakBefore, mergedBreakCount);
+        }
+
+        return new WorkDuration(Duration.ofNanos(totalWork - totalBreak));
     }
 
-    private List<Interval> intervals(Collection<TimeEntry> timeEntries, Predicate<TimeEntry> filter) {
-        return timeEntries.stream()
-            .distinct()
-            .filter(filter)
-            .map(e -> new Interval(e.start(), e.end()))
-            .sorted(comparing(Interval::start))
-            .toList();
+    private static long nanos(ZonedDateTime dateTime, long origin) {
+        return Math.addExact(Math.multiplyExact(dateTime.toEpochSecond() - origin, NANOS_PER_SECOND), dateTime.getNano());
     }
 
     /**
-     * Calculate overlapping break intervals.
-     *
-     * <p>
-     * Examples:
-     *
-     * <ul>
-     *     <li>
-     *         Worked from 08:00 to 12:00, break from 11:00 to 13:00
-     *         <ul>
-     *             <li>overlap from 11:00 to 12:00</li>
-     *         </ul>
-     *     </li>
-     *     <li>
-     *         Worked from 08:00 to 12:00, break from 08:15 to 08:30 and from 09:00 to 09:15
-     *         <ul>
-     *             <li>overlap from 08:15 to 08:30</li>
-     *             <li> and from 09:00 to 09:15</li>
-     *         </ul>
-     *     </li>
-     * </ul>
+     * Merges overlapping and touching intervals in place. Starts and ends are sorted independently, then a sweep line
+     * counts open intervals. A merged interval ends as soon as no interval is open anymore. Starts are processed before
+     * ends on the same instant, which merges touching intervals.
      *
-     * @param workIntervals non overlapping work intervals
-     * @param mergedBreakIntervals non overlapping break intervals
-     * @return intervals of overlapping break and work, sorted by start
+     * @param starts starts of non-empty intervals, contains the starts of the merged intervals afterwards
+     * @param ends ends of non-empty intervals, contains the ends of the merged intervals afterwards
+     * @param count number of intervals
+     * @return number of merged intervals, sorted by start and neither overlapping nor touching
      */
-    private List<Interval> breakIntervalOverlaps(Collection<Interval> workIntervals, Collection<Interval> mergedBreakIntervals) {
-        return workIntervals.stream()
-            .flatMap(workInterval -> mergedBreakIntervals.stream()
-                .map(breakInterval -> {
-                    final ZonedDateTime start = workInterval.start().isAfter(breakInterval.start()) ? workInterval.start() : breakInterval.start();
-                    final ZonedDateTime end = workInterval.end().isBefore(breakInterval.end()) ? workInterval.end() : breakInterval.end();
-                    final Interval overlapInterval = new Interval(start, end);
-                    return end.isAfter(start) ? overlapInterval : null;
-                })
-                .filter(Objects::nonNull)
-            )
-            .sorted(comparing(Interval::start))
-            .toList();
-    }
-
-    private static List<Interval> mergeIntervals(Collection<Interval> intervals) {
-
-        final List<Interval> merged = new ArrayList<>();
-
-        for (final Interval interval : intervals) {
-            if (merged.isEmpty() || merged.getLast().end().isBefore(interval.start())) {
-                merged.add(interval);
-            } else {
-                final Interval last = merged.removeLast();
-                final ZonedDateTime newStart = last.start();
-                final ZonedDateTime newEnd = last.end().isAfter(interval.end()) ? last.end() : interval.end();
-                merged.add(new Interval(newStart, newEnd));
-            }
+    private static int mergeIntervals(long[] starts, long[] ends, int count) {
+
+        Arrays.sort(starts, 0, count);
+        Arrays.sort(ends, 0, count);
+
+        int merged = 0;
+        int nextStart = 0;
+        int nextEnd = 0;
+
+        while (nextStart < count) {
+            final long start = starts[nextStart];
+            int open = 0;
+            do {
+                if (nextStart < count && starts[nextStart] <= ends[nextEnd]) {
+                    open++;
+                    nextStart++;
+                } else {
+                    open--;
+                    nextEnd++;
+                }
+            } while (open > 0);
+
+            // merged never exceeds the consumed starts and ends, so nothing unread is overwritten
+            starts[merged] = start;
+            ends[merged] = ends[nextEnd - 1];
+            merged++;
         }
 
         return merged;
     }
 
-    private Duration summarizeDuration(Collection<Interval> intervals) {
-        return intervals.stream()
-            .map(interval -> between(interval.start(), interval.end()))
-            .reduce(Duration.ZERO, Duration::plus);
+    /**
+     * @return summarized break duration of all merged intervals before the interval at the index
+     */
+    private static long[] breakBefore(long[] starts, long[] ends, int count) {
+        final long[] breakBefore = new long[count];
+        for (int i = 1; i < count; i++) {
+            breakBefore[i] = breakBefore[i - 1] + ends[i - 1] - starts[i - 1];
+        }
+        return breakBefore;
     }
 
-    private record Interval(ZonedDateTime start, ZonedDateTime end) {
+    /**
+     * @return summarized break duration of the merged intervals up to the given timestamp
+     */
+    private static long breakUntil(long timestamp, long[] starts, long[] ends, long[] breakBefore, int count) {
+
+        // merged starts are distinct, an exact match is not before the timestamp
+        final int found = Arrays.binarySearch(starts, 0, count, timestamp);
+        final int startedBefore = found >= 0 ? found : -found - 1;
+        if (startedBefore == 0) {
+            return 0;
+        }
+
+        final int last = startedBefore - 1;
+        return breakBefore[last] + Math.min(timestamp, ends[last]) - starts[last];
     }
 }
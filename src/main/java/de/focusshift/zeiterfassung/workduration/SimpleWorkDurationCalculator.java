@@ -3,6 +3,7 @@ package de.focusshift.zeiterfassung.workduration;
 import de.focusshift.zeiterfassung.timeentry.TimeEntry;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.util.Collection;
 
 /**
@@ -16,8 +17,18 @@ class SimpleWorkDurationCalculator implements WorkDurationCalculator {
 
     @Override
     public WorkDuration calculateWorkDuration(Collection<TimeEntry> timeEntries) {
-        return timeEntries.stream().distinct()
-            .map(TimeEntry::workDuration)
-            .reduce(WorkDuration.ZERO, WorkDuration::plus);
+
+        // seconds and nanos are summed separately, so no Duration is created per entry
+        long seconds = 0;
+        long nanos = 0;
+
+        for (TimeEntry timeEntry : DistinctTimeEntries.of(timeEntries)) {
+            if (!timeEntry.isBreak()) {
+                seconds += timeEntry.end().toEpochSecond() - timeEntry.start().toEpochSecond();
+                nanos += timeEntry.end().getNano() - timeEntry.start().getNano();
+            }
+        }
+
+        return new WorkDuration(Duration.ofSeconds(seconds, nanos));
     }
 }
@@ -7,10 +7,14 @@ import de.focusshift.zeiterfassung.usermanagement.User;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.TreeMap;
 
 import static de.focusshift.zeiterfassung.absence.AbsenceTypeCategory.OVERTIME;
 import static org.apache.commons.lang3.compare.ComparableUtils.max;
@@ -34,11 +38,45 @@ import static org.apache.commons.lang3.compare.ComparableUtils.max;
  */
 public final class WorkingTimeCalendar {
 
-    private final Map<LocalDate, PlannedWorkingHours> plannedWorkingHoursByDate;
+    /**
+     * epochDay of the first date with {@link PlannedWorkingHours}.
+     */
+    private final long firstEpochDay;
+
+    /**
+     * Running sum of {@link PlannedWorkingHours} in nanos. {@code plannedNanosSum[i]} is the sum of all days before
+     * {@code firstEpochDay + i}, therefore the planned working hours of a single day are the difference of two
+     * neighbours and sums over a date range are the difference of the range bounds.
+     */
+    private final long[] plannedNanosSum;
+
+    /**
+     * Days (relative to {@code firstEpochDay}) known in this calendar.
+     */
+    private final BitSet knownDays;
+
     private final Map<LocalDate, List<Absence>> absencesByDate;
 
     public WorkingTimeCalendar(Map<LocalDate, PlannedWorkingHours> plannedWorkingHoursByDate, Map<LocalDate, List<Absence>> absencesByDate) {
-        this.plannedWorkingHoursByDate = plannedWorkingHoursByDate;
+
+        final long first = plannedWorkingHoursByDate.keySet().stream().mapToLong(LocalDate::toEpochDay).min().orElse(0);
+        final long last = plannedWorkingHoursByDate.keySet().stream().mapToLong(LocalDate::toEpochDay).max().orElse(-1);
+        final int days = Math.toIntExact(last - first + 1);
+
+        final long[] plannedNanos = new long[days];
+        this.knownDays = new BitSet(days);
+        plannedWorkingHoursByDate.forEach((date, plannedWorkingHours) -> {
+            final int index = (int) (date.toEpochDay() - first);
+            plannedNanos[index] = plannedWorkingHours.duration().toNanos();
+            knownDays.set(index);
+        });
+
+        this.firstEpochDay = first;
+        this.plannedNanosSum = new long[days + 1];
+        for (int i = 0; i < days; i++) {
+            plannedNanosSum[i + 1] = plannedNanosSum[i] + plannedNanos[i];
+        }
+
         this.absencesByDate = absencesByDate;
     }
 
@@ -49,7 +87,8 @@ public final class WorkingTimeCalendar {
      * @return the {@link PlannedWorkingHours} for the given date or empty when the date is unknown in this calendar.
      */
     public Optional<PlannedWorkingHours> plannedWorkingHours(LocalDate date) {
-        return Optional.ofNullable(plannedWorkingHoursByDate.get(date));
+        final OptionalLong plannedNanos = plannedNanos(date);
+        return plannedNanos.isPresent() ? Optional.of(plannedWorkingHours(plannedNanos.getAsLong())) : Optional.empty();
     }
 
     /**
@@ -60,12 +99,17 @@ public final class WorkingTimeCalendar {
      */
     public Optional<ShouldWorkingHours> shouldWorkingHours(LocalDate date) {
 
-        final PlannedWorkingHours plannedWorkingHours = plannedWorkingHoursByDate.get(date);
-        if (plannedWorkingHours == null) {
+        final OptionalLong plannedNanos = plannedNanos(date);
+        if (plannedNanos.isEmpty()) {
             return Optional.empty();
         }
 
+        final PlannedWorkingHours plannedWorkingHours = plannedWorkingHours(plannedNanos.getAsLong());
         final List<Absence> absencesAtGivenDate = absencesByDate.getOrDefault(date, List.of());
+        if (absencesAtGivenDate.isEmpty()) {
+            return Optional.of(new ShouldWorkingHours(plannedWorkingHours.duration()));
+        }
+
         Duration absenceDuration = Duration.ZERO;
         final Duration plannedWorkingHourDuration = plannedWorkingHours.duration();
 
@@ -126,11 +170,12 @@ public final class WorkingTimeCalendar {
      * calculate {@linkplain PlannedWorkingHours} between the given dates.
      */
     public PlannedWorkingHours plannedWorkingHours(LocalDate from, LocalDate toExclusive) {
-        return plannedWorkingHoursByDate.entrySet()
-            .stream()
-            .filter(entry -> isDateBetween(entry.getKey(), from, toExclusive))
-            .map(Map.Entry::getValue)
-            .reduce(PlannedWorkingHours.ZERO, PlannedWorkingHours::plus);
+        final int fromIndex = clampedIndex(from);
+        final int toIndex = clampedIndex(toExclusive);
+        if (fromIndex >= toIndex) {
+            return PlannedWorkingHours.ZERO;
+        }
+        return plannedWorkingHours(plannedNanosSum[toIndex] - plannedNanosSum[fromIndex]);
     }
 
     @Override
@@ -138,24 +183,49 @@ public final class WorkingTimeCalendar {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         WorkingTimeCalendar that = (WorkingTimeCalendar) o;
-        return Objects.equals(plannedWorkingHoursByDate, that.plannedWorkingHoursByDate) && Objects.equals(absencesByDate, that.absencesByDate);
+        return firstEpochDay == that.firstEpochDay
+            && Arrays.equals(plannedNanosSum, that.plannedNanosSum)
+            && Objects.equals(knownDays, that.knownDays)
+            && Objects.equals(absencesByDate, that.absencesByDate);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(plannedWorkingHoursByDate, absencesByDate);
+        return Objects.hash(firstEpochDay, Arrays.hashCode(plannedNanosSum), knownDays, absencesByDate);
     }
 
     @Override
     public String toString() {
         return "WorkingTimeCalendar{" +
-            "plannedWorkingHoursByDate=" + plannedWorkingHoursByDate +
+            "plannedWorkingHoursByDate=" + plannedWorkingHoursByDate() +
             ", absencesByDate=" + absencesByDate +
             '}';
     }
 
-    private boolean isDateBetween(LocalDate toCheck, LocalDate from, LocalDate toExclusive) {
-        return toCheck.isBefore(toExclusive) && (toCheck.isEqual(from) || toCheck.isAfter(from));
+    private Map<LocalDate, PlannedWorkingHours> plannedWorkingHoursByDate() {
+        final Map<LocalDate, PlannedWorkingHours> plannedWorkingHoursByDate = new TreeMap<>();
+        knownDays.stream().forEach(index -> plannedWorkingHoursByDate.put(
+            LocalDate.ofEpochDay(firstEpochDay + index),
+            plannedWorkingHours(plannedNanosSum[index + 1] - plannedNanosSum[index])
+        ));
+        return plannedWorkingHoursByDate;
+    }
+
+    private OptionalLong plannedNanos(LocalDate date) {
+        final long index = date.toEpochDay() - firstEpochDay;
+        if (index < 0 || index >= plannedNanosSum.length - 1 || !knownDays.get((int) index)) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(plannedNanosSum[(int) index + 1] - plannedNanosSum[(int) index]);
+    }
+
+    private int clampedIndex(LocalDate date) {
+        final long index = date.toEpochDay() - firstEpochDay;
+        return Math.clamp(index, 0, plannedNanosSum.length - 1);
+    }
+
+    private static PlannedWorkingHours plannedWorkingHours(long nanos) {
+        return nanos == 0 ? PlannedWorkingHours.ZERO : new PlannedWorkingHours(Duration.ofNanos(nanos));
     }
 
     /**
@@ -194,8 +264,7 @@ public final class WorkingTimeCalendar {
         double effectiveWorkingDays = 0.0;
 
         for (LocalDate dayInAbsence = startDate; !dayInAbsence.isAfter(endDate); dayInAbsence = dayInAbsence.plusDays(1)) {
-            final PlannedWorkingHours dayPlanned = plannedWorkingHoursByDate.getOrDefault(dayInAbsence, PlannedWorkingHours.ZERO);
-            if (dayPlanned.duration().isPositive()) {
+            if (plannedNanos(dayInAbsence).orElse(0) > 0) {
                 // Check for other absences on this day
                 final List<Absence> dayAbsences = absencesByDate.getOrDefault(dayInAbsence, List.of());
                 double dayCapacity = 1.0;
@@ -0,0 +1,306 @@
+package de.focusshift.zeiterfassung.workingtime;
+
+import de.focusshift.zeiterfassung.absence.AbsenceAddedEvent;
+import de.focusshift.zeiterfassung.absence.AbsenceDeletedEvent;
+import de.focusshift.zeiterfassung.absence.AbsenceUpdatedEvent;
+import de.focusshift.zeiterfassung.companyvacation.CompanyVacationChangedEvent;
+import de.focusshift.zeiterfassung.settings.FederalStateSettingsUpdatedEvent;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantId;
+import de.focusshift.zeiterfassung.tenancy.user.TenantUserCreatedEvent;
+import de.focusshift.zeiterfassung.tenancy.user.TenantUserUpdatedEvent;
+import de.focusshift.zeiterfassung.user.UserId;
+import de.focusshift.zeiterfassung.user.UserIdComposite;
+import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import static java.lang.invoke.MethodHandles.lookup;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Bounded cache of {@link WorkingTimeCalendar}s per tenant, user and requested interval.
+ *
+ * <p>
+ * Calendars are evicted after the transaction of an event changing working times, absences, company vacations or
+ * federal state settings has been committed. Calendars loaded concurrently to an eviction are not cached, since they
+ * could have been calculated with outdated data. Calendars expire after the time to live, since other instances could
+ * have changed the data as well.
+ *
+ * <p>
+ * Additionally, the ids of all users of a tenant are cached, so that calendars of all users can be answered without
+ * loading the users first. They are evicted when a user has been created, updated, deleted, activated or deactivated and
+ * expire after the time to live as well.
+ */
+class WorkingTimeCalendarCache {
+
+    private static final Logger LOG = getLogger(lookup().lookupClass());
+
+    private final boolean enabled;
+    private final Duration timeToLive;
+    private final TenantContextHolder tenantContextHolder;
+    private final Clock clock;
+    private final Map<Key, Value> calendars;
+    private final Map<TenantId, UserLocalIds> userLocalIdsByTenant = new HashMap<>();
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter sizeEvictionCounter;
+    private final Counter eventEvictionCounter;
+
+    /**
+     * incremented on every eviction by an event, used to detect calendars loaded concurrently to an eviction.
+     */
+    private long generation = 0;
+
+    WorkingTimeCalendarCache(boolean enabled, int maxSize, Duration timeToLive, TenantContextHolder tenantContextHolder,
+                             Clock clock, MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.timeToLive = timeToLive;
+        this.tenantContextHolder = tenantContextHolder;
+        this.clock = clock;
+
+        this.hitCounter = cacheCounter("zeiterfassung.working-time-calendar.cache.gets", "result", "hit", meterRegistry);
+        this.missCounter = cacheCounter("zeiterfassung.working-time-calendar.cache.gets", "result", "miss", meterRegistry);
+        this.sizeEvictionCounter = cacheCounter("zeiterfassung.working-time-calendar.cache.evictions", "cause", "size", meterRegistry);
+        this.eventEvictionCounter = cacheCounter("zeiterfassung.working-time-calendar.cache.evictions", "cause", "event", meterRegistry);
+
+        // access ordered to evict the least recently used calendar when maxSize is exceeded
+        this.calendars = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Value> eldest) {
+                final boolean remove = size() > maxSize;
+                if (remove) {
+                    sizeEvictionCounter.increment();
+                }
+                return remove;
+            }
+        };
+
+        Gauge.builder("zeiterfassung.working-time-calendar.cache.size", this, WorkingTimeCalendarCache::size)
+            .description("Number of cached working time calendars")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Returns the {@link WorkingTimeCalendar}s of the given users and interval. Calendars of users not yet cached
+     * or expired are loaded with one call of the given loader.
+     *
+     * @param from first date of interval
+     * @param toExclusive last date (exclusive) of interval
+     * @param userLocalIds users to get the calendars for
+     * @param loader loads calendars of the given (not cached) users
+     * @return {@link WorkingTimeCalendar}s of the given users
+     */
+    Map<UserIdComposite, WorkingTimeCalendar> get(LocalDate from, LocalDate toExclusive, Collection<UserLocalId> userLocalIds,
+                                                  Function<Collection<UserLocalId>, Map<UserIdComposite, WorkingTimeCalendar>> loader) {
+
+        final Optional<TenantId> tenantId = tenantContextHolder.getCurrentTenantId();
+        if (!enabled || tenantId.isEmpty()) {
+            return loader.apply(userLocalIds);
+        }
+
+        final Instant now = Instant.now(clock);
+        final Map<UserIdComposite, WorkingTimeCalendar> result = new HashMap<>();
+        final Collection<UserLocalId> missing;
+        final long generationAtLoad;
+
+        synchronized (this) {
+            missing = userLocalIds.stream()
+                .filter(userLocalId -> {
+                    final Value cached = calendars.get(new Key(tenantId.get(), userLocalId, from, toExclusive));
+                    if (cached == null || !now.isBefore(cached.expiresAt())) {
+                        return true;
+                    }
+                    result.put(cached.userIdComposite(), cached.calendar());
+                    return false;
+                })
+                .toList();
+            generationAtLoad = generation;
+        }
+
+        hitCounter.increment(result.size());
+        missCounter.increment(missing.size());
+
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        final Map<UserIdComposite, WorkingTimeCalendar> loaded = loader.apply(missing);
+        result.putAll(loaded);
+
+        final Instant expiresAt = now.plus(timeToLive);
+
+        synchronized (this) {
+            if (generationAtLoad == generation) {
+                loaded.forEach((userIdComposite, calendar) ->
+                    calendars.put(new Key(tenantId.get(), userIdComposite.localId(), from, toExclusive), new Value(userIdComposite, calendar, expiresAt)));
+            } else {
+                LOG.debug("Not caching working time calendars loaded concurrently to an eviction.");
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the ids of all users of the current tenant, loaded with the given loader when missing or expired.
+     *
+     * @param loader loads the ids of all users of the current tenant
+     * @return ids of all users of the current tenant
+     */
+    List<UserLocalId> getAllUserLocalIds(Supplier<List<UserLocalId>> loader) {
+
+        final Optional<TenantId> tenantId = tenantContextHolder.getCurrentTenantId();
+        if (!enabled || tenantId.isEmpty()) {
+            return loader.get();
+        }
+
+        final Instant now = Instant.now(clock);
+        final long generationAtLoad;
+
+        synchronized (this) {
+            final UserLocalIds cached = userLocalIdsByTenant.get(tenantId.get());
+            if (cached != null && now.isBefore(cached.expiresAt())) {
+                return cached.userLocalIds();
+            }
+            generationAtLoad = generation;
+        }
+
+        final List<UserLocalId> loaded = List.copyOf(loader.get());
+
+        synchronized (this) {
+            if (generationAtLoad == generation) {
+                userLocalIdsByTenant.put(tenantId.get(), new UserLocalIds(loaded, now.plus(timeToLive)));
+            }
+        }
+
+        return loaded;
+    }
+
+    synchronized int size() {
+        return calendars.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(WorkingTimeCreatedEvent event) {
+        evictUserFrom(event.userIdComposite().localId(), event.validFrom());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(WorkingTimeUpdatedEvent event) {
+        // the previous validFrom is unknown, therefore every calendar of the user could be affected
+        evictUserFrom(event.userIdComposite().localId(), null);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(WorkingTimeDeletedEvent event) {
+        evictUserFrom(event.userIdComposite().localId(), event.validFrom());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(AbsenceAddedEvent event) {
+        evictUser(event.userId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(AbsenceUpdatedEvent event) {
+        evictUser(event.userId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(AbsenceDeletedEvent event) {
+        evictUser(event.userId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(CompanyVacationChangedEvent event) {
+        evictTenant();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(FederalStateSettingsUpdatedEvent event) {
+        evictTenant();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(TenantUserCreatedEvent event) {
+        evictUserLocalIds();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(TenantUserUpdatedEvent event) {
+        evictUserLocalIds();
+    }
+
+    private void evictUserLocalIds() {
+        final Optional<TenantId> tenantId = tenantContextHolder.getCurrentTenantId();
+        synchronized (this) {
+            generation++;
+            tenantId.ifPresentOrElse(userLocalIdsByTenant::remove, userLocalIdsByTenant::clear);
+        }
+    }
+
+    private void evictUserFrom(UserLocalId userLocalId, @Nullable LocalDate validFrom) {
+        evict(key -> key.userLocalId().equals(userLocalId) && (validFrom == null || key.toExclusive().isAfter(validFrom)));
+    }
+
+    private void evictUser(UserId userId) {
+        // absences outside the cached interval could be relevant as well, since calendars consider overlapping absences.
+        // therefore every calendar of the user is evicted.
+        final Optional<TenantId> tenantId = tenantContextHolder.getCurrentTenantId();
+        evictEntries((key, value) -> tenantId.map(key.tenantId()::equals).orElse(true) && value.userIdComposite().id().equals(userId));
+    }
+
+    private void evictTenant() {
+        final Optional<TenantId> tenantId = tenantContextHolder.getCurrentTenantId();
+        evict(key -> tenantId.map(key.tenantId()::equals).orElse(true));
+    }
+
+    private void evict(Predicate<Key> predicate) {
+        evictEntries((key, value) -> predicate.test(key));
+    }
+
+    private synchronized void evictEntries(BiPredicate<Key, Value> predicate) {
+        generation++;
+        final int sizeBefore = calendars.size();
+        calendars.entrySet().removeIf(entry -> predicate.test(entry.getKey(), entry.getValue()));
+        final int evicted = sizeBefore - calendars.size();
+        eventEvictionCounter.increment(evicted);
+        LOG.debug("Evicted {} cached working time calendars.", evicted);
+    }
+
+    private static Counter cacheCounter(String name, String tagKey, String tagValue, MeterRegistry meterRegistry) {
+        return Counter.builder(name)
+            .tag(tagKey, tagValue)
+            .register(meterRegistry);
+    }
+
+    private record Key(TenantId tenantId, UserLocalId userLocalId, LocalDate from, LocalDate toExclusive) {
+    }
+
+    private record Value(UserIdComposite userIdComposite, WorkingTimeCalendar calendar, Instant expiresAt) {
+    }
+
+    private record UserLocalIds(List<UserLocalId> userLocalIds, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,25 @@
+package de.focusshift.zeiterfassung.workingtime;
+
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+@Configuration
+@EnableConfigurationProperties(WorkingTimeCalendarCacheProperties.class)
+class WorkingTimeCalendarCacheConfiguration {
+
+    @Bean
+    WorkingTimeCalendarCache workingTimeCalendarCache(
+        WorkingTimeCalendarCacheProperties properties,
+        TenantContextHolder tenantContextHolder,
+        Clock clock,
+        MeterRegistry meterRegistry
+    ) {
+        return new WorkingTimeCalendarCache(properties.enabled(), properties.maxSize(), properties.timeToLive(),
+            tenantContextHolder, clock, meterRegistry);
+    }
+}
@@ -0,0 +1,22 @@
+package de.focusshift.zeiterfassung.workingtime;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * @param enabled whether calculated {@link WorkingTimeCalendar}s are cached or not
+ * @param maxSize maximum number of cached {@link WorkingTimeCalendar}s (one per tenant, user and interval)
+ * @param timeToLive duration after which a cached {@link WorkingTimeCalendar} is calculated again
+ */
+@Validated
+@ConfigurationProperties("zeiterfassung.working-time-calendar.cache")
+record WorkingTimeCalendarCacheProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("10000") @Min(1) int maxSize,
+    @DefaultValue("PT5M") Duration timeToLive
+) {
+}
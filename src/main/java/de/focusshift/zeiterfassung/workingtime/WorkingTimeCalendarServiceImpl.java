@@ -1,13 +1,18 @@
 package de.focusshift.zeiterfassung.workingtime;
 
 import de.focusshift.zeiterfassung.DateRange;
+import de.focusshift.zeiterfassung.UserCountBucket;
 import de.focusshift.zeiterfassung.absence.Absence;
 import de.focusshift.zeiterfassung.absence.AbsenceService;
 import de.focusshift.zeiterfassung.publicholiday.FederalState;
 import de.focusshift.zeiterfassung.publicholiday.PublicHolidayCalendar;
 import de.focusshift.zeiterfassung.publicholiday.PublicHolidaysService;
+import de.focusshift.zeiterfassung.user.HasUserIdComposite;
 import de.focusshift.zeiterfassung.user.UserIdComposite;
 import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import de.focusshift.zeiterfassung.usermanagement.UserManagementService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
@@ -21,6 +26,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.function.BiPredicate;
+import java.util.function.Supplier;
 
 import static java.time.ZoneOffset.UTC;
 import static java.time.temporal.ChronoUnit.DAYS;
@@ -34,15 +40,24 @@ class WorkingTimeCalendarServiceImpl implements WorkingTimeCalendarService {
     private final WorkingTimeService workingTimeService;
     private final PublicHolidaysService publicHolidaysService;
     private final AbsenceService absenceService;
+    private final UserManagementService userManagementService;
+    private final WorkingTimeCalendarCache workingTimeCalendarCache;
+    private final MeterRegistry meterRegistry;
 
     WorkingTimeCalendarServiceImpl(
         WorkingTimeService workingTimeService,
         PublicHolidaysService publicHolidaysService,
-        AbsenceService absenceService
+        AbsenceService absenceService,
+        UserManagementService userManagementService,
+        WorkingTimeCalendarCache workingTimeCalendarCache,
+        MeterRegistry meterRegistry
     ) {
         this.workingTimeService = workingTimeService;
         this.publicHolidaysService = publicHolidaysService;
         this.absenceService = absenceService;
+        this.userManagementService = userManagementService;
+        this.workingTimeCalendarCache = workingTimeCalendarCache;
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
@@ -53,6 +68,44 @@ class WorkingTimeCalendarServiceImpl implements WorkingTimeCalendarService {
 
     @Override
     public Map<UserIdComposite, WorkingTimeCalendar> getWorkingTimeCalendarForAllUsers(LocalDate from, LocalDate toExclusive) {
+
+        final List<UserLocalId> allUserLocalIds = workingTimeCalendarCache.getAllUserLocalIds(() ->
+            userManagementService.findAllUsers().stream()
+                .map(HasUserIdComposite::userLocalId)
+                .toList()
+        );
+
+        // loading calendars for all users at once is cheaper than loading them for many users by id.
+        // therefore all calendars are loaded when none is cached, otherwise only the missing ones.
+        return workingTimeCalendarCache.get(from, toExclusive, allUserLocalIds, missing -> missing.size() == allUserLocalIds.size()
+            ? timed("all", () -> loadWorkingTimeCalendarForAllUsers(from, toExclusive))
+            : timed("users", () -> loadWorkingTimeCalendarForUsers(from, toExclusive, missing)));
+    }
+
+    @Override
+    public Map<UserIdComposite, WorkingTimeCalendar> getWorkingTimeCalendarForUsers(LocalDate from, LocalDate toExclusive, Collection<UserLocalId> userLocalIds) {
+        return workingTimeCalendarCache.get(from, toExclusive, userLocalIds, missing -> timed("users", () -> loadWorkingTimeCalendarForUsers(from, toExclusive, missing)));
+    }
+
+    /**
+     * Records the duration of building calendars which are not cached, tagged with the number of built calendars as
+     * {@link UserCountBucket} to keep the number of tags low.
+     *
+     * @param scope whether calendars of {@code all} users or of given {@code users} are built
+     */
+    private Map<UserIdComposite, WorkingTimeCalendar> timed(String scope, Supplier<Map<UserIdComposite, WorkingTimeCalendar>> loader) {
+        final Timer.Sample sample = Timer.start(meterRegistry);
+        final Map<UserIdComposite, WorkingTimeCalendar> calendars = loader.get();
+        sample.stop(Timer.builder("zeiterfassung.working-time-calendar.build")
+            .description("Duration of building working time calendars")
+            .tag("scope", scope)
+            .tag("users", UserCountBucket.of(calendars.size()))
+            .publishPercentileHistogram()
+            .register(meterRegistry));
+        return calendars;
+    }
+
+    private Map<UserIdComposite, WorkingTimeCalendar> loadWorkingTimeCalendarForAllUsers(LocalDate from, LocalDate toExclusive) {
         final Map<UserIdComposite, List<Absence>> absences = fetchAbsencesWithOverlapping(
             from,
             toExclusive,
@@ -61,8 +114,7 @@ class WorkingTimeCalendarServiceImpl implements WorkingTimeCalendarService {
         return toWorkingTimeCalendar(from, toExclusive, absences, workingTimeService::getAllWorkingTimes);
     }
 
-    @Override
-    public Map<UserIdComposite, WorkingTimeCalendar> getWorkingTimeCalendarForUsers(LocalDate from, LocalDate toExclusive, Collection<UserLocalId> userLocalIds) {
+    private Map<UserIdComposite, WorkingTimeCalendar> loadWorkingTimeCalendarForUsers(LocalDate from, LocalDate toExclusive, Collection<UserLocalId> userLocalIds) {
         final Map<UserIdComposite, List<Absence>> absences = fetchAbsencesWithOverlapping(
             from,
             toExclusive,
@@ -0,0 +1,82 @@
+package de.focusshift.zeiterfassung;
+
+import jakarta.persistence.EntityManager;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Generic query plan of a SQL statement generated by hibernate.
+ *
+ * <p>Sequential scans are disabled for the current transaction before the statement is explained. Test data is
+ * typically too small for the planner to prefer an index, but with sequential scans disabled the planner still has
+ * to fall back to one if no index is usable for the statement.</p>
+ *
+ * <p>Usage:</p>
+ * <pre><code>
+ * final List&lt;String&gt; sql = SqlStatementCapture.capture(() -&gt; repository.findAll...(...));
+ * final QueryPlan plan = QueryPlan.explain(entityManager, sql.getFirst());
+ * assertThat(plan.usesIndex("idx_time_entry_tenant_id_start")).as(plan.toString()).isTrue();
+ * </code></pre>
+ */
+public final class QueryPlan {
+
+    private final List<String> lines;
+
+    private QueryPlan(List<String> lines) {
+        this.lines = lines;
+    }
+
+    /**
+     * Must be called within a transaction.
+     *
+     * @param entityManager of the current transaction
+     * @param sql           with jdbc {@code ?} parameter placeholders
+     * @return the generic plan of the statement
+     */
+    public static QueryPlan explain(EntityManager entityManager, String sql) {
+        entityManager.createNativeQuery("SET LOCAL enable_seqscan = off").executeUpdate();
+        final List<?> rows = entityManager.createNativeQuery("EXPLAIN (GENERIC_PLAN) " + numberedParameters(sql)).getResultList();
+        return new QueryPlan(rows.stream().map(String::valueOf).toList());
+    }
+
+    /**
+     * @param table name of the table
+     * @return {@code true} when the table is read by an index scan and never by a sequential scan
+     */
+    public boolean usesIndexOn(String table) {
+        final Pattern indexScan = Pattern.compile("(Index Scan|Index Only Scan|Bitmap Heap Scan).* on " + table + "\\b");
+        final Pattern seqScan = Pattern.compile("Seq Scan on " + table + "\\b");
+        return lines.stream().anyMatch(line -> indexScan.matcher(line).find())
+            && lines.stream().noneMatch(line -> seqScan.matcher(line).find());
+    }
+
+    /**
+     * @param indexName name of the index
+     * @return {@code true} when the given index is scanned
+     */
+    public boolean usesIndex(String indexName) {
+        final Pattern indexScan = Pattern.compile("(Index Scan|Index Only Scan|Bitmap Index Scan).* on " + indexName + "\\b");
+        return lines.stream().anyMatch(line -> indexScan.matcher(line).find());
+    }
+
+    @Override
+    public String toString() {
+        return String.join("\n", lines);
+    }
+
+    // EXPLAIN (GENERIC_PLAN) requires numbered $n parameters
+    private static String numberedParameters(String sql) {
+        final StringBuilder numbered = new StringBuilder(sql.length() + 16);
+        int parameter = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            final char c = sql.charAt(i);
+            if (c == '?') {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return numbered.toString();
+    }
+}
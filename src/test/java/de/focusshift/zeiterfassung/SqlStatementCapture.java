@@ -0,0 +1,48 @@
+package de.focusshift.zeiterfassung;
+
+import de.focusshift.zeiterfassung.web.QueryCountStatementInspector;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Captures the SQL generated by hibernate while running a function.
+ *
+ * <p>Registered via {@code spring.jpa.properties.hibernate.session_factory.statement_inspector} in the test
+ * {@code application.yaml}. Statements are only captured within {@link #capture(Runnable)}.</p>
+ *
+ * <p>Since only one statement inspector can be registered, statements are passed on to the
+ * {@link QueryCountStatementInspector} of the application, so that queries are still counted per request.</p>
+ */
+public class SqlStatementCapture implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+    private final StatementInspector queryCountStatementInspector = new QueryCountStatementInspector();
+
+    @Override
+    public String inspect(String sql) {
+        final String inspected = queryCountStatementInspector.inspect(sql);
+        final List<String> captured = CAPTURED.get();
+        if (captured != null) {
+            captured.add(inspected);
+        }
+        return inspected;
+    }
+
+    /**
+     * @param function to run
+     * @return the SQL statements executed by the function
+     */
+    public static List<String> capture(Runnable function) {
+        final List<String> captured = new ArrayList<>();
+        CAPTURED.set(captured);
+        try {
+            function.run();
+        } finally {
+            CAPTURED.remove();
+        }
+        return List.copyOf(captured);
+    }
+}
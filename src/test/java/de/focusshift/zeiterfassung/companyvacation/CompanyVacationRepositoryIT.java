@@ -1,9 +1,13 @@
 package de.focusshift.zeiterfassung.companyvacation;
 
 
+import de.focusshift.zeiterfassung.QueryPlan;
 import de.focusshift.zeiterfassung.SingleTenantTestContainersBase;
+import de.focusshift.zeiterfassung.SqlStatementCapture;
 import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
 import de.focusshift.zeiterfassung.tenancy.tenant.TenantId;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -32,6 +36,9 @@ class CompanyVacationRepositoryIT extends SingleTenantTestContainersBase {
     @MockitoBean
     private TenantContextHolder tenantContextHolder;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     /**
      * Tested period is KW 31 2023: 31.07.2023-06.08.2023
      */
@@ -102,6 +109,20 @@ class CompanyVacationRepositoryIT extends SingleTenantTestContainersBase {
         assertThat(allCompanyVacationsAfterDeletion).hasSize(1);
     }
 
+    @Test
+    void ensureFindAllOverlappingUsesIndex() {
+
+        final Instant startOfWeek = Instant.parse("2023-07-30T22:00:00.000Z");
+        final Instant endOfWeekExclusive = Instant.parse("2023-08-06T22:00:00.000Z");
+
+        final List<String> sql = SqlStatementCapture.capture(() ->
+            sut.findAllByStartDateLessThanAndEndDateGreaterThanEqual(endOfWeekExclusive, startOfWeek));
+
+        assertThat(sql).hasSize(1);
+        final QueryPlan plan = QueryPlan.explain(entityManager, sql.getFirst());
+        assertThat(plan.usesIndex("idx_company_vacation_tenant_id_start_date")).as(plan.toString()).isTrue();
+    }
+
     private static CompanyVacationEntity companyVacation(String start, String end) {
 
         final CompanyVacationEntity companyVacation = new CompanyVacationEntity();
@@ -8,6 +8,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.Instant;
 import java.util.Optional;
@@ -18,6 +19,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,11 +32,13 @@ class CompanyVacationWriteServiceImplTest {
 
     @Mock
     private CompanyVacationRepository companyVacationRepository;
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
 
 
     @BeforeEach
     void setUp() {
-        sut = new CompanyVacationWriteServiceImpl(companyVacationRepository);
+        sut = new CompanyVacationWriteServiceImpl(companyVacationRepository, applicationEventPublisher);
     }
 
     @Nested
@@ -63,6 +67,8 @@ class CompanyVacationWriteServiceImplTest {
                 assertThat(actual.getEndDate()).isEqualTo(endDate);
                 assertThat(actual.getDayLength()).isEqualTo(FULL);
             });
+
+            verify(applicationEventPublisher).publishEvent(new CompanyVacationChangedEvent("sourceId"));
         }
 
         @Test
@@ -94,6 +100,8 @@ class CompanyVacationWriteServiceImplTest {
                 assertThat(actual.getEndDate()).isEqualTo(endDate);
                 assertThat(actual.getDayLength()).isEqualTo(FULL);
             });
+
+            verify(applicationEventPublisher).publishEvent(new CompanyVacationChangedEvent("sourceId"));
         }
     }
 
@@ -106,6 +114,18 @@ class CompanyVacationWriteServiceImplTest {
             final String sourceId = "sourceId";
             sut.deleteCompanyVacation(createdAt, sourceId);
             verify(companyVacationRepository).deleteBySourceIdAndStartAndEndInSameYearAsCreatedAt(sourceId, createdAt);
+            verifyNoInteractions(applicationEventPublisher);
+        }
+
+        @Test
+        void ensureDeleteCompanyVacationPublishesEvent() {
+            final Instant createdAt = Instant.parse("2025-07-29T22:00:00.000Z");
+            final String sourceId = "sourceId";
+
+            when(companyVacationRepository.deleteBySourceIdAndStartAndEndInSameYearAsCreatedAt(sourceId, createdAt)).thenReturn(1L);
+
+            sut.deleteCompanyVacation(createdAt, sourceId);
+            verify(applicationEventPublisher).publishEvent(new CompanyVacationChangedEvent(sourceId));
         }
     }
 }
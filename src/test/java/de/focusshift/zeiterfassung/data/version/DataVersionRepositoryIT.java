@@ -0,0 +1,144 @@
+package de.focusshift.zeiterfassung.data.version;
+
+import de.focusshift.zeiterfassung.SingleTenantTestContainersBase;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantService;
+import de.focusshift.zeiterfassung.tenancy.user.EMailAddress;
+import de.focusshift.zeiterfassung.tenancy.user.TenantUser;
+import de.focusshift.zeiterfassung.tenancy.user.TenantUserService;
+import de.focusshift.zeiterfassung.timeentry.TimeEntry;
+import de.focusshift.zeiterfassung.timeentry.TimeEntryService;
+import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@SpringBootTest
+@Transactional
+class DataVersionRepositoryIT extends SingleTenantTestContainersBase {
+
+    private static final Instant FROM = Instant.parse("2025-04-21T00:00:00Z");
+    private static final Instant TO_EXCLUSIVE = Instant.parse("2025-05-12T00:00:00Z");
+
+    @Autowired
+    private DataVersionRepository sut;
+
+    @Autowired
+    private TimeEntryService timeEntryService;
+    @Autowired
+    private TenantUserService tenantUserService;
+    @Autowired
+    private TenantService tenantService;
+
+    private TenantUser batman;
+    private TenantUser superman;
+
+    @BeforeEach
+    void setUp() {
+        tenantService.create("ab143c2f");
+        prepareSecurityContextWithTenantId("ab143c2f");
+
+        batman = tenantUserService.createNewUser("1a432ba3-cb93-463b-813b-8e065c1e0a24", "Bruce", "Wayne", new EMailAddress("batman@example.org"), Set.of());
+        superman = tenantUserService.createNewUser("8b913da0-2711-4da8-9216-9904e11944ac", "Kent", "Clark", new EMailAddress("Clark@example.org"), Set.of());
+    }
+
+    @Test
+    void ensureDataVersionIsStable() {
+        assertThat(versionOf(batman)).isNotBlank().isEqualTo(versionOf(batman));
+        assertThat(versionOfAllUsers()).isNotBlank().isEqualTo(versionOfAllUsers());
+    }
+
+    @Test
+    void ensureDataVersionChangesWithTimeEntriesOfTheViewedUsersOnly() {
+
+        final String batmanBefore = versionOf(batman);
+        final String supermanBefore = versionOf(superman);
+        final String allUsersBefore = versionOfAllUsers();
+
+        final ZonedDateTime start = ZonedDateTime.parse("2025-04-30T08:00:00Z");
+        final TimeEntry timeEntry = timeEntryService.createTimeEntry(new UserLocalId(batman.localId()), "hard work", start, start.plusHours(2), false);
+
+        final String batmanAfterCreate = versionOf(batman);
+        assertThat(batmanAfterCreate).isNotEqualTo(batmanBefore);
+        assertThat(versionOf(superman)).isEqualTo(supermanBefore);
+        assertThat(versionOfAllUsers()).isNotEqualTo(allUsersBefore);
+
+        timeEntryService.deleteTimeEntry(timeEntry.id());
+
+        assertThat(versionOf(batman)).isNotEqualTo(batmanAfterCreate);
+        assertThat(versionOf(superman)).isEqualTo(supermanBefore);
+    }
+
+    @Test
+    void ensureDataVersionChangesWithTimeEntriesOutsideOfThePeriod() {
+
+        final String before = versionOf(batman);
+
+        // the number of all time entries is shown by the paginated time entry pages
+        final ZonedDateTime start = ZonedDateTime.parse("2024-01-15T08:00:00Z");
+        timeEntryService.createTimeEntry(new UserLocalId(batman.localId()), "long ago", start, start.plusHours(2), false);
+
+        assertThat(versionOf(batman)).isNotEqualTo(before);
+    }
+
+    @Test
+    void ensureDataVersionChangesWithTheViewedUsersOnly() {
+
+        final String batmanBefore = versionOf(batman);
+        final String allUsersBefore = versionOfAllUsers();
+
+        tenantUserService.updateUser(superman);
+
+        assertThat(versionOf(batman)).isEqualTo(batmanBefore);
+        assertThat(versionOfAllUsers()).isNotEqualTo(allUsersBefore);
+    }
+
+    @Test
+    void ensureDataVersionChangesWithTheTenantDataVersion() {
+
+        final String batmanBefore = versionOf(batman);
+        final String allUsersBefore = versionOfAllUsers();
+
+        sut.incrementTenantDataVersion();
+
+        final String batmanAfterFirstChange = versionOf(batman);
+        assertThat(batmanAfterFirstChange).isNotEqualTo(batmanBefore);
+        assertThat(versionOfAllUsers()).isNotEqualTo(allUsersBefore);
+
+        sut.incrementTenantDataVersion();
+
+        assertThat(versionOf(batman)).isNotEqualTo(batmanAfterFirstChange);
+    }
+
+    private String versionOf(TenantUser user) {
+        return sut.findDataVersionOfUsers(List.of(user.localId()), FROM, TO_EXCLUSIVE, batman.id(), batman.localId());
+    }
+
+    private String versionOfAllUsers() {
+        return sut.findDataVersionOfAllUsers(FROM, TO_EXCLUSIVE, batman.id(), batman.localId());
+    }
+
+    private static void prepareSecurityContextWithTenantId(final String tenantId) {
+        final OAuth2User oAuth2User = mock(OAuth2User.class);
+        final Authentication authentication = new OAuth2AuthenticationToken(oAuth2User, List.of(), tenantId);
+
+        final SecurityContext securityContext = new SecurityContextImpl();
+        securityContext.setAuthentication(authentication);
+        SecurityContextHolder.setContext(securityContext);
+    }
+}
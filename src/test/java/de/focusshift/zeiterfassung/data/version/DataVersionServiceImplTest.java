@@ -0,0 +1,74 @@
+package de.focusshift.zeiterfassung.data.version;
+
+import de.focusshift.zeiterfassung.user.UserDateService;
+import de.focusshift.zeiterfassung.user.UserId;
+import de.focusshift.zeiterfassung.user.UserIdComposite;
+import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static java.time.ZoneOffset.UTC;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DataVersionServiceImplTest {
+
+    private DataVersionServiceImpl sut;
+
+    @Mock
+    private DataVersionRepository dataVersionRepository;
+    @Mock
+    private UserDateService userDateService;
+
+    private final Clock clock = Clock.fixed(Instant.parse("2025-05-01T22:30:00Z"), UTC);
+
+    private final UserIdComposite viewer = new UserIdComposite(new UserId("batman"), new UserLocalId(1L));
+
+    @BeforeEach
+    void setUp() {
+        sut = new DataVersionServiceImpl(dataVersionRepository, userDateService, clock);
+    }
+
+    @Test
+    void ensureDataVersionOfUsersCoversTheWeeksAroundThePeriod() {
+
+        when(dataVersionRepository.findDataVersionOfUsers(List.of(1L, 42L), Instant.parse("2025-04-21T00:00:00Z"), Instant.parse("2025-05-12T00:00:00Z"), "batman", 1L))
+            .thenReturn("version");
+        when(userDateService.today()).thenReturn(LocalDate.parse("2025-05-02"));
+
+        final String actual = sut.getDataVersion(viewer, LocalDate.parse("2025-04-28"), LocalDate.parse("2025-05-05"), List.of(new UserLocalId(1L), new UserLocalId(42L)));
+        assertThat(actual).isEqualTo("version:2025-05-02:2025-05-01");
+    }
+
+    @Test
+    void ensureDataVersionOfAllUsersCoversTheWeeksAroundThePeriod() {
+
+        when(dataVersionRepository.findDataVersionOfAllUsers(Instant.parse("2025-04-24T00:00:00Z"), Instant.parse("2025-06-08T00:00:00Z"), "batman", 1L))
+            .thenReturn("version");
+        when(userDateService.today()).thenReturn(LocalDate.parse("2025-05-02"));
+
+        final String actual = sut.getDataVersionOfAllUsers(viewer, LocalDate.parse("2025-05-01"), LocalDate.parse("2025-06-01"));
+        assertThat(actual).isEqualTo("version:2025-05-02:2025-05-01");
+    }
+
+    @Test
+    void ensureDataVersionChangesWithTheDate() {
+
+        when(dataVersionRepository.findDataVersionOfAllUsers(Instant.parse("2025-04-24T00:00:00Z"), Instant.parse("2025-06-08T00:00:00Z"), "batman", 1L))
+            .thenReturn("version");
+        when(userDateService.today()).thenReturn(LocalDate.parse("2025-05-02"), LocalDate.parse("2025-05-03"));
+
+        final String today = sut.getDataVersionOfAllUsers(viewer, LocalDate.parse("2025-05-01"), LocalDate.parse("2025-06-01"));
+        final String tomorrow = sut.getDataVersionOfAllUsers(viewer, LocalDate.parse("2025-05-01"), LocalDate.parse("2025-06-01"));
+        assertThat(today).isNotEqualTo(tomorrow);
+    }
+}
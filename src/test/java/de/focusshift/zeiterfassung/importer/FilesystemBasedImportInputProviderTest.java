@@ -2,7 +2,6 @@ package de.focusshift.zeiterfassung.importer;
 
 
 import de.focusshift.zeiterfassung.importer.model.OvertimeAccountDTO;
-import de.focusshift.zeiterfassung.importer.model.TenantExport;
 import de.focusshift.zeiterfassung.importer.model.TimeClockDTO;
 import de.focusshift.zeiterfassung.importer.model.TimeEntryDTO;
 import de.focusshift.zeiterfassung.importer.model.UserDTO;
@@ -10,10 +9,15 @@ import de.focusshift.zeiterfassung.importer.model.UserExport;
 import de.focusshift.zeiterfassung.importer.model.WorkDayDTO;
 import de.focusshift.zeiterfassung.importer.model.WorkingTimeDTO;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import tools.jackson.databind.json.JsonMapper;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -30,7 +34,39 @@ class FilesystemBasedImportInputProviderTest {
     void handlesImportFileNotFound() {
         FilesystemBasedImportInputProvider sut = new FilesystemBasedImportInputProvider(jsonMapper(), "src/test/resources/doesnt_exists.json");
 
-        assertThat(sut.fromExport()).isEmpty();
+        assertThat(sut.openExport()).isEmpty();
+    }
+
+    @Test
+    void handlesImportFileWithUsersBeforeTenantId(@TempDir Path tempDir) throws IOException {
+
+        final Path file = tempDir.resolve("export.json");
+        Files.writeString(file, """
+            {"users": [], "tenantId": "bac98fef"}
+            """);
+
+        FilesystemBasedImportInputProvider sut = new FilesystemBasedImportInputProvider(jsonMapper(), file.toString());
+
+        assertThat(sut.openExport()).isEmpty();
+    }
+
+    @Test
+    void handlesImportFileWithoutUsers(@TempDir Path tempDir) throws IOException {
+
+        final Path file = tempDir.resolve("export.json");
+        Files.writeString(file, """
+            {"tenantId": "bac98fef", "exportedAt": "2024-06-01T10:00:00Z"}
+            """);
+
+        FilesystemBasedImportInputProvider sut = new FilesystemBasedImportInputProvider(jsonMapper(), file.toString());
+
+        final Optional<TenantExportStream> maybeExport = sut.openExport();
+        assertThat(maybeExport).isPresent();
+        try (TenantExportStream tenantExport = maybeExport.get()) {
+            assertThat(tenantExport.tenantId()).isEqualTo("bac98fef");
+            assertThat(tenantExport.exportedAt()).isEqualTo(Instant.parse("2024-06-01T10:00:00Z"));
+            assertThat(tenantExport.users()).isEmpty();
+        }
     }
 
     @Test
@@ -38,16 +74,19 @@ class FilesystemBasedImportInputProviderTest {
 
         FilesystemBasedImportInputProvider sut = new FilesystemBasedImportInputProvider(jsonMapper(), "src/test/resources/export_file.json");
 
-        Optional<TenantExport> optionalTenantExport = sut.fromExport();
+        Optional<TenantExportStream> optionalTenantExport = sut.openExport();
 
         assertThat(optionalTenantExport).isPresent();
 
-        TenantExport tenantExport = optionalTenantExport.get();
-        assertThat(tenantExport.tenantId()).isEqualTo("bac98fef");
+        final List<UserExport> users;
+        try (TenantExportStream tenantExport = optionalTenantExport.get()) {
+            assertThat(tenantExport.tenantId()).isEqualTo("bac98fef");
+            users = tenantExport.users().toList();
+        }
 
-        assertThat(tenantExport.users()).hasSize(1);
+        assertThat(users).hasSize(1);
 
-        UserExport userExport = tenantExport.users().getFirst();
+        UserExport userExport = users.getFirst();
 
         assertThat(userExport.user()).isEqualTo(new UserDTO("58400ef7-1cc9-48cb-93a8-f45c7af186ad", "Marlene", "Muster", "office@example.org", Instant.parse("2023-01-01T12:00:00Z"), Set.of(ZEITERFASSUNG_VIEW_REPORT_ALL.name(), ZEITERFASSUNG_OVERTIME_ACCOUNT_EDIT_ALL.name(), ZEITERFASSUNG_WORKING_TIME_EDIT_ALL.name(), ZEITERFASSUNG_USER.name())));
 
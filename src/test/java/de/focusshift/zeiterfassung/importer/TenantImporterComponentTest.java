@@ -21,20 +21,22 @@ import de.focusshift.zeiterfassung.tenancy.user.TenantUserService;
 import de.focusshift.zeiterfassung.tenancy.user.UserStatus;
 import de.focusshift.zeiterfassung.timeclock.TimeClock;
 import de.focusshift.zeiterfassung.timeclock.TimeClockService;
+import de.focusshift.zeiterfassung.timeentry.TimeEntryImport;
 import de.focusshift.zeiterfassung.timeentry.TimeEntryService;
 import de.focusshift.zeiterfassung.user.UserId;
 import de.focusshift.zeiterfassung.usermanagement.OvertimeAccountService;
 import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
 import de.focusshift.zeiterfassung.workingtime.WorkingTimeService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Answers;
 import org.mockito.InOrder;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Clock;
 import java.time.DayOfWeek;
 import java.time.Duration;
 import java.time.Instant;
@@ -54,9 +56,11 @@ import static java.time.DayOfWeek.THURSDAY;
 import static java.time.DayOfWeek.TUESDAY;
 import static java.time.DayOfWeek.WEDNESDAY;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyList;
 import static org.mockito.Mockito.anySet;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -64,7 +68,6 @@ import static org.mockito.Mockito.when;
 @ExtendWith(MockitoExtension.class)
 class TenantImporterComponentTest {
 
-    @InjectMocks
     private TenantImporterComponent sut;
 
     @Mock(answer = Answers.CALLS_REAL_METHODS)
@@ -84,6 +87,20 @@ class TenantImporterComponentTest {
     @Mock
     private ImportInputProvider importInputProvider;
 
+    @BeforeEach
+    void setUp() {
+        sut = tenantImporterComponent(1);
+    }
+
+    private TenantImporterComponent tenantImporterComponent(int concurrency) {
+        return new TenantImporterComponent(tenantContextHolder, tenantService, tenantUserService, overtimeAccountService,
+            timeClockService, timeEntryService, workingTimeService, importInputProvider, concurrency, Clock.systemUTC());
+    }
+
+    private static Optional<TenantExportStream> exportStream(TenantExport tenantExport) {
+        return Optional.of(new TenantExportStream(tenantExport.tenantId(), tenantExport.exportedAt(), tenantExport.users().stream()));
+    }
+
     private static TenantExport exportedData() {
         return new TenantExport("tenantId", Instant.now(), List.of(userExport("externalId", "marlene", "muster")));
     }
@@ -115,7 +132,7 @@ class TenantImporterComponentTest {
 
         TenantExport tenantExport = exportedData();
 
-        when(importInputProvider.fromExport()).thenReturn(Optional.of(tenantExport));
+        when(importInputProvider.openExport()).thenReturn(exportStream(tenantExport));
         Instant firstLoginAt = Instant.now().minus(365, ChronoUnit.DAYS);
         when(tenantService.getTenantByTenantId(anyString())).thenReturn(Optional.of(new Tenant("tenantId", firstLoginAt, firstLoginAt, TenantStatus.ACTIVE)));
         when(tenantUserService.findAllUsers()).thenReturn(List.of());
@@ -157,13 +174,13 @@ class TenantImporterComponentTest {
         );
         verify(workingTimeService).createWorkingTime(new UserLocalId(1L), null, FederalState.GLOBAL, null, workdays);
 
-        verify(timeClockService).importTimeClock(
+        verify(timeClockService).importTimeClocks(List.of(
             new TimeClock(null, userId, ZonedDateTime.parse("2024-06-01T08:00:33.123+02:00[Europe/Berlin]"), "my comment", false, Optional.of(ZonedDateTime.parse("2024-06-01T12:00:00.123+02:00[Europe/Berlin]")))
-        );
+        ));
 
-        verify(timeEntryService).createTimeEntry(
-            userLocalId, "lala", ZonedDateTime.parse("2024-06-01T08:00:00.123+02:00[Europe/Berlin]"), ZonedDateTime.parse("2024-06-01T12:00:00.123+02:00[Europe/Berlin]"), false
-        );
+        verify(timeEntryService).importTimeEntries(userLocalId, List.of(
+            new TimeEntryImport("lala", ZonedDateTime.parse("2024-06-01T08:00:00.123+02:00[Europe/Berlin]"), ZonedDateTime.parse("2024-06-01T12:00:00.123+02:00[Europe/Berlin]"), false)
+        ));
 
     }
 
@@ -174,7 +191,7 @@ class TenantImporterComponentTest {
         final UserExport userTwo = userExport("two", "erika", "musterfrau");
         final TenantExport tenantExport = new TenantExport("tenantId", Instant.now(), List.of(userOne, userTwo));
 
-        when(importInputProvider.fromExport()).thenReturn(Optional.of(tenantExport));
+        when(importInputProvider.openExport()).thenReturn(exportStream(tenantExport));
         Instant firstLoginAt = Instant.now().minus(365, ChronoUnit.DAYS);
         when(tenantService.getTenantByTenantId(anyString())).thenReturn(Optional.of(new Tenant("tenantId", firstLoginAt, firstLoginAt, TenantStatus.ACTIVE)));
         when(tenantUserService.findAllUsers()).thenReturn(List.of());
@@ -193,8 +210,37 @@ class TenantImporterComponentTest {
 
         verify(overtimeAccountService).updateOvertimeAccount(userTwoLocalId, true, Duration.ofHours(8));
         verify(workingTimeService).createWorkingTime(eq(userTwoLocalId), eq(null), eq(FederalState.GLOBAL), eq(null), any());
-        verify(timeClockService).importTimeClock(any(TimeClock.class));
-        verify(timeEntryService).createTimeEntry(eq(userTwoLocalId), anyString(), any(), any(), eq(false));
+        verify(timeClockService).importTimeClocks(anyList());
+        verify(timeEntryService).importTimeEntries(eq(userTwoLocalId), anyList());
+    }
+
+    @Test
+    void ensureUsersAreImportedConcurrentlyWithTenantContextOfEveryUser() {
+
+        sut = tenantImporterComponent(2);
+
+        final UserExport userOne = userExport("one", "marlene", "muster");
+        final UserExport userTwo = userExport("two", "erika", "musterfrau");
+        final UserExport userThree = userExport("three", "max", "mustermann");
+        final TenantExport tenantExport = new TenantExport("tenantId", Instant.now(), List.of(userOne, userTwo, userThree));
+
+        when(importInputProvider.openExport()).thenReturn(exportStream(tenantExport));
+        Instant firstLoginAt = Instant.now().minus(365, ChronoUnit.DAYS);
+        when(tenantService.getTenantByTenantId(anyString())).thenReturn(Optional.of(new Tenant("tenantId", firstLoginAt, firstLoginAt, TenantStatus.ACTIVE)));
+        when(tenantUserService.findAllUsers()).thenReturn(List.of());
+        when(tenantUserService.createNewUser(anyString(), anyString(), anyString(), any(EMailAddress.class), anySet()))
+            .thenAnswer(invocation -> new TenantUser(invocation.getArgument(0), 1L, invocation.getArgument(1), invocation.getArgument(2), new EMailAddress("my.name@example.org"), firstLoginAt, Set.of(SecurityRole.ZEITERFASSUNG_USER), firstLoginAt, firstLoginAt, null, null, UserStatus.ACTIVE));
+
+        sut.runImport();
+
+        verify(tenantUserService).createNewUser(eq("one"), anyString(), anyString(), any(EMailAddress.class), anySet());
+        verify(tenantUserService).createNewUser(eq("two"), anyString(), anyString(), any(EMailAddress.class), anySet());
+        verify(tenantUserService).createNewUser(eq("three"), anyString(), anyString(), any(EMailAddress.class), anySet());
+        verify(timeEntryService, times(3)).importTimeEntries(eq(new UserLocalId(1L)), anyList());
+
+        // once for the import itself and once for every user imported on its own thread
+        verify(tenantContextHolder, times(4)).setTenantId(new TenantId("tenantId"));
+        verify(tenantContextHolder, times(4)).clear();
     }
 
     @Test
@@ -202,7 +248,7 @@ class TenantImporterComponentTest {
 
         TenantExport tenantExport = exportedData();
 
-        when(importInputProvider.fromExport()).thenReturn(Optional.of(tenantExport));
+        when(importInputProvider.openExport()).thenReturn(exportStream(tenantExport));
         when(tenantService.getTenantByTenantId(anyString())).thenReturn(Optional.empty());
 
         sut.runImport();
@@ -220,7 +266,7 @@ class TenantImporterComponentTest {
 
         TenantExport tenantExport = exportedData();
 
-        when(importInputProvider.fromExport()).thenReturn(Optional.of(tenantExport));
+        when(importInputProvider.openExport()).thenReturn(exportStream(tenantExport));
         Instant firstLoginAt = Instant.now().minus(365, ChronoUnit.DAYS);
         when(tenantService.getTenantByTenantId(anyString())).thenReturn(Optional.of(new Tenant("tenantId", firstLoginAt, firstLoginAt, TenantStatus.ACTIVE)));
         when(tenantUserService.findAllUsers()).thenReturn(List.of(new TenantUser("externalId", 1L, "marlene", "muster", new EMailAddress("my.name@example.org"), firstLoginAt, Set.of(SecurityRole.ZEITERFASSUNG_USER), firstLoginAt, firstLoginAt, null, null, UserStatus.ACTIVE)));
@@ -242,7 +288,7 @@ class TenantImporterComponentTest {
 
         TenantExport tenantExport = new TenantExport("default", Instant.now(), List.of());
 
-        when(importInputProvider.fromExport()).thenReturn(Optional.of(tenantExport));
+        when(importInputProvider.openExport()).thenReturn(exportStream(tenantExport));
 
         sut.runImport();
 
@@ -0,0 +1,46 @@
+package de.focusshift.zeiterfassung.integration.outbox;
+
+import de.focusshift.zeiterfassung.integration.RabbitEventSender;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.JacksonJsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.time.Clock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class OutboxConfigurationTest {
+
+    private final ApplicationContextRunner applicationContextRunner = new ApplicationContextRunner()
+        .withUserConfiguration(OutboxConfiguration.class);
+
+    @Test
+    void ensureNoBeansWhenOutboxIsDisabledByDefault() {
+        applicationContextRunner.run(context -> {
+            assertThat(context).doesNotHaveBean(RabbitEventSender.class);
+            assertThat(context).doesNotHaveBean(OutboxDispatcher.class);
+            assertThat(context).doesNotHaveBean(OutboxDispatchScheduler.class);
+        });
+    }
+
+    @Test
+    void ensureOutboxBeans() {
+        applicationContextRunner
+            .withPropertyValues("zeiterfassung.integration.outbox.enabled=true")
+            .withBean(OutboxMessageRepository.class, () -> mock(OutboxMessageRepository.class))
+            .withBean(RabbitTemplate.class, () -> mock(RabbitTemplate.class))
+            .withBean(MessageConverter.class, JacksonJsonMessageConverter::new)
+            .withBean(Clock.class, Clock::systemUTC)
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+            .run(context -> {
+                assertThat(context).getBean(RabbitEventSender.class).isInstanceOf(OutboxRabbitEventSender.class);
+                assertThat(context).hasSingleBean(OutboxDispatcher.class);
+                assertThat(context).hasSingleBean(OutboxDispatchScheduler.class);
+            });
+    }
+}
@@ -0,0 +1,226 @@
+package de.focusshift.zeiterfassung.integration.outbox;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.net.ConnectException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxDispatcherTest {
+
+    private static final Instant NOW = Instant.parse("2025-05-09T10:00:00Z");
+
+    private OutboxDispatcher sut;
+
+    @Mock
+    private OutboxMessageRepository repository;
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+    @Mock
+    private ConnectionFactory connectionFactory;
+
+    @Captor
+    private ArgumentCaptor<Collection<Long>> idsCaptor;
+    @Captor
+    private ArgumentCaptor<Message> messageCaptor;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        final OutboxProperties properties = new OutboxProperties(true, 10, Duration.ofSeconds(1), Duration.ofMillis(100), Duration.ofSeconds(1), Duration.ofSeconds(30));
+        sut = new OutboxDispatcher(repository, rabbitTemplate, properties, Clock.fixed(NOW, ZoneOffset.UTC), meterRegistry);
+    }
+
+    @Test
+    void ensureDispatchDoesNothingWhenNoMessageIsDue() {
+
+        when(repository.findNextBatchForUpdate(NOW, 10)).thenReturn(List.of());
+
+        assertThat(sut.dispatch()).isZero();
+
+        verifyNoInteractions(rabbitTemplate);
+        verify(repository, never()).deleteAllByIdIn(anyCollection());
+        assertThat(meterRegistry.get("zeiterfassung.outbox.lag").timeGauge().value(TimeUnit.MILLISECONDS)).isZero();
+    }
+
+    @Test
+    void ensureDispatchSendsMessageWithConvertedBodyAndHeaders() {
+
+        final OutboxMessageEntity message = message(1L, NOW);
+        when(repository.findNextBatchForUpdate(NOW, 10)).thenReturn(List.of(message));
+
+        sut.dispatch();
+
+        verify(rabbitTemplate).send(eq("exchange"), eq("routing-key"), messageCaptor.capture(), any(CorrelationData.class));
+        final Message actual = messageCaptor.getValue();
+        assertThat(actual.getBody()).isEqualTo("{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+        assertThat(actual.getMessageProperties().getContentType()).isEqualTo("application/json");
+        assertThat(actual.getMessageProperties().getContentEncoding()).isEqualTo("UTF-8");
+        assertThat(actual.getMessageProperties().getMessageId()).isEqualTo("1");
+        assertThat((String) actual.getMessageProperties().getHeader("__TypeId__")).isEqualTo("de.focusshift.Event");
+    }
+
+    @Test
+    void ensureDispatchReportsLagOfOldestMessage() {
+
+        final OutboxMessageEntity message = message(1L, NOW.minusSeconds(42));
+        when(repository.findNextBatchForUpdate(NOW, 10)).thenReturn(List.of(message));
+
+        sut.dispatch();
+
+        assertThat(meterRegistry.get("zeiterfassung.outbox.lag").timeGauge().value(TimeUnit.SECONDS)).isEqualTo(42);
+    }
+
+    @Nested
+    class WithoutPublisherConfirms {
+
+        @Test
+        void ensureDispatchDeletesSentMessages() {
+
+            final OutboxMessageEntity first = message(1L, NOW);
+            final OutboxMessageEntity second = message(2L, NOW);
+            when(repository.findNextBatchForUpdate(NOW, 10)).thenReturn(List.of(first, second));
+
+            assertThat(sut.dispatch()).isEqualTo(2);
+
+            verify(repository).deleteAllByIdIn(idsCaptor.capture());
+            assertThat(idsCaptor.getValue()).containsExactly(1L, 2L);
+            assertThat(meterRegistry.get("zeiterfassung.outbox.dispatched").tag("outcome", "confirmed").counter().count()).isEqualTo(2);
+        }
+
+        @Test
+        void ensureDispatchRetriesMessageThatCouldNotBeSent() {
+
+            final OutboxMessageEntity first = message(1L, NOW);
+            final OutboxMessageEntity second = message(2L, NOW);
+            when(repository.findNextBatchForUpdate(NOW, 10)).thenReturn(List.of(first, second));
+
+            doAnswer(invocation -> {
+                final CorrelationData correlationData = invocation.getArgument(3);
+                if (correlationData.getId().equals("1")) {
+                    throw new AmqpConnectException(new ConnectException("broker is down"));
+                }
+                return null;
+            }).when(rabbitTemplate).send(eq("exchange"), eq("routing-key"), any(Message.class), any(CorrelationData.class));
+
+            assertThat(sut.dispatch()).isEqualTo(1);
+
+            verify(repository).deleteAllByIdIn(idsCaptor.capture());
+            assertThat(idsCaptor.getValue()).containsExactly(2L);
+
+            assertThat(first.getAttempts()).isEqualTo(1);
+            assertThat(first.getNextAttemptAt()).isEqualTo(NOW.plusSeconds(1));
+            assertThat(first.getLastError()).contains("broker is down");
+            assertThat(meterRegistry.get("zeiterfassung.outbox.dispatched").tag("outcome", "failed").counter().count()).isEqualTo(1);
+        }
+
+        @Test
+        void ensureDispatchDoublesBackoffUpToMax() {
+
+            final OutboxMessageEntity message = message(1L, NOW);
+            message.failed(NOW, "first");
+            message.failed(NOW, "second");
+            message.failed(NOW, "third");
+            when(repository.findNextBatchForUpdate(NOW, 10)).thenReturn(List.of(message));
+
+            doThrow(new AmqpConnectException(new ConnectException("broker is down")))
+                .when(rabbitTemplate).send(eq("exchange"), eq("routing-key"), any(Message.class), any(CorrelationData.class));
+
+            sut.dispatch();
+            assertThat(message.getAttempts()).isEqualTo(4);
+            assertThat(message.getNextAttemptAt()).isEqualTo(NOW.plusSeconds(8));
+
+            sut.dispatch();
+            sut.dispatch();
+            assertThat(message.getAttempts()).isEqualTo(6);
+            assertThat(message.getNextAttemptAt()).isEqualTo(NOW.plusSeconds(30));
+        }
+    }
+
+    @Nested
+    class WithPublisherConfirms {
+
+        @BeforeEach
+        void setUp() {
+            when(rabbitTemplate.getConnectionFactory()).thenReturn(connectionFactory);
+            when(connectionFactory.isPublisherConfirms()).thenReturn(true);
+        }
+
+        @Test
+        void ensureDispatchDeletesAckedAndRetriesNackedMessages() {
+
+            final OutboxMessageEntity acked = message(1L, NOW);
+            final OutboxMessageEntity nacked = message(2L, NOW);
+            when(repository.findNextBatchForUpdate(NOW, 10)).thenReturn(List.of(acked, nacked));
+
+            doAnswer(invocation -> {
+                final CorrelationData correlationData = invocation.getArgument(3);
+                final boolean ack = correlationData.getId().equals("1");
+                correlationData.getFuture().complete(new CorrelationData.Confirm(ack, ack ? null : "queue is full"));
+                return null;
+            }).when(rabbitTemplate).send(eq("exchange"), eq("routing-key"), any(Message.class), any(CorrelationData.class));
+
+            assertThat(sut.dispatch()).isEqualTo(1);
+
+            verify(repository).deleteAllByIdIn(idsCaptor.capture());
+            assertThat(idsCaptor.getValue()).containsExactly(1L);
+
+            assertThat(nacked.getAttempts()).isEqualTo(1);
+            assertThat(nacked.getLastError()).isEqualTo("nack: queue is full");
+        }
+
+        @Test
+        void ensureDispatchRetriesMessagesWithoutConfirmInTime() {
+
+            final OutboxMessageEntity message = message(1L, NOW);
+            when(repository.findNextBatchForUpdate(NOW, 10)).thenReturn(List.of(message));
+
+            assertThat(sut.dispatch()).isZero();
+
+            verify(repository, never()).deleteAllByIdIn(anyCollection());
+            assertThat(message.getAttempts()).isEqualTo(1);
+            assertThat(message.getLastError()).isEqualTo("no publisher confirm within PT0.1S");
+        }
+    }
+
+    private static OutboxMessageEntity message(Long id, Instant createdAt) {
+        final OutboxMessageEntity entity = new OutboxMessageEntity(
+            "exchange", "routing-key", "{\"id\":1}".getBytes(StandardCharsets.UTF_8), "application/json", "UTF-8", "de.focusshift.Event", createdAt
+        );
+        entity.setId(id);
+        return entity;
+    }
+}
@@ -0,0 +1,55 @@
+package de.focusshift.zeiterfassung.integration.outbox;
+
+import de.focusshift.zeiterfassung.SingleTenantTestContainersBase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class OutboxMessageRepositoryIT extends SingleTenantTestContainersBase {
+
+    private static final Instant NOW = Instant.parse("2025-05-09T10:00:00Z");
+
+    @Autowired
+    private OutboxMessageRepository sut;
+
+    @Test
+    void ensureFindNextBatchForUpdateReturnsDueMessagesInOrderOfCreation() {
+
+        final OutboxMessageEntity first = sut.save(message(NOW.minusSeconds(10)));
+        final OutboxMessageEntity second = sut.save(message(NOW.minusSeconds(5)));
+        final OutboxMessageEntity notDue = message(NOW.minusSeconds(5));
+        notDue.failed(NOW.plusSeconds(60), "broker is down");
+        sut.save(notDue);
+        final OutboxMessageEntity third = sut.save(message(NOW));
+
+        assertThat(sut.findNextBatchForUpdate(NOW, 10)).containsExactly(first, second, third);
+        assertThat(sut.findNextBatchForUpdate(NOW, 2)).containsExactly(first, second);
+    }
+
+    @Test
+    void ensureDeleteAllByIdIn() {
+
+        final OutboxMessageEntity first = sut.save(message(NOW));
+        final OutboxMessageEntity second = sut.save(message(NOW));
+        final OutboxMessageEntity third = sut.save(message(NOW));
+
+        assertThat(sut.deleteAllByIdIn(List.of(first.getId(), third.getId()))).isEqualTo(2);
+
+        assertThat(sut.findAll()).containsExactly(second);
+    }
+
+    private static OutboxMessageEntity message(Instant createdAt) {
+        return new OutboxMessageEntity(
+            "exchange", "routing-key", "{}".getBytes(StandardCharsets.UTF_8), "application/json", "UTF-8", "de.focusshift.Event", createdAt
+        );
+    }
+}
@@ -0,0 +1,71 @@
+package de.focusshift.zeiterfassung.integration.outbox;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.support.converter.JacksonJsonMessageConverter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRabbitEventSenderTest {
+
+    private static final Instant NOW = Instant.parse("2025-05-09T10:00:00Z");
+
+    private OutboxRabbitEventSender sut;
+
+    @Mock
+    private OutboxMessageRepository repository;
+
+    @Captor
+    private ArgumentCaptor<OutboxMessageEntity> entityCaptor;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sut = new OutboxRabbitEventSender(repository, new JacksonJsonMessageConverter(), Clock.fixed(NOW, ZoneOffset.UTC), meterRegistry);
+    }
+
+    record SomethingHappenedEvent(String tenantId, long value) {
+    }
+
+    @Test
+    void ensureSendWritesConvertedEventToOutbox() {
+
+        sut.send("exchange", "ZE.EVENT.tenant.SOMETHING", new SomethingHappenedEvent("tenant", 42));
+
+        verify(repository).save(entityCaptor.capture());
+        final OutboxMessageEntity actual = entityCaptor.getValue();
+        assertThat(actual.getExchange()).isEqualTo("exchange");
+        assertThat(actual.getRoutingKey()).isEqualTo("ZE.EVENT.tenant.SOMETHING");
+        assertThat(new String(actual.getBody(), StandardCharsets.UTF_8)).isEqualTo("{\"tenantId\":\"tenant\",\"value\":42}");
+        assertThat(actual.getContentType()).isEqualTo("application/json");
+        assertThat(actual.getContentEncoding()).isEqualTo("UTF-8");
+        assertThat(actual.getTypeId()).isEqualTo(SomethingHappenedEvent.class.getName());
+        assertThat(actual.getCreatedAt()).isEqualTo(NOW);
+        assertThat(actual.getNextAttemptAt()).isEqualTo(NOW);
+        assertThat(actual.getAttempts()).isZero();
+    }
+
+    @Test
+    void ensureSendCountsEnqueuedEvents() {
+
+        sut.send("exchange", "routing-key", new SomethingHappenedEvent("tenant", 1));
+        sut.send("exchange", "routing-key", new SomethingHappenedEvent("tenant", 2));
+
+        assertThat(meterRegistry.get("zeiterfassung.outbox.enqueued").counter().count()).isEqualTo(2);
+    }
+}
@@ -1,9 +1,9 @@
 package de.focusshift.zeiterfassung.integration.overtime;
 
+import de.focusshift.zeiterfassung.integration.RabbitEventSender;
 import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
 import org.junit.jupiter.api.Test;
 import org.springframework.amqp.core.TopicExchange;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -38,7 +38,7 @@ class OvertimeRabbitmqConfigurationTest {
                 "zeiterfassung.integration.overtime.topic=awesome-topic",
                 "zeiterfassung.integration.overtime.routing-key-entered=%s.awesome-route"
             )
-            .withBean(RabbitTemplate.class, () -> mock(RabbitTemplate.class))
+            .withBean(RabbitEventSender.class, () -> mock(RabbitEventSender.class))
             .withBean(TenantContextHolder.class, () -> mock(TenantContextHolder.class))
             .run(context -> {
                 assertThat(context).hasSingleBean(OvertimeRabbitEventPublisher.class);
@@ -56,7 +56,7 @@ class OvertimeRabbitmqConfigurationTest {
                 "zeiterfassung.integration.overtime.routing-key-updated=%s.awesome-route-updated",
                 "zeiterfassung.integration.overtime.manage-topology=true"
             )
-            .withBean(RabbitTemplate.class, () -> mock(RabbitTemplate.class))
+            .withBean(RabbitEventSender.class, () -> mock(RabbitEventSender.class))
             .withBean(TenantContextHolder.class, () -> mock(TenantContextHolder.class))
             .run(context -> {
                 assertThat(context).hasSingleBean(OvertimeRabbitEventPublisher.class);
@@ -1,9 +1,9 @@
 package de.focusshift.zeiterfassung.integration.overtimeaccount;
 
+import de.focusshift.zeiterfassung.integration.RabbitEventSender;
 import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
 import org.junit.jupiter.api.Test;
 import org.springframework.amqp.core.TopicExchange;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -38,7 +38,7 @@ class OvertimeAccountRabbitmqConfigurationTest {
                 "zeiterfassung.integration.overtime-account.topic=awesome-topic",
                 "zeiterfassung.integration.overtime-account.routing-key-updated=%s.awesome-route-updated"
             )
-            .withBean(RabbitTemplate.class, () -> mock(RabbitTemplate.class))
+            .withBean(RabbitEventSender.class, () -> mock(RabbitEventSender.class))
             .withBean(TenantContextHolder.class, () -> mock(TenantContextHolder.class))
             .run(context -> {
                 assertThat(context).hasSingleBean(OvertimeAccountRabbitEventPublisher.class);
@@ -54,7 +54,7 @@ class OvertimeAccountRabbitmqConfigurationTest {
                 "zeiterfassung.integration.overtime-account.routing-key-updated=%s.awesome-route-updated",
                 "zeiterfassung.integration.overtime-account.manage-topology=true"
             )
-            .withBean(RabbitTemplate.class, () -> mock(RabbitTemplate.class))
+            .withBean(RabbitEventSender.class, () -> mock(RabbitEventSender.class))
             .withBean(TenantContextHolder.class, () -> mock(TenantContextHolder.class))
             .run(context -> {
                 assertThat(context).hasSingleBean(OvertimeAccountRabbitEventPublisher.class);
@@ -1,9 +1,9 @@
 package de.focusshift.zeiterfassung.integration.timeclock;
 
+import de.focusshift.zeiterfassung.integration.RabbitEventSender;
 import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
 import org.junit.jupiter.api.Test;
 import org.springframework.amqp.core.TopicExchange;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -40,7 +40,7 @@ class TimeClockRabbitmqConfigurationTest {
                 "zeiterfassung.integration.timeclock.routing-key-updated=%s.awesome-route-updated",
                 "zeiterfassung.integration.timeclock.routing-key-stopped=%s.awesome-route-stopped"
             )
-            .withBean(RabbitTemplate.class, () -> mock(RabbitTemplate.class))
+            .withBean(RabbitEventSender.class, () -> mock(RabbitEventSender.class))
             .withBean(TenantContextHolder.class, () -> mock(TenantContextHolder.class))
             .run(context -> {
                 assertThat(context).hasSingleBean(TimeClockRabbitEventPublisher.class);
@@ -58,7 +58,7 @@ class TimeClockRabbitmqConfigurationTest {
                 "zeiterfassung.integration.timeclock.routing-key-stopped=%s.awesome-route-stopped",
                 "zeiterfassung.integration.timeclock.manage-topology=true"
             )
-            .withBean(RabbitTemplate.class, () -> mock(RabbitTemplate.class))
+            .withBean(RabbitEventSender.class, () -> mock(RabbitEventSender.class))
             .withBean(TenantContextHolder.class, () -> mock(TenantContextHolder.class))
             .run(context -> {
                 assertThat(context).hasSingleBean(TimeClockRabbitEventPublisher.class);
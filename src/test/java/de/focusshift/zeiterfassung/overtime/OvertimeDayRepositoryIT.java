@@ -0,0 +1,37 @@
+package de.focusshift.zeiterfassung.overtime;
+
+import de.focusshift.zeiterfassung.SingleTenantTestContainersBase;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class OvertimeDayRepositoryIT extends SingleTenantTestContainersBase {
+
+    private static final String ADVISORY_LOCKS_OF_CURRENT_TRANSACTION =
+        "SELECT count(*) FROM pg_locks WHERE locktype = 'advisory' AND pid = pg_backend_pid()";
+
+    @Autowired
+    private OvertimeDayRepository sut;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void ensureLockLedgerOfUserHoldsAdvisoryLockUntilEndOfTransaction() {
+
+        sut.lockLedgerOfUser(1L);
+        // acquiring the lock of the same user again within the same transaction must not block
+        sut.lockLedgerOfUser(1L);
+        sut.lockLedgerOfUser(2L);
+
+        final Number locks = (Number) entityManager.createNativeQuery(ADVISORY_LOCKS_OF_CURRENT_TRANSACTION).getSingleResult();
+        assertThat(locks.longValue()).isEqualTo(2);
+    }
+}
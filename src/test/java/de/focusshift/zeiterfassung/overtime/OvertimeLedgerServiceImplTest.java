@@ -0,0 +1,258 @@
+package de.focusshift.zeiterfassung.overtime;
+
+import de.focusshift.zeiterfassung.DateRange;
+import de.focusshift.zeiterfassung.report.ReportServiceRaw;
+import de.focusshift.zeiterfassung.timeentry.ShouldWorkingHours;
+import de.focusshift.zeiterfassung.timeentry.TimeEntryDay;
+import de.focusshift.zeiterfassung.timeentry.TimeEntryDayService;
+import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import de.focusshift.zeiterfassung.workduration.WorkDuration;
+import de.focusshift.zeiterfassung.workingtime.PlannedWorkingHours;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OvertimeLedgerServiceImplTest {
+
+    private static final UserLocalId USER_LOCAL_ID = new UserLocalId(1L);
+    private static final WorkDuration WORK_10H = new WorkDuration(Duration.ofHours(10));
+
+    private OvertimeLedgerServiceImpl sut;
+
+    @Mock
+    private OvertimeDayRepository overtimeDayRepository;
+    @Mock
+    private TimeEntryDayService timeEntryDayService;
+    @Mock
+    private ReportServiceRaw reportServiceRaw;
+
+    @Captor
+    private ArgumentCaptor<List<OvertimeDayEntity>> overtimeDaysCaptor;
+
+    @BeforeEach
+    void setUp() {
+        sut = new OvertimeLedgerServiceImpl(overtimeDayRepository, timeEntryDayService, reportServiceRaw, new OvertimeLedgerProperties(true));
+    }
+
+    @Test
+    void ensureUpdateLedgerCreatesDaysWithRunningBalance() {
+
+        final LocalDate monday = LocalDate.parse("2025-05-05");
+        final LocalDate tuesday = monday.plusDays(1);
+
+        when(overtimeDayRepository.findFirstByTenantUserLocalIdOrderByDateAsc(1L)).thenReturn(Optional.empty());
+        when(overtimeDayRepository.findFirstByTenantUserLocalIdOrderByDateDesc(1L)).thenReturn(Optional.empty());
+        when(overtimeDayRepository.findAllByTenantUserLocalIdAndDateBetweenOrderByDate(1L, monday, tuesday)).thenReturn(List.of());
+        when(overtimeDayRepository.findFirstByTenantUserLocalIdAndDateBeforeOrderByDateDesc(1L, monday)).thenReturn(Optional.empty());
+        when(timeEntryDayService.getTimeEntryDays(monday, tuesday.plusDays(1), USER_LOCAL_ID)).thenReturn(List.of(
+            timeEntryDay(tuesday, WorkDuration.ZERO),
+            timeEntryDay(monday, WORK_10H)
+        ));
+
+        sut.updateLedger(USER_LOCAL_ID, new DateRange(monday, tuesday));
+
+        final InOrder inOrder = inOrder(overtimeDayRepository);
+        inOrder.verify(overtimeDayRepository).lockLedgerOfUser(1L);
+        inOrder.verify(overtimeDayRepository).findFirstByTenantUserLocalIdOrderByDateAsc(1L);
+
+        verify(overtimeDayRepository).saveAll(overtimeDaysCaptor.capture());
+        assertThat(overtimeDaysCaptor.getValue()).satisfiesExactly(
+            day -> {
+                assertThat(day.getDate()).isEqualTo(monday);
+                assertThat(day.getWorked()).isEqualTo(Duration.ofHours(10));
+                assertThat(day.getShould()).isEqualTo(Duration.ofHours(8));
+                assertThat(day.getDelta()).isEqualTo(Duration.ofHours(2));
+                assertThat(day.getBalance()).isEqualTo(Duration.ofHours(2));
+            },
+            day -> {
+                assertThat(day.getDate()).isEqualTo(tuesday);
+                assertThat(day.getDelta()).isEqualTo(Duration.ofHours(-8));
+                assertThat(day.getBalance()).isEqualTo(Duration.ofHours(-6));
+            }
+        );
+
+        verify(overtimeDayRepository).shiftBalanceAfter(1L, tuesday, Duration.ofHours(-6).toSeconds());
+    }
+
+    @Test
+    void ensureUpdateLedgerShiftsBalanceOfFollowingDaysByDifference() {
+
+        final LocalDate monday = LocalDate.parse("2025-05-05");
+        final LocalDate tuesday = monday.plusDays(1);
+
+        final OvertimeDayEntity existingMonday = overtimeDay(monday, Duration.ofHours(1), Duration.ofHours(1));
+        final OvertimeDayEntity existingTuesday = overtimeDay(tuesday, Duration.ZERO, Duration.ofHours(1));
+        final OvertimeDayEntity existingWednesday = overtimeDay(tuesday.plusDays(1), Duration.ZERO, Duration.ofHours(1));
+
+        when(overtimeDayRepository.findFirstByTenantUserLocalIdOrderByDateAsc(1L)).thenReturn(Optional.of(existingMonday));
+        when(overtimeDayRepository.findFirstByTenantUserLocalIdOrderByDateDesc(1L)).thenReturn(Optional.of(existingWednesday));
+        when(overtimeDayRepository.findAllByTenantUserLocalIdAndDateBetweenOrderByDate(1L, tuesday, tuesday)).thenReturn(List.of(existingTuesday));
+        when(overtimeDayRepository.findFirstByTenantUserLocalIdAndDateBeforeOrderByDateDesc(1L, tuesday)).thenReturn(Optional.of(existingMonday));
+        when(timeEntryDayService.getTimeEntryDays(tuesday, tuesday.plusDays(1), USER_LOCAL_ID))
+            .thenReturn(List.of(timeEntryDay(tuesday, WORK_10H)));
+
+        sut.updateLedger(USER_LOCAL_ID, new DateRange(tuesday, tuesday));
+
+        verify(overtimeDayRepository).saveAll(overtimeDaysCaptor.capture());
+        assertThat(overtimeDaysCaptor.getValue()).containsExactly(existingTuesday);
+        assertThat(existingTuesday.getDelta()).isEqualTo(Duration.ofHours(2));
+        assertThat(existingTuesday.getBalance()).isEqualTo(Duration.ofHours(3));
+
+        verify(overtimeDayRepository).shiftBalanceAfter(1L, tuesday, Duration.ofHours(2).toSeconds());
+    }
+
+    @Test
+    void ensureUpdateLedgerFillsGapAfterLastDay() {
+
+        final LocalDate monday = LocalDate.parse("2025-05-05");
+        final LocalDate tuesday = monday.plusDays(1);
+        final LocalDate wednesday = monday.plusDays(2);
+
+        final OvertimeDayEntity existingMonday = overtimeDay(monday, Duration.ZERO, Duration.ZERO);
+
+        when(overtimeDayRepository.findFirstByTenantUserLocalIdOrderByDateAsc(1L)).thenReturn(Optional.of(existingMonday));
+        when(overtimeDayRepository.findFirstByTenantUserLocalIdOrderByDateDesc(1L)).thenReturn(Optional.of(existingMonday));
+        when(overtimeDayRepository.findAllByTenantUserLocalIdAndDateBetweenOrderByDate(1L, tuesday, wednesday)).thenReturn(List.of());
+        when(overtimeDayRepository.findFirstByTenantUserLocalIdAndDateBeforeOrderByDateDesc(1L, tuesday)).thenReturn(Optional.of(existingMonday));
+        when(timeEntryDayService.getTimeEntryDays(tuesday, wednesday.plusDays(1), USER_LOCAL_ID)).thenReturn(List.of(
+            timeEntryDay(wednesday, WorkDuration.EIGHT),
+            timeEntryDay(tuesday, WorkDuration.EIGHT)
+        ));
+
+        sut.updateLedger(USER_LOCAL_ID, new DateRange(wednesday, wednesday));
+
+        verify(overtimeDayRepository).saveAll(overtimeDaysCaptor.capture());
+        assertThat(overtimeDaysCaptor.getValue()).extracting(OvertimeDayEntity::getDate).containsExactly(tuesday, wednesday);
+
+        verify(overtimeDayRepository, never()).shiftBalanceAfter(anyLong(), any(), anyLong());
+    }
+
+    @Test
+    void ensureUpdateLedgerFromDoesNothingWithoutLedgerDays() {
+
+        when(overtimeDayRepository.findFirstByTenantUserLocalIdOrderByDateAsc(1L)).thenReturn(Optional.empty());
+        when(overtimeDayRepository.findFirstByTenantUserLocalIdOrderByDateDesc(1L)).thenReturn(Optional.empty());
+
+        sut.updateLedgerFrom(USER_LOCAL_ID, LocalDate.parse("2025-05-05"));
+
+        verify(overtimeDayRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void ensureGetOvertime() {
+
+        final LocalDate monday = LocalDate.parse("2025-05-05");
+        final LocalDate friday = monday.plusDays(4);
+
+        when(overtimeDayRepository.findAllByTenantUserLocalIdInAndDateIn(List.of(1L), List.of(monday, friday)))
+            .thenReturn(List.of(
+                overtimeDay(monday, Duration.ofHours(1), Duration.ofHours(5)),
+                overtimeDay(friday, Duration.ofHours(-2), Duration.ofHours(7))
+            ));
+
+        final Optional<OvertimeHours> actual = sut.getOvertime(USER_LOCAL_ID, monday, friday.plusDays(1));
+        assertThat(actual).hasValue(new OvertimeHours(Duration.ofHours(3)));
+    }
+
+    @Test
+    void ensureGetOvertimeIsEmptyWhenLedgerDoesNotCoverInterval() {
+
+        final LocalDate monday = LocalDate.parse("2025-05-05");
+        final LocalDate friday = monday.plusDays(4);
+
+        when(overtimeDayRepository.findAllByTenantUserLocalIdInAndDateIn(List.of(1L), List.of(monday, friday)))
+            .thenReturn(List.of(overtimeDay(monday, Duration.ofHours(1), Duration.ofHours(5))));
+
+        final Optional<OvertimeHours> actual = sut.getOvertime(USER_LOCAL_ID, monday, friday.plusDays(1));
+        assertThat(actual).isEmpty();
+    }
+
+    @Test
+    void ensureGetOvertimeForUsersContainsOnlyUsersWithLedgerCoveringInterval() {
+
+        final LocalDate monday = LocalDate.parse("2025-05-05");
+        final LocalDate friday = monday.plusDays(4);
+
+        final OvertimeDayEntity mondayOfUser2 = new OvertimeDayEntity(2L, monday);
+        mondayOfUser2.setDelta(Duration.ofHours(2));
+        mondayOfUser2.setBalance(Duration.ofHours(2));
+
+        when(overtimeDayRepository.findAllByTenantUserLocalIdInAndDateIn(List.of(1L, 2L), List.of(monday, friday)))
+            .thenReturn(List.of(
+                overtimeDay(monday, Duration.ofHours(1), Duration.ofHours(5)),
+                overtimeDay(friday, Duration.ofHours(-2), Duration.ofHours(7)),
+                mondayOfUser2
+            ));
+
+        final Map<UserLocalId, OvertimeHours> actual = sut.getOvertime(List.of(USER_LOCAL_ID, new UserLocalId(2L)), monday, friday.plusDays(1));
+        assertThat(actual).containsOnly(Map.entry(USER_LOCAL_ID, new OvertimeHours(Duration.ofHours(3))));
+    }
+
+    @Test
+    void ensureGetOvertimeIsEmptyWhenLedgerIsDisabled() {
+
+        sut = new OvertimeLedgerServiceImpl(overtimeDayRepository, timeEntryDayService, reportServiceRaw, new OvertimeLedgerProperties(false));
+
+        final LocalDate monday = LocalDate.parse("2025-05-05");
+
+        final Map<UserLocalId, OvertimeHours> actual = sut.getOvertime(List.of(USER_LOCAL_ID), monday, monday.plusDays(1));
+        assertThat(actual).isEmpty();
+
+        verifyNoInteractions(overtimeDayRepository);
+    }
+
+    @Test
+    void ensureDeleteLedger() {
+        sut.deleteLedger();
+        verify(overtimeDayRepository).deleteAllDays();
+    }
+
+    @Test
+    void ensureRebuildLedgerDeletesExistingDays() {
+
+        final LocalDate monday = LocalDate.parse("2025-05-05");
+
+        when(overtimeDayRepository.findAllByTenantUserLocalIdAndDateBetweenOrderByDate(1L, monday, monday)).thenReturn(List.of());
+        when(overtimeDayRepository.findFirstByTenantUserLocalIdAndDateBeforeOrderByDateDesc(1L, monday)).thenReturn(Optional.empty());
+        when(timeEntryDayService.getTimeEntryDays(monday, monday.plusDays(1), USER_LOCAL_ID))
+            .thenReturn(List.of(timeEntryDay(monday, WorkDuration.EIGHT)));
+
+        sut.rebuildLedger(USER_LOCAL_ID, new DateRange(monday, monday));
+
+        verify(overtimeDayRepository).deleteAllByTenantUserLocalId(1L);
+        verify(overtimeDayRepository).saveAll(overtimeDaysCaptor.capture());
+        assertThat(overtimeDaysCaptor.getValue()).extracting(OvertimeDayEntity::getDate).containsExactly(monday);
+    }
+
+    private static TimeEntryDay timeEntryDay(LocalDate date, WorkDuration workDuration) {
+        return new TimeEntryDay(false, date, workDuration, PlannedWorkingHours.EIGHT, ShouldWorkingHours.EIGHT, List.of(), List.of());
+    }
+
+    private static OvertimeDayEntity overtimeDay(LocalDate date, Duration delta, Duration balance) {
+        final OvertimeDayEntity entity = new OvertimeDayEntity(1L, date);
+        entity.setDelta(delta);
+        entity.setBalance(balance);
+        return entity;
+    }
+}
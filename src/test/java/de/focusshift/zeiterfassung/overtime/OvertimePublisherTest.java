@@ -7,6 +7,9 @@ import de.focusshift.zeiterfassung.absence.AbsenceUpdatedEvent;
 import de.focusshift.zeiterfassung.overtime.events.UserHasWorkedOvertimeEvent;
 import de.focusshift.zeiterfassung.settings.LockTimeEntriesSettings;
 import de.focusshift.zeiterfassung.tenancy.user.EMailAddress;
+import de.focusshift.zeiterfassung.timeentry.ShouldWorkingHours;
+import de.focusshift.zeiterfassung.timeentry.TimeEntryDay;
+import de.focusshift.zeiterfassung.timeentry.TimeEntryDayService;
 import de.focusshift.zeiterfassung.timeentry.TimeEntryId;
 import de.focusshift.zeiterfassung.timeentry.TimeEntryLockService;
 import de.focusshift.zeiterfassung.timeentry.events.DayLockedEvent;
@@ -23,8 +26,7 @@ import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
 import de.focusshift.zeiterfassung.usermanagement.UserManagementService;
 import de.focusshift.zeiterfassung.workduration.WorkDuration;
 import de.focusshift.zeiterfassung.workingtime.PlannedWorkingHours;
-import de.focusshift.zeiterfassung.workingtime.WorkingTimeCalendar;
-import de.focusshift.zeiterfassung.workingtime.WorkingTimeCalendarService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -39,15 +41,15 @@ import org.springframework.context.ApplicationEventPublisher;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.IntStream;
 
-import static java.util.function.Function.identity;
-import static java.util.stream.Collectors.toMap;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -68,19 +70,23 @@ class OvertimePublisherTest {
     @Mock
     private UserManagementService userManagementService;
     @Mock
-    private WorkingTimeCalendarService workingTimeCalendarService;
+    private TimeEntryDayService timeEntryDayService;
     @Mock
     private ApplicationEventPublisher applicationEventPublisher;
 
+    private SimpleMeterRegistry meterRegistry;
+
     @BeforeEach
     void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
         sut = new OvertimePublisher(
             overtimeService,
             overtimeAccountService,
             timeEntryLockService,
             userManagementService,
-            workingTimeCalendarService,
-            applicationEventPublisher);
+            timeEntryDayService,
+            applicationEventPublisher,
+            meterRegistry);
     }
 
     @Nested
@@ -577,6 +583,9 @@ class OvertimePublisherTest {
 
                 // first date is not locked, therefore the following days are not locked, too
                 verifyNoMoreInteractions(timeEntryLockService);
+
+                // nothing to calculate, therefore nothing has to be loaded
+                verifyNoInteractions(timeEntryDayService);
             }
 
             @Test
@@ -595,11 +604,8 @@ class OvertimePublisherTest {
                 when(timeEntryLockService.getLockTimeEntriesSettings()).thenReturn(lockTimeEntriesSettings);
                 when(timeEntryLockService.isLocked(date, lockTimeEntriesSettings)).thenReturn(true);
 
-                when(workingTimeCalendarService.getWorkingTimeCalender(date, date.plusDays(1), userIdComposite.localId()))
-                    .thenReturn(new WorkingTimeCalendar(
-                        Map.of(date, PlannedWorkingHours.ZERO),
-                        Map.of()
-                    ));
+                when(timeEntryDayService.getTimeEntryDays(date, date.plusDays(1), userIdComposite.localId()))
+                    .thenReturn(List.of(timeEntryDay(date, PlannedWorkingHours.ZERO)));
 
                 final AbsenceAddedEvent event = new AbsenceAddedEvent(userId, new DateRange(date, date));
                 sut.publishOvertimeUpdated(event);
@@ -626,19 +632,13 @@ class OvertimePublisherTest {
                 when(timeEntryLockService.isLocked(date2, lockTimeEntriesSettings)).thenReturn(true);
                 when(timeEntryLockService.isLocked(date3, lockTimeEntriesSettings)).thenReturn(true);
 
-                when(workingTimeCalendarService.getWorkingTimeCalender(date1, date3.plusDays(1), userIdComposite.localId()))
-                    .thenReturn(new WorkingTimeCalendar(
-                        Map.of(
-                            date1, PlannedWorkingHours.EIGHT,
-                            date2, PlannedWorkingHours.ZERO,
-                            date3, PlannedWorkingHours.EIGHT
-                        ),
-                        Map.of()
+                when(timeEntryDayService.getTimeEntryDays(date1, date3.plusDays(1), userIdComposite.localId()))
+                    .thenReturn(List.of(
+                        timeEntryDay(date3, PlannedWorkingHours.EIGHT),
+                        timeEntryDay(date2, PlannedWorkingHours.ZERO),
+                        timeEntryDay(date1, PlannedWorkingHours.EIGHT)
                     ));
 
-                when(overtimeService.getOvertimeForDateAndUser(date1, userIdComposite.localId())).thenReturn(OvertimeHours.EIGHT_POSITIVE);
-                when(overtimeService.getOvertimeForDateAndUser(date3, userIdComposite.localId())).thenReturn(OvertimeHours.EIGHT_POSITIVE);
-
                 sut.publishOvertimeUpdated(new AbsenceAddedEvent(userId, new DateRange(date1, date3)));
 
                 final ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
@@ -666,14 +666,8 @@ class OvertimePublisherTest {
                 when(timeEntryLockService.getLockTimeEntriesSettings()).thenReturn(lockTimeEntriesSettings);
                 when(timeEntryLockService.isLocked(date, lockTimeEntriesSettings)).thenReturn(true);
 
-                when(workingTimeCalendarService.getWorkingTimeCalender(date, date.plusDays(1), userIdComposite.localId()))
-                    .thenReturn(new WorkingTimeCalendar(
-                        Map.of(date, PlannedWorkingHours.EIGHT),
-                        Map.of()
-                    ));
-
-                when(overtimeService.getOvertimeForDateAndUser(date, userIdComposite.localId()))
-                    .thenReturn(OvertimeHours.EIGHT_POSITIVE);
+                when(timeEntryDayService.getTimeEntryDays(date, date.plusDays(1), userIdComposite.localId()))
+                    .thenReturn(List.of(timeEntryDay(date, PlannedWorkingHours.EIGHT)));
 
                 sut.publishOvertimeUpdated(new AbsenceAddedEvent(userId, new DateRange(date, date)));
 
@@ -684,6 +678,9 @@ class OvertimePublisherTest {
                 assertThat(publishedEvents).containsExactly(
                     new UserHasWorkedOvertimeEvent(userIdComposite, date, OvertimeHours.EIGHT_POSITIVE)
                 );
+
+                // no load avoided for a single date
+                assertThat(meterRegistry.find("zeiterfassung.overtime.publisher.avoided.loads").counter()).isNull();
             }
 
             @Test
@@ -706,19 +703,8 @@ class OvertimePublisherTest {
                 when(timeEntryLockService.isLocked(date2, lockTimeEntriesSettings)).thenReturn(true);
                 when(timeEntryLockService.isLocked(date3, lockTimeEntriesSettings)).thenReturn(true);
 
-                when(workingTimeCalendarService.getWorkingTimeCalender(date1, date3.plusDays(1), userIdComposite.localId()))
-                    .thenReturn(new WorkingTimeCalendar(
-                        Map.of(
-                            date1, PlannedWorkingHours.EIGHT,
-                            date2, PlannedWorkingHours.EIGHT,
-                            date3, PlannedWorkingHours.EIGHT
-                        ),
-                        Map.of()
-                    ));
-
-                when(overtimeService.getOvertimeForDateAndUser(date1, userIdComposite.localId())).thenReturn(OvertimeHours.EIGHT_POSITIVE);
-                when(overtimeService.getOvertimeForDateAndUser(date2, userIdComposite.localId())).thenReturn(OvertimeHours.EIGHT_POSITIVE);
-                when(overtimeService.getOvertimeForDateAndUser(date3, userIdComposite.localId())).thenReturn(OvertimeHours.EIGHT_POSITIVE);
+                when(timeEntryDayService.getTimeEntryDays(date1, date3.plusDays(1), userIdComposite.localId()))
+                    .thenReturn(timeEntryDays(dateRange, PlannedWorkingHours.EIGHT));
 
                 final AbsenceAddedEvent event = new AbsenceAddedEvent(userId, dateRange);
                 sut.publishOvertimeUpdated(event);
@@ -732,6 +718,11 @@ class OvertimePublisherTest {
                     new UserHasWorkedOvertimeEvent(userIdComposite, date2, OvertimeHours.EIGHT_POSITIVE),
                     new UserHasWorkedOvertimeEvent(userIdComposite, date3, OvertimeHours.EIGHT_POSITIVE)
                 );
+
+                // time entry days are loaded once instead of once for the calendar and once per date
+                verify(timeEntryDayService, times(1)).getTimeEntryDays(date1, date3.plusDays(1), userIdComposite.localId());
+                assertThat(meterRegistry.get("zeiterfassung.overtime.publisher.avoided.loads").tag("event", "absence_added").counter().count())
+                    .isEqualTo(3);
             }
 
             @Test
@@ -752,18 +743,9 @@ class OvertimePublisherTest {
                 when(timeEntryLockService.isLocked(date1, lockTimeEntriesSettings)).thenReturn(true);
                 when(timeEntryLockService.isLocked(date2, lockTimeEntriesSettings)).thenReturn(false);
 
-                when(workingTimeCalendarService.getWorkingTimeCalender(date1, date3.plusDays(1), userIdComposite.localId()))
-                    .thenReturn(new WorkingTimeCalendar(
-                        Map.of(
-                            date1, PlannedWorkingHours.EIGHT,
-                            date2, PlannedWorkingHours.EIGHT,
-                            date3, PlannedWorkingHours.EIGHT
-                        ),
-                        Map.of()
-                    ));
-
-                when(overtimeService.getOvertimeForDateAndUser(date1, userIdComposite.localId()))
-                    .thenReturn(OvertimeHours.EIGHT_POSITIVE);
+                // only the locked date has to be loaded
+                when(timeEntryDayService.getTimeEntryDays(date1, date1.plusDays(1), userIdComposite.localId()))
+                    .thenReturn(List.of(timeEntryDay(date1, PlannedWorkingHours.EIGHT)));
 
                 sut.publishOvertimeUpdated(new AbsenceAddedEvent(userId, new DateRange(date1, date3)));
 
@@ -826,13 +808,8 @@ class OvertimePublisherTest {
                 when(timeEntryLockService.getLockTimeEntriesSettings()).thenReturn(lockTimeEntriesSettings);
                 when(timeEntryLockService.isLocked(date, lockTimeEntriesSettings)).thenReturn(true);
 
-                when(workingTimeCalendarService.getWorkingTimeCalender(date, date.plusDays(1), userIdComposite.localId()))
-                    .thenReturn(new WorkingTimeCalendar(
-                        Map.of(date, PlannedWorkingHours.EIGHT),
-                        Map.of()
-                    ));
-
-                when(overtimeService.getOvertimeForDateAndUser(date, userIdComposite.localId())).thenReturn(OvertimeHours.EIGHT_POSITIVE);
+                when(timeEntryDayService.getTimeEntryDays(date, date.plusDays(1), userIdComposite.localId()))
+                    .thenReturn(List.of(timeEntryDay(date, PlannedWorkingHours.EIGHT)));
 
                 sut.publishOvertimeUpdated(new AbsenceDeletedEvent(userId, new DateRange(date, date)));
 
@@ -860,217 +837,111 @@ class OvertimePublisherTest {
                 when(timeEntryLockService.getLockTimeEntriesSettings()).thenReturn(lockTimeEntriesSettings);
                 when(timeEntryLockService.isLocked(date, lockTimeEntriesSettings)).thenReturn(false);
 
-                when(workingTimeCalendarService.getWorkingTimeCalender(date, date.plusDays(1), userIdComposite.localId()))
-                    .thenReturn(new WorkingTimeCalendar(
-                        Map.of(date, PlannedWorkingHours.EIGHT),
-                        Map.of()
-                    ));
-
                 sut.publishOvertimeUpdated(new AbsenceDeletedEvent(userId, new DateRange(date, date)));
 
                 verifyNoInteractions(applicationEventPublisher);
+                verifyNoInteractions(timeEntryDayService);
             }
         }
 
         @Nested
         class AbsenceUpdated {
 
-            @Test
-            void ensureOvertimeUpdatedForOverlappingRanges_OldRangeStartsFirst() {
+            @ParameterizedTest
+            @CsvSource({
+                // old range starts first
+                "2025-01-01,2025-01-05,2025-01-03,2025-01-07,2025-01-01,2025-01-07,10",
+                // new range starts first
+                "2025-01-05,2025-01-10,2025-01-01,2025-01-07,2025-01-01,2025-01-10,13",
+                // identical ranges
+                "2025-01-01,2025-01-05,2025-01-01,2025-01-05,2025-01-01,2025-01-05,10",
+                // one range contains the other
+                "2025-01-03,2025-01-05,2025-01-01,2025-01-10,2025-01-01,2025-01-10,13",
+                // adjacent ranges
+                "2025-01-01,2025-01-05,2025-01-06,2025-01-08,2025-01-01,2025-01-08,8"
+            })
+            void ensureOvertimeUpdatedForBothRangesWithSingleLoad(
+                String oldStart, String oldEnd, String newStart, String newEnd, String loadedStart, String loadedEnd, int expectedEvents
+            ) {
                 final UserId userId = new UserId("user-id");
                 final UserIdComposite userIdComposite = anyUserIdComposite();
-                final DateRange oldDateRange = new DateRange(LocalDate.parse("2025-01-01"), LocalDate.parse("2025-01-05"));
-                final DateRange newDateRange = new DateRange(LocalDate.parse("2025-01-03"), LocalDate.parse("2025-01-07"));
+                final DateRange oldDateRange = new DateRange(LocalDate.parse(oldStart), LocalDate.parse(oldEnd));
+                final DateRange newDateRange = new DateRange(LocalDate.parse(newStart), LocalDate.parse(newEnd));
+                final DateRange loadedDateRange = new DateRange(LocalDate.parse(loadedStart), LocalDate.parse(loadedEnd));
 
                 final User user = new User(userIdComposite, "John", "Doe", new EMailAddress("john@example.com"), Set.of());
                 when(userManagementService.findUserById(userId)).thenReturn(Optional.of(user));
                 when(overtimeAccountService.getOvertimeAccount(userIdComposite.localId()))
                     .thenReturn(new OvertimeAccount(userIdComposite, true));
 
-                final Map<LocalDate, PlannedWorkingHours> plannedWorkingHoursByDate = IntStream.rangeClosed(1, 7)
-                    .mapToObj(nr -> LocalDate.parse("2025-01-%02d".formatted(nr)))
-                    .collect(toMap(identity(), unused -> PlannedWorkingHours.EIGHT));
-
-                when(workingTimeCalendarService.getWorkingTimeCalender(LocalDate.parse("2025-01-01"), LocalDate.parse("2025-01-06"), userIdComposite.localId()))
-                    .thenReturn(new WorkingTimeCalendar(plannedWorkingHoursByDate, Map.of()));
-                when(workingTimeCalendarService.getWorkingTimeCalender(LocalDate.parse("2025-01-03"), LocalDate.parse("2025-01-08"), userIdComposite.localId()))
-                    .thenReturn(new WorkingTimeCalendar(plannedWorkingHoursByDate, Map.of()));
-
                 final LockTimeEntriesSettings lockTimeEntriesSettings = anyLockTimeEntriesSettings();
                 when(timeEntryLockService.getLockTimeEntriesSettings()).thenReturn(lockTimeEntriesSettings);
-
-                // Mock all dates in union (2025-01-01 to 2025-01-07) as locked with planned hours
-                for (int i = 1; i <= 7; i++) {
-                    final LocalDate date = LocalDate.parse("2025-01-0" + i);
-                    when(timeEntryLockService.isLocked(date, lockTimeEntriesSettings)).thenReturn(true);
-                    when(overtimeService.getOvertimeForDateAndUser(date, userIdComposite.localId())).thenReturn(OvertimeHours.EIGHT_POSITIVE);
+                // lenient since dates between non overlapping ranges are not asked for the locked state
+                for (LocalDate date : loadedDateRange) {
+                    lenient().when(timeEntryLockService.isLocked(date, lockTimeEntriesSettings)).thenReturn(true);
                 }
 
-                final AbsenceUpdatedEvent event = new AbsenceUpdatedEvent(userId, oldDateRange, newDateRange);
-                sut.publishOvertimeUpdated(event);
-
-                final ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
-                verify(applicationEventPublisher, times(10)).publishEvent(captor.capture());
-            }
-
-            @Test
-            void ensureOvertimeUpdatedForOverlappingRanges_NewRangeStartsFirst() {
-                final UserId userId = new UserId("user-id");
-                final UserIdComposite userIdComposite = anyUserIdComposite();
-                final DateRange oldDateRange = new DateRange(LocalDate.parse("2025-01-05"), LocalDate.parse("2025-01-10"));
-                final DateRange newDateRange = new DateRange(LocalDate.parse("2025-01-01"), LocalDate.parse("2025-01-07"));
-
-                final User user = new User(userIdComposite, "John", "Doe", new EMailAddress("john@example.com"), Set.of());
-                when(userManagementService.findUserById(userId)).thenReturn(Optional.of(user));
-                when(overtimeAccountService.getOvertimeAccount(userIdComposite.localId()))
-                    .thenReturn(new OvertimeAccount(userIdComposite, true));
-
-                final Map<LocalDate, PlannedWorkingHours> plannedWorkingHoursByDate = IntStream.rangeClosed(1, 10)
-                    .mapToObj(nr -> LocalDate.parse("2025-01-%02d".formatted(nr)))
-                    .collect(toMap(identity(), unused -> PlannedWorkingHours.EIGHT));
-
-                when(workingTimeCalendarService.getWorkingTimeCalender(LocalDate.parse("2025-01-05"), LocalDate.parse("2025-01-11"), userIdComposite.localId()))
-                    .thenReturn(new WorkingTimeCalendar(plannedWorkingHoursByDate, Map.of()));
-                when(workingTimeCalendarService.getWorkingTimeCalender(LocalDate.parse("2025-01-01"), LocalDate.parse("2025-01-08"), userIdComposite.localId()))
-                    .thenReturn(new WorkingTimeCalendar(plannedWorkingHoursByDate, Map.of()));
-
-                final LockTimeEntriesSettings lockTimeEntriesSettings = anyLockTimeEntriesSettings();
-                when(timeEntryLockService.getLockTimeEntriesSettings()).thenReturn(lockTimeEntriesSettings);
-
-                // Mock all dates in union (2025-01-01 to 2025-01-10) as locked with planned hours
-                for (int i = 1; i <= 10; i++) {
-                    final LocalDate date = LocalDate.parse("2025-01-" + String.format("%02d", i));
-                    when(timeEntryLockService.isLocked(date, lockTimeEntriesSettings)).thenReturn(true);
-                    when(overtimeService.getOvertimeForDateAndUser(date, userIdComposite.localId())).thenReturn(OvertimeHours.EIGHT_POSITIVE);
-                }
+                when(timeEntryDayService.getTimeEntryDays(loadedDateRange.startDate(), loadedDateRange.endDate().plusDays(1), userIdComposite.localId()))
+                    .thenReturn(timeEntryDays(loadedDateRange, PlannedWorkingHours.EIGHT));
 
                 final AbsenceUpdatedEvent event = new AbsenceUpdatedEvent(userId, oldDateRange, newDateRange);
                 sut.publishOvertimeUpdated(event);
 
                 final ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
-                verify(applicationEventPublisher, times(13)).publishEvent(captor.capture());
-            }
+                verify(applicationEventPublisher, times(expectedEvents)).publishEvent(captor.capture());
 
-            @Test
-            void ensureOvertimeUpdatedForOverlappingRanges_IdenticalRanges() {
-                final UserId userId = new UserId("user-id");
-                final UserIdComposite userIdComposite = anyUserIdComposite();
-                final DateRange oldDateRange = new DateRange(LocalDate.parse("2025-01-01"), LocalDate.parse("2025-01-05"));
-                final DateRange newDateRange = new DateRange(LocalDate.parse("2025-01-01"), LocalDate.parse("2025-01-05"));
-
-                final User user = new User(userIdComposite, "John", "Doe", new EMailAddress("john@example.com"), Set.of());
-                when(userManagementService.findUserById(userId)).thenReturn(Optional.of(user));
-                when(overtimeAccountService.getOvertimeAccount(userIdComposite.localId()))
-                    .thenReturn(new OvertimeAccount(userIdComposite, true));
-
-                final Map<LocalDate, PlannedWorkingHours> plannedWorkingHoursByDate = IntStream.rangeClosed(1, 5)
-                    .mapToObj(nr -> LocalDate.parse("2025-01-%02d".formatted(nr)))
-                    .collect(toMap(identity(), unused -> PlannedWorkingHours.EIGHT));
-
-                when(workingTimeCalendarService.getWorkingTimeCalender(LocalDate.parse("2025-01-01"), LocalDate.parse("2025-01-06"), userIdComposite.localId()))
-                    .thenReturn(new WorkingTimeCalendar(plannedWorkingHoursByDate, Map.of()));
-
-                final LockTimeEntriesSettings lockTimeEntriesSettings = anyLockTimeEntriesSettings();
-                when(timeEntryLockService.getLockTimeEntriesSettings()).thenReturn(lockTimeEntriesSettings);
-
-                // Mock all dates in union (2025-01-01 to 2025-01-05) as locked with planned hours
-                for (int i = 1; i <= 5; i++) {
-                    final LocalDate date = LocalDate.parse("2025-01-0" + i);
-                    when(timeEntryLockService.isLocked(date, lockTimeEntriesSettings)).thenReturn(true);
-                    when(overtimeService.getOvertimeForDateAndUser(date, userIdComposite.localId())).thenReturn(OvertimeHours.EIGHT_POSITIVE);
-                }
-
-                final AbsenceUpdatedEvent event = new AbsenceUpdatedEvent(userId, oldDateRange, newDateRange);
-                sut.publishOvertimeUpdated(event);
-
-                final ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
-                verify(applicationEventPublisher, times(10)).publishEvent(captor.capture());
+                verify(timeEntryDayService, times(1)).getTimeEntryDays(loadedDateRange.startDate(), loadedDateRange.endDate().plusDays(1), userIdComposite.localId());
+                verifyNoMoreInteractions(timeEntryDayService);
             }
 
-            @Test
-            void ensureOvertimeUpdatedForOverlappingRanges_OneRangeContainsOther() {
+            @ParameterizedTest
+            @CsvSource({
+                // non overlapping ranges
+                "2025-01-01,2025-01-05,2025-01-10,2025-01-15",
+                // non overlapping ranges in reverse order
+                "2025-01-10,2025-01-15,2025-01-01,2025-01-05"
+            })
+            void ensureOvertimeUpdatedForNonOverlappingRangesLoadsEveryRange(String oldStart, String oldEnd, String newStart, String newEnd) {
                 final UserId userId = new UserId("user-id");
                 final UserIdComposite userIdComposite = anyUserIdComposite();
-                final DateRange oldDateRange = new DateRange(LocalDate.parse("2025-01-03"), LocalDate.parse("2025-01-05"));
-                final DateRange newDateRange = new DateRange(LocalDate.parse("2025-01-01"), LocalDate.parse("2025-01-10"));
+                final DateRange oldDateRange = new DateRange(LocalDate.parse(oldStart), LocalDate.parse(oldEnd));
+                final DateRange newDateRange = new DateRange(LocalDate.parse(newStart), LocalDate.parse(newEnd));
+                final DateRange firstDateRange = new DateRange(LocalDate.parse("2025-01-01"), LocalDate.parse("2025-01-05"));
+                final DateRange secondDateRange = new DateRange(LocalDate.parse("2025-01-10"), LocalDate.parse("2025-01-15"));
 
                 final User user = new User(userIdComposite, "John", "Doe", new EMailAddress("john@example.com"), Set.of());
                 when(userManagementService.findUserById(userId)).thenReturn(Optional.of(user));
                 when(overtimeAccountService.getOvertimeAccount(userIdComposite.localId()))
                     .thenReturn(new OvertimeAccount(userIdComposite, true));
 
-                final Map<LocalDate, PlannedWorkingHours> plannedWorkingHoursByDate = IntStream.rangeClosed(1, 10)
-                    .mapToObj(nr -> LocalDate.parse("2025-01-%02d".formatted(nr)))
-                    .collect(toMap(identity(), unused -> PlannedWorkingHours.EIGHT));
-
-                when(workingTimeCalendarService.getWorkingTimeCalender(LocalDate.parse("2025-01-03"), LocalDate.parse("2025-01-06"), userIdComposite.localId()))
-                    .thenReturn(new WorkingTimeCalendar(plannedWorkingHoursByDate, Map.of()));
-                when(workingTimeCalendarService.getWorkingTimeCalender(LocalDate.parse("2025-01-01"), LocalDate.parse("2025-01-11"), userIdComposite.localId()))
-                    .thenReturn(new WorkingTimeCalendar(plannedWorkingHoursByDate, Map.of()));
-
                 final LockTimeEntriesSettings lockTimeEntriesSettings = anyLockTimeEntriesSettings();
                 when(timeEntryLockService.getLockTimeEntriesSettings()).thenReturn(lockTimeEntriesSettings);
-
-                // Mock all dates in union (2025-01-01 to 2025-01-10) as locked with planned hours
-                for (int i = 1; i <= 10; i++) {
-                    final LocalDate date = LocalDate.parse("2025-01-" + String.format("%02d", i));
-                    when(timeEntryLockService.isLocked(date, lockTimeEntriesSettings)).thenReturn(true);
-                    when(overtimeService.getOvertimeForDateAndUser(date, userIdComposite.localId())).thenReturn(OvertimeHours.EIGHT_POSITIVE);
+                for (DateRange dateRange : List.of(firstDateRange, secondDateRange)) {
+                    for (LocalDate date : dateRange) {
+                        when(timeEntryLockService.isLocked(date, lockTimeEntriesSettings)).thenReturn(true);
+                    }
                 }
 
-                sut.publishOvertimeUpdated(new AbsenceUpdatedEvent(userId, oldDateRange, newDateRange));
-
-                final ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
-                verify(applicationEventPublisher, times(13)).publishEvent(captor.capture());
-            }
-
-            @Test
-            void ensureOvertimeUpdatedForNonOverlappingRanges() {
-                final UserId userId = new UserId("user-id");
-                final UserIdComposite userIdComposite = anyUserIdComposite();
-                final DateRange oldDateRange = new DateRange(LocalDate.parse("2025-01-01"), LocalDate.parse("2025-01-05"));
-                final DateRange newDateRange = new DateRange(LocalDate.parse("2025-01-10"), LocalDate.parse("2025-01-15"));
-
-                final User user = new User(userIdComposite, "John", "Doe", new EMailAddress("john@example.com"), Set.of());
-                when(userManagementService.findUserById(userId)).thenReturn(Optional.of(user));
-                when(overtimeAccountService.getOvertimeAccount(userIdComposite.localId()))
-                    .thenReturn(new OvertimeAccount(userIdComposite, true));
-
-                final Map<LocalDate, PlannedWorkingHours> plannedWorkingHoursByDate = IntStream.rangeClosed(1, 15)
-                    .mapToObj(nr -> LocalDate.parse("2025-01-%02d".formatted(nr)))
-                    .collect(toMap(identity(), unused -> PlannedWorkingHours.EIGHT));
-
-                when(workingTimeCalendarService.getWorkingTimeCalender(LocalDate.parse("2025-01-01"), LocalDate.parse("2025-01-06"), userIdComposite.localId()))
-                    .thenReturn(new WorkingTimeCalendar(plannedWorkingHoursByDate, Map.of()));
-                when(workingTimeCalendarService.getWorkingTimeCalender(LocalDate.parse("2025-01-10"), LocalDate.parse("2025-01-16"), userIdComposite.localId()))
-                    .thenReturn(new WorkingTimeCalendar(plannedWorkingHoursByDate, Map.of()));
-
-                final LockTimeEntriesSettings lockTimeEntriesSettings = anyLockTimeEntriesSettings();
-                when(timeEntryLockService.getLockTimeEntriesSettings()).thenReturn(lockTimeEntriesSettings);
-
-                // Mock dates in old range (2025-01-01 to 2025-01-05)
-                for (int i = 1; i <= 5; i++) {
-                    final LocalDate date = LocalDate.parse("2025-01-0" + i);
-                    when(timeEntryLockService.isLocked(date, lockTimeEntriesSettings)).thenReturn(true);
-                    when(overtimeService.getOvertimeForDateAndUser(date, userIdComposite.localId())).thenReturn(OvertimeHours.EIGHT_POSITIVE);
-                }
-
-                // Mock dates in new range (2025-01-10 to 2025-01-15)
-                for (int i = 10; i <= 15; i++) {
-                    final LocalDate date = LocalDate.parse("2025-01-" + i);
-                    when(timeEntryLockService.isLocked(date, lockTimeEntriesSettings)).thenReturn(true);
-                    when(overtimeService.getOvertimeForDateAndUser(date, userIdComposite.localId())).thenReturn(OvertimeHours.EIGHT_POSITIVE);
-                }
+                when(timeEntryDayService.getTimeEntryDays(firstDateRange.startDate(), firstDateRange.endDate().plusDays(1), userIdComposite.localId()))
+                    .thenReturn(timeEntryDays(firstDateRange, PlannedWorkingHours.EIGHT));
+                when(timeEntryDayService.getTimeEntryDays(secondDateRange.startDate(), secondDateRange.endDate().plusDays(1), userIdComposite.localId()))
+                    .thenReturn(timeEntryDays(secondDateRange, PlannedWorkingHours.EIGHT));
 
                 final AbsenceUpdatedEvent event = new AbsenceUpdatedEvent(userId, oldDateRange, newDateRange);
                 sut.publishOvertimeUpdated(event);
 
-                final ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
-                verify(applicationEventPublisher, times(11)).publishEvent(captor.capture());
+                verify(applicationEventPublisher, times(11)).publishEvent(any(UserHasWorkedOvertimeEvent.class));
+
+                // the days between the ranges are not loaded
+                verify(timeEntryDayService).getTimeEntryDays(firstDateRange.startDate(), firstDateRange.endDate().plusDays(1), userIdComposite.localId());
+                verify(timeEntryDayService).getTimeEntryDays(secondDateRange.startDate(), secondDateRange.endDate().plusDays(1), userIdComposite.localId());
+                verifyNoMoreInteractions(timeEntryDayService);
+                assertThat(meterRegistry.get("zeiterfassung.overtime.publisher.avoided.loads").tag("event", "absence_updated").counter().count())
+                    .isEqualTo(11);
             }
 
             @Test
-            void ensureOvertimeUpdatedForNonOverlappingRangesTODO_NAME_ME() {
+            void ensureOvertimeUpdatedForNonOverlappingRangesWithUnlockedDateInNewRange() {
                 final UserId userId = new UserId("user-id");
                 final UserIdComposite userIdComposite = anyUserIdComposite();
                 final DateRange oldDateRange = new DateRange(LocalDate.parse("2025-01-01"), LocalDate.parse("2025-01-05"));
@@ -1081,15 +952,6 @@ class OvertimePublisherTest {
                 when(overtimeAccountService.getOvertimeAccount(userIdComposite.localId()))
                     .thenReturn(new OvertimeAccount(userIdComposite, true));
 
-                final Map<LocalDate, PlannedWorkingHours> plannedWorkingHoursByDate = IntStream.rangeClosed(1, 15)
-                    .mapToObj(nr -> LocalDate.parse("2025-01-%02d".formatted(nr)))
-                    .collect(toMap(identity(), unused -> PlannedWorkingHours.EIGHT));
-
-                when(workingTimeCalendarService.getWorkingTimeCalender(LocalDate.parse("2025-01-01"), LocalDate.parse("2025-01-06"), userIdComposite.localId()))
-                    .thenReturn(new WorkingTimeCalendar(plannedWorkingHoursByDate, Map.of()));
-                when(workingTimeCalendarService.getWorkingTimeCalender(LocalDate.parse("2025-01-06"), LocalDate.parse("2025-01-11"), userIdComposite.localId()))
-                    .thenReturn(new WorkingTimeCalendar(plannedWorkingHoursByDate, Map.of()));
-
                 final LockTimeEntriesSettings lockTimeEntriesSettings = anyLockTimeEntriesSettings();
                 when(timeEntryLockService.getLockTimeEntriesSettings()).thenReturn(lockTimeEntriesSettings);
 
@@ -1097,65 +959,23 @@ class OvertimePublisherTest {
                 for (int i = 1; i <= 5; i++) {
                     final LocalDate date = LocalDate.parse("2025-01-0" + i);
                     when(timeEntryLockService.isLocked(date, lockTimeEntriesSettings)).thenReturn(true);
-                    when(overtimeService.getOvertimeForDateAndUser(date, userIdComposite.localId())).thenReturn(OvertimeHours.EIGHT_POSITIVE);
                 }
 
                 when(timeEntryLockService.isLocked(LocalDate.parse("2025-01-06"), lockTimeEntriesSettings)).thenReturn(true);
-                when(overtimeService.getOvertimeForDateAndUser(LocalDate.parse("2025-01-06"), userIdComposite.localId())).thenReturn(OvertimeHours.EIGHT_POSITIVE);
-
                 when(timeEntryLockService.isLocked(LocalDate.parse("2025-01-07"), lockTimeEntriesSettings)).thenReturn(false);
 
+                final DateRange lockedDateRange = new DateRange(LocalDate.parse("2025-01-01"), LocalDate.parse("2025-01-06"));
+                when(timeEntryDayService.getTimeEntryDays(LocalDate.parse("2025-01-01"), LocalDate.parse("2025-01-07"), userIdComposite.localId()))
+                    .thenReturn(timeEntryDays(lockedDateRange, PlannedWorkingHours.EIGHT));
+
                 final AbsenceUpdatedEvent event = new AbsenceUpdatedEvent(userId, oldDateRange, newDateRange);
                 sut.publishOvertimeUpdated(event);
 
                 final ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
                 verify(applicationEventPublisher, times(6)).publishEvent(captor.capture());
-            }
-
-            @Test
-            void ensureOvertimeUpdatedForNonOverlappingRanges_ReverseOrder() {
-                final UserId userId = new UserId("user-id");
-                final UserIdComposite userIdComposite = anyUserIdComposite();
-                final DateRange oldDateRange = new DateRange(LocalDate.parse("2025-01-10"), LocalDate.parse("2025-01-15"));
-                final DateRange newDateRange = new DateRange(LocalDate.parse("2025-01-01"), LocalDate.parse("2025-01-05"));
-
-                final User user = new User(userIdComposite, "John", "Doe", new EMailAddress("john@example.com"), Set.of());
-                when(userManagementService.findUserById(userId)).thenReturn(Optional.of(user));
-                when(overtimeAccountService.getOvertimeAccount(userIdComposite.localId()))
-                    .thenReturn(new OvertimeAccount(userIdComposite, true));
-
-                final Map<LocalDate, PlannedWorkingHours> plannedWorkingHoursByDate = IntStream.rangeClosed(1, 15)
-                    .mapToObj(nr -> LocalDate.parse("2025-01-%02d".formatted(nr)))
-                    .collect(toMap(identity(), unused -> PlannedWorkingHours.EIGHT));
-
-                when(workingTimeCalendarService.getWorkingTimeCalender(LocalDate.parse("2025-01-10"), LocalDate.parse("2025-01-16"), userIdComposite.localId()))
-                    .thenReturn(new WorkingTimeCalendar(plannedWorkingHoursByDate, Map.of()));
-                when(workingTimeCalendarService.getWorkingTimeCalender(LocalDate.parse("2025-01-01"), LocalDate.parse("2025-01-06"), userIdComposite.localId()))
-                    .thenReturn(new WorkingTimeCalendar(plannedWorkingHoursByDate, Map.of()));
-
-                final LockTimeEntriesSettings lockTimeEntriesSettings = anyLockTimeEntriesSettings();
-                when(timeEntryLockService.getLockTimeEntriesSettings()).thenReturn(lockTimeEntriesSettings);
 
-                // Mock dates in old range (2025-01-10 to 2025-01-15)
-                for (int i = 10; i <= 15; i++) {
-                    final LocalDate date = LocalDate.parse("2025-01-" + i);
-                    when(timeEntryLockService.isLocked(date, lockTimeEntriesSettings)).thenReturn(true);
-                    when(overtimeService.getOvertimeForDateAndUser(date, userIdComposite.localId()))
-                        .thenReturn(OvertimeHours.EIGHT_POSITIVE);
-                }
-
-                // Mock dates in new range (2025-01-01 to 2025-01-05)
-                for (int i = 1; i <= 5; i++) {
-                    final LocalDate date = LocalDate.parse("2025-01-0" + i);
-                    when(timeEntryLockService.isLocked(date, lockTimeEntriesSettings)).thenReturn(true);
-                    when(overtimeService.getOvertimeForDateAndUser(date, userIdComposite.localId())).thenReturn(OvertimeHours.EIGHT_POSITIVE);
-                }
-
-                final AbsenceUpdatedEvent event = new AbsenceUpdatedEvent(userId, oldDateRange, newDateRange);
-                sut.publishOvertimeUpdated(event);
-
-                final ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
-                verify(applicationEventPublisher, times(11)).publishEvent(captor.capture());
+                assertThat(meterRegistry.get("zeiterfassung.overtime.publisher.avoided.loads").tag("event", "absence_updated").counter().count())
+                    .isEqualTo(7);
             }
 
             @Test
@@ -1178,6 +998,23 @@ class OvertimePublisherTest {
         }
     }
 
+    /**
+     * @return {@link TimeEntryDay} resulting in {@link OvertimeHours#EIGHT_POSITIVE} when planned working hours are not zero.
+     */
+    private static TimeEntryDay timeEntryDay(LocalDate date, PlannedWorkingHours plannedWorkingHours) {
+        final WorkDuration workDuration = new WorkDuration(plannedWorkingHours.duration().plusHours(8));
+        final ShouldWorkingHours shouldWorkingHours = new ShouldWorkingHours(plannedWorkingHours.duration());
+        return new TimeEntryDay(true, date, workDuration, plannedWorkingHours, shouldWorkingHours, List.of(), List.of());
+    }
+
+    private static List<TimeEntryDay> timeEntryDays(DateRange dateRange, PlannedWorkingHours plannedWorkingHours) {
+        final List<TimeEntryDay> timeEntryDays = new ArrayList<>();
+        for (LocalDate date : dateRange) {
+            timeEntryDays.addFirst(timeEntryDay(date, plannedWorkingHours));
+        }
+        return timeEntryDays;
+    }
+
     private LockTimeEntriesSettings anyLockTimeEntriesSettings() {
         return new LockTimeEntriesSettings(true, 42);
     }
@@ -1,20 +1,17 @@
 package de.focusshift.zeiterfassung.overtime;
 
-import de.focusshift.zeiterfassung.absence.Absence;
-import de.focusshift.zeiterfassung.absence.DayLength;
-import de.focusshift.zeiterfassung.report.ReportDay;
-import de.focusshift.zeiterfassung.report.ReportDayAbsence;
-import de.focusshift.zeiterfassung.report.ReportDayEntry;
-import de.focusshift.zeiterfassung.report.ReportServiceRaw;
+import de.focusshift.zeiterfassung.DateRange;
 import de.focusshift.zeiterfassung.tenancy.user.EMailAddress;
-import de.focusshift.zeiterfassung.timeentry.TimeEntryId;
+import de.focusshift.zeiterfassung.timeentry.ShouldWorkingHours;
+import de.focusshift.zeiterfassung.timeentry.TimeEntryDay;
+import de.focusshift.zeiterfassung.timeentry.TimeEntryDayService;
 import de.focusshift.zeiterfassung.user.UserId;
 import de.focusshift.zeiterfassung.user.UserIdComposite;
 import de.focusshift.zeiterfassung.usermanagement.User;
 import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import de.focusshift.zeiterfassung.usermanagement.UserManagementService;
 import de.focusshift.zeiterfassung.workduration.WorkDuration;
 import de.focusshift.zeiterfassung.workingtime.PlannedWorkingHours;
-import de.focusshift.zeiterfassung.workingtime.WorkingTimeCalendar;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -22,16 +19,14 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Duration;
-import java.time.Instant;
 import java.time.LocalDate;
-import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-import static de.focusshift.zeiterfassung.absence.AbsenceColor.VIOLET;
-import static de.focusshift.zeiterfassung.absence.AbsenceTypeCategory.HOLIDAY;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,11 +37,15 @@ class OvertimeServiceImplTest {
     private OvertimeServiceImpl sut;
 
     @Mock
-    private ReportServiceRaw reportServiceRaw;
+    private TimeEntryDayService timeEntryDayService;
+    @Mock
+    private UserManagementService userManagementService;
+    @Mock
+    private OvertimeLedgerService overtimeLedgerService;
 
     @BeforeEach
     void setUp() {
-        sut = new OvertimeServiceImpl(reportServiceRaw);
+        sut = new OvertimeServiceImpl(timeEntryDayService, userManagementService, overtimeLedgerService);
     }
 
     @Test
@@ -54,69 +53,72 @@ class OvertimeServiceImplTest {
 
         final LocalDate date = LocalDate.parse("2025-05-09");
 
-        when(reportServiceRaw.getReportDayForAllUsers(date))
-           .thenReturn(new ReportDay(date, false, Map.of(), Map.of(), Map.of(), Map.of()));
+        when(userManagementService.findAllUsers()).thenReturn(List.of());
 
         final Map<UserIdComposite, OvertimeHours> actual = sut.getOvertimeForDate(date);
         assertThat(actual).isEmpty();
-     }
+
+        verifyNoInteractions(timeEntryDayService);
+    }
 
     @Test
     void ensureGetOvertimeForDate() {
 
         final LocalDate date = LocalDate.parse("2025-05-09");
 
-        final UserId userIdBatman = new UserId("batman");
-        final UserLocalId userLocalIdBatman = new UserLocalId(2L);
-        final UserIdComposite userIdCompositeBatman = new UserIdComposite(userIdBatman, userLocalIdBatman);
+        final UserLocalId userLocalIdBatman = new UserLocalId(1L);
+        final UserIdComposite userIdCompositeBatman = new UserIdComposite(new UserId("batman"), userLocalIdBatman);
         final User batman = new User(userIdCompositeBatman, "Bruce", "Wayne", new EMailAddress("batman@batman.org"), Set.of());
 
-        final UserId userIdRobin = new UserId("robin");
         final UserLocalId userLocalIdRobin = new UserLocalId(2L);
-        final UserIdComposite userIdCompositeRobin = new UserIdComposite(userIdRobin, userLocalIdRobin);
-        final User robin = new User(userIdCompositeRobin, "Dick", "Johnson", new EMailAddress("robin@batman.org"), Set.of());
+        final UserIdComposite userIdCompositeRobin = new UserIdComposite(new UserId("robin"), userLocalIdRobin);
+        final User robin = new User(userIdCompositeRobin, "Dick", "Grayson", new EMailAddress("robin@batman.org"), Set.of());
 
-        final WorkingTimeCalendar workingTimeCalendarBatman = new WorkingTimeCalendar(
-            Map.of(date, PlannedWorkingHours.EIGHT),
-            Map.of()
-        );
+        when(userManagementService.findAllUsers()).thenReturn(List.of(batman, robin));
+        when(overtimeLedgerService.getOvertime(List.of(userLocalIdBatman, userLocalIdRobin), date, date.plusDays(1)))
+            .thenReturn(Map.of());
 
-        final Absence absenceRobin = new Absence(userIdRobin, Instant.now(), Instant.now(), DayLength.FULL, locale -> "", VIOLET, HOLIDAY);
-        final WorkingTimeCalendar workingTimeCalendarRobin = new WorkingTimeCalendar(
-            Map.of(date, PlannedWorkingHours.EIGHT),
-            Map.of(date, List.of(absenceRobin))
-        );
+        final TimeEntryDay timeEntryDayBatman = new TimeEntryDay(false, date, WORK_12H, PlannedWorkingHours.EIGHT, ShouldWorkingHours.EIGHT, List.of(), List.of());
+        final TimeEntryDay timeEntryDayRobin = new TimeEntryDay(false, date, WorkDuration.ZERO, PlannedWorkingHours.EIGHT, ShouldWorkingHours.ZERO, List.of(), List.of());
 
-        final Map<UserIdComposite, WorkingTimeCalendar> workingTimeCalendars = Map.of(
-            userIdCompositeBatman, workingTimeCalendarBatman,
-            userIdCompositeRobin, workingTimeCalendarRobin
-        );
+        when(timeEntryDayService.getTimeEntryDays(date, date.plusDays(1), List.of(userLocalIdBatman, userLocalIdRobin)))
+            .thenReturn(Map.of(
+                userIdCompositeBatman, List.of(timeEntryDayBatman),
+                userIdCompositeRobin, List.of(timeEntryDayRobin)
+            ));
 
-        final ReportDayEntry reportDayBatman = new ReportDayEntry(new TimeEntryId(1L), batman, "", ZonedDateTime.parse("2025-05-09T08:00:00Z"), ZonedDateTime.parse("2025-05-09T20:00:00Z"), WORK_12H, false);
-        final Map<UserIdComposite, List<ReportDayEntry>> reportDayEntries = Map.of(
-            userIdCompositeBatman, List.of(reportDayBatman),
-            userIdCompositeRobin, List.of()
+        final Map<UserIdComposite, OvertimeHours> actual = sut.getOvertimeForDate(date);
+        assertThat(actual).containsOnly(
+            Map.entry(userIdCompositeBatman, new OvertimeHours(Duration.ofHours(4))),
+            Map.entry(userIdCompositeRobin, OvertimeHours.ZERO)
         );
+    }
 
-        final Map<UserIdComposite, WorkDuration> workDurations = Map.of(
-            // this is of interest for overtime calculation. NOT the ReportDayEntry workDuration.
-            // (workDuration is calculated and injected into ReportDay)
-            userIdCompositeBatman, WORK_12H,
-            userIdCompositeRobin, WorkDuration.ZERO
-        );
+    @Test
+    void ensureGetOvertimeForDateReadsLedgerAndCalculatesMissingUsersOnly() {
 
-        final Map<UserIdComposite, List<ReportDayAbsence>> absences = Map.of(
-            userIdCompositeBatman, List.of(),
-            userIdCompositeRobin, List.of(new ReportDayAbsence(robin, absenceRobin))
-        );
+        final LocalDate date = LocalDate.parse("2025-05-09");
+
+        final UserLocalId userLocalIdBatman = new UserLocalId(1L);
+        final UserIdComposite userIdCompositeBatman = new UserIdComposite(new UserId("batman"), userLocalIdBatman);
+        final User batman = new User(userIdCompositeBatman, "Bruce", "Wayne", new EMailAddress("batman@batman.org"), Set.of());
+
+        final UserLocalId userLocalIdRobin = new UserLocalId(2L);
+        final UserIdComposite userIdCompositeRobin = new UserIdComposite(new UserId("robin"), userLocalIdRobin);
+        final User robin = new User(userIdCompositeRobin, "Dick", "Grayson", new EMailAddress("robin@batman.org"), Set.of());
 
-        when(reportServiceRaw.getReportDayForAllUsers(date))
-            .thenReturn(new ReportDay(date, false, workingTimeCalendars, reportDayEntries, workDurations, absences));
+        when(userManagementService.findAllUsers()).thenReturn(List.of(batman, robin));
+        when(overtimeLedgerService.getOvertime(List.of(userLocalIdBatman, userLocalIdRobin), date, date.plusDays(1)))
+            .thenReturn(Map.of(userLocalIdBatman, new OvertimeHours(Duration.ofHours(2))));
+
+        final TimeEntryDay timeEntryDayRobin = new TimeEntryDay(false, date, WorkDuration.ZERO, PlannedWorkingHours.EIGHT, ShouldWorkingHours.EIGHT, List.of(), List.of());
+        when(timeEntryDayService.getTimeEntryDays(date, date.plusDays(1), List.of(userLocalIdRobin)))
+            .thenReturn(Map.of(userIdCompositeRobin, List.of(timeEntryDayRobin)));
 
         final Map<UserIdComposite, OvertimeHours> actual = sut.getOvertimeForDate(date);
-        assertThat(actual).contains(
-            Map.entry(userIdCompositeBatman, new OvertimeHours(Duration.ofHours(4))),
-            Map.entry(userIdCompositeRobin, OvertimeHours.ZERO)
+        assertThat(actual).containsOnly(
+            Map.entry(userIdCompositeBatman, new OvertimeHours(Duration.ofHours(2))),
+            Map.entry(userIdCompositeRobin, OvertimeHours.EIGHT_NEGATIVE)
         );
     }
 
@@ -124,40 +126,79 @@ class OvertimeServiceImplTest {
     void ensureGetOvertimeForDateAndUser() {
 
         final LocalDate date = LocalDate.parse("2025-05-09");
+        final UserLocalId userLocalId = new UserLocalId(2L);
 
-        final UserId userIdBatman = new UserId("batman");
-        final UserLocalId userLocalIdBatman = new UserLocalId(2L);
-        final UserIdComposite userIdCompositeBatman = new UserIdComposite(userIdBatman, userLocalIdBatman);
-        final User batman = new User(userIdCompositeBatman, "Bruce", "Wayne", new EMailAddress("batman@batman.org"), Set.of());
+        final TimeEntryDay timeEntryDay = new TimeEntryDay(false, date, WORK_12H, PlannedWorkingHours.EIGHT, ShouldWorkingHours.EIGHT, List.of(), List.of());
+        when(timeEntryDayService.getTimeEntryDays(date, date.plusDays(1), userLocalId)).thenReturn(List.of(timeEntryDay));
 
-        final WorkingTimeCalendar workingTimeCalendarBatman = new WorkingTimeCalendar(
-            Map.of(date, PlannedWorkingHours.EIGHT),
-            Map.of()
-        );
+        final OvertimeHours actual = sut.getOvertimeForDateAndUser(date, userLocalId);
+        assertThat(actual).isEqualTo(new OvertimeHours(Duration.ofHours(4)));
 
-        final Map<UserIdComposite, WorkingTimeCalendar> workingTimeCalendars = Map.of(
-            userIdCompositeBatman, workingTimeCalendarBatman
-        );
+        verifyNoInteractions(overtimeLedgerService);
+    }
 
-        final ReportDayEntry reportDayBatman = new ReportDayEntry(new TimeEntryId(1L), batman, "", ZonedDateTime.parse("2025-05-09T08:00:00Z"), ZonedDateTime.parse("2025-05-09T20:00:00Z"), WORK_12H, false);
-        final Map<UserIdComposite, List<ReportDayEntry>> reportDayEntries = Map.of(
-            userIdCompositeBatman, List.of(reportDayBatman)
-        );
+    @Test
+    void ensureGetOvertimeForDateAndUserThrowsWhenDateIsUnknown() {
 
-        final Map<UserIdComposite, WorkDuration> workDurations = Map.of(
-            // this is of interest for overtime calculation. NOT the ReportDayEntry workDuration.
-            // (workDuration is calculated and injected into ReportDay)
-            userIdCompositeBatman, WORK_12H
-        );
+        final LocalDate date = LocalDate.parse("2025-05-09");
+        final UserLocalId userLocalId = new UserLocalId(2L);
+
+        when(timeEntryDayService.getTimeEntryDays(date, date.plusDays(1), userLocalId)).thenReturn(List.of());
+
+        assertThatThrownBy(() -> sut.getOvertimeForDateAndUser(date, userLocalId))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void ensureGetOvertimeForDateAndUsers() {
+
+        final LocalDate date = LocalDate.parse("2025-05-09");
+
+        final UserLocalId userLocalIdBatman = new UserLocalId(1L);
+        final UserIdComposite userIdCompositeBatman = new UserIdComposite(new UserId("batman"), userLocalIdBatman);
+
+        final UserLocalId userLocalIdRobin = new UserLocalId(2L);
+        final UserIdComposite userIdCompositeRobin = new UserIdComposite(new UserId("robin"), userLocalIdRobin);
+
+        final TimeEntryDay timeEntryDayBatman = new TimeEntryDay(false, date, WORK_12H, PlannedWorkingHours.EIGHT, ShouldWorkingHours.EIGHT, List.of(), List.of());
+        final TimeEntryDay timeEntryDayRobin = new TimeEntryDay(false, date, WorkDuration.ZERO, PlannedWorkingHours.EIGHT, ShouldWorkingHours.EIGHT, List.of(), List.of());
+
+        when(timeEntryDayService.getTimeEntryDays(date, date.plusDays(1), List.of(userLocalIdBatman, userLocalIdRobin)))
+            .thenReturn(Map.of(
+                userIdCompositeBatman, List.of(timeEntryDayBatman),
+                userIdCompositeRobin, List.of(timeEntryDayRobin)
+            ));
 
-        final Map<UserIdComposite, List<ReportDayAbsence>> absences = Map.of(
-            userIdCompositeBatman, List.of()
+        final Map<UserIdComposite, OvertimeHours> actual = sut.getOvertimeForDateAndUsers(date, List.of(userLocalIdBatman, userLocalIdRobin));
+        assertThat(actual).containsOnly(
+            Map.entry(userIdCompositeBatman, new OvertimeHours(Duration.ofHours(4))),
+            Map.entry(userIdCompositeRobin, OvertimeHours.EIGHT_NEGATIVE)
         );
 
-        when(reportServiceRaw.getReportDayForAllUsers(date))
-            .thenReturn(new ReportDay(date, false, workingTimeCalendars, reportDayEntries, workDurations, absences));
+        verifyNoInteractions(overtimeLedgerService);
+    }
 
-        final OvertimeHours actual = sut.getOvertimeForDateAndUser(date, userLocalIdBatman);
-        assertThat(actual).isEqualTo(new OvertimeHours(Duration.ofHours(4)));
+    @Test
+    void ensureGetOvertimeForDateRangeAndUser() {
+
+        final LocalDate monday = LocalDate.parse("2025-05-05");
+        final LocalDate tuesday = LocalDate.parse("2025-05-06");
+        final LocalDate wednesday = LocalDate.parse("2025-05-07");
+        final UserLocalId userLocalId = new UserLocalId(2L);
+
+        when(timeEntryDayService.getTimeEntryDays(monday, wednesday.plusDays(1), userLocalId)).thenReturn(List.of(
+            new TimeEntryDay(false, wednesday, WorkDuration.ZERO, PlannedWorkingHours.EIGHT, ShouldWorkingHours.ZERO, List.of(), List.of()),
+            new TimeEntryDay(false, tuesday, WorkDuration.EIGHT, PlannedWorkingHours.EIGHT, ShouldWorkingHours.EIGHT, List.of(), List.of()),
+            new TimeEntryDay(false, monday, WORK_12H, PlannedWorkingHours.EIGHT, ShouldWorkingHours.EIGHT, List.of(), List.of())
+        ));
+
+        final Map<LocalDate, OvertimeHours> actual = sut.getOvertimeForDateRangeAndUser(new DateRange(monday, wednesday), userLocalId);
+        assertThat(actual).containsOnly(
+            Map.entry(monday, new OvertimeHours(Duration.ofHours(4))),
+            Map.entry(tuesday, OvertimeHours.ZERO),
+            Map.entry(wednesday, OvertimeHours.ZERO)
+        );
+
+        verifyNoInteractions(overtimeLedgerService);
     }
 }
@@ -0,0 +1,72 @@
+package de.focusshift.zeiterfassung.publicholiday;
+
+import de.focus_shift.jollyday.core.HolidayManager;
+import de.focus_shift.jollyday.core.ManagerParameters;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static de.focusshift.zeiterfassung.publicholiday.FederalState.GERMANY_BADEN_WUERTTEMBERG;
+import static de.focusshift.zeiterfassung.publicholiday.FederalState.GERMANY_BERLIN;
+import static de.focusshift.zeiterfassung.publicholiday.FederalState.GLOBAL;
+import static de.focusshift.zeiterfassung.publicholiday.FederalState.NONE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PublicHolidayIndexTest {
+
+    private PublicHolidayIndex sut;
+
+    @BeforeEach
+    void setUp() {
+        final Clock clock = Clock.fixed(LocalDate.of(2023, 6, 1).atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        sut = new PublicHolidayIndex(Map.of("de", HolidayManager.getInstance(ManagerParameters.create("de"))), clock);
+    }
+
+    @Test
+    void ensurePublicHolidaysOfFederalState() {
+
+        final LocalDate date = LocalDate.of(2023, 1, 6);
+
+        assertThat(sut.publicHolidays(GERMANY_BADEN_WUERTTEMBERG, date, date)).extracting(PublicHoliday::date).containsExactly(date);
+        assertThat(sut.publicHolidays(GERMANY_BERLIN, date, date)).isEmpty();
+    }
+
+    @Test
+    void ensurePublicHolidaysThrowsForGlobal() {
+        final LocalDate date = LocalDate.of(2023, 12, 25);
+        assertThatThrownBy(() -> sut.publicHolidays(GLOBAL, date, date)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void ensurePublicHolidaysAcrossYears() {
+
+        final List<PublicHoliday> actual = sut.publicHolidays(GERMANY_BERLIN, LocalDate.of(2023, 12, 25), LocalDate.of(2024, 1, 1));
+
+        assertThat(actual).extracting(PublicHoliday::date).containsExactly(
+            LocalDate.of(2023, 12, 25),
+            LocalDate.of(2023, 12, 26),
+            LocalDate.of(2024, 1, 1)
+        );
+    }
+
+    @Test
+    void ensurePublicHolidaysIsEmptyForNone() {
+        assertThat(sut.publicHolidays(NONE, LocalDate.of(2023, 1, 1), LocalDate.of(2023, 12, 31))).isEmpty();
+    }
+
+    @Test
+    void ensureWarmUpAndLookupsAfterwardsReturnSameResult() {
+
+        sut.warmUp();
+
+        assertThat(sut.publicHolidays(GERMANY_BADEN_WUERTTEMBERG, LocalDate.of(2022, 1, 6), LocalDate.of(2024, 1, 6)))
+            .extracting(PublicHoliday::date)
+            .contains(LocalDate.of(2022, 1, 6), LocalDate.of(2023, 1, 6), LocalDate.of(2024, 1, 6));
+    }
+}
@@ -12,6 +12,7 @@ import org.junit.jupiter.params.provider.EnumSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Clock;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Locale;
@@ -35,7 +36,8 @@ class PublicHolidaysServiceTest {
 
     @BeforeEach
     void setUp() {
-        sut = new PublicHolidaysServiceImpl(Map.of("de", getHolidayManager("de")), federalStateSettingsService);
+        final PublicHolidayIndex publicHolidayIndex = new PublicHolidayIndex(Map.of("de", getHolidayManager("de")), Clock.systemUTC());
+        sut = new PublicHolidaysServiceImpl(publicHolidayIndex, federalStateSettingsService);
     }
 
     @Test
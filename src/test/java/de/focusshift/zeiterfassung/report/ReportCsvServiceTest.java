@@ -1,11 +1,15 @@
 package de.focusshift.zeiterfassung.report;
 
 import de.focusshift.zeiterfassung.tenancy.user.EMailAddress;
+import de.focusshift.zeiterfassung.timeentry.TimeEntry;
+import de.focusshift.zeiterfassung.timeentry.TimeEntryId;
+import de.focusshift.zeiterfassung.timeentry.TimeEntryService;
 import de.focusshift.zeiterfassung.user.DateFormatter;
 import de.focusshift.zeiterfassung.user.UserId;
 import de.focusshift.zeiterfassung.user.UserIdComposite;
 import de.focusshift.zeiterfassung.usermanagement.User;
 import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import de.focusshift.zeiterfassung.usermanagement.UserManagementService;
 import de.focusshift.zeiterfassung.workduration.WorkDuration;
 import de.focusshift.zeiterfassung.workingtime.PlannedWorkingHours;
 import de.focusshift.zeiterfassung.workingtime.WorkingTimeCalendar;
@@ -31,9 +35,13 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -46,6 +54,15 @@ class ReportCsvServiceTest {
     @Mock
     private ReportService reportService;
 
+    @Mock
+    private ReportPermissionService reportPermissionService;
+
+    @Mock
+    private TimeEntryService timeEntryService;
+
+    @Mock
+    private UserManagementService userManagementService;
+
     @Mock
     private DateFormatter dateFormatter;
 
@@ -59,7 +76,7 @@ class ReportCsvServiceTest {
         when(messageSource.getMessage(any(), any(), any()))
             .thenAnswer((Answer<String>) invocationOnMock -> invocationOnMock.getArgument(0));
 
-        sut = new ReportCsvService(reportService, dateFormatter, messageSource);
+        sut = new ReportCsvService(reportService, reportPermissionService, timeEntryService, userManagementService, dateFormatter, messageSource);
     }
 
     // ------------------------------------------------------------
@@ -291,6 +308,66 @@ class ReportCsvServiceTest {
             """);
     }
 
+    @Test
+    void ensureMonthReportCsvForUserLocalIdsStreamsTimeEntriesSortedByStart() {
+
+        mockDateFormatter("dd.MM.yyyy");
+
+        final UserIdComposite batmanIdComposite = new UserIdComposite(new UserId("batman"), new UserLocalId(1L));
+        final User batman = new User(batmanIdComposite, "Bruce", "Wayne", new EMailAddress("batman@example.org"), Set.of());
+        final UserIdComposite robinIdComposite = new UserIdComposite(new UserId("robin"), new UserLocalId(2L));
+        final User robin = new User(robinIdComposite, "Dick", "Grayson", new EMailAddress("robin@example.org"), Set.of());
+
+        final List<UserLocalId> userLocalIds = List.of(batmanIdComposite.localId(), robinIdComposite.localId());
+        when(reportPermissionService.filterUserLocalIdsByCurrentUserHasPermissionFor(userLocalIds)).thenReturn(userLocalIds);
+        when(userManagementService.findAllUsersByLocalIds(userLocalIds)).thenReturn(List.of(batman, robin));
+
+        final TimeEntry first = new TimeEntry(new TimeEntryId(1L), batmanIdComposite, "hard work",
+            ZonedDateTime.of(LocalDateTime.of(2021, 1, 4, 9, 0), ZONE_ID_BERLIN), ZonedDateTime.of(LocalDateTime.of(2021, 1, 4, 10, 30), ZONE_ID_BERLIN), false);
+        final TimeEntry second = new TimeEntry(new TimeEntryId(2L), robinIdComposite, "break",
+            ZonedDateTime.of(LocalDateTime.of(2021, 1, 4, 12, 0), ZONE_ID_BERLIN), ZonedDateTime.of(LocalDateTime.of(2021, 1, 4, 12, 30), ZONE_ID_BERLIN), true);
+        final TimeEntry third = new TimeEntry(new TimeEntryId(3L), batmanIdComposite, "more work",
+            ZonedDateTime.of(LocalDateTime.of(2021, 1, 5, 8, 0), ZONE_ID_BERLIN), ZonedDateTime.of(LocalDateTime.of(2021, 1, 5, 8, 20), ZONE_ID_BERLIN), false);
+
+        doAnswer(invocation -> {
+            final Consumer<TimeEntry> consumer = invocation.getArgument(3);
+            List.of(first, second, third).forEach(consumer);
+            return null;
+        }).when(timeEntryService).forEachEntry(eq(LocalDate.of(2021, 1, 1)), eq(LocalDate.of(2021, 2, 1)), eq(userLocalIds), any());
+
+        final StringWriter stringWriter = new StringWriter();
+        final PrintWriter printWriter = new PrintWriter(stringWriter);
+
+        sut.writeMonthReportCsvForUserLocalIds(YearMonth.of(2021, 1), Locale.GERMAN, userLocalIds, printWriter);
+
+        assertThat(stringWriter).hasToString("""
+            report.csv.header.date;report.csv.header.person.givenName;report.csv.header.person.familyName;report.csv.header.start;report.csv.header.end;report.csv.header.workedHours;report.csv.header.comment;report.csv.header.break
+            04.01.2021;Bruce;Wayne;09:00;10:30;1,500;hard work;false
+            04.01.2021;Dick;Grayson;12:00;12:30;0,000;break;true
+            05.01.2021;Bruce;Wayne;08:00;08:20;0,333;more work;false
+            """);
+
+        verifyNoInteractions(reportService);
+    }
+
+    @Test
+    void ensureYearReportCsvForUserLocalIdsWithoutPermission() {
+
+        final List<UserLocalId> userLocalIds = List.of(new UserLocalId(1L));
+        when(reportPermissionService.filterUserLocalIdsByCurrentUserHasPermissionFor(userLocalIds)).thenReturn(List.of());
+
+        final StringWriter stringWriter = new StringWriter();
+        final PrintWriter printWriter = new PrintWriter(stringWriter);
+
+        sut.writeYearReportCsvForUserLocalIds(Year.of(2021), Locale.GERMAN, userLocalIds, printWriter);
+
+        assertThat(stringWriter).hasToString("""
+            report.csv.header.date;report.csv.header.person.givenName;report.csv.header.person.familyName;report.csv.header.start;report.csv.header.end;report.csv.header.workedHours;report.csv.header.comment;report.csv.header.break
+            """);
+
+        verifyNoInteractions(timeEntryService);
+    }
+
     private void mockDateFormatter(String datePattern) {
         when(dateFormatter.formatDate(any()))
             .thenAnswer(invocation -> DateTimeFormatter.ofPattern(datePattern).format(invocation.getArgument(0)));
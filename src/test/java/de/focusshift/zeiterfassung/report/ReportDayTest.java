@@ -23,12 +23,18 @@ import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
 import static de.focusshift.zeiterfassung.absence.AbsenceColor.RED;
 import static de.focusshift.zeiterfassung.absence.AbsenceTypeCategory.HOLIDAY;
 import static de.focusshift.zeiterfassung.absence.DayLength.FULL;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 class ReportDayTest {
 
@@ -236,6 +242,28 @@ class ReportDayTest {
         assertThat(sut.shouldWorkingHours()).isEqualTo(new ShouldWorkingHours(Duration.ofHours(8L)));
     }
 
+    @Test
+    void ensureDurationsAreSummarizedOnce() {
+        final UserIdComposite batmanIdComposite = new UserIdComposite(new UserId("uuid"), new UserLocalId(1337L));
+        final LocalDate reportDate = LocalDate.of(2024, 11, 13);
+
+        final WorkingTimeCalendar calendar = mock(WorkingTimeCalendar.class);
+        when(calendar.plannedWorkingHours(reportDate)).thenReturn(Optional.of(PlannedWorkingHours.EIGHT));
+        when(calendar.shouldWorkingHours(reportDate)).thenReturn(Optional.of(ShouldWorkingHours.EIGHT));
+
+        final ReportDay sut = new ReportDay(reportDate, false, Map.of(batmanIdComposite, calendar), Map.of(), Map.of(batmanIdComposite, WorkDuration.EIGHT), Map.of());
+
+        assertThat(sut.plannedWorkingHours()).isEqualTo(PlannedWorkingHours.EIGHT);
+        assertThat(sut.plannedWorkingHoursByUser()).containsExactly(entry(batmanIdComposite, PlannedWorkingHours.EIGHT));
+        assertThat(sut.shouldWorkingHours()).isEqualTo(ShouldWorkingHours.EIGHT);
+        assertThat(sut.shouldWorkingHours()).isEqualTo(ShouldWorkingHours.EIGHT);
+        assertThat(sut.shouldWorkingHoursByUser()).containsExactly(entry(batmanIdComposite, ShouldWorkingHours.EIGHT));
+        assertThat(sut.workDuration()).isEqualTo(WorkDuration.EIGHT);
+
+        verify(calendar, times(1)).plannedWorkingHours(reportDate);
+        verify(calendar, times(1)).shouldWorkingHours(reportDate);
+    }
+
     private static ZonedDateTime dateTime(int year, int month, int dayOfMonth, int hour, int minute) {
         return ZonedDateTime.of(LocalDateTime.of(year, month, dayOfMonth, hour, minute), ZONE_ID_BERLIN);
     }
@@ -1,6 +1,7 @@
 package de.focusshift.zeiterfassung.report;
 
 import de.focusshift.zeiterfassung.ControllerTest;
+import de.focusshift.zeiterfassung.data.version.DataVersionService;
 import de.focusshift.zeiterfassung.search.UserSearchViewHelper;
 import de.focusshift.zeiterfassung.security.oidc.CurrentOidcUser;
 import de.focusshift.zeiterfassung.tenancy.user.EMailAddress;
@@ -18,15 +19,18 @@ import de.focusshift.zeiterfassung.user.UserSettingsProvider;
 import de.focusshift.zeiterfassung.usermanagement.User;
 import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
 import de.focusshift.zeiterfassung.usermanagement.UserManagementService;
+import de.focusshift.zeiterfassung.web.ETagViewHelper;
 import de.focusshift.zeiterfassung.workduration.WorkDuration;
 import de.focusshift.zeiterfassung.workingtime.PlannedWorkingHours;
 import de.focusshift.zeiterfassung.workingtime.WorkingTimeCalendar;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.MessageSource;
@@ -51,11 +55,13 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
 
 import static de.focusshift.zeiterfassung.security.SecurityRole.ZEITERFASSUNG_USER;
 import static de.focusshift.zeiterfassung.security.SecurityRole.ZEITERFASSUNG_VIEW_REPORT_ALL;
 import static java.time.ZoneOffset.UTC;
 import static java.util.Locale.GERMAN;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -96,10 +102,13 @@ class ReportMonthControllerTest implements ControllerTest {
     private UserSearchViewHelper userSearchViewHelper;
     @Mock
     private MessageSource messageSource;
+    @Mock
+    private DataVersionService dataVersionService;
 
     private DateFormatterImpl dateFormatter;
     private DateRangeFormatter dateRangeFormatter;
     private ReportViewHelper reportViewHelper;
+    private final ETagViewHelper eTagViewHelper = new ETagViewHelper(true, new SimpleMeterRegistry());
     private TimeEntryViewHelper timeEntryViewHelper;
     private TimeEntryDialogHelper timeEntryDialogHelper;
 
@@ -112,7 +121,7 @@ class ReportMonthControllerTest implements ControllerTest {
         reportViewHelper = new ReportViewHelper(dateFormatter, dateRangeFormatter);
         timeEntryViewHelper = new TimeEntryViewHelper(timeEntryService, timeEntryLockService, userSettingsProvider);
         timeEntryDialogHelper = new TimeEntryDialogHelper(timeEntryService, timeEntryLockService, timeEntryViewHelper, userSettingsProvider, userManagementService);
-        sut = new ReportMonthController(reportService, reportPermissionService, dateFormatter, reportViewHelper, timeEntryDialogHelper, userSearchViewHelper, clock);
+        sut = new ReportMonthController(reportService, reportPermissionService, dateFormatter, reportViewHelper, timeEntryDialogHelper, userSearchViewHelper, dataVersionService, eTagViewHelper, clock);
     }
 
     @ParameterizedTest
@@ -531,7 +540,26 @@ class ReportMonthControllerTest implements ControllerTest {
         @BeforeEach
         void setUp() {
             timeEntryDialogHelper = mock(TimeEntryDialogHelper.class);
-            sut = new ReportMonthController(reportService, reportPermissionService, dateFormatter, reportViewHelper, timeEntryDialogHelper, userSearchViewHelper, clock);
+            sut = new ReportMonthController(reportService, reportPermissionService, dateFormatter, reportViewHelper, timeEntryDialogHelper, userSearchViewHelper, dataVersionService, eTagViewHelper, clock);
+        }
+
+        @Test
+        void ensureTimeEntryDialogWithOlderHistory() throws Exception {
+
+            perform(get("/report/year/2025/month/2")
+                .param("user", "2")
+                .param("timeEntryId", "1")
+                .param("historyBefore", "42")
+            )
+                .andExpect(status().isOk())
+                .andExpect(view().name("reports/user-report-edit-time-entry"));
+
+            @SuppressWarnings("unchecked")
+            final ArgumentCaptor<Function<Long, String>> olderHistoryUrlCaptor = ArgumentCaptor.forClass(Function.class);
+            verify(timeEntryDialogHelper).addTimeEntryEditToModel(any(Model.class), nullable(CurrentOidcUser.class), eq(1L), eq(42L),
+                olderHistoryUrlCaptor.capture(), anyString(), anyString());
+
+            assertThat(olderHistoryUrlCaptor.getValue().apply(21L)).isEqualTo("http://localhost/report/year/2025/month/2?user=2&timeEntryId=1&historyBefore=21");
         }
 
         @Test
@@ -155,7 +155,7 @@ class ReportPermissionServiceTest {
             new User(userIdComposite_3, "", "", new EMailAddress(""), Set.of())
         );
 
-        when(userManagementService.findAllUsers()).thenReturn(userList);
+        when(userManagementService.findAllUsers("")).thenReturn(userList);
 
         assertThat(sut.findAllPermittedUsersForCurrentUser()).isSameAs(userList);
     }
@@ -17,6 +17,8 @@ import de.focusshift.zeiterfassung.workduration.WorkDuration;
 import de.focusshift.zeiterfassung.workingtime.PlannedWorkingHours;
 import de.focusshift.zeiterfassung.workingtime.WorkingTimeCalendar;
 import de.focusshift.zeiterfassung.workingtime.WorkingTimeCalendarService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -65,9 +67,12 @@ class ReportServiceRawTest {
     @Mock
     private TimeEntryLockService timeEntryLockService;
 
+    private SimpleMeterRegistry meterRegistry;
+
     @BeforeEach
     void setUp() {
-        sut = new ReportServiceRaw(timeEntryDayService, userManagementService, userDateService, workingTimeCalendarService, timeEntryLockService);
+        meterRegistry = new SimpleMeterRegistry();
+        sut = new ReportServiceRaw(timeEntryDayService, userManagementService, userDateService, workingTimeCalendarService, timeEntryLockService, meterRegistry);
     }
 
     // ------------------------------------------------------------
@@ -298,6 +303,21 @@ class ReportServiceRawTest {
         verify(workingTimeCalendarService).getWorkingTimeCalendarForAllUsers(start, endExclusive);
     }
 
+    @Test
+    void ensureReportDurationIsRecordedWithReportAndUserCountBucket() {
+
+        when(userDateService.firstDayOfWeek(Year.of(2024), 1)).thenReturn(LocalDate.of(2024, 1, 1));
+
+        final User batman = new User(new UserIdComposite(new UserId("uuid"), new UserLocalId(1L)), "Bruce", "Wayne", new EMailAddress("batman@example.org"), Set.of());
+        final User robin = new User(new UserIdComposite(new UserId("uuid2"), new UserLocalId(2L)), "Dick", "Grayson", new EMailAddress("robin@example.org"), Set.of());
+        when(userManagementService.findAllUsers()).thenReturn(List.of(batman, robin));
+
+        sut.getReportWeekForAllUsers(Year.of(2024), 1);
+
+        final Timer timer = meterRegistry.get("zeiterfassung.report.duration").tag("report", "week").tag("users", "2-10").timer();
+        assertThat(timer.count()).isOne();
+    }
+
     @Test
     void ensureReportWeekForAllUsersIncludesEntriesForEveryUserDespiteNoTimeEntries() {
 
@@ -3,6 +3,7 @@ package de.focusshift.zeiterfassung.report;
 import de.focusshift.zeiterfassung.ControllerTest;
 import de.focusshift.zeiterfassung.absence.Absence;
 import de.focusshift.zeiterfassung.absence.DayLength;
+import de.focusshift.zeiterfassung.data.version.DataVersionService;
 import de.focusshift.zeiterfassung.search.UserSearchViewHelper;
 import de.focusshift.zeiterfassung.security.oidc.CurrentOidcUser;
 import de.focusshift.zeiterfassung.tenancy.user.EMailAddress;
@@ -16,18 +17,22 @@ import de.focusshift.zeiterfassung.user.UserId;
 import de.focusshift.zeiterfassung.user.UserIdComposite;
 import de.focusshift.zeiterfassung.usermanagement.User;
 import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import de.focusshift.zeiterfassung.web.ETagViewHelper;
 import de.focusshift.zeiterfassung.workduration.WorkDuration;
 import de.focusshift.zeiterfassung.workingtime.PlannedWorkingHours;
 import de.focusshift.zeiterfassung.workingtime.WorkingTimeCalendar;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.MessageSource;
+import org.springframework.mock.web.MockHttpSession;
 import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
 import org.springframework.security.web.context.SecurityContextHolderFilter;
 import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
@@ -51,6 +56,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
 
 import static de.focusshift.zeiterfassung.absence.AbsenceColor.ORANGE;
 import static de.focusshift.zeiterfassung.absence.AbsenceTypeCategory.HOLIDAY;
@@ -58,12 +64,14 @@ import static de.focusshift.zeiterfassung.security.SecurityRole.ZEITERFASSUNG_US
 import static de.focusshift.zeiterfassung.security.SecurityRole.ZEITERFASSUNG_VIEW_REPORT_ALL;
 import static java.time.ZoneOffset.UTC;
 import static java.util.Locale.GERMAN;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.nullable;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.oidcLogin;
@@ -71,6 +79,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.flash;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.forwardedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -92,10 +101,13 @@ class ReportWeekControllerTest implements ControllerTest {
     private UserSearchViewHelper userSearchViewHelper;
     @Mock
     private MessageSource messageSource;
+    @Mock
+    private DataVersionService dataVersionService;
 
     private DateFormatter dateFormatter;
     private DateRangeFormatter dateRangeFormatter;
     private ReportViewHelper reportViewHelper;
+    private final ETagViewHelper eTagViewHelper = new ETagViewHelper(true, new SimpleMeterRegistry());
 
     private final Clock clock = Clock.systemUTC();
 
@@ -104,7 +116,7 @@ class ReportWeekControllerTest implements ControllerTest {
         dateFormatter = new DateFormatterImpl();
         dateRangeFormatter = new DateRangeFormatter(dateFormatter, messageSource);
         reportViewHelper = new ReportViewHelper(dateFormatter, dateRangeFormatter);
-        sut = new ReportWeekController(reportService, reportPermissionService, reportViewHelper, timeEntryDialogHelper, userSearchViewHelper, clock);
+        sut = new ReportWeekController(reportService, reportPermissionService, reportViewHelper, timeEntryDialogHelper, userSearchViewHelper, dataVersionService, eTagViewHelper, clock);
     }
 
     @ParameterizedTest
@@ -334,6 +346,60 @@ class ReportWeekControllerTest implements ControllerTest {
             .andExpect(model().attribute("userReportNextSectionUrl", "/report/year/2022/week/2?user=1&user=2&user=42"));
     }
 
+    @Test
+    void ensureWeekReportIsNotModified() throws Exception {
+
+        final UserId userId = new UserId("batman");
+        final UserLocalId userLocalId = new UserLocalId(1L);
+        final UserIdComposite userIdComposite = new UserIdComposite(userId, userLocalId);
+
+        when(dataVersionService.getDataVersion(userIdComposite, LocalDate.parse("2022-01-03"), LocalDate.parse("2022-01-10"), List.of(userLocalId)))
+            .thenReturn("version");
+        when(reportService.getReportWeek(Year.of(2022), 1, userLocalId))
+            .thenReturn(anyReportWeek());
+
+        final MockHttpSession session = new MockHttpSession();
+
+        final String eTag = perform(get("/report/year/2022/week/1").with(oidcSubject(userIdComposite)).session(session))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Cache-Control", "private, no-cache"))
+            .andReturn().getResponse().getHeader("ETag");
+
+        perform(
+            get("/report/year/2022/week/1")
+                .with(oidcSubject(userIdComposite))
+                .session(session)
+                .header("If-None-Match", eTag)
+        )
+            .andExpect(status().isNotModified());
+
+        verify(reportService, times(1)).getReportWeek(Year.of(2022), 1, userLocalId);
+    }
+
+    @Test
+    void ensureWeekReportIsRenderedWhenDataVersionChanged() throws Exception {
+
+        when(dataVersionService.getDataVersionOfAllUsers(any(UserIdComposite.class), eq(LocalDate.parse("2022-01-03")), eq(LocalDate.parse("2022-01-10"))))
+            .thenReturn("version", "changed-version");
+        when(reportService.getReportWeekForAllUsers(Year.of(2022), 1))
+            .thenReturn(anyReportWeek());
+
+        final String eTag = perform(get("/report/year/2022/week/1").with(oidcSubject("batman")).param("everyone", ""))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader("ETag");
+
+        perform(
+            get("/report/year/2022/week/1")
+                .with(oidcSubject("batman"))
+                .param("everyone", "")
+                .header("If-None-Match", eTag)
+        )
+            .andExpect(status().isOk())
+            .andExpect(view().name("reports/user-report"));
+
+        verify(reportService, times(2)).getReportWeekForAllUsers(Year.of(2022), 1);
+    }
+
     @Test
     void ensureWeekReportCsvDownloadUrl() throws Exception {
 
@@ -511,7 +577,26 @@ class ReportWeekControllerTest implements ControllerTest {
         @BeforeEach
         void setUp() {
             timeEntryDialogHelper = mock(TimeEntryDialogHelper.class);
-            sut = new ReportWeekController(reportService, reportPermissionService, reportViewHelper, timeEntryDialogHelper, userSearchViewHelper, clock);
+            sut = new ReportWeekController(reportService, reportPermissionService, reportViewHelper, timeEntryDialogHelper, userSearchViewHelper, dataVersionService, eTagViewHelper, clock);
+        }
+
+        @Test
+        void ensureTimeEntryDialogWithOlderHistory() throws Exception {
+
+            perform(get("/report/year/2025/week/9")
+                .param("user", "2")
+                .param("timeEntryId", "1")
+                .param("historyBefore", "42")
+            )
+                .andExpect(status().isOk())
+                .andExpect(view().name("reports/user-report-edit-time-entry"));
+
+            @SuppressWarnings("unchecked")
+            final ArgumentCaptor<Function<Long, String>> olderHistoryUrlCaptor = ArgumentCaptor.forClass(Function.class);
+            verify(timeEntryDialogHelper).addTimeEntryEditToModel(any(Model.class), nullable(CurrentOidcUser.class), eq(1L), eq(42L),
+                olderHistoryUrlCaptor.capture(), anyString(), anyString());
+
+            assertThat(olderHistoryUrlCaptor.getValue().apply(21L)).isEqualTo("http://localhost/report/year/2025/week/9?user=2&timeEntryId=1&historyBefore=21");
         }
 
         @Test
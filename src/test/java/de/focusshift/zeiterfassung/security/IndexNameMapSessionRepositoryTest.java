@@ -1,15 +1,22 @@
 package de.focusshift.zeiterfassung.security;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
 import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
 import org.springframework.security.oauth2.core.oidc.OidcIdToken;
 import org.springframework.security.oauth2.core.oidc.user.DefaultOidcUser;
 import org.springframework.session.MapSession;
 import org.springframework.session.Session;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.Map;
 
@@ -17,15 +24,44 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
+import static org.springframework.security.web.context.HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY;
 import static org.springframework.session.FindByIndexNameSessionRepository.PRINCIPAL_NAME_INDEX_NAME;
 
 class IndexNameMapSessionRepositoryTest {
 
+    private static final Instant NOW = Instant.parse("2025-05-01T10:00:00Z");
+
     private IndexNameMapSessionRepository sut;
+    private SimpleMeterRegistry meterRegistry;
+    private Instant now = NOW;
+
+    private final Clock clock = new Clock() {
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    };
 
     @BeforeEach
     void setUp() {
-        sut = new IndexNameMapSessionRepository();
+        now = NOW;
+        meterRegistry = new SimpleMeterRegistry();
+        sut = new IndexNameMapSessionRepository(new OidcSubjectIndexResolver(), Duration.ofMinutes(30), 3, clock, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
     }
 
     @Test
@@ -33,6 +69,11 @@ class IndexNameMapSessionRepositoryTest {
         assertThat(sut.createSession()).isInstanceOf(MapSession.class);
     }
 
+    @Test
+    void createSessionWithMaxInactiveInterval() {
+        assertThat(sut.createSession().getMaxInactiveInterval()).isEqualTo(Duration.ofMinutes(30));
+    }
+
     @Test
     void saveAndFindById() {
 
@@ -95,6 +136,137 @@ class IndexNameMapSessionRepositoryTest {
         assertThat(sut.findByIndexNameAndIndexValue(PRINCIPAL_NAME_INDEX_NAME, "user")).isEmpty();
     }
 
+    @Test
+    void ensureToIndexSessionByItsOwnSecurityContextInsteadOfTheCurrentOne() {
+
+        final MapSession session = new MapSession("id");
+        session.setAttribute(SPRING_SECURITY_CONTEXT_KEY, new SecurityContextImpl(prepareOAuth2Authentication("user")));
+
+        SecurityContextHolder.getContext().setAuthentication(prepareOAuth2Authentication("admin"));
+        sut.save(session);
+
+        assertThat(sut.findByIndexNameAndIndexValue(PRINCIPAL_NAME_INDEX_NAME, "user")).containsOnlyKeys("id");
+        assertThat(sut.findByIndexNameAndIndexValue(PRINCIPAL_NAME_INDEX_NAME, "admin")).isEmpty();
+    }
+
+    @Test
+    void ensureToKeepPrincipalOfSessionWhenSavedByAnotherUser() {
+
+        SecurityContextHolder.getContext().setAuthentication(prepareOAuth2Authentication("user"));
+        final MapSession session = new MapSession("id");
+        sut.save(session);
+
+        SecurityContextHolder.getContext().setAuthentication(prepareOAuth2Authentication("admin"));
+        sut.save(sut.findById("id"));
+
+        assertThat(sut.findByIndexNameAndIndexValue(PRINCIPAL_NAME_INDEX_NAME, "user")).containsOnlyKeys("id");
+        assertThat(sut.findByIndexNameAndIndexValue(PRINCIPAL_NAME_INDEX_NAME, "admin")).isEmpty();
+    }
+
+    @Test
+    void ensureToReindexSessionWithChangedId() {
+
+        SecurityContextHolder.getContext().setAuthentication(prepareOAuth2Authentication("user"));
+        final MapSession session = new MapSession("id");
+        sut.save(session);
+
+        session.setId("new-id");
+        sut.save(session);
+
+        assertThat(sut.findById("id")).isNull();
+        assertThat(sut.findById("new-id")).isEqualTo(session);
+        assertThat(sut.findByIndexNameAndIndexValue(PRINCIPAL_NAME_INDEX_NAME, "user")).containsOnlyKeys("new-id");
+    }
+
+    @Test
+    void ensureToNotFindExpiredSession() {
+
+        SecurityContextHolder.getContext().setAuthentication(prepareOAuth2Authentication("user"));
+        final MapSession session = session("id", NOW);
+        sut.save(session);
+
+        now = NOW.plus(Duration.ofMinutes(30)).minusSeconds(1);
+        assertThat(sut.findById("id")).isEqualTo(session);
+
+        now = NOW.plus(Duration.ofMinutes(30));
+        assertThat(sut.findById("id")).isNull();
+        assertThat(sut.findByIndexNameAndIndexValue(PRINCIPAL_NAME_INDEX_NAME, "user")).isEmpty();
+        assertThat(meterRegistry.get("zeiterfassung.session.removed").tag("reason", "expired").counter().count()).isOne();
+    }
+
+    @Test
+    void ensureToNotFindExpiredSessionByPrincipalName() {
+
+        SecurityContextHolder.getContext().setAuthentication(prepareOAuth2Authentication("user"));
+        final MapSession expired = session("id1", NOW.minus(Duration.ofMinutes(30)));
+        final MapSession active = session("id2", NOW);
+        sut.save(expired);
+        sut.save(active);
+
+        assertThat(sut.findByIndexNameAndIndexValue(PRINCIPAL_NAME_INDEX_NAME, "user")).containsOnlyKeys("id2");
+    }
+
+    @Test
+    void ensureToNotExpireSessionWithNegativeMaxInactiveInterval() {
+
+        final MapSession session = session("id", NOW);
+        session.setMaxInactiveInterval(Duration.ofSeconds(-1));
+        sut.save(session);
+
+        now = NOW.plus(Duration.ofDays(365));
+        sut.cleanUpExpiredSessions();
+
+        assertThat(sut.findById("id")).isEqualTo(session);
+    }
+
+    @Test
+    void cleanUpExpiredSessions() {
+
+        SecurityContextHolder.getContext().setAuthentication(prepareOAuth2Authentication("user"));
+        sut.save(session("id1", NOW.minus(Duration.ofMinutes(40))));
+        sut.save(session("id2", NOW.minus(Duration.ofMinutes(20))));
+
+        sut.cleanUpExpiredSessions();
+
+        assertThat(sut.findByIndexNameAndIndexValue(PRINCIPAL_NAME_INDEX_NAME, "user")).containsOnlyKeys("id2");
+        assertThat(meterRegistry.get("zeiterfassung.session.size").gauge().value()).isOne();
+    }
+
+    @Test
+    void ensureToRemoveLeastRecentlyUsedSessionsBeyondMaxSessions() {
+
+        SecurityContextHolder.getContext().setAuthentication(prepareOAuth2Authentication("user"));
+        sut.save(session("id1", NOW.minusSeconds(10)));
+        sut.save(session("id2", NOW.minusSeconds(30)));
+        sut.save(session("id3", NOW.minusSeconds(20)));
+        sut.save(session("id4", NOW));
+
+        assertThat(sut.findById("id2")).isNull();
+        assertThat(sut.findByIndexNameAndIndexValue(PRINCIPAL_NAME_INDEX_NAME, "user")).containsOnlyKeys("id1", "id3", "id4");
+        assertThat(meterRegistry.get("zeiterfassung.session.removed").tag("reason", "evicted").counter().count()).isOne();
+    }
+
+    @Test
+    void ensureToRemoveExpiredSessionsBeforeLeastRecentlyUsedBeyondMaxSessions() {
+
+        sut.save(session("id1", NOW.minus(Duration.ofMinutes(31))));
+        sut.save(session("id2", NOW.minus(Duration.ofMinutes(30))));
+        sut.save(session("id3", NOW.minusSeconds(20)));
+        sut.save(session("id4", NOW));
+
+        assertThat(sut.findById("id3")).isNotNull();
+        assertThat(sut.findById("id4")).isNotNull();
+        assertThat(meterRegistry.get("zeiterfassung.session.removed").tag("reason", "expired").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("zeiterfassung.session.removed").tag("reason", "evicted").counter().count()).isZero();
+    }
+
+    private static MapSession session(String id, Instant lastAccessedTime) {
+        final MapSession session = new MapSession(id);
+        session.setMaxInactiveInterval(Duration.ofMinutes(30));
+        session.setLastAccessedTime(lastAccessedTime);
+        return session;
+    }
+
     private OAuth2AuthenticationToken prepareOAuth2Authentication(String subject) {
 
         final DefaultOidcUser oidcUser = new DefaultOidcUser(
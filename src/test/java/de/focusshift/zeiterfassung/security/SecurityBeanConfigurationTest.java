@@ -88,6 +88,11 @@ class SecurityBeanConfigurationTest {
             return null;
         }
 
+        @Override
+        public List<TenantUser> findUsers(String query, int limit) {
+            return null;
+        }
+
         @Override
         public List<TenantUser> findAllUsersById(Collection<UserId> userIds) {
             return null;
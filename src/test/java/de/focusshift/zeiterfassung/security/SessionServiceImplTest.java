@@ -21,6 +21,8 @@ import java.util.Optional;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -92,6 +94,16 @@ class SessionServiceImplTest {
         assertThat((Boolean) session.getAttribute("reloadAuthorities")).isNull();
     }
 
+    @Test
+    void unmarkSessionToReloadAuthoritiesIgnoresExpiredSession() {
+
+        when(sessionRepository.findById("SomeSessionId")).thenReturn(null);
+
+        sut.unmarkSessionToReloadAuthorities("SomeSessionId");
+
+        verify(sessionRepository, never()).save(any());
+    }
+
     private static User anyUser(UserLocalId userLocalId, UserId userId) {
         return new User(
             new UserIdComposite(userId, userLocalId),
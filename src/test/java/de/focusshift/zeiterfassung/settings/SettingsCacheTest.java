@@ -0,0 +1,132 @@
+package de.focusshift.zeiterfassung.settings;
+
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantId;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SettingsCacheTest {
+
+    private static final SettingsSnapshot SNAPSHOT = new SettingsSnapshot(FederalStateSettings.DEFAULT, LockTimeEntriesSettings.DEFAULT, Optional.empty());
+    private static final SettingsSnapshot OTHER_SNAPSHOT = new SettingsSnapshot(FederalStateSettings.DEFAULT, new LockTimeEntriesSettings(true, 5), Optional.empty());
+
+    private static final Instant NOW = Instant.parse("2024-01-01T10:00:00Z");
+
+    private Instant now = NOW;
+
+    private final Clock clock = new Clock() {
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    };
+
+    private final AtomicReference<Optional<TenantId>> currentTenantId = new AtomicReference<>(Optional.of(new TenantId("one")));
+    private final TenantContextHolder tenantContextHolder = new TenantContextHolder() {
+        @Override
+        public Optional<TenantId> getCurrentTenantId() {
+            return currentTenantId.get();
+        }
+    };
+
+    @Test
+    void ensureSnapshotIsLoadedOncePerTenant() {
+
+        final SettingsCache sut = new SettingsCache(true, Duration.ofMinutes(1), tenantContextHolder, clock, new SimpleMeterRegistry());
+        final AtomicInteger loads = new AtomicInteger();
+        final Supplier<SettingsSnapshot> loader = () -> {
+            loads.incrementAndGet();
+            return SNAPSHOT;
+        };
+
+        assertThat(sut.get(loader)).hasValue(SNAPSHOT);
+        assertThat(sut.get(loader)).hasValue(SNAPSHOT);
+        assertThat(loads).hasValue(1);
+
+        currentTenantId.set(Optional.of(new TenantId("two")));
+        assertThat(sut.get(loader)).hasValue(SNAPSHOT);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void ensureSnapshotIsReloadedAfterTimeToLive() {
+
+        final SettingsCache sut = new SettingsCache(true, Duration.ofMinutes(1), tenantContextHolder, clock, new SimpleMeterRegistry());
+
+        assertThat(sut.get(() -> SNAPSHOT)).hasValue(SNAPSHOT);
+
+        now = NOW.plusSeconds(59);
+        assertThat(sut.get(() -> OTHER_SNAPSHOT)).hasValue(SNAPSHOT);
+
+        now = NOW.plusSeconds(60);
+        assertThat(sut.get(() -> OTHER_SNAPSHOT)).hasValue(OTHER_SNAPSHOT);
+    }
+
+    @Test
+    void ensureEvictRemovesSnapshotOfCurrentTenantOnly() {
+
+        final SettingsCache sut = new SettingsCache(true, Duration.ofMinutes(1), tenantContextHolder, clock, new SimpleMeterRegistry());
+
+        sut.get(() -> SNAPSHOT);
+        currentTenantId.set(Optional.of(new TenantId("two")));
+        sut.get(() -> SNAPSHOT);
+
+        sut.on(new SettingsChangedEvent());
+
+        assertThat(sut.get(() -> OTHER_SNAPSHOT)).hasValue(OTHER_SNAPSHOT);
+        currentTenantId.set(Optional.of(new TenantId("one")));
+        assertThat(sut.get(() -> OTHER_SNAPSHOT)).hasValue(SNAPSHOT);
+    }
+
+    @Test
+    void ensureSnapshotLoadedConcurrentlyToEvictionIsNotCached() {
+
+        final SettingsCache sut = new SettingsCache(true, Duration.ofMinutes(1), tenantContextHolder, clock, new SimpleMeterRegistry());
+
+        final Optional<SettingsSnapshot> loaded = sut.get(() -> {
+            sut.evict();
+            return SNAPSHOT;
+        });
+        assertThat(loaded).hasValue(SNAPSHOT);
+
+        assertThat(sut.get(() -> OTHER_SNAPSHOT)).hasValue(OTHER_SNAPSHOT);
+    }
+
+    @Test
+    void ensureEmptyWithoutTenant() {
+
+        final SettingsCache sut = new SettingsCache(true, Duration.ofMinutes(1), tenantContextHolder, clock, new SimpleMeterRegistry());
+        currentTenantId.set(Optional.empty());
+
+        assertThat(sut.get(() -> SNAPSHOT)).isEmpty();
+    }
+
+    @Test
+    void ensureEmptyWhenDisabled() {
+
+        final SettingsCache sut = new SettingsCache(false, Duration.ofMinutes(1), tenantContextHolder, clock, new SimpleMeterRegistry());
+
+        assertThat(sut.get(() -> SNAPSHOT)).isEmpty();
+    }
+}
@@ -1,6 +1,10 @@
 package de.focusshift.zeiterfassung.settings;
 
+import de.focusshift.zeiterfassung.publicholiday.FederalState;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantId;
 import de.focusshift.zeiterfassung.timeentry.events.DayLockedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -11,6 +15,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
@@ -22,8 +27,9 @@ import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.assertArg;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -50,10 +56,90 @@ class SettingsServiceTest {
             lockTimeEntriesSettingsRepository,
             subtractBreakFromTimeEntrySettingsRepository,
             applicationEventPublisher,
+            new SettingsCache(false, Duration.ofMinutes(1), new TenantContextHolder() {}, clock, new SimpleMeterRegistry()),
             clock
         );
     }
 
+    @Nested
+    class CachedSettingsTest {
+
+        @BeforeEach
+        void setUp() {
+            final TenantContextHolder tenantContextHolder = new TenantContextHolder() {
+                @Override
+                public Optional<TenantId> getCurrentTenantId() {
+                    return Optional.of(new TenantId("tenant"));
+                }
+            };
+            sut = new SettingsService(
+                federalStateSettingsRepository,
+                lockTimeEntriesSettingsRepository,
+                subtractBreakFromTimeEntrySettingsRepository,
+                applicationEventPublisher,
+                new SettingsCache(true, Duration.ofMinutes(1), tenantContextHolder, clock, new SimpleMeterRegistry()),
+                clock
+            );
+        }
+
+        @Test
+        void ensureSettingsAreLoadedOnceForAllSettingsTypes() {
+
+            when(federalStateSettingsRepository.findAll()).thenReturn(List.of());
+            when(lockTimeEntriesSettingsRepository.findAll()).thenReturn(List.of());
+            when(subtractBreakFromTimeEntrySettingsRepository.findAll()).thenReturn(List.of());
+
+            assertThat(sut.getFederalStateSettings()).isEqualTo(FederalStateSettings.DEFAULT);
+            assertThat(sut.getLockTimeEntriesSettings()).isEqualTo(LockTimeEntriesSettings.DEFAULT);
+            assertThat(sut.getSubtractBreakFromTimeEntrySettings()).isEmpty();
+            assertThat(sut.getLockTimeEntriesSettings()).isEqualTo(LockTimeEntriesSettings.DEFAULT);
+
+            verify(federalStateSettingsRepository).findAll();
+            verify(lockTimeEntriesSettingsRepository).findAll();
+            verify(subtractBreakFromTimeEntrySettingsRepository).findAll();
+        }
+
+        @Test
+        void ensureUpdatedSettingsAreNotAnsweredFromCache() {
+
+            when(federalStateSettingsRepository.findAll()).thenReturn(List.of());
+            when(lockTimeEntriesSettingsRepository.findAll()).thenReturn(List.of());
+            when(subtractBreakFromTimeEntrySettingsRepository.findAll()).thenReturn(List.of());
+            when(lockTimeEntriesSettingsRepository.save(any(LockTimeEntriesSettingsEntity.class))).thenAnswer(returnsFirstArg());
+
+            assertThat(sut.getLockTimeEntriesSettings()).isEqualTo(LockTimeEntriesSettings.DEFAULT);
+
+            sut.updateLockTimeEntriesSettings(false, 5);
+
+            final LockTimeEntriesSettingsEntity updated = new LockTimeEntriesSettingsEntity();
+            updated.setLockingIsActive(false);
+            updated.setLockTimeEntriesDaysInPast(5);
+            when(lockTimeEntriesSettingsRepository.findAll()).thenReturn(List.of(updated));
+
+            assertThat(sut.getLockTimeEntriesSettings()).isEqualTo(new LockTimeEntriesSettings(false, 5));
+
+            // initial load, entity of the update and reload after the update
+            verify(lockTimeEntriesSettingsRepository, times(3)).findAll();
+            verify(applicationEventPublisher).publishEvent(new SettingsChangedEvent());
+        }
+    }
+
+    @Nested
+    class FederalStateSettingsTest {
+
+        @Test
+        void ensureUpdateFederalStateSettingsPublishesEvent() {
+
+            when(federalStateSettingsRepository.findAll()).thenReturn(List.of());
+            when(federalStateSettingsRepository.save(any(FederalStateSettingsEntity.class))).thenAnswer(returnsFirstArg());
+
+            final FederalStateSettings actual = sut.updateFederalStateSettings(FederalState.GERMANY_BAYERN, true);
+            assertThat(actual).isEqualTo(new FederalStateSettings(FederalState.GERMANY_BAYERN, true));
+
+            verify(applicationEventPublisher).publishEvent(new FederalStateSettingsUpdatedEvent(FederalState.GERMANY_BAYERN, true));
+        }
+    }
+
     @Nested
     class LockTimeEntriesSettingsTest {
 
@@ -144,7 +230,8 @@ class SettingsServiceTest {
             assertThat(actual.lockingIsActive()).isFalse();
             assertThat(actual.lockTimeEntriesDaysInPast()).isEqualTo(9);
 
-            verifyNoInteractions(applicationEventPublisher);
+            verify(applicationEventPublisher).publishEvent(new SettingsChangedEvent());
+            verifyNoMoreInteractions(applicationEventPublisher);
         }
 
         @Test
@@ -231,7 +318,8 @@ class SettingsServiceTest {
             assertThat(actual.lockingIsActive()).isTrue();
             assertThat(actual.lockTimeEntriesDaysInPast()).isEqualTo(2);
 
-            verifyNoInteractions(applicationEventPublisher);
+            verify(applicationEventPublisher).publishEvent(new SettingsChangedEvent());
+            verifyNoMoreInteractions(applicationEventPublisher);
         }
     }
 
@@ -294,6 +382,7 @@ class SettingsServiceTest {
             assertThat(result.subtractBreakFromTimeEntryEnabledTimestamp()).hasValue(timestamp);
 
             verify(subtractBreakFromTimeEntrySettingsRepository).save(assertArg(entity -> assertThat(entity.getId()).isNull()));
+            verify(applicationEventPublisher).publishEvent(new SubtractBreakFromTimeEntrySettingsUpdatedEvent(true, timestamp));
         }
 
         @Test
@@ -0,0 +1,200 @@
+package de.focusshift.zeiterfassung.tenancy.configuration.multi;
+
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantId;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TenantAwareDataSourceTest {
+
+    @Mock
+    private DataSource targetDataSource;
+    @Mock
+    private TenantContextHolder tenantContextHolder;
+    @Mock
+    private Connection connection;
+    @Mock
+    private Statement statement;
+    @Mock
+    private PreparedStatement preparedStatement;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        meterRegistry = new SimpleMeterRegistry();
+        when(targetDataSource.getConnection()).thenReturn(connection);
+        lenient().when(connection.createStatement()).thenReturn(statement);
+        lenient().when(connection.prepareStatement("RESET app.tenant_id")).thenReturn(preparedStatement);
+        lenient().when(connection.unwrap(Connection.class)).thenReturn(connection);
+        lenient().when(connection.getAutoCommit()).thenReturn(true);
+    }
+
+    @Nested
+    class SetAndResetForEveryCheckout {
+
+        private TenantAwareDataSource sut;
+
+        @BeforeEach
+        void setUp() {
+            sut = new TenantAwareDataSource(targetDataSource, tenantContextHolder, false, meterRegistry);
+        }
+
+        @Test
+        void ensureSetsTenantIdOnCheckoutAndResetsOnClose() throws SQLException {
+
+            when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(new TenantId("tenant")));
+
+            final Connection actual = sut.getConnection();
+            verify(statement).execute("SET app.tenant_id TO 'tenant'");
+            verify(preparedStatement, never()).execute();
+
+            actual.close();
+            verify(preparedStatement).execute();
+            verify(connection).close();
+
+            assertThat(meterRegistry.get("zeiterfassung.datasource.tenant.binding").tag("operation", "set").timer().count()).isOne();
+            assertThat(meterRegistry.get("zeiterfassung.datasource.tenant.binding").tag("operation", "reset").timer().count()).isOne();
+        }
+
+        @Test
+        void ensureSetsFallbackTenantIdWithoutTenantContext() throws SQLException {
+
+            when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.empty());
+
+            sut.getConnection();
+
+            verify(statement).execute("SET app.tenant_id TO 'DEFAULT'");
+        }
+
+        @Test
+        void ensureClosesTargetConnectionWhenResetFails() throws SQLException {
+
+            when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(new TenantId("tenant")));
+            doThrow(new SQLException("boom")).when(preparedStatement).execute();
+
+            final Connection actual = sut.getConnection();
+
+            assertThatThrownBy(actual::close).isInstanceOf(SQLException.class);
+            verify(connection).close();
+        }
+
+        @Test
+        void ensureClosesConnectionWhenSetFails() throws SQLException {
+
+            when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(new TenantId("tenant")));
+            when(statement.execute(anyString())).thenThrow(new SQLException("boom"));
+
+            assertThatThrownBy(sut::getConnection).isInstanceOf(SQLException.class);
+            verify(connection).close();
+        }
+
+        @Test
+        void ensureReturnsConnectionProxyOfTarget() throws SQLException {
+
+            when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(new TenantId("tenant")));
+
+            final Connection actual = sut.getConnection();
+
+            assertThat(actual.unwrap(ConnectionProxy.class).getTargetConnection()).isSameAs(connection);
+            assertThat(actual.isWrapperFor(ConnectionProxy.class)).isTrue();
+        }
+    }
+
+    @Nested
+    class ReuseTenantBinding {
+
+        private TenantAwareDataSource sut;
+
+        @BeforeEach
+        void setUp() {
+            sut = new TenantAwareDataSource(targetDataSource, tenantContextHolder, true, meterRegistry);
+        }
+
+        @Test
+        void ensureSkipsSetForConnectionAlreadyBoundToTenant() throws SQLException {
+
+            when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(new TenantId("tenant")));
+
+            sut.getConnection().close();
+            sut.getConnection().close();
+
+            verify(statement).execute("SET app.tenant_id TO 'tenant'");
+            verify(connection, never()).prepareStatement("RESET app.tenant_id");
+            verify(connection, times(2)).close();
+
+            assertThat(meterRegistry.get("zeiterfassung.datasource.tenant.binding").tag("operation", "set").timer().count()).isOne();
+            assertThat(meterRegistry.get("zeiterfassung.datasource.tenant.binding.skipped").counter().count()).isOne();
+        }
+
+        @Test
+        void ensureSetsTenantIdForConnectionBoundToAnotherTenant() throws SQLException {
+
+            when(tenantContextHolder.getCurrentTenantId())
+                .thenReturn(Optional.of(new TenantId("one")))
+                .thenReturn(Optional.of(new TenantId("two")))
+                .thenReturn(Optional.of(new TenantId("one")));
+
+            sut.getConnection().close();
+            sut.getConnection().close();
+            sut.getConnection().close();
+
+            verify(statement, times(2)).execute("SET app.tenant_id TO 'one'");
+            verify(statement).execute("SET app.tenant_id TO 'two'");
+        }
+
+        @Test
+        void ensureSetsTenantIdAgainAfterFailedSet() throws SQLException {
+
+            when(tenantContextHolder.getCurrentTenantId())
+                .thenReturn(Optional.of(new TenantId("tenant")))
+                .thenReturn(Optional.of(new TenantId("other")))
+                .thenReturn(Optional.of(new TenantId("tenant")));
+            when(statement.execute("SET app.tenant_id TO 'other'")).thenThrow(new SQLException("boom"));
+
+            sut.getConnection().close();
+            assertThatThrownBy(sut::getConnection).isInstanceOf(SQLException.class);
+            sut.getConnection().close();
+
+            // the binding is unknown after the failed SET, so the tenant has to be set again
+            verify(statement, times(2)).execute("SET app.tenant_id TO 'tenant'");
+        }
+
+        @Test
+        void ensureSetsAndResetsWithoutAutoCommit() throws SQLException {
+
+            when(tenantContextHolder.getCurrentTenantId()).thenReturn(Optional.of(new TenantId("tenant")));
+            when(connection.getAutoCommit()).thenReturn(false);
+
+            sut.getConnection().close();
+            sut.getConnection().close();
+
+            verify(statement, times(2)).execute("SET app.tenant_id TO 'tenant'");
+            verify(preparedStatement, times(2)).execute();
+        }
+    }
+}
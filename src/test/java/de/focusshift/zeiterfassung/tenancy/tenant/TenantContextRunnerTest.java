@@ -1,6 +1,8 @@
 package de.focusshift.zeiterfassung.tenancy.tenant;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
@@ -8,7 +10,13 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
@@ -27,9 +35,12 @@ class TenantContextRunnerTest {
     @Mock
     private TenantService tenantService;
 
+    private SimpleMeterRegistry meterRegistry;
+
     @BeforeEach
     void setUp() {
-        sut = new TenantContextRunner(tenantContextHolder, tenantService);
+        meterRegistry = new SimpleMeterRegistry();
+        sut = new TenantContextRunner(tenantContextHolder, tenantService, false, 1, meterRegistry);
     }
 
     @Test
@@ -68,7 +79,126 @@ class TenantContextRunnerTest {
         verify(tenantContextHolder).runInTenantIdContext(new TenantId("two"), function);
     }
 
+    @Test
+    void ensureRecordsDurationPerTenantAndOutcome() {
+
+        final Tenant tenantOne = tenant("one", TenantStatus.ACTIVE);
+        final Tenant tenantTwo = tenant("two", TenantStatus.ACTIVE);
+
+        when(tenantService.findAllTenants()).thenReturn(List.of(tenantOne, tenantTwo));
+
+        final Runnable function = () -> {};
+
+        doThrow(new IllegalStateException("boom"))
+            .when(tenantContextHolder).runInTenantIdContext(new TenantId("one"), function);
+
+        sut.runForEachActiveTenant("task", function).run();
+
+        assertThat(meterRegistry.get("zeiterfassung.tenant.task.duration").tags("task", "task", "tenant", "one", "outcome", "failure").timer().count()).isOne();
+        assertThat(meterRegistry.get("zeiterfassung.tenant.task.duration").tags("task", "task", "tenant", "two", "outcome", "success").timer().count()).isOne();
+    }
+
+    @Test
+    void ensureRecordsLastDurationPerTenant() {
+
+        when(tenantService.findAllTenants()).thenReturn(List.of(tenant("one", TenantStatus.ACTIVE)));
+
+        final Runnable function = () -> {};
+        sut.runForEachActiveTenant("task", function).run();
+        sut.runForEachActiveTenant("task", function).run();
+
+        assertThat(meterRegistry.get("zeiterfassung.tenant.task.last.duration").tags("task", "task", "tenant", "one").timeGauges()).hasSize(1);
+        assertThat(meterRegistry.get("zeiterfassung.tenant.task.duration").tags("task", "task", "tenant", "one").timer().count()).isEqualTo(2);
+    }
+
+    @Nested
+    class Parallel {
+
+        private final ThreadLocalTenantContextHolder threadLocalTenantContextHolder = new ThreadLocalTenantContextHolder();
+
+        @BeforeEach
+        void setUp() {
+            sut = new TenantContextRunner(threadLocalTenantContextHolder, tenantService, true, 2, meterRegistry);
+        }
+
+        @Test
+        void ensureRunsFunctionForEveryActiveTenantInItsTenantContext() {
+
+            final List<Tenant> tenants = IntStream.range(0, 10).mapToObj(i -> tenant("tenant" + i, TenantStatus.ACTIVE)).toList();
+            when(tenantService.findAllTenants()).thenReturn(tenants);
+
+            final Set<String> seenTenantIds = ConcurrentHashMap.newKeySet();
+            sut.runForEachActiveTenant(() -> threadLocalTenantContextHolder.getCurrentTenantId()
+                .ifPresent(tenantId -> seenTenantIds.add(tenantId.tenantId()))).run();
+
+            assertThat(seenTenantIds).containsExactlyInAnyOrderElementsOf(tenants.stream().map(Tenant::tenantId).toList());
+        }
+
+        @Test
+        void ensureConcurrencyIsLimited() {
+
+            final List<Tenant> tenants = IntStream.range(0, 8).mapToObj(i -> tenant("tenant" + i, TenantStatus.ACTIVE)).toList();
+            when(tenantService.findAllTenants()).thenReturn(tenants);
+
+            final AtomicInteger running = new AtomicInteger();
+            final AtomicInteger maxRunning = new AtomicInteger();
+            final AtomicInteger finished = new AtomicInteger();
+
+            sut.runForEachActiveTenant(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                finished.incrementAndGet();
+            }).run();
+
+            assertThat(finished).hasValue(8);
+            assertThat(maxRunning.get()).isBetween(1, 2);
+        }
+
+        @Test
+        void ensureExceptionForOneTenantDoesNotAbortRemainingTenants() {
+
+            when(tenantService.findAllTenants()).thenReturn(List.of(tenant("one", TenantStatus.ACTIVE), tenant("two", TenantStatus.ACTIVE)));
+
+            final Set<String> seenTenantIds = ConcurrentHashMap.newKeySet();
+            sut.runForEachActiveTenant(() -> {
+                final String tenantId = threadLocalTenantContextHolder.getCurrentTenantId().orElseThrow().tenantId();
+                if (tenantId.equals("one")) {
+                    throw new IllegalStateException("boom");
+                }
+                seenTenantIds.add(tenantId);
+            }).run();
+
+            assertThat(seenTenantIds).containsExactly("two");
+            assertThat(meterRegistry.get("zeiterfassung.tenant.task.duration").tags("tenant", "one", "outcome", "failure").timer().count()).isOne();
+        }
+    }
+
     private static Tenant tenant(String tenantId, TenantStatus status) {
         return new Tenant(tenantId, Instant.now(), Instant.now(), status);
     }
+
+    private static class ThreadLocalTenantContextHolder implements TenantContextHolder {
+
+        private final ThreadLocal<TenantId> currentTenantId = new ThreadLocal<>();
+
+        @Override
+        public Optional<TenantId> getCurrentTenantId() {
+            return Optional.ofNullable(currentTenantId.get());
+        }
+
+        @Override
+        public void setTenantId(TenantId tenantId) {
+            currentTenantId.set(tenantId);
+        }
+
+        @Override
+        public void clear() {
+            currentTenantId.remove();
+        }
+    }
 }
@@ -0,0 +1,98 @@
+package de.focusshift.zeiterfassung.tenancy.user;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TenantUserDirectoryTest {
+
+    private static final TenantUser BRUCE = user(1L, "Bruce", "Wayne", "batman@example.org");
+    private static final TenantUser KENT = user(2L, "Kent", "Clark", "Clark@example.org");
+    private static final TenantUser CLARK = user(3L, "Clark", "Kent", "kent@example.org");
+    private static final TenantUser JOERG = user(4L, "Jörg", "Müller", "joerg@example.org");
+
+    @Test
+    void ensureEmptyQueryReturnsAllUsersOrderedByGivenNameAndFamilyName() {
+
+        final TenantUserDirectory sut = new TenantUserDirectory(List.of(KENT, JOERG, BRUCE, CLARK));
+
+        assertThat(sut.search("", Integer.MAX_VALUE)).containsExactly(BRUCE, CLARK, JOERG, KENT);
+        assertThat(sut.search("  ", 2)).containsExactly(BRUCE, CLARK);
+    }
+
+    @Test
+    void ensureSearchMatchesFullNameIgnoringCase() {
+
+        final TenantUserDirectory sut = new TenantUserDirectory(List.of(BRUCE, KENT, CLARK));
+
+        assertThat(sut.search("cla", 10)).containsExactly(CLARK, KENT);
+        assertThat(sut.search("nt cl", 10)).containsExactly(KENT);
+        assertThat(sut.search("CE WA", 10)).containsExactly(BRUCE);
+        assertThat(sut.search("xxx", 10)).isEmpty();
+    }
+
+    @Test
+    void ensureSearchDoesNotMatchEmail() {
+
+        final TenantUserDirectory sut = new TenantUserDirectory(List.of(BRUCE, KENT, CLARK));
+
+        assertThat(sut.search("batman@", 10)).isEmpty();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"müller", "MÜLLER", "jörg m", " jörg "})
+    void ensureSearchMatchesUmlautsIgnoringCase(String query) {
+
+        final TenantUserDirectory sut = new TenantUserDirectory(List.of(BRUCE, JOERG));
+
+        assertThat(sut.search(query, 10)).containsExactly(JOERG);
+    }
+
+    @Test
+    void ensureSearchRanksPrefixMatchesFirst() {
+
+        final TenantUser wakenda = user(5L, "Bruce", "Wakenda", "wakenda@example.org");
+        final TenantUserDirectory sut = new TenantUserDirectory(List.of(wakenda, CLARK, KENT));
+
+        // same as TenantUserRepositoryIT#ensureFindAllByNiceNameContainingIgnoreCaseRankedRanksPrefixMatchesFirst
+        assertThat(sut.search("KEN", 10)).containsExactly(KENT, CLARK, wakenda);
+        assertThat(sut.search("ken", 2)).containsExactly(KENT, CLARK);
+        assertThat(sut.search("ke", 10)).containsExactly(KENT, CLARK, wakenda);
+    }
+
+    @Test
+    void ensureSearchIsLimited() {
+
+        final TenantUserDirectory sut = new TenantUserDirectory(List.of(BRUCE, KENT, CLARK));
+
+        assertThat(sut.search("e", 2)).containsExactly(BRUCE, CLARK);
+        assertThat(sut.search("e", 1)).containsExactly(BRUCE);
+    }
+
+    @Test
+    void ensureUpsertReplacesUserWithSameLocalId() {
+
+        final TenantUserDirectory sut = new TenantUserDirectory(List.of(BRUCE, KENT));
+
+        final TenantUser renamed = user(1L, "Bruce", "Banner", "hulk@example.org");
+        sut.upsert(renamed);
+        sut.upsert(CLARK);
+
+        assertThat(sut.size()).isEqualTo(3);
+        assertThat(sut.search("wayne", 10)).isEmpty();
+        assertThat(sut.search("batman", 10)).isEmpty();
+        assertThat(sut.search("banner", 10)).containsExactly(renamed);
+        assertThat(sut.search("", 10)).containsExactly(renamed, CLARK, KENT);
+    }
+
+    private static TenantUser user(Long localId, String givenName, String familyName, String email) {
+        final Instant now = Instant.parse("2025-01-01T00:00:00Z");
+        return new TenantUser("uuid-" + localId, localId, givenName, familyName, new EMailAddress(email), now, Set.of(), now, now, null, null, UserStatus.ACTIVE);
+    }
+}
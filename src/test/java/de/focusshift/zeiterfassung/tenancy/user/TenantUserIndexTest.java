@@ -0,0 +1,232 @@
+package de.focusshift.zeiterfassung.tenancy.user;
+
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantId;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TenantUserIndexTest {
+
+    private static final Instant NOW = Instant.parse("2025-05-01T10:00:00Z");
+
+    private static final TenantUser BRUCE = user(1L, "Bruce", "Wayne");
+    private static final TenantUser CLARK = user(2L, "Clark", "Kent");
+
+    private SimpleMeterRegistry meterRegistry;
+    private TenantId currentTenantId;
+    private Instant now;
+    private List<TenantUser> users;
+    private int loaderInvocations;
+    private int counterInvocations;
+
+    private final TenantContextHolder tenantContextHolder = new TenantContextHolder() {
+        @Override
+        public Optional<TenantId> getCurrentTenantId() {
+            return Optional.ofNullable(currentTenantId);
+        }
+    };
+
+    private final Clock clock = new Clock() {
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        currentTenantId = new TenantId("tenant");
+        now = NOW;
+        users = new ArrayList<>(List.of(BRUCE, CLARK));
+        loaderInvocations = 0;
+        counterInvocations = 0;
+    }
+
+    @Test
+    void ensureDirectoryIsLoadedOncePerTenant() {
+
+        final TenantUserIndex sut = index(true, 10, 10);
+
+        assertThat(sut.search("bru", 10, counter(), loader())).hasValue(List.of(BRUCE));
+        assertThat(sut.search("", 10, counter(), loader())).hasValue(List.of(BRUCE, CLARK));
+        assertThat(loaderInvocations).isOne();
+
+        currentTenantId = new TenantId("other-tenant");
+        users = new ArrayList<>(List.of(CLARK));
+        assertThat(sut.search("", 10, counter(), loader())).hasValue(List.of(CLARK));
+        assertThat(loaderInvocations).isEqualTo(2);
+
+        assertThat(meterRegistry.get("zeiterfassung.user-index.gets").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("zeiterfassung.user-index.gets").tag("result", "miss").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("zeiterfassung.user-index.size").gauge().value()).isEqualTo(3);
+    }
+
+    @Test
+    void ensureDirectoryIsReloadedAfterTimeToLive() {
+
+        final TenantUserIndex sut = index(true, 10, 10);
+        sut.search("", 10, counter(), loader());
+
+        now = NOW.plus(Duration.ofMinutes(4));
+        sut.search("", 10, counter(), loader());
+        assertThat(loaderInvocations).isOne();
+
+        now = NOW.plus(Duration.ofMinutes(5));
+        users = new ArrayList<>(List.of(CLARK));
+        assertThat(sut.search("", 10, counter(), loader())).hasValue(List.of(CLARK));
+        assertThat(loaderInvocations).isEqualTo(2);
+    }
+
+    @Test
+    void ensureCreatedAndUpdatedUsersAreIndexed() {
+
+        final TenantUserIndex sut = index(true, 10, 10);
+        sut.search("", 10, counter(), loader());
+
+        final TenantUser robin = user(3L, "Dick", "Grayson");
+        sut.on(new TenantUserCreatedEvent(robin));
+
+        final TenantUser renamed = user(1L, "Bruce", "Banner");
+        sut.on(new TenantUserUpdatedEvent(renamed));
+
+        assertThat(sut.search("", 10, counter(), loader())).hasValue(List.of(renamed, CLARK, robin));
+        assertThat(sut.search("wayne", 10, counter(), loader())).hasValue(List.of());
+        assertThat(loaderInvocations).isOne();
+    }
+
+    @Test
+    void ensureUsersOfOtherTenantAreNotIndexed() {
+
+        final TenantUserIndex sut = index(true, 10, 10);
+        sut.search("", 10, counter(), loader());
+
+        currentTenantId = new TenantId("other-tenant");
+        sut.on(new TenantUserCreatedEvent(user(3L, "Dick", "Grayson")));
+
+        currentTenantId = new TenantId("tenant");
+        assertThat(sut.search("", 10, counter(), loader())).hasValue(List.of(BRUCE, CLARK));
+    }
+
+    @Test
+    void ensureDirectoryLoadedConcurrentlyToChangeIsNotCached() {
+
+        final TenantUserIndex sut = index(true, 10, 10);
+
+        sut.search("", 10, counter(), () -> {
+            sut.on(new TenantUserCreatedEvent(user(3L, "Dick", "Grayson")));
+            return loader().get();
+        });
+        sut.search("", 10, counter(), loader());
+
+        assertThat(loaderInvocations).isEqualTo(2);
+    }
+
+    @Test
+    void ensureTenantWithTooManyUsersIsNotIndexed() {
+
+        final TenantUserIndex sut = index(true, 10, 1);
+
+        assertThat(sut.search("", 10, counter(), loader())).isEmpty();
+        assertThat(sut.size()).isZero();
+        assertThat(loaderInvocations).isZero();
+    }
+
+    @Test
+    void ensureTenantWithTooManyUsersIsCountedOncePerTimeToLive() {
+
+        final TenantUserIndex sut = index(true, 10, 1);
+
+        assertThat(sut.search("", 10, counter(), loader())).isEmpty();
+        assertThat(sut.search("bru", 10, counter(), loader())).isEmpty();
+        assertThat(counterInvocations).isOne();
+
+        now = NOW.plus(Duration.ofMinutes(5));
+        users.remove(CLARK);
+
+        assertThat(sut.search("", 10, counter(), loader())).hasValue(List.of(BRUCE));
+        assertThat(counterInvocations).isEqualTo(2);
+        assertThat(loaderInvocations).isOne();
+    }
+
+    @Test
+    void ensureLeastRecentlyUsedTenantIsEvicted() {
+
+        final TenantUserIndex sut = index(true, 1, 10);
+        sut.search("", 10, counter(), loader());
+
+        currentTenantId = new TenantId("other-tenant");
+        sut.search("", 10, counter(), loader());
+
+        currentTenantId = new TenantId("tenant");
+        sut.search("", 10, counter(), loader());
+
+        assertThat(loaderInvocations).isEqualTo(3);
+    }
+
+    @Test
+    void ensureDisabledIndexIsNotUsed() {
+
+        final TenantUserIndex sut = index(false, 10, 10);
+
+        assertThat(sut.search("", 10, counter(), loader())).isEmpty();
+        assertThat(loaderInvocations).isZero();
+    }
+
+    @Test
+    void ensureIndexIsNotUsedWithoutTenant() {
+
+        currentTenantId = null;
+        final TenantUserIndex sut = index(true, 10, 10);
+
+        assertThat(sut.search("", 10, counter(), loader())).isEmpty();
+        assertThat(loaderInvocations).isZero();
+    }
+
+    private TenantUserIndex index(boolean enabled, int maxTenants, int maxUsersPerTenant) {
+        return new TenantUserIndex(enabled, maxTenants, maxUsersPerTenant, Duration.ofMinutes(5), tenantContextHolder, clock, meterRegistry);
+    }
+
+    private LongSupplier counter() {
+        return () -> {
+            counterInvocations++;
+            return users.size();
+        };
+    }
+
+    private Supplier<List<TenantUser>> loader() {
+        return () -> {
+            loaderInvocations++;
+            return List.copyOf(users);
+        };
+    }
+
+    private static TenantUser user(Long localId, String givenName, String familyName) {
+        final String email = givenName.toLowerCase() + "@example.org";
+        return new TenantUser("uuid-" + localId, localId, givenName, familyName, new EMailAddress(email), NOW, Set.of(), NOW, NOW, null, null, UserStatus.ACTIVE);
+    }
+}
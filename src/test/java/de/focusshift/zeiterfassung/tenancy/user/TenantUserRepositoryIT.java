@@ -1,11 +1,16 @@
 package de.focusshift.zeiterfassung.tenancy.user;
 
+import de.focusshift.zeiterfassung.QueryPlan;
 import de.focusshift.zeiterfassung.SingleTenantTestContainersBase;
+import de.focusshift.zeiterfassung.SqlStatementCapture;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.Rollback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 import java.util.Set;
@@ -22,6 +27,12 @@ class TenantUserRepositoryIT extends SingleTenantTestContainersBase {
     @Autowired
     private TenantUserService tenantUserService;
 
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @AfterEach
     void tearDown() {
         sut.deleteAll();
@@ -86,23 +97,23 @@ class TenantUserRepositoryIT extends SingleTenantTestContainersBase {
     }
 
     @Test
-    void ensureFindAllByNiceNameContainingIgnoreCaseOrderByGivenNameAscFamilyNameAscReturnsEmpty() {
+    void ensureFindAllByNiceNameContainingIgnoreCaseRankedReturnsEmpty() {
 
         tenantUserService.createNewUser("8b913da0-2711-4da8-9216-9904e11944ac", "Bruce", "Wayne", new EMailAddress("batman@example.org"), Set.of());
         tenantUserService.createNewUser("2256a744-31f9-4f87-8189-fe0d471e6537", "Kent", "Clark", new EMailAddress("Clark@example.org"), Set.of());
 
-        final List<TenantUserEntity> actual = sut.findAllByNiceNameContainingIgnoreCaseOrderByGivenNameAscFamilyNameAsc("xxx");
+        final List<TenantUserEntity> actual = sut.findAllByNiceNameContainingIgnoreCaseRanked("xxx", 10);
         assertThat(actual).isEmpty();
     }
 
     @Test
-    void ensureFindAllByNiceNameContainingIgnoreCaseOrderByGivenNameAscFamilyNameAsc() {
+    void ensureFindAllByNiceNameContainingIgnoreCaseRanked() {
 
         tenantUserService.createNewUser("8b913da0-2711-4da8-9216-9904e11944ac", "Bruce", "Wayne", new EMailAddress("batman@example.org"), Set.of());
         tenantUserService.createNewUser("2256a744-31f9-4f87-8189-fe0d471e6537", "Kent", "Clark", new EMailAddress("Clark@example.org"), Set.of());
         tenantUserService.createNewUser("1a432ba3-cb93-463b-813b-8e065c1e0a24", "Clark", "Kent", new EMailAddress("Kent@example.org"), Set.of());
 
-        final List<TenantUserEntity> actual = sut.findAllByNiceNameContainingIgnoreCaseOrderByGivenNameAscFamilyNameAsc("cla");
+        final List<TenantUserEntity> actual = sut.findAllByNiceNameContainingIgnoreCaseRanked("cla", 10);
         assertThat(actual).hasSize(2);
         assertThat(actual.get(0)).satisfies(entity -> {
             assertThat(entity.getGivenName()).isEqualTo("Clark");
@@ -115,17 +126,52 @@ class TenantUserRepositoryIT extends SingleTenantTestContainersBase {
     }
 
     @Test
-    void ensureFindAllByNiceNameContainingIgnoreCaseOrderByGivenNameAscFamilyNameAscWithNiceNameOverlapping() {
+    void ensureFindAllByNiceNameContainingIgnoreCaseRankedWithNiceNameOverlapping() {
 
         tenantUserService.createNewUser("8b913da0-2711-4da8-9216-9904e11944ac", "Bruce", "Wayne", new EMailAddress("batman@example.org"), Set.of());
         tenantUserService.createNewUser("2256a744-31f9-4f87-8189-fe0d471e6537", "Kent", "Clark", new EMailAddress("Clark@example.org"), Set.of());
         tenantUserService.createNewUser("1a432ba3-cb93-463b-813b-8e065c1e0a24", "Clark", "Kent", new EMailAddress("Kent@example.org"), Set.of());
 
-        final List<TenantUserEntity> actual = sut.findAllByNiceNameContainingIgnoreCaseOrderByGivenNameAscFamilyNameAsc("nt cl");
+        final List<TenantUserEntity> actual = sut.findAllByNiceNameContainingIgnoreCaseRanked("nt cl", 10);
         assertThat(actual).hasSize(1);
         assertThat(actual.get(0)).satisfies(entity -> {
             assertThat(entity.getGivenName()).isEqualTo("Kent");
             assertThat(entity.getFamilyName()).isEqualTo("Clark");
         });
     }
+
+    @Test
+    void ensureFindAllByNiceNameContainingIgnoreCaseRankedRanksPrefixMatchesFirst() {
+
+        tenantUserService.createNewUser("8b913da0-2711-4da8-9216-9904e11944ac", "Bruce", "Wakenda", new EMailAddress("batman@example.org"), Set.of());
+        tenantUserService.createNewUser("2256a744-31f9-4f87-8189-fe0d471e6537", "Clark", "Kent", new EMailAddress("Clark@example.org"), Set.of());
+        tenantUserService.createNewUser("1a432ba3-cb93-463b-813b-8e065c1e0a24", "Kent", "Clark", new EMailAddress("Kent@example.org"), Set.of());
+
+        final List<TenantUserEntity> actual = sut.findAllByNiceNameContainingIgnoreCaseRanked("KEN", 10);
+        assertThat(actual).extracting(TenantUserEntity::getFamilyName).containsExactly("Clark", "Kent", "Wakenda");
+
+        final List<TenantUserEntity> limited = sut.findAllByNiceNameContainingIgnoreCaseRanked("ken", 2);
+        assertThat(limited).extracting(TenantUserEntity::getFamilyName).containsExactly("Clark", "Kent");
+    }
+
+    @Test
+    void ensureFindAllByNiceNameContainingIgnoreCaseRankedTreatsEscapedWildcardsLiterally() {
+
+        tenantUserService.createNewUser("8b913da0-2711-4da8-9216-9904e11944ac", "Bruce", "Wayne", new EMailAddress("batman@example.org"), Set.of());
+        tenantUserService.createNewUser("2256a744-31f9-4f87-8189-fe0d471e6537", "Bruce_", "Wayne", new EMailAddress("Clark@example.org"), Set.of());
+
+        assertThat(sut.findAllByNiceNameContainingIgnoreCaseRanked("\\%", 10)).isEmpty();
+        assertThat(sut.findAllByNiceNameContainingIgnoreCaseRanked("e\\_", 10)).extracting(TenantUserEntity::getGivenName).containsExactly("Bruce_");
+    }
+
+    @Test
+    void ensureFindAllByNiceNameContainingIgnoreCaseRankedUsesTrigramIndex() {
+
+        final List<String> sql = SqlStatementCapture.capture(() -> sut.findAllByNiceNameContainingIgnoreCaseRanked("wayne", 6));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            final QueryPlan plan = QueryPlan.explain(entityManager, sql.getFirst());
+            assertThat(plan.usesIndex("idx_tenant_user_search_name")).as(plan.toString()).isTrue();
+        });
+    }
 }
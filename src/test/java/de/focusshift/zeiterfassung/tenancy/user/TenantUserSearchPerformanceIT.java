@@ -0,0 +1,111 @@
+package de.focusshift.zeiterfassung.tenancy.user;
+
+import de.focusshift.zeiterfassung.MultiTenantTestContainersBase;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantId;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Asserts the latency of the database user search with {@value #USERS_PER_TENANT} users in each of two tenants.
+ * Row level security is active, the in-memory user index is disabled to measure the database query.
+ *
+ * <p>
+ * Excluded from the default build, run with {@code ./mvnw verify -Pperformance-test}.
+ */
+@Tag("performance")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(
+    properties = {
+        "zeiterfassung.tenant.mode=multi",
+        "zeiterfassung.user-index.enabled=false",
+    }
+)
+@TestPropertySource("classpath:application-dev-multitenant.yaml")
+class TenantUserSearchPerformanceIT extends MultiTenantTestContainersBase {
+
+    private static final int USERS_PER_TENANT = 50_000;
+    private static final List<String> TENANT_IDS = List.of("perf0001", "perf0002");
+
+    private static final int WARMUP_ITERATIONS = 50;
+    private static final int MEASURED_ITERATIONS = 500;
+    private static final Duration P95_THRESHOLD = Duration.ofMillis(50);
+
+    private static final List<String> QUERIES = List.of("ann", "schmi", "mül", "max mü", "müller 4711", "ller", "zzz", "a meyer 12");
+
+    @Autowired
+    private TenantService tenantService;
+    @Autowired
+    private TenantContextHolder tenantContextHolder;
+    @Autowired
+    private TenantUserService tenantUserService;
+    @Autowired
+    @Qualifier("adminDataSource")
+    private DataSource adminDataSource;
+
+    @BeforeAll
+    void setUp() {
+        final JdbcTemplate jdbcTemplate = new JdbcTemplate(adminDataSource);
+        for (String tenantId : TENANT_IDS) {
+            tenantService.create(tenantId);
+            jdbcTemplate.update("""
+                INSERT INTO tenant_user (id, tenant_id, uuid, first_login_at, last_login_at, given_name, family_name, email, created_at, updated_at, status)
+                SELECT nextval('tenant_user_seq'), ?, gen_random_uuid()::text, now(), now(),
+                       (ARRAY['Anna', 'Max', 'Jörg', 'Sophie', 'Paul', 'Marie', 'Lukas', 'Emma', 'Finn', 'Mia'])[1 + i % 10],
+                       (ARRAY['Müller', 'Schmidt', 'Schneider', 'Fischer', 'Weber', 'Meyer', 'Wagner', 'Becker', 'Schulz', 'Hoffmann'])[1 + (i / 10) % 10] || ' ' || i,
+                       'user' || i || '@example.org', now(), now(), 'ACTIVE'
+                FROM generate_series(1, ?) AS i
+                """, tenantId, USERS_PER_TENANT);
+        }
+        jdbcTemplate.execute("ANALYZE tenant_user");
+    }
+
+    @Test
+    void ensureUserSearchP95LatencyIsBelowThreshold() {
+
+        final List<Duration> durations = new ArrayList<>();
+
+        tenantContextHolder.runInTenantIdContext(new TenantId(TENANT_IDS.getFirst()), tenantId -> {
+            for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                tenantUserService.findUsers(QUERIES.get(i % QUERIES.size()), 6);
+            }
+
+            for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+                final String query = QUERIES.get(i % QUERIES.size());
+                final long start = System.nanoTime();
+                final List<TenantUser> users = tenantUserService.findUsers(query, 6);
+                durations.add(Duration.ofNanos(System.nanoTime() - start));
+                assertThat(users).hasSizeLessThanOrEqualTo(6);
+            }
+        });
+
+        final Duration p95 = durations.stream().sorted().toList().get((int) Math.ceil(durations.size() * 0.95) - 1);
+        assertThat(p95).as("p95 latency of user search").isLessThan(P95_THRESHOLD);
+    }
+
+    @Test
+    void ensureUserSearchIsRestrictedToTenant() {
+
+        tenantContextHolder.runInTenantIdContext(new TenantId(TENANT_IDS.getLast()), tenantId -> {
+            assertThat(tenantUserService.countUsers()).isEqualTo(USERS_PER_TENANT);
+
+            final List<TenantUser> users = tenantUserService.findUsers("anna müller 4700", 10);
+            assertThat(users).extracting(TenantUser::familyName).containsExactly("Müller 4700", "Müller 47000");
+        });
+    }
+}
@@ -1,8 +1,11 @@
 package de.focusshift.zeiterfassung.tenancy.user;
 
 import de.focusshift.zeiterfassung.security.SecurityRole;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantId;
 import de.focusshift.zeiterfassung.user.UserId;
 import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -13,6 +16,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.util.List;
@@ -24,6 +28,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -41,13 +47,13 @@ class TenantUserServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        sut = new TenantUserServiceImpl(repository, publisher, clock);
+        sut = new TenantUserServiceImpl(repository, tenantUserIndex(false), publisher, clock);
     }
 
     @Test
     void ensureFindAllUsersWithQueryReturnsEmpty() {
 
-        when(repository.findAllByNiceNameContainingIgnoreCaseOrderByGivenNameAscFamilyNameAsc("batman"))
+        when(repository.findAllByNiceNameContainingIgnoreCaseRanked("batman", Integer.MAX_VALUE))
             .thenReturn(List.of());
 
         final List<TenantUser> actual = sut.findAllUsers("batman");
@@ -61,13 +67,64 @@ class TenantUserServiceImplTest {
         final TenantUserEntity entity = activeUserEntityOne(now);
         final TenantUser tenantUser = activeTenantUserOne(now);
 
-        when(repository.findAllByNiceNameContainingIgnoreCaseOrderByGivenNameAscFamilyNameAsc("batman"))
+        when(repository.findAllByNiceNameContainingIgnoreCaseRanked("batman", Integer.MAX_VALUE))
             .thenReturn(List.of(entity));
 
         final List<TenantUser> actual = sut.findAllUsers("batman");
         assertThat(actual).containsExactly(tenantUser);
     }
 
+    @Test
+    void ensureFindUsersWithQueryIsLimited() {
+
+        final Instant now = clock.instant();
+
+        when(repository.findAllByNiceNameContainingIgnoreCaseRanked("a", 1)).thenReturn(List.of(activeUserEntityOne(now)));
+
+        final List<TenantUser> actual = sut.findUsers("a", 1);
+        assertThat(actual).containsExactly(activeTenantUserOne(now));
+    }
+
+    @Test
+    void ensureFindUsersWithQueryEscapesLikeWildcards() {
+
+        when(repository.findAllByNiceNameContainingIgnoreCaseRanked("50\\%\\_a\\\\", 6)).thenReturn(List.of());
+
+        final List<TenantUser> actual = sut.findUsers("50%_a\\", 6);
+        assertThat(actual).isEmpty();
+    }
+
+    @Test
+    void ensureFindUsersWithQueryUsesIndex() {
+
+        sut = new TenantUserServiceImpl(repository, tenantUserIndex(true), publisher, clock);
+
+        final Instant now = clock.instant();
+        when(repository.findAllByOrderByGivenNameAscFamilyNameAsc()).thenReturn(List.of(activeUserEntityOne(now), activeUserEntityTwo(now)));
+
+        assertThat(sut.findUsers("BATMAN", 6)).containsExactly(activeTenantUserOne(now));
+        assertThat(sut.findAllUsers("")).hasSize(2);
+
+        verify(repository).findAllByOrderByGivenNameAscFamilyNameAsc();
+        verify(repository, never()).findAllByNiceNameContainingIgnoreCaseRanked(any(), anyInt());
+    }
+
+    @Test
+    void ensureFindUsersOfTenantWithTooManyUsersDoesNotLoadAllUsers() {
+
+        sut = new TenantUserServiceImpl(repository, tenantUserIndex(true), publisher, clock);
+
+        final Instant now = clock.instant();
+        when(repository.count()).thenReturn(101L);
+        when(repository.findAllByNiceNameContainingIgnoreCaseRanked("batman", 6)).thenReturn(List.of(activeUserEntityOne(now)));
+
+        assertThat(sut.findUsers("batman", 6)).containsExactly(activeTenantUserOne(now));
+        assertThat(sut.findUsers("batman", 6)).containsExactly(activeTenantUserOne(now));
+
+        verify(repository).count();
+        verify(repository, never()).findAllByOrderByGivenNameAscFamilyNameAsc();
+    }
+
     @Test
     void ensureFindAllUsersByIdReturnsEmpty() {
 
@@ -269,6 +326,8 @@ class TenantUserServiceImplTest {
 
                 TenantUser result = sut.updateUser(update);
 
+                verify(publisher).publishEvent(new TenantUserUpdatedEvent(result));
+
                 ArgumentCaptor<TenantUserEntity> entityArgumentCaptor = ArgumentCaptor.forClass(TenantUserEntity.class);
 
                 verify(repository).save(entityArgumentCaptor.capture());
@@ -347,9 +406,12 @@ class TenantUserServiceImplTest {
                 final TenantUserEntity existing = activeUserEntityOne(now);
 
                 when(repository.findById(any())).thenReturn(Optional.of(existing));
+                when(repository.save(any(TenantUserEntity.class))).thenAnswer(returnsFirstArg());
 
                 sut.deleteUser(existing.getId());
 
+                verify(publisher).publishEvent(any(TenantUserUpdatedEvent.class));
+
                 verify(repository).findById(existing.getId());
 
                 final ArgumentCaptor<TenantUserEntity> entityArgumentCaptor = ArgumentCaptor.forClass(TenantUserEntity.class);
@@ -400,6 +462,7 @@ class TenantUserServiceImplTest {
 
                 verify(repository).findById(id);
                 verify(repository).save(activatedEntity);
+                verify(publisher).publishEvent(any(TenantUserUpdatedEvent.class));
             }
 
             @Test
@@ -434,6 +497,7 @@ class TenantUserServiceImplTest {
 
                 verify(repository).findById(id);
                 verify(repository).save(deactivatedEntity);
+                verify(publisher).publishEvent(any(TenantUserUpdatedEvent.class));
             }
 
             @Test
@@ -451,6 +515,16 @@ class TenantUserServiceImplTest {
         }
     }
 
+    private TenantUserIndex tenantUserIndex(boolean enabled) {
+        final TenantContextHolder tenantContextHolder = new TenantContextHolder() {
+            @Override
+            public Optional<TenantId> getCurrentTenantId() {
+                return Optional.of(new TenantId("tenant"));
+            }
+        };
+        return new TenantUserIndex(enabled, 1, 100, Duration.ofMinutes(5), tenantContextHolder, clock, new SimpleMeterRegistry());
+    }
+
     private static TenantUser activeTenantUserOne(Instant now) {
         return new TenantUser("my-external-id-1", 1L, "batman", "batman", new EMailAddress("batman@batman.com"), now, DEFAULT_USER_ROLES, now, now, null, null, UserStatus.ACTIVE);
     }
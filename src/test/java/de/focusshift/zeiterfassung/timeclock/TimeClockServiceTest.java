@@ -5,6 +5,8 @@ import de.focusshift.zeiterfassung.user.UserId;
 import de.focusshift.zeiterfassung.user.UserIdComposite;
 import de.focusshift.zeiterfassung.user.UserSettingsProvider;
 import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import de.focusshift.zeiterfassung.web.RequestLookupContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -48,7 +50,8 @@ class TimeClockServiceTest {
 
     @BeforeEach
     void setUp() {
-        sut = new TimeClockService(timeClockRepository, timeEntryService, userSettingsProvider, applicationEventPublisher, Clock.systemUTC());
+        sut = new TimeClockService(timeClockRepository, timeEntryService, userSettingsProvider, applicationEventPublisher,
+            new RequestLookupContext(new SimpleMeterRegistry()), Clock.systemUTC());
     }
 
     @Test
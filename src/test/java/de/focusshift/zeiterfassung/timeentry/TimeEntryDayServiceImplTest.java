@@ -9,11 +9,13 @@ import de.focusshift.zeiterfassung.user.UserSettingsProvider;
 import de.focusshift.zeiterfassung.usermanagement.User;
 import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
 import de.focusshift.zeiterfassung.usermanagement.UserManagementService;
+import de.focusshift.zeiterfassung.web.RequestLookupContext;
 import de.focusshift.zeiterfassung.workduration.WorkDuration;
 import de.focusshift.zeiterfassung.workduration.WorkDurationCalculationService;
 import de.focusshift.zeiterfassung.workingtime.PlannedWorkingHours;
 import de.focusshift.zeiterfassung.workingtime.WorkingTimeCalendar;
 import de.focusshift.zeiterfassung.workingtime.WorkingTimeCalendarService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -67,7 +69,7 @@ class TimeEntryDayServiceImplTest {
     void setUp() {
         sut = new TimeEntryDayServiceImpl(timeEntryService, timeEntryLockService, workDurationCalculationService,
             workingTimeCalendarService, userManagementService, userSettingsProvider, userDateService,
-            subtractBreakFromTimeEntrySettingsService, timeEntryRepository);
+            subtractBreakFromTimeEntrySettingsService, timeEntryRepository, new RequestLookupContext(new SimpleMeterRegistry()));
     }
 
     @Nested
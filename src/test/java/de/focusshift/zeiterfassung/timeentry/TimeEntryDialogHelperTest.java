@@ -79,7 +79,7 @@ class TimeEntryDialogHelperTest {
             final ConcurrentModel model = new ConcurrentModel();
             model.addAttribute("timeEntry", -1);
 
-            sut.addTimeEntryEditToModel(model, currentOidcUser, 1L, "", "");
+            sut.addTimeEntryEditToModel(model, currentOidcUser, 1L, null, revision -> "", "", "");
 
             assertThat(model.getAttribute("timeEntry")).isEqualTo(-1);
         }
@@ -100,7 +100,7 @@ class TimeEntryDialogHelperTest {
             when(userManagementService.findUserById(userIdComposite.id())).thenReturn(Optional.of(user));
 
             final ConcurrentModel model = new ConcurrentModel();
-            sut.addTimeEntryEditToModel(model, currentOidcUser, 1L, "", "");
+            sut.addTimeEntryEditToModel(model, currentOidcUser, 1L, null, revision -> "", "", "");
 
             assertThat(model.getAttribute("timeEntry")).isSameAs(timeEntryDTO);
         }
@@ -117,17 +117,17 @@ class TimeEntryDialogHelperTest {
             final User user = anyUser(userIdComposite);
             when(userManagementService.findUserById(userIdComposite.id())).thenReturn(Optional.of(user));
 
-            final TimeEntryHistory timeEntryHistory = new TimeEntryHistory(timeEntry.id(), List.of());
-            when(timeEntryService.findTimeEntryHistory(timeEntry.id())).thenReturn(Optional.of(timeEntryHistory));
+            final TimeEntryHistory timeEntryHistory = new TimeEntryHistory(timeEntry.id(), List.of(), false);
+            when(timeEntryService.findTimeEntryHistory(timeEntry.id(), null, 20)).thenReturn(Optional.of(timeEntryHistory));
 
             when(timeEntryLockService.isLocked(timeEntry.start())).thenReturn(false);
 
             final ConcurrentModel model = new ConcurrentModel();
             model.addAttribute("timeEntry", -1);
 
-            sut.addTimeEntryEditToModel(model, currentOidcUser, 1L, "edit-form-action", "close-form-action");
+            sut.addTimeEntryEditToModel(model, currentOidcUser, 1L, null, revision -> "older-history-" + revision, "edit-form-action", "close-form-action");
 
-            final TimeEntryDialogDto expected = new TimeEntryDialogDto(true, user.fullName(), user.initials(), List.of(), "edit-form-action", "close-form-action");
+            final TimeEntryDialogDto expected = new TimeEntryDialogDto(true, user.fullName(), user.initials(), List.of(), null, "edit-form-action", "close-form-action");
             assertThat(model.getAttribute("timeEntryDialog")).isEqualTo(expected);
         }
 
@@ -143,8 +143,8 @@ class TimeEntryDialogHelperTest {
             final User user = anyUser();
             when(userManagementService.findUserById(timeEntry.userIdComposite().id())).thenReturn(Optional.of(user));
 
-            final TimeEntryHistory timeEntryHistory = new TimeEntryHistory(timeEntry.id(), List.of());
-            when(timeEntryService.findTimeEntryHistory(timeEntry.id())).thenReturn(Optional.of(timeEntryHistory));
+            final TimeEntryHistory timeEntryHistory = new TimeEntryHistory(timeEntry.id(), List.of(), false);
+            when(timeEntryService.findTimeEntryHistory(timeEntry.id(), null, 20)).thenReturn(Optional.of(timeEntryHistory));
 
             // locked but privileged user
             when(timeEntryLockService.isLocked(timeEntry.start())).thenReturn(true);
@@ -153,9 +153,9 @@ class TimeEntryDialogHelperTest {
             final ConcurrentModel model = new ConcurrentModel();
             model.addAttribute("timeEntry", -1);
 
-            sut.addTimeEntryEditToModel(model, privilgegedOidcUser, 1L, "edit-form-action", "close-form-action");
+            sut.addTimeEntryEditToModel(model, privilgegedOidcUser, 1L, null, revision -> "older-history-" + revision, "edit-form-action", "close-form-action");
 
-            final TimeEntryDialogDto expected = new TimeEntryDialogDto(true, user.fullName(), user.initials(), List.of(), "edit-form-action", "close-form-action");
+            final TimeEntryDialogDto expected = new TimeEntryDialogDto(true, user.fullName(), user.initials(), List.of(), null, "edit-form-action", "close-form-action");
             assertThat(model.getAttribute("timeEntryDialog")).isEqualTo(expected);
         }
 
@@ -171,8 +171,8 @@ class TimeEntryDialogHelperTest {
             final User user = anyUser();
             when(userManagementService.findUserById(timeEntry.userIdComposite().id())).thenReturn(Optional.of(user));
 
-            final TimeEntryHistory timeEntryHistory = new TimeEntryHistory(timeEntry.id(), List.of());
-            when(timeEntryService.findTimeEntryHistory(timeEntry.id())).thenReturn(Optional.of(timeEntryHistory));
+            final TimeEntryHistory timeEntryHistory = new TimeEntryHistory(timeEntry.id(), List.of(), false);
+            when(timeEntryService.findTimeEntryHistory(timeEntry.id(), null, 20)).thenReturn(Optional.of(timeEntryHistory));
 
             // locked and not privileged user
             when(timeEntryLockService.isLocked(timeEntry.start())).thenReturn(true);
@@ -181,9 +181,9 @@ class TimeEntryDialogHelperTest {
             final ConcurrentModel model = new ConcurrentModel();
             model.addAttribute("timeEntry", -1);
 
-            sut.addTimeEntryEditToModel(model, currentOidcUser, 1L, "edit-form-action", "close-form-action");
+            sut.addTimeEntryEditToModel(model, currentOidcUser, 1L, null, revision -> "older-history-" + revision, "edit-form-action", "close-form-action");
 
-            final TimeEntryDialogDto expected = new TimeEntryDialogDto(false, user.fullName(), user.initials(), List.of(), "edit-form-action", "close-form-action");
+            final TimeEntryDialogDto expected = new TimeEntryDialogDto(false, user.fullName(), user.initials(), List.of(), null, "edit-form-action", "close-form-action");
             assertThat(model.getAttribute("timeEntryDialog")).isEqualTo(expected);
         }
 
@@ -211,10 +211,10 @@ class TimeEntryDialogHelperTest {
             final EntityRevisionMetadata modifiedMetadata = new EntityRevisionMetadata(2, UPDATED, modifiedInstant, Optional.of(otherUser.userId()));
             final TimeEntryHistoryItem modifiedHistoryItem = new TimeEntryHistoryItem(modifiedMetadata, modifiedTimeEntry, true, false, false, false);
 
-            final TimeEntryHistory timeEntryHistory = new TimeEntryHistory(createdTimeEntry.id(), List.of(createdHistoryItem, modifiedHistoryItem));
-            when(timeEntryService.findTimeEntryHistory(createdTimeEntry.id())).thenReturn(Optional.of(timeEntryHistory));
+            final TimeEntryHistory timeEntryHistory = new TimeEntryHistory(createdTimeEntry.id(), List.of(modifiedHistoryItem, createdHistoryItem), false);
+            when(timeEntryService.findTimeEntryHistory(createdTimeEntry.id(), null, 20)).thenReturn(Optional.of(timeEntryHistory));
 
-            when(userManagementService.findAllUsersByIds(List.of(user.userId(), otherUser.userId()))).thenReturn(List.of(otherUser, user));
+            when(userManagementService.findAllUsersByIds(List.of(otherUser.userId(), user.userId()))).thenReturn(List.of(otherUser, user));
 
             final TimeEntryDTO createdTimeEntryDto = new TimeEntryDTO();
             createdTimeEntryDto.setComment(createdTimeEntry.comment());
@@ -225,7 +225,7 @@ class TimeEntryDialogHelperTest {
             when(timeEntryViewHelper.toTimeEntryDto(modifiedTimeEntry)).thenReturn(modifiedTimeEntryDto);
 
             final ConcurrentModel model = new ConcurrentModel();
-            sut.addTimeEntryEditToModel(model, batmanOidcUser, 1L, "edit-form-action", "close-form-action");
+            sut.addTimeEntryEditToModel(model, batmanOidcUser, 1L, null, revision -> "older-history-" + revision, "edit-form-action", "close-form-action");
 
             assertThat(model.getAttribute("timeEntryDialog"))
                 .isInstanceOf(TimeEntryDialogDto.class)
@@ -239,6 +239,43 @@ class TimeEntryDialogHelperTest {
                     assertThat(dto.historyItems().get(1).timeEntry()).isSameAs(createdTimeEntryDto);
                 });
         }
+
+        @Test
+        void ensureTimeEntryHistoryModelWithOlderHistoryItems() {
+
+            final UserIdComposite batmanIdComposite = anyUserIdComposite("batman");
+            final CurrentOidcUser batmanOidcUser = anyCurrentOidcUser(batmanIdComposite);
+
+            final User user = anyUser(batmanIdComposite, "Bruce", "Wayne");
+
+            final TimeEntry timeEntry = anyTimeEntry(batmanIdComposite, "Kickoff Workshop");
+            when(timeEntryService.findTimeEntry(new TimeEntryId(1L))).thenReturn(Optional.of(timeEntry));
+
+            when(userManagementService.findUserById(batmanIdComposite.id())).thenReturn(Optional.of(user));
+            when(userSettingsProvider.zoneId()).thenReturn(ZoneOffset.UTC);
+
+            final EntityRevisionMetadata newerMetadata = new EntityRevisionMetadata(42, UPDATED, Instant.now(), Optional.of(user.userId()));
+            final EntityRevisionMetadata olderMetadata = new EntityRevisionMetadata(21, UPDATED, Instant.now(), Optional.of(user.userId()));
+            final TimeEntryHistory timeEntryHistory = new TimeEntryHistory(timeEntry.id(), List.of(
+                new TimeEntryHistoryItem(newerMetadata, timeEntry, true, false, false, false),
+                new TimeEntryHistoryItem(olderMetadata, timeEntry, true, false, false, false)
+            ), true);
+            when(timeEntryService.findTimeEntryHistory(timeEntry.id(), 50L, 20)).thenReturn(Optional.of(timeEntryHistory));
+
+            when(userManagementService.findAllUsersByIds(List.of(user.userId()))).thenReturn(List.of(user));
+            when(timeEntryViewHelper.toTimeEntryDto(timeEntry)).thenReturn(new TimeEntryDTO());
+
+            final ConcurrentModel model = new ConcurrentModel();
+            sut.addTimeEntryEditToModel(model, batmanOidcUser, 1L, 50L, revision -> "older-history-" + revision, "edit-form-action", "close-form-action");
+
+            assertThat(model.getAttribute("timeEntryDialog"))
+                .isInstanceOf(TimeEntryDialogDto.class)
+                .satisfies(dialogDto -> {
+                    final TimeEntryDialogDto dto = (TimeEntryDialogDto) dialogDto;
+                    assertThat(dto.historyItems()).hasSize(2);
+                    assertThat(dto.olderHistoryItemsUrl()).isEqualTo("older-history-21");
+                });
+        }
     }
 
     @Nested
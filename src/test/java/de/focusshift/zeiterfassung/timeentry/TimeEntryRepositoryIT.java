@@ -1,10 +1,15 @@
 package de.focusshift.zeiterfassung.timeentry;
 
+import de.focusshift.zeiterfassung.QueryPlan;
 import de.focusshift.zeiterfassung.SingleTenantTestContainersBase;
+import de.focusshift.zeiterfassung.SqlStatementCapture;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantAwareRevisionEntity;
 import de.focusshift.zeiterfassung.tenancy.tenant.TenantService;
 import de.focusshift.zeiterfassung.tenancy.user.EMailAddress;
 import de.focusshift.zeiterfassung.tenancy.user.TenantUser;
 import de.focusshift.zeiterfassung.tenancy.user.TenantUserService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,9 +30,12 @@ import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.springframework.data.history.RevisionMetadata.RevisionType.INSERT;
+import static org.springframework.data.history.RevisionMetadata.RevisionType.UPDATE;
 
 @SpringBootTest
 @Transactional
@@ -41,6 +49,9 @@ class TimeEntryRepositoryIT extends SingleTenantTestContainersBase {
     @Autowired
     private TenantService tenantService;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @BeforeEach
     void setUp() {
         tenantService.create("ab143c2f");
@@ -68,7 +79,7 @@ class TimeEntryRepositoryIT extends SingleTenantTestContainersBase {
     }
 
     @Test
-    void countAllEnsureFindAllByOwnerAndStartGreaterThanEqualAndStartLessThanOrderByStartDesc() {
+    void countAllEnsureFindAllRowsByOwnerAndStartGreaterThanEqualAndStartLessThanOrderByStartDesc() {
 
         final TenantUser batman = tenantUserService.createNewUser("1a432ba3-cb93-463b-813b-8e065c1e0a24", "Bruce", "Wayne", new EMailAddress("batman@example.org"), Set.of());
         final TenantUser superman = tenantUserService.createNewUser("8b913da0-2711-4da8-9216-9904e11944ac", "Kent", "Clark", new EMailAddress("Clark@example.org"), Set.of());
@@ -98,13 +109,117 @@ class TimeEntryRepositoryIT extends SingleTenantTestContainersBase {
         final Instant periodFromStartOfDayInstant = periodFrom.atStartOfDay(ZoneOffset.UTC).toInstant();
         final Instant periodToStartOfDayInstant = periodToExclusive.atStartOfDay(ZoneOffset.UTC).toInstant();
 
-        final List<TimeEntryEntity> actualEntries = sut.findAllByOwnerAndStartGreaterThanEqualAndStartLessThanOrderByStartDesc(batman.id(), periodFromStartOfDayInstant, periodToStartOfDayInstant);
+        final List<TimeEntryRow> actualEntries = sut.findAllRowsByOwnerAndStartGreaterThanEqualAndStartLessThanOrderByStartDesc(batman.id(), periodFromStartOfDayInstant, periodToStartOfDayInstant);
 
         assertThat(actualEntries).hasSize(2);
-        assertThat(actualEntries.get(0).getOwner()).isEqualTo(batman.id());
-        assertThat(actualEntries.get(0).getComment()).isEqualTo("hard work in between");
-        assertThat(actualEntries.get(1).getOwner()).isEqualTo(batman.id());
-        assertThat(actualEntries.get(1).getComment()).isEqualTo("hard work period start");
+        assertThat(actualEntries.get(0).owner()).isEqualTo(batman.id());
+        assertThat(actualEntries.get(0).comment()).isEqualTo("hard work in between");
+        assertThat(actualEntries.get(1).owner()).isEqualTo(batman.id());
+        assertThat(actualEntries.get(1).comment()).isEqualTo("hard work period start");
+    }
+
+    @Test
+    void ensureFindAllByOwnerIsInAndStartBetweenUsesIndex() {
+
+        final Instant from = Instant.parse("2022-01-03T00:00:00Z");
+        final Instant toExclusive = Instant.parse("2022-01-10T00:00:00Z");
+
+        final List<String> sql = SqlStatementCapture.capture(() ->
+            sut.findAllRowsByOwnerIsInAndStartGreaterThanEqualAndStartLessThanOrderByStartDesc(List.of("batman", "robin"), from, toExclusive));
+
+        assertThat(sql).hasSize(1);
+        final QueryPlan plan = QueryPlan.explain(entityManager, sql.getFirst());
+        assertThat(plan.usesIndex("idx_time_entry_tenant_id_owner_start")).as(plan.toString()).isTrue();
+    }
+
+    @Test
+    void ensureFindAllByStartBetweenUsesIndex() {
+
+        final Instant from = Instant.parse("2022-01-03T00:00:00Z");
+        final Instant toExclusive = Instant.parse("2022-01-10T00:00:00Z");
+
+        final List<String> sql = SqlStatementCapture.capture(() ->
+            sut.findAllRowsByStartGreaterThanEqualAndStartLessThanOrderByStartDesc(from, toExclusive));
+
+        assertThat(sql).hasSize(1);
+        final QueryPlan plan = QueryPlan.explain(entityManager, sql.getFirst());
+        assertThat(plan.usesIndex("idx_time_entry_tenant_id_start")).as(plan.toString()).isTrue();
+    }
+
+    @Test
+    void ensureStreamAllByOwnerIsInAndStartBetweenUsesIndex() {
+
+        final Instant from = Instant.parse("2022-01-01T00:00:00Z");
+        final Instant toExclusive = Instant.parse("2023-01-01T00:00:00Z");
+
+        final List<String> sql = SqlStatementCapture.capture(() -> {
+            try (Stream<TimeEntryRow> rows = sut.streamAllByOwnerIsInAndStartGreaterThanEqualAndStartLessThanOrderByStartAsc(List.of("batman"), from, toExclusive)) {
+                rows.forEach(row -> {});
+            }
+        });
+
+        assertThat(sql).hasSize(1);
+        final QueryPlan plan = QueryPlan.explain(entityManager, sql.getFirst());
+        assertThat(plan.usesIndex("idx_time_entry_tenant_id_owner_start")).as(plan.toString()).isTrue();
+    }
+
+    @Test
+    void ensureFindRevisionsBeforeIsPaginatedByRevisionNumber() {
+
+        insertRevision(9001L, "batman", 1L, "workshop", 0, true);
+        insertRevision(9002L, "robin", 1L, "Kickoff Workshop", 1, false);
+        insertRevision(9003L, "batman", 2L, "other", 0, true);
+        insertRevision(9004L, "batman", 1L, "Kickoff Workshop", 1, false);
+
+        final List<TimeEntryRevision> newest = sut.findRevisionsBefore(1L, null, 2);
+        assertThat(newest).extracting(revision -> revision.revision().getRequiredRevisionNumber()).containsExactly(9004L, 9002L);
+        assertThat(newest.getFirst().revision().getEntity().getComment()).isEqualTo("Kickoff Workshop");
+        assertThat(newest.getFirst().modifiedProperties()).containsExactly("start");
+        assertThat(newest.get(1).revision().getMetadata().getRevisionType()).isEqualTo(UPDATE);
+        assertThat(newest.get(1).revision().getMetadata().<TenantAwareRevisionEntity>getDelegate().getUpdatedBy()).isEqualTo("robin");
+        assertThat(newest.get(1).modifiedProperties()).containsExactly("start");
+
+        final List<TimeEntryRevision> older = sut.findRevisionsBefore(1L, 9002L, 2);
+        assertThat(older).extracting(revision -> revision.revision().getRequiredRevisionNumber()).containsExactly(9001L);
+        assertThat(older.getFirst().revision().getMetadata().getRevisionType()).isEqualTo(INSERT);
+        assertThat(older.getFirst().revision().getEntity().getComment()).isEqualTo("workshop");
+    }
+
+    @Test
+    void ensureFindRevisionsBeforeUsesIndex() {
+
+        final List<String> sql = SqlStatementCapture.capture(() -> sut.findRevisionsBefore(1L, 9002L, 21));
+
+        assertThat(sql).hasSize(1);
+        final QueryPlan plan = QueryPlan.explain(entityManager, sql.getFirst());
+        assertThat(plan.usesIndex("idx_time_entry_aud_id_rev")).as(plan.toString()).isTrue();
+    }
+
+    /**
+     * Audit rows are written on commit, which never happens in this transactional test. Therefore, they are inserted
+     * directly. Only the start modified flag is set for updates.
+     */
+    private void insertRevision(long revision, String updatedBy, long timeEntryId, String comment, int revisionType, boolean allModified) {
+
+        entityManager.createNativeQuery("INSERT INTO revinfo (id, timestamp, tenant_id, updated_by) VALUES (:id, :timestamp, 'ab143c2f', :updatedBy)")
+            .setParameter("id", revision)
+            .setParameter("timestamp", Instant.parse("2025-03-03T21:00:00Z").plusSeconds(revision).toEpochMilli())
+            .setParameter("updatedBy", updatedBy)
+            .executeUpdate();
+
+        entityManager.createNativeQuery("""
+                INSERT INTO time_entry_aud (id, tenant_id, owner, owner_mod, comment, comment_mod, start, start_mod, start_zone_id, start_zone_id_mod,
+                  "end", end_mod, end_zone_id, end_zone_id_mod, is_break, is_break_mod, rev, revtype)
+                VALUES (:id, 'ab143c2f', 'batman', :all, :comment, :all, :start, true, 'UTC', :all, :end, :all, 'UTC', :all, false, :all, :rev, :revtype)
+                """)
+            .setParameter("id", timeEntryId)
+            .setParameter("all", allModified)
+            .setParameter("comment", comment)
+            .setParameter("start", Instant.parse("2025-03-03T08:00:00Z"))
+            .setParameter("end", Instant.parse("2025-03-03T09:00:00Z"))
+            .setParameter("rev", revision)
+            .setParameter("revtype", revisionType)
+            .executeUpdate();
     }
 
     private static TimeEntryEntity createTimeEntryEntity(String owner, String comment, LocalDateTime start, LocalDateTime end) {
@@ -1,11 +1,13 @@
 package de.focusshift.zeiterfassung.timeentry;
 
+import de.focusshift.zeiterfassung.DateRange;
 import de.focusshift.zeiterfassung.TenantAwareRevisionMetadata;
 import de.focusshift.zeiterfassung.data.history.EntityRevisionMapper;
 import de.focusshift.zeiterfassung.data.history.EntityRevisionMetadata;
 import de.focusshift.zeiterfassung.data.history.EntityRevisionType;
 import de.focusshift.zeiterfassung.tenancy.tenant.TenantAwareRevisionEntity;
 import de.focusshift.zeiterfassung.tenancy.user.EMailAddress;
+import de.focusshift.zeiterfassung.timeentry.events.TimeEntriesImportedEvent;
 import de.focusshift.zeiterfassung.timeentry.events.TimeEntryCreatedEvent;
 import de.focusshift.zeiterfassung.timeentry.events.TimeEntryUpdatedEvent;
 import de.focusshift.zeiterfassung.user.UserId;
@@ -14,6 +16,8 @@ import de.focusshift.zeiterfassung.user.UserSettingsProvider;
 import de.focusshift.zeiterfassung.usermanagement.User;
 import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
 import de.focusshift.zeiterfassung.usermanagement.UserManagementService;
+import de.focusshift.zeiterfassung.web.RequestLookupContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -27,7 +31,6 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.history.Revision;
-import org.springframework.data.history.Revisions;
 
 import java.time.Clock;
 import java.time.Duration;
@@ -37,6 +40,7 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -45,10 +49,13 @@ import java.util.stream.Stream;
 
 import static java.time.ZoneOffset.UTC;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.data.history.RevisionMetadata.RevisionType.INSERT;
 import static org.springframework.data.history.RevisionMetadata.RevisionType.UPDATE;
@@ -78,7 +85,8 @@ class TimeEntryServiceImplTest {
     @BeforeEach
     void setUp() {
         sut = new TimeEntryServiceImpl(timeEntryRepository, timeEntryLockService, userManagementService,
-            userSettingsProvider, entityRevisionMapper, applicationEventPublisher, clockFixed);
+            userSettingsProvider, entityRevisionMapper, applicationEventPublisher,
+            new RequestLookupContext(new SimpleMeterRegistry()), clockFixed);
     }
 
     @Nested
@@ -87,12 +95,23 @@ class TimeEntryServiceImplTest {
         @Test
         void ensureFindTimeEntryHistoryEmptyWhenThereAreNoRevisions() {
 
-            when(timeEntryRepository.findRevisions(1L)).thenReturn(Revisions.none());
+            when(timeEntryRepository.findRevisionsBefore(1L, null, 21)).thenReturn(List.of());
 
-            final Optional<TimeEntryHistory> actual = sut.findTimeEntryHistory(new TimeEntryId(1L));
+            final Optional<TimeEntryHistory> actual = sut.findTimeEntryHistory(new TimeEntryId(1L), null, 20);
             assertThat(actual).isEmpty();
         }
 
+        @Test
+        void ensureFindTimeEntryHistoryWithoutRevisionsBeforeGivenRevision() {
+
+            when(timeEntryRepository.findRevisionsBefore(1L, 5L, 21)).thenReturn(List.of());
+
+            final Optional<TimeEntryHistory> actual = sut.findTimeEntryHistory(new TimeEntryId(1L), 5L, 20);
+            assertThat(actual).hasValue(new TimeEntryHistory(new TimeEntryId(1L), List.of(), false));
+
+            verifyNoInteractions(userManagementService);
+        }
+
         @Test
         void ensureFindTimeEntryHistory() {
 
@@ -121,18 +140,19 @@ class TimeEntryServiceImplTest {
 
             final Revision<Long, TimeEntryEntity> revision = Revision.of(new TenantAwareRevisionMetadata(revisionEntity, INSERT), entityCreated);
 
-            when(timeEntryRepository.findRevisions(1L)).thenReturn(Revisions.of(List.of(revision)));
+            when(timeEntryRepository.findRevisionsBefore(1L, null, 21)).thenReturn(List.of(new TimeEntryRevision(revision, Set.of("comment"))));
 
             when(userManagementService.findUserById(userId)).thenReturn(Optional.of(user));
 
             final EntityRevisionMetadata metadata = anyEntityRevisionMetadata();
             when(entityRevisionMapper.toEntityRevisionMetadata(revision)).thenReturn(metadata);
 
-            final Optional<TimeEntryHistory> actual = sut.findTimeEntryHistory(new TimeEntryId(1L));
+            final Optional<TimeEntryHistory> actual = sut.findTimeEntryHistory(new TimeEntryId(1L), null, 20);
             assertThat(actual).hasValueSatisfying(history -> {
 
                 assertThat(history.timeEntryId()).isEqualTo(new TimeEntryId(1L));
                 assertThat(history.revisions()).hasSize(1);
+                assertThat(history.hasOlderRevisions()).isFalse();
 
                 final TimeEntryId timeEntryId = new TimeEntryId(42L);
                 final ZonedDateTime startDateTime = ZonedDateTime.ofInstant(start, ZONE_ID_UTC);
@@ -160,7 +180,10 @@ class TimeEntryServiceImplTest {
             final Revision<Long, TimeEntryEntity> revisionInsert = Revision.of(new TenantAwareRevisionMetadata(revisionEntityInsert, INSERT), entityCreated);
             final Revision<Long, TimeEntryEntity> revisionUpdate = Revision.of(new TenantAwareRevisionMetadata(revisionEntityUpdate, UPDATE), entityModified);
 
-            when(timeEntryRepository.findRevisions(1L)).thenReturn(Revisions.of(List.of(revisionInsert, revisionUpdate)));
+            when(timeEntryRepository.findRevisionsBefore(1L, null, 21)).thenReturn(List.of(
+                new TimeEntryRevision(revisionUpdate, Set.of("comment")),
+                new TimeEntryRevision(revisionInsert, Set.of("owner", "comment", "start", "startZoneId", "end", "endZoneId", "isBreak"))
+            ));
 
             when(userManagementService.findUserById(any())).thenReturn(Optional.of(anyUser()));
 
@@ -169,13 +192,79 @@ class TimeEntryServiceImplTest {
             when(entityRevisionMapper.toEntityRevisionMetadata(revisionInsert)).thenReturn(metadataCreated);
             when(entityRevisionMapper.toEntityRevisionMetadata(revisionUpdate)).thenReturn(metadataModified);
 
-            final Optional<TimeEntryHistory> actual = sut.findTimeEntryHistory(new TimeEntryId(1L));
+            final Optional<TimeEntryHistory> actual = sut.findTimeEntryHistory(new TimeEntryId(1L), null, 20);
             assertThat(actual).hasValueSatisfying(history -> {
                 assertThat(history.revisions()).hasSize(2);
-                assertThat(history.revisions().get(0).metadata()).isSameAs(metadataCreated);
-                assertThat(history.revisions().get(1).metadata()).isSameAs(metadataModified);
+                assertThat(history.revisions().get(0).metadata()).isSameAs(metadataModified);
+                assertThat(history.revisions().get(1).metadata()).isSameAs(metadataCreated);
+                assertThat(history.hasOlderRevisions()).isFalse();
             });
         }
+
+        @Test
+        void ensureFindTimeEntryHistoryUsesModifiedProperties() {
+
+            final TenantAwareRevisionEntity revisionEntity = new TenantAwareRevisionEntity();
+            revisionEntity.setId(2L);
+
+            final Revision<Long, TimeEntryEntity> revisionComment = Revision.of(new TenantAwareRevisionMetadata(revisionEntity, UPDATE), anyTimeEntryEntity());
+            final Revision<Long, TimeEntryEntity> revisionZone = Revision.of(new TenantAwareRevisionMetadata(revisionEntity, UPDATE), anyTimeEntryEntity());
+
+            when(timeEntryRepository.findRevisionsBefore(1L, null, 21)).thenReturn(List.of(
+                new TimeEntryRevision(revisionComment, Set.of("comment", "isBreak")),
+                new TimeEntryRevision(revisionZone, Set.of("endZoneId"))
+            ));
+
+            when(userManagementService.findUserById(any())).thenReturn(Optional.of(anyUser()));
+            when(entityRevisionMapper.toEntityRevisionMetadata(any())).thenReturn(anyEntityRevisionMetadata());
+
+            final Optional<TimeEntryHistory> actual = sut.findTimeEntryHistory(new TimeEntryId(1L), null, 20);
+            assertThat(actual).hasValueSatisfying(history -> {
+                assertThat(history.revisions().get(0)).satisfies(item -> {
+                    assertThat(item.commentModified()).isTrue();
+                    assertThat(item.startModified()).isFalse();
+                    assertThat(item.endModified()).isFalse();
+                    assertThat(item.isBreakModified()).isTrue();
+                });
+                assertThat(history.revisions().get(1)).satisfies(item -> {
+                    assertThat(item.commentModified()).isFalse();
+                    assertThat(item.startModified()).isFalse();
+                    assertThat(item.endModified()).isTrue();
+                    assertThat(item.isBreakModified()).isFalse();
+                });
+            });
+        }
+
+        @Test
+        void ensureFindTimeEntryHistoryWithOlderRevisions() {
+
+            final TenantAwareRevisionEntity revisionEntityNewest = new TenantAwareRevisionEntity();
+            revisionEntityNewest.setId(9L);
+            final TenantAwareRevisionEntity revisionEntityOlder = new TenantAwareRevisionEntity();
+            revisionEntityOlder.setId(8L);
+
+            final Revision<Long, TimeEntryEntity> revisionNewest = Revision.of(new TenantAwareRevisionMetadata(revisionEntityNewest, UPDATE), anyTimeEntryEntity());
+            final Revision<Long, TimeEntryEntity> revisionOlder = Revision.of(new TenantAwareRevisionMetadata(revisionEntityOlder, UPDATE), anyTimeEntryEntity());
+
+            when(timeEntryRepository.findRevisionsBefore(1L, 10L, 2)).thenReturn(List.of(
+                new TimeEntryRevision(revisionNewest, Set.of("comment")),
+                new TimeEntryRevision(revisionOlder, Set.of("comment"))
+            ));
+
+            when(userManagementService.findUserById(any())).thenReturn(Optional.of(anyUser()));
+
+            final EntityRevisionMetadata metadataNewest = anyEntityRevisionMetadata();
+            when(entityRevisionMapper.toEntityRevisionMetadata(revisionNewest)).thenReturn(metadataNewest);
+
+            final Optional<TimeEntryHistory> actual = sut.findTimeEntryHistory(new TimeEntryId(1L), 10L, 1);
+            assertThat(actual).hasValueSatisfying(history -> {
+                assertThat(history.revisions()).hasSize(1);
+                assertThat(history.revisions().getFirst().metadata()).isSameAs(metadataNewest);
+                assertThat(history.hasOlderRevisions()).isTrue();
+            });
+
+            verify(entityRevisionMapper, never()).toEntityRevisionMetadata(revisionOlder);
+        }
     }
 
     @Test
@@ -265,6 +354,58 @@ class TimeEntryServiceImplTest {
         });
     }
 
+    @Test
+    void ensureImportTimeEntriesSavesAllEntriesAtOnceAndPublishesOneEvent() {
+
+        final UserId userId = new UserId("batman");
+        final UserLocalId userLocalId = new UserLocalId(42L);
+        final UserIdComposite userIdComposite = new UserIdComposite(userId, userLocalId);
+        final User user = new User(userIdComposite, "Bruce", "Wayne", new EMailAddress(""), Set.of());
+        when(userManagementService.findUserByLocalId(userLocalId)).thenReturn(Optional.of(user));
+
+        final ZonedDateTime firstStart = ZonedDateTime.of(LocalDateTime.of(2023, 1, 2, 10, 0), ZONE_ID_UTC);
+        final ZonedDateTime lastStart = ZonedDateTime.of(LocalDateTime.of(2023, 1, 5, 10, 0), ZONE_ID_UTC);
+        final ZonedDateTime breakStart = ZonedDateTime.of(LocalDateTime.of(2023, 1, 3, 12, 0), ZONE_ID_UTC);
+
+        sut.importTimeEntries(userLocalId, List.of(
+            new TimeEntryImport("last", lastStart, lastStart.plusHours(2), false),
+            new TimeEntryImport(null, firstStart, firstStart.plusHours(2), false),
+            new TimeEntryImport(" break ", breakStart, breakStart.plusMinutes(30), true)
+        ));
+
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<List<TimeEntryEntity>> entitiesCaptor = ArgumentCaptor.forClass(List.class);
+        verify(timeEntryRepository).saveAll(entitiesCaptor.capture());
+        verify(timeEntryRepository, never()).save(any(TimeEntryEntity.class));
+
+        assertThat(entitiesCaptor.getValue()).satisfiesExactly(
+            entity -> {
+                assertThat(entity.getOwner()).isEqualTo("batman");
+                assertThat(entity.getComment()).isEqualTo("last");
+                assertThat(entity.getStart()).isEqualTo(lastStart.toInstant());
+                assertThat(entity.getEnd()).isEqualTo(lastStart.plusHours(2).toInstant());
+                assertThat(entity.getUpdatedAt()).isEqualTo(Instant.now(clockFixed));
+            },
+            entity -> assertThat(entity.getComment()).isEmpty(),
+            entity -> {
+                assertThat(entity.getComment()).isEqualTo("break");
+                assertThat(entity.isBreak()).isTrue();
+            }
+        );
+
+        final ArgumentCaptor<TimeEntriesImportedEvent> eventCaptor = ArgumentCaptor.forClass(TimeEntriesImportedEvent.class);
+        verify(applicationEventPublisher).publishEvent(eventCaptor.capture());
+        assertThat(eventCaptor.getValue()).isEqualTo(new TimeEntriesImportedEvent(userIdComposite, new DateRange(LocalDate.of(2023, 1, 2), LocalDate.of(2023, 1, 5))));
+    }
+
+    @Test
+    void ensureImportTimeEntriesDoesNothingWithoutEntries() {
+
+        sut.importTimeEntries(new UserLocalId(42L), List.of());
+
+        verifyNoInteractions(timeEntryRepository, applicationEventPublisher);
+    }
+
     @ParameterizedTest
     @ValueSource(strings = {"", "   "})
     @NullSource
@@ -1101,20 +1242,19 @@ class TimeEntryServiceImplTest {
 
         when(userManagementService.findAllUsersByLocalIds(List.of(batmanLocalId, robinLocalId))).thenReturn(List.of(batman, robin));
 
-        final Instant now = Instant.now();
         final LocalDate from = LocalDate.of(2023, 1, 1);
         final LocalDate toExclusive = LocalDate.of(2023, 2, 1);
 
         final LocalDateTime entryStart = LocalDateTime.of(from, LocalTime.of(10, 0, 0));
         final LocalDateTime entryEnd = LocalDateTime.of(toExclusive, LocalTime.of(12, 0, 0));
-        final TimeEntryEntity timeEntryEntity = new TimeEntryEntity(1L, "uuid-1", "hard work", entryStart.toInstant(UTC), ZONE_ID_UTC, entryEnd.toInstant(UTC), ZONE_ID_UTC, now, false);
+        final TimeEntryRow timeEntryRow = new TimeEntryRow(1L, "uuid-1", "hard work", entryStart.toInstant(UTC), "UTC", entryEnd.toInstant(UTC), "UTC", false);
 
         final LocalDateTime entryBreakStart = LocalDateTime.of(from, LocalTime.of(12, 0, 0));
         final LocalDateTime entryBreakEnd = LocalDateTime.of(toExclusive, LocalTime.of(13, 0, 0));
-        final TimeEntryEntity timeEntryBreakEntity = new TimeEntryEntity(2L, "uuid-2", "deserved break", entryBreakStart.toInstant(UTC), ZONE_ID_UTC, entryBreakEnd.toInstant(UTC), ZONE_ID_UTC, now, true);
+        final TimeEntryRow timeEntryBreakRow = new TimeEntryRow(2L, "uuid-2", "deserved break", entryBreakStart.toInstant(UTC), "UTC", entryBreakEnd.toInstant(UTC), "UTC", true);
 
-        when(timeEntryRepository.findAllByOwnerIsInAndStartGreaterThanEqualAndStartLessThanOrderByStartDesc(List.of("uuid-1", "uuid-2"), from.atStartOfDay().atZone(userZoneId).toInstant(), toExclusive.atStartOfDay().atZone(userZoneId).toInstant()))
-            .thenReturn(List.of(timeEntryEntity, timeEntryBreakEntity));
+        when(timeEntryRepository.findAllRowsByOwnerIsInAndStartGreaterThanEqualAndStartLessThanOrderByStartDesc(List.of("uuid-1", "uuid-2"), from.atStartOfDay().atZone(userZoneId).toInstant(), toExclusive.atStartOfDay().atZone(userZoneId).toInstant()))
+            .thenReturn(List.of(timeEntryRow, timeEntryBreakRow));
 
         final Map<UserIdComposite, List<TimeEntry>> actual = sut.getEntries(from, toExclusive, List.of(batmanLocalId, robinLocalId));
 
@@ -1153,7 +1293,7 @@ class TimeEntryServiceImplTest {
         final LocalDate from = LocalDate.of(2023, 1, 1);
         final LocalDate toExclusive = LocalDate.of(2023, 2, 1);
 
-        when(timeEntryRepository.findAllByOwnerIsInAndStartGreaterThanEqualAndStartLessThanOrderByStartDesc(List.of("batman"), from.atStartOfDay().atZone(userZoneId).toInstant(), toExclusive.atStartOfDay().atZone(userZoneId).toInstant()))
+        when(timeEntryRepository.findAllRowsByOwnerIsInAndStartGreaterThanEqualAndStartLessThanOrderByStartDesc(List.of("batman"), from.atStartOfDay().atZone(userZoneId).toInstant(), toExclusive.atStartOfDay().atZone(userZoneId).toInstant()))
             .thenReturn(List.of());
 
         final Map<UserIdComposite, List<TimeEntry>> actual = sut.getEntries(from, toExclusive, List.of(userLocalId));
@@ -1166,7 +1306,37 @@ class TimeEntryServiceImplTest {
     }
 
     @Test
-    void ensureGetEntriesSortedByStart_NewestFirst() {
+    void ensureGetEntriesForAllUsersIgnoresEntriesOfUnknownUsers() {
+
+        final ZoneId userZoneId = ZoneId.of("Europe/Berlin");
+        when(userSettingsProvider.zoneId()).thenReturn(userZoneId);
+
+        final UserIdComposite batmanIdComposite = new UserIdComposite(new UserId("batman"), new UserLocalId(1L));
+        final User batman = new User(batmanIdComposite, "Bruce", "Wayne", new EMailAddress(""), Set.of());
+        when(userManagementService.findAllUsers()).thenReturn(List.of(batman));
+
+        final LocalDate from = LocalDate.of(2023, 1, 1);
+        final LocalDate toExclusive = LocalDate.of(2023, 2, 1);
+
+        final Instant start = Instant.parse("2023-01-02T08:00:00.00Z");
+        final TimeEntryRow batmanRow = new TimeEntryRow(1L, "batman", "hard work", start, "Europe/Berlin", start.plusSeconds(3600), "Europe/Berlin", false);
+        final TimeEntryRow jokerRow = new TimeEntryRow(2L, "joker", "", start, "UTC", start.plusSeconds(3600), "UTC", false);
+
+        when(timeEntryRepository.findAllRowsByStartGreaterThanEqualAndStartLessThanOrderByStartDesc(from.atStartOfDay().atZone(userZoneId).toInstant(), toExclusive.atStartOfDay().atZone(userZoneId).toInstant()))
+            .thenReturn(List.of(batmanRow, jokerRow));
+
+        final Map<UserIdComposite, List<TimeEntry>> actual = sut.getEntriesForAllUsers(from, toExclusive);
+
+        final ZoneId berlin = ZoneId.of("Europe/Berlin");
+        assertThat(actual).containsExactly(
+            entry(batmanIdComposite, List.of(
+                new TimeEntry(new TimeEntryId(1L), batmanIdComposite, "hard work", start.atZone(berlin), start.plusSeconds(3600).atZone(berlin), false)
+            ))
+        );
+    }
+
+    @Test
+    void ensureGetEntriesKeepsNewestFirstOrderOfRepository() {
 
         final ZoneId userZoneId = ZoneId.of("Europe/Berlin");
         when(userSettingsProvider.zoneId()).thenReturn(userZoneId);
@@ -1176,20 +1346,21 @@ class TimeEntryServiceImplTest {
 
         final LocalDateTime entryStart = LocalDateTime.of(periodFrom, LocalTime.of(10, 0, 0));
         final LocalDateTime entryEnd = LocalDateTime.of(periodToExclusive, LocalTime.of(12, 0, 0));
-        final TimeEntryEntity timeEntryEntity = new TimeEntryEntity(1L, "batman", "hard work", entryStart.toInstant(UTC), ZoneId.of("UTC"), entryEnd.toInstant(UTC), ZoneId.of("UTC"), Instant.now(), false);
+        final TimeEntryRow timeEntryRow = new TimeEntryRow(1L, "batman", "hard work", entryStart.toInstant(UTC), "UTC", entryEnd.toInstant(UTC), "UTC", false);
 
         final LocalDateTime entryBreakStart = LocalDateTime.of(periodFrom, LocalTime.of(12, 0, 0));
         final LocalDateTime entryBreakEnd = LocalDateTime.of(periodToExclusive, LocalTime.of(13, 0, 0));
-        final TimeEntryEntity timeEntryBreakEntity = new TimeEntryEntity(2L, "batman", "deserved break", entryBreakStart.toInstant(UTC), ZoneId.of("UTC"), entryBreakEnd.toInstant(UTC), ZoneId.of("UTC"), Instant.now(), true);
+        final TimeEntryRow timeEntryBreakRow = new TimeEntryRow(2L, "batman", "deserved break", entryBreakStart.toInstant(UTC), "UTC", entryBreakEnd.toInstant(UTC), "UTC", true);
 
         final LocalDateTime entryStart2 = LocalDateTime.of(periodFrom, LocalTime.of(8, 0, 0));
         final LocalDateTime entryEnd2 = LocalDateTime.of(periodToExclusive, LocalTime.of(8, 30, 0));
-        final TimeEntryEntity timeEntryEntity2 = new TimeEntryEntity(3L, "batman", "waking up *zzzz", entryStart2.toInstant(UTC), ZoneId.of("UTC"), entryEnd2.toInstant(UTC), ZoneId.of("UTC"), Instant.now(), false);
+        final TimeEntryRow timeEntryRow2 = new TimeEntryRow(3L, "batman", "waking up *zzzz", entryStart2.toInstant(UTC), "UTC", entryEnd2.toInstant(UTC), "UTC", false);
 
         final Instant periodStartInstant = periodFrom.atStartOfDay().atZone(userZoneId).toInstant();
         final Instant periodEndInstant = periodToExclusive.atStartOfDay().atZone(userZoneId).toInstant();
-        when(timeEntryRepository.findAllByOwnerAndStartGreaterThanEqualAndStartLessThanOrderByStartDesc("batman", periodStartInstant, periodEndInstant))
-            .thenReturn(List.of(timeEntryEntity, timeEntryBreakEntity, timeEntryEntity2));
+        // repository sorts newest first
+        when(timeEntryRepository.findAllRowsByOwnerAndStartGreaterThanEqualAndStartLessThanOrderByStartDesc("batman", periodStartInstant, periodEndInstant))
+            .thenReturn(List.of(timeEntryBreakRow, timeEntryRow, timeEntryRow2));
 
         final UserId userId = new UserId("batman");
         final UserLocalId userLocalId = new UserLocalId(42L);
@@ -1215,6 +1386,50 @@ class TimeEntryServiceImplTest {
         );
     }
 
+    @Test
+    void ensureForEachEntryPassesTimeEntriesInGivenOrder() {
+
+        final ZoneId userZoneId = ZoneId.of("Europe/Berlin");
+        when(userSettingsProvider.zoneId()).thenReturn(userZoneId);
+
+        final UserId userId = new UserId("batman");
+        final UserLocalId userLocalId = new UserLocalId(1L);
+        final UserIdComposite userIdComposite = new UserIdComposite(userId, userLocalId);
+        final User user = new User(userIdComposite, "Bruce", "Wayne", new EMailAddress(""), Set.of());
+        when(userManagementService.findAllUsersByLocalIds(List.of(userLocalId))).thenReturn(List.of(user));
+
+        final LocalDate from = LocalDate.of(2023, 1, 1);
+        final LocalDate toExclusive = LocalDate.of(2024, 1, 1);
+
+        final Instant firstStart = Instant.parse("2023-03-03T08:00:00.00Z");
+        final Instant secondStart = Instant.parse("2023-03-03T12:00:00.00Z");
+        final TimeEntryRow first = new TimeEntryRow(1L, "batman", "hard work", firstStart, "UTC", firstStart.plusSeconds(3600), "UTC", false);
+        final TimeEntryRow second = new TimeEntryRow(2L, "batman", "", secondStart, "UTC", secondStart.plusSeconds(1800), "UTC", true);
+
+        when(timeEntryRepository.streamAllByOwnerIsInAndStartGreaterThanEqualAndStartLessThanOrderByStartAsc(List.of("batman"), from.atStartOfDay().atZone(userZoneId).toInstant(), toExclusive.atStartOfDay().atZone(userZoneId).toInstant()))
+            .thenReturn(Stream.of(first, second));
+
+        final List<TimeEntry> actual = new ArrayList<>();
+        sut.forEachEntry(from, toExclusive, List.of(userLocalId), actual::add);
+
+        assertThat(actual).containsExactly(
+            new TimeEntry(new TimeEntryId(1L), userIdComposite, "hard work", ZonedDateTime.ofInstant(firstStart, ZONE_ID_UTC), ZonedDateTime.ofInstant(firstStart.plusSeconds(3600), ZONE_ID_UTC), false),
+            new TimeEntry(new TimeEntryId(2L), userIdComposite, "", ZonedDateTime.ofInstant(secondStart, ZONE_ID_UTC), ZonedDateTime.ofInstant(secondStart.plusSeconds(1800), ZONE_ID_UTC), true)
+        );
+    }
+
+    @Test
+    void ensureForEachEntryDoesNothingWithoutUsers() {
+
+        when(userManagementService.findAllUsersByLocalIds(List.of(new UserLocalId(1L)))).thenReturn(List.of());
+
+        sut.forEachEntry(LocalDate.of(2023, 1, 1), LocalDate.of(2024, 1, 1), List.of(new UserLocalId(1L)), timeEntry -> {
+            throw new IllegalStateException("unexpected timeEntry");
+        });
+
+        verifyNoInteractions(timeEntryRepository);
+    }
+
     private static TimeEntryEntity anyTimeEntryEntity() {
 
         final Instant start = Instant.parse("2025-03-03T21:00:00.00Z");
@@ -18,6 +18,7 @@ import java.time.ZoneId;
 import static java.time.Month.JULY;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -42,7 +43,7 @@ class DayLockedRepublishServiceMultiTenantTest {
 
     private void runnableExecutesForSingleTenant() {
         // run the given runnable once, simulating a single active tenant
-        when(tenantContextRunner.runForEachActiveTenant(any())).thenAnswer(invocation -> (Runnable) invocation.getArgument(0));
+        when(tenantContextRunner.runForEachActiveTenant(eq("day-locked-republish"), any())).thenAnswer(invocation -> (Runnable) invocation.getArgument(1));
     }
 
     @Test
@@ -1,6 +1,8 @@
 package de.focusshift.zeiterfassung.user;
 
 import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import de.focusshift.zeiterfassung.web.RequestLookupContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
@@ -36,7 +38,7 @@ class UserSettingsServiceTest {
 
     @BeforeEach
     void setUp() {
-        sut = new UserSettingsService(userSettingsRepository, localeResolver);
+        sut = new UserSettingsService(userSettingsRepository, localeResolver, new RequestLookupContext(new SimpleMeterRegistry()));
     }
 
     @AfterEach
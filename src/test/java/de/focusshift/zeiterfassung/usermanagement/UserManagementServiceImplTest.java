@@ -3,14 +3,20 @@ package de.focusshift.zeiterfassung.usermanagement;
 import de.focusshift.zeiterfassung.tenancy.user.EMailAddress;
 import de.focusshift.zeiterfassung.tenancy.user.TenantUser;
 import de.focusshift.zeiterfassung.tenancy.user.TenantUserService;
+import de.focusshift.zeiterfassung.tenancy.user.TenantUserUpdatedEvent;
 import de.focusshift.zeiterfassung.tenancy.user.UserStatus;
 import de.focusshift.zeiterfassung.user.UserId;
 import de.focusshift.zeiterfassung.user.UserIdComposite;
+import de.focusshift.zeiterfassung.web.RequestLookupContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.time.Instant;
 import java.util.List;
@@ -21,6 +27,8 @@ import static de.focusshift.zeiterfassung.security.SecurityRole.ZEITERFASSUNG_PE
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,7 +41,7 @@ class UserManagementServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        sut = new UserManagementServiceImpl(tenantUserService);
+        sut = new UserManagementServiceImpl(tenantUserService, new RequestLookupContext(new SimpleMeterRegistry()));
     }
 
     @Test
@@ -87,6 +95,31 @@ class UserManagementServiceImplTest {
             .hasValue(user);
     }
 
+    @Test
+    void ensureFindUserByLocalIdLoadsUserOncePerRequestUntilUserIsUpdated() {
+
+        final Instant now = Instant.now();
+        final TenantUser tenantUser = activeTenantUserOne(now);
+        final User user = activeUserOne(now);
+        final UserLocalId userLocalId = user.userLocalId();
+
+        when(tenantUserService.findByLocalId(userLocalId)).thenReturn(Optional.of(tenantUser));
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        try {
+            assertThat(sut.findUserByLocalId(userLocalId)).hasValue(user);
+            assertThat(sut.findUserByLocalId(userLocalId)).hasValue(user);
+            verify(tenantUserService, times(1)).findByLocalId(userLocalId);
+
+            sut.on(new TenantUserUpdatedEvent(tenantUser));
+
+            assertThat(sut.findUserByLocalId(userLocalId)).hasValue(user);
+            verify(tenantUserService, times(2)).findByLocalId(userLocalId);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
     @Test
     void ensureFindAllUsersWithQueryEmptyList() {
 
@@ -112,6 +145,19 @@ class UserManagementServiceImplTest {
         assertThat(actual).containsExactly(userOne, userTwo);
     }
 
+    @Test
+    void ensureFindUsersWithQueryAndLimit() {
+
+        Instant now = Instant.now();
+        final TenantUser tenantUserOne = activeTenantUserOne(now);
+        final User userOne = activeUserOne(now);
+
+        when(tenantUserService.findUsers("batman", 6)).thenReturn(List.of(tenantUserOne));
+
+        final List<User> actual = sut.findUsers("batman", 6);
+        assertThat(actual).containsExactly(userOne);
+    }
+
     @Test
     void ensureFindAllByIdsReturnsEmpty() {
 
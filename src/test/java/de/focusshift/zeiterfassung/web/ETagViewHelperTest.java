@@ -0,0 +1,173 @@
+package de.focusshift.zeiterfassung.web;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.FlashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ETagViewHelperTest {
+
+    private ETagViewHelper sut;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sut = new ETagViewHelper(true, meterRegistry);
+        signIn("batman", "ZEITERFASSUNG_USER");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void ensureNotModifiedWhenBrowserHasCurrentPage() {
+
+        final String eTag = eTag(request(), "version");
+
+        final MockHttpServletRequest request = request();
+        request.addHeader("If-None-Match", eTag);
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(sut.checkNotModified(new ServletWebRequest(request, response), "version")).isTrue();
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getHeader("ETag")).isEqualTo(eTag);
+        assertThat(response.getHeader("Cache-Control")).isEqualTo("private, no-cache");
+
+        assertThat(meterRegistry.get("zeiterfassung.views.conditional").tags("result", "modified").counter().count()).isOne();
+        assertThat(meterRegistry.get("zeiterfassung.views.conditional").tags("result", "not-modified").counter().count()).isOne();
+    }
+
+    @Test
+    void ensureModifiedWhenDataVersionChanged() {
+        assertModified(request(), "version", request(), "other-version");
+    }
+
+    @Test
+    void ensureModifiedForAnotherTurboFrame() {
+
+        final MockHttpServletRequest frameRequest = request();
+        frameRequest.addHeader("Turbo-Frame", "frame-time-entry-weeks");
+
+        assertModified(request(), "version", frameRequest, "version");
+    }
+
+    @Test
+    void ensureModifiedForAnotherQuery() {
+
+        final MockHttpServletRequest everyoneRequest = request();
+        everyoneRequest.setQueryString("everyone=");
+
+        assertModified(request(), "version", everyoneRequest, "version");
+    }
+
+    @Test
+    void ensureModifiedForAnotherUser() {
+
+        final String eTag = eTag(request(), "version");
+
+        signIn("robin", "ZEITERFASSUNG_USER");
+
+        final MockHttpServletRequest request = request();
+        request.addHeader("If-None-Match", eTag);
+
+        assertThat(sut.checkNotModified(new ServletWebRequest(request, new MockHttpServletResponse()), "version")).isFalse();
+    }
+
+    @Test
+    void ensureModifiedForOtherAuthorities() {
+
+        final String eTag = eTag(request(), "version");
+
+        signIn("batman", "ZEITERFASSUNG_USER", "ZEITERFASSUNG_VIEW_REPORT_ALL");
+
+        final MockHttpServletRequest request = request();
+        request.addHeader("If-None-Match", eTag);
+
+        assertThat(sut.checkNotModified(new ServletWebRequest(request, new MockHttpServletResponse()), "version")).isFalse();
+    }
+
+    @Test
+    void ensureModifiedWithFlashAttributes() {
+
+        final String eTag = eTag(request(), "version");
+
+        final FlashMap flashMap = new FlashMap();
+        flashMap.put("isRedirected", true);
+
+        final MockHttpServletRequest request = request();
+        request.setAttribute(DispatcherServlet.INPUT_FLASH_MAP_ATTRIBUTE, flashMap);
+        request.addHeader("If-None-Match", eTag);
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(sut.checkNotModified(new ServletWebRequest(request, response), "version")).isFalse();
+        assertThat(response.getHeader("ETag")).isNull();
+        assertThat(response.getHeader("Cache-Control")).isNull();
+    }
+
+    @Test
+    void ensureModifiedWhenDisabled() {
+
+        sut = new ETagViewHelper(false, meterRegistry);
+
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(sut.checkNotModified(new ServletWebRequest(request(), response), "version")).isFalse();
+        assertThat(response.getHeader("ETag")).isNull();
+        assertThat(response.getHeader("Cache-Control")).isNull();
+        assertThat(meterRegistry.find("zeiterfassung.views.conditional").counter()).isNull();
+    }
+
+    @Test
+    void ensureETagsDifferBetweenInstances() {
+
+        final String eTag = eTag(request(), "version");
+
+        sut = new ETagViewHelper(true, meterRegistry);
+
+        assertThat(eTag(request(), "version")).isNotEqualTo(eTag);
+    }
+
+    private void assertModified(MockHttpServletRequest firstRequest, String firstVersion, MockHttpServletRequest secondRequest, String secondVersion) {
+
+        final String eTag = eTag(firstRequest, firstVersion);
+
+        secondRequest.addHeader("If-None-Match", eTag);
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(sut.checkNotModified(new ServletWebRequest(secondRequest, response), secondVersion)).isFalse();
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader("ETag")).isNotEqualTo(eTag);
+    }
+
+    private String eTag(MockHttpServletRequest request, String dataVersion) {
+
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        assertThat(sut.checkNotModified(new ServletWebRequest(request, response), dataVersion)).isFalse();
+
+        final String eTag = response.getHeader("ETag");
+        assertThat(eTag).startsWith("W/\"");
+
+        return eTag;
+    }
+
+    private static MockHttpServletRequest request() {
+        return new MockHttpServletRequest("GET", "/report/year/2022/week/1");
+    }
+
+    private static void signIn(String name, String... authorities) {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(name, null, authorities));
+    }
+}
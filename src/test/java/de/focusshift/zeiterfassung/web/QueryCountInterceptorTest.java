@@ -0,0 +1,77 @@
+package de.focusshift.zeiterfassung.web;
+
+import de.focusshift.zeiterfassung.SqlStatementCapture;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryCountInterceptorTest {
+
+    private QueryCountInterceptor sut;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sut = new QueryCountInterceptor(meterRegistry);
+    }
+
+    @Test
+    void ensureRecordsStatementsOfRequestWithUriPattern() {
+
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/timeentries/2024/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/timeentries/{year}/{week}");
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        final QueryCountStatementInspector inspector = new QueryCountStatementInspector();
+
+        sut.preHandle(request, response, new Object());
+        inspector.inspect("select 1");
+        inspector.inspect("select 2");
+        sut.afterCompletion(request, response, new Object(), null);
+
+        final DistributionSummary summary = meterRegistry.get("zeiterfassung.http.server.requests.queries")
+            .tags("method", "GET", "uri", "/timeentries/{year}/{week}")
+            .summary();
+        assertThat(summary.count()).isOne();
+        assertThat(summary.totalAmount()).isEqualTo(2);
+    }
+
+    @Test
+    void ensureRecordsStatementsInspectedBySqlStatementCapture() {
+
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/timeentries/2024/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/timeentries/{year}/{week}");
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        final SqlStatementCapture inspector = new SqlStatementCapture();
+
+        sut.preHandle(request, response, new Object());
+        final List<String> captured = SqlStatementCapture.capture(() -> inspector.inspect("select 1"));
+        sut.afterCompletion(request, response, new Object(), null);
+
+        assertThat(captured).containsExactly("select 1");
+        assertThat(meterRegistry.get("zeiterfassung.http.server.requests.queries").summary().totalAmount()).isOne();
+    }
+
+    @Test
+    void ensureStatementsOutsideOfRequestAreNotCounted() {
+
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new QueryCountStatementInspector().inspect("select 1");
+        sut.afterCompletion(request, response, new Object(), null);
+
+        assertThat(meterRegistry.find("zeiterfassung.http.server.requests.queries").summary()).isNull();
+    }
+}
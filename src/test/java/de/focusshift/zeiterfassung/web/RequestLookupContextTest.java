@@ -0,0 +1,129 @@
+package de.focusshift.zeiterfassung.web;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestLookupContextTest {
+
+    private RequestLookupContext sut;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sut = new RequestLookupContext(meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void ensureLoadsEveryTimeOutsideOfRequest() {
+
+        final AtomicInteger loads = new AtomicInteger();
+        final Supplier<Integer> loader = loads::incrementAndGet;
+
+        assertThat(sut.get("lookup", 1, loader)).isOne();
+        assertThat(sut.get("lookup", 1, loader)).isEqualTo(2);
+
+        assertThat(meterRegistry.find("zeiterfassung.request.lookups").counter()).isNull();
+    }
+
+    @Test
+    void ensureLoadsOncePerRequestAndKey() {
+
+        startRequest();
+
+        final AtomicInteger loads = new AtomicInteger();
+        final Supplier<Integer> loader = loads::incrementAndGet;
+
+        assertThat(sut.get("lookup", 1, loader)).isOne();
+        assertThat(sut.get("lookup", 1, loader)).isOne();
+        assertThat(sut.get("lookup", 2, loader)).isEqualTo(2);
+        assertThat(sut.get("other-lookup", 1, loader)).isEqualTo(3);
+
+        assertThat(meterRegistry.get("zeiterfassung.request.lookups").tags("lookup", "lookup", "result", "hit").counter().count()).isOne();
+        assertThat(meterRegistry.get("zeiterfassung.request.lookups").tags("lookup", "lookup", "result", "miss").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("zeiterfassung.request.lookups").tags("lookup", "other-lookup", "result", "miss").counter().count()).isOne();
+    }
+
+    @Test
+    void ensureRemembersNull() {
+
+        startRequest();
+
+        final AtomicInteger loads = new AtomicInteger();
+        final Supplier<Integer> loader = () -> {
+            loads.incrementAndGet();
+            return null;
+        };
+
+        assertThat(sut.get("lookup", 1, loader)).isNull();
+        assertThat(sut.get("lookup", 1, loader)).isNull();
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void ensureLoaderMayUseOtherLookups() {
+
+        startRequest();
+
+        final Integer actual = sut.get("outer", 1, () -> sut.get("inner", 1, () -> 42) + 1);
+
+        assertThat(actual).isEqualTo(43);
+        assertThat(sut.get("inner", 1, () -> 0)).isEqualTo(42);
+    }
+
+    @Test
+    void ensureEvictForgetsOnlyGivenLookup() {
+
+        startRequest();
+
+        final AtomicInteger loads = new AtomicInteger();
+        final Supplier<Integer> loader = loads::incrementAndGet;
+
+        sut.get("lookup", 1, loader);
+        sut.get("other-lookup", 1, loader);
+
+        sut.evict("lookup");
+
+        assertThat(sut.get("lookup", 1, loader)).isEqualTo(3);
+        assertThat(sut.get("other-lookup", 1, loader)).isEqualTo(2);
+    }
+
+    @Test
+    void ensureEvictOutsideOfRequestDoesNothing() {
+        sut.evict("lookup");
+        assertThat(sut.get("lookup", 1, () -> 1)).isOne();
+    }
+
+    @Test
+    void ensureValuesAreNotSharedBetweenRequests() {
+
+        final AtomicInteger loads = new AtomicInteger();
+        final Supplier<Integer> loader = loads::incrementAndGet;
+
+        startRequest();
+        sut.get("lookup", 1, loader);
+
+        startRequest();
+        assertThat(sut.get("lookup", 1, loader)).isEqualTo(2);
+    }
+
+    private static void startRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+}
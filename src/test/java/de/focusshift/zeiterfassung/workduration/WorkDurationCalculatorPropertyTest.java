@@ -0,0 +1,159 @@
+package de.focusshift.zeiterfassung.workduration;
+
+import de.focusshift.zeiterfassung.timeentry.TimeEntry;
+import de.focusshift.zeiterfassung.timeentry.TimeEntryId;
+import de.focusshift.zeiterfassung.user.UserId;
+import de.focusshift.zeiterfassung.user.UserIdComposite;
+import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.stream.LongStream;
+
+import static java.time.Duration.between;
+import static java.util.Comparator.comparing;
+import static java.util.function.Predicate.not;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the calculators with the stream based implementations they replaced, for random time entries including
+ * overlapping, touching, empty, inverted and duplicated entries.
+ */
+class WorkDurationCalculatorPropertyTest {
+
+    private static final ZonedDateTime DAY = ZonedDateTime.parse("2025-03-30T00:00:00+01:00[Europe/Berlin]");
+    private static final List<ZoneId> ZONE_IDS = List.of(ZoneId.of("Europe/Berlin"), ZoneId.of("UTC"), ZoneId.of("America/New_York"));
+
+    static LongStream seeds() {
+        return LongStream.range(0, 500);
+    }
+
+    @ParameterizedTest
+    @MethodSource("seeds")
+    void ensureOverlappingBreakCalculatorEqualsReference(long seed) {
+
+        final List<TimeEntry> timeEntries = randomTimeEntries(new Random(seed));
+
+        final WorkDuration actual = new OverlappingBreakCalculator().calculateWorkDuration(timeEntries);
+        assertThat(actual).as("time entries %s", timeEntries).isEqualTo(referenceOverlappingBreak(timeEntries));
+    }
+
+    @ParameterizedTest
+    @MethodSource("seeds")
+    void ensureSimpleWorkDurationCalculatorEqualsReference(long seed) {
+
+        final List<TimeEntry> timeEntries = randomTimeEntries(new Random(seed));
+
+        final WorkDuration actual = new SimpleWorkDurationCalculator().calculateWorkDuration(timeEntries);
+        assertThat(actual).as("time entries %s", timeEntries).isEqualTo(referenceSimple(timeEntries));
+    }
+
+    private static List<TimeEntry> randomTimeEntries(Random random) {
+
+        // few entries like a usual day, many entries to exceed the linear duplicate scan
+        final int count = random.nextInt(10) == 0 ? random.nextInt(60) : random.nextInt(12);
+        final List<TimeEntry> timeEntries = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            final int duplicate = random.nextInt(10);
+            if (!timeEntries.isEmpty() && duplicate == 0) {
+                timeEntries.add(timeEntries.get(random.nextInt(timeEntries.size())));
+                continue;
+            }
+
+            final ZoneId zoneId = ZONE_IDS.get(random.nextInt(ZONE_IDS.size()));
+            final ZonedDateTime start = randomDateTime(random).withZoneSameInstant(zoneId);
+            final ZonedDateTime end = switch (random.nextInt(10)) {
+                case 0 -> start;
+                case 1 -> start.minusMinutes(random.nextInt(120));
+                case 2 -> randomDateTime(random);
+                default -> start.plusMinutes(15L * random.nextInt(1, 17));
+            };
+
+            // equal id and comment for some entries to create entries which are only equal by value
+            final long id = random.nextInt(count + 1);
+            timeEntries.add(new TimeEntry(new TimeEntryId(id), anyUserIdComposite(), "", start, end, random.nextInt(3) == 0));
+        }
+
+        return timeEntries;
+    }
+
+    private static ZonedDateTime randomDateTime(Random random) {
+        // the day of the daylight saving time switch, quarter hours to create touching entries, sometimes nanos
+        final ZonedDateTime dateTime = DAY.plusMinutes(15L * random.nextInt(96));
+        return random.nextInt(5) == 0 ? dateTime.plusNanos(random.nextInt(1_000_000_000)) : dateTime;
+    }
+
+    private static UserIdComposite anyUserIdComposite() {
+        return new UserIdComposite(new UserId("user-id"), new UserLocalId(1L));
+    }
+
+    private static WorkDuration referenceSimple(Collection<TimeEntry> timeEntries) {
+        return timeEntries.stream().distinct()
+            .map(TimeEntry::workDuration)
+            .reduce(WorkDuration.ZERO, WorkDuration::plus);
+    }
+
+    private static WorkDuration referenceOverlappingBreak(Collection<TimeEntry> timeEntries) {
+
+        final List<Interval> workIntervals = intervals(timeEntries, not(TimeEntry::isBreak));
+        final List<Interval> mergedBreakIntervals = mergeIntervals(intervals(timeEntries, TimeEntry::isBreak));
+
+        final List<Interval> overlaps = workIntervals.stream()
+            .flatMap(workInterval -> mergedBreakIntervals.stream()
+                .map(breakInterval -> {
+                    final ZonedDateTime start = workInterval.start().isAfter(breakInterval.start()) ? workInterval.start() : breakInterval.start();
+                    final ZonedDateTime end = workInterval.end().isBefore(breakInterval.end()) ? workInterval.end() : breakInterval.end();
+                    return end.isAfter(start) ? new Interval(start, end) : null;
+                })
+                .filter(Objects::nonNull)
+            )
+            .toList();
+
+        return new WorkDuration(summarizeDuration(workIntervals).minus(summarizeDuration(overlaps)));
+    }
+
+    private static List<Interval> intervals(Collection<TimeEntry> timeEntries, Predicate<TimeEntry> filter) {
+        return timeEntries.stream()
+            .distinct()
+            .filter(filter)
+            .map(e -> new Interval(e.start(), e.end()))
+            .sorted(comparing(Interval::start))
+            .toList();
+    }
+
+    private static List<Interval> mergeIntervals(Collection<Interval> intervals) {
+
+        final List<Interval> merged = new ArrayList<>();
+
+        for (final Interval interval : intervals) {
+            if (merged.isEmpty() || merged.getLast().end().isBefore(interval.start())) {
+                merged.add(interval);
+            } else {
+                final Interval last = merged.removeLast();
+                final ZonedDateTime newEnd = last.end().isAfter(interval.end()) ? last.end() : interval.end();
+                merged.add(new Interval(last.start(), newEnd));
+            }
+        }
+
+        return merged;
+    }
+
+    private static Duration summarizeDuration(Collection<Interval> intervals) {
+        return intervals.stream()
+            .map(interval -> between(interval.start(), interval.end()))
+            .reduce(Duration.ZERO, Duration::plus);
+    }
+
+    private record Interval(ZonedDateTime start, ZonedDateTime end) {
+    }
+}
@@ -0,0 +1,324 @@
+package de.focusshift.zeiterfassung.workingtime;
+
+import de.focusshift.zeiterfassung.DateRange;
+import de.focusshift.zeiterfassung.absence.AbsenceAddedEvent;
+import de.focusshift.zeiterfassung.companyvacation.CompanyVacationChangedEvent;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantId;
+import de.focusshift.zeiterfassung.tenancy.user.EMailAddress;
+import de.focusshift.zeiterfassung.tenancy.user.TenantUser;
+import de.focusshift.zeiterfassung.tenancy.user.TenantUserCreatedEvent;
+import de.focusshift.zeiterfassung.tenancy.user.TenantUserUpdatedEvent;
+import de.focusshift.zeiterfassung.tenancy.user.UserStatus;
+import de.focusshift.zeiterfassung.user.UserId;
+import de.focusshift.zeiterfassung.user.UserIdComposite;
+import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static de.focusshift.zeiterfassung.publicholiday.FederalState.GERMANY_BADEN_WUERTTEMBERG;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WorkingTimeCalendarCacheTest {
+
+    private static final LocalDate FROM = LocalDate.parse("2025-05-01");
+    private static final LocalDate TO_EXCLUSIVE = LocalDate.parse("2025-06-01");
+
+    private static final UserIdComposite BATMAN = new UserIdComposite(new UserId("batman"), new UserLocalId(1L));
+    private static final UserIdComposite ROBIN = new UserIdComposite(new UserId("robin"), new UserLocalId(2L));
+
+    private static final Instant NOW = Instant.parse("2025-05-01T10:00:00Z");
+    private static final Duration TIME_TO_LIVE = Duration.ofMinutes(5);
+
+    private SimpleMeterRegistry meterRegistry;
+    private TenantId currentTenantId;
+    private List<Collection<UserLocalId>> loaderInvocations;
+
+    private Instant now = NOW;
+
+    private final Clock clock = new Clock() {
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    };
+
+    private final TenantContextHolder tenantContextHolder = new TenantContextHolder() {
+        @Override
+        public Optional<TenantId> getCurrentTenantId() {
+            return Optional.ofNullable(currentTenantId);
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        currentTenantId = new TenantId("tenant");
+        loaderInvocations = new ArrayList<>();
+    }
+
+    @Test
+    void ensureCachedCalendarIsReturned() {
+
+        final WorkingTimeCalendarCache sut = cache(10);
+
+        final Map<UserIdComposite, WorkingTimeCalendar> first = sut.get(FROM, TO_EXCLUSIVE, List.of(BATMAN.localId()), loader());
+        final Map<UserIdComposite, WorkingTimeCalendar> second = sut.get(FROM, TO_EXCLUSIVE, List.of(BATMAN.localId()), loader());
+
+        assertThat(second).isEqualTo(first);
+        assertThat(loaderInvocations).containsExactly(List.of(BATMAN.localId()));
+        assertThat(meterRegistry.get("zeiterfassung.working-time-calendar.cache.gets").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("zeiterfassung.working-time-calendar.cache.gets").tag("result", "miss").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void ensureCalendarIsLoadedAgainAfterTimeToLive() {
+
+        final WorkingTimeCalendarCache sut = cache(10);
+
+        sut.get(FROM, TO_EXCLUSIVE, List.of(BATMAN.localId()), loader());
+
+        now = NOW.plus(TIME_TO_LIVE).minusSeconds(1);
+        sut.get(FROM, TO_EXCLUSIVE, List.of(BATMAN.localId()), loader());
+        assertThat(loaderInvocations).hasSize(1);
+
+        now = NOW.plus(TIME_TO_LIVE);
+        sut.get(FROM, TO_EXCLUSIVE, List.of(BATMAN.localId()), loader());
+        assertThat(loaderInvocations).containsExactly(List.of(BATMAN.localId()), List.of(BATMAN.localId()));
+        assertThat(sut.size()).isEqualTo(1);
+    }
+
+    @Test
+    void ensureOnlyMissingCalendarsAreLoaded() {
+
+        final WorkingTimeCalendarCache sut = cache(10);
+
+        sut.get(FROM, TO_EXCLUSIVE, List.of(BATMAN.localId()), loader());
+        final Map<UserIdComposite, WorkingTimeCalendar> actual = sut.get(FROM, TO_EXCLUSIVE, List.of(BATMAN.localId(), ROBIN.localId()), loader());
+
+        assertThat(actual).containsOnlyKeys(BATMAN, ROBIN);
+        assertThat(loaderInvocations).containsExactly(List.of(BATMAN.localId()), List.of(ROBIN.localId()));
+    }
+
+    @Test
+    void ensureCalendarsAreCachedPerInterval() {
+
+        final WorkingTimeCalendarCache sut = cache(10);
+
+        sut.get(FROM, TO_EXCLUSIVE, List.of(BATMAN.localId()), loader());
+        sut.get(FROM, TO_EXCLUSIVE.plusDays(1), List.of(BATMAN.localId()), loader());
+
+        assertThat(loaderInvocations).hasSize(2);
+    }
+
+    @Test
+    void ensureCalendarsAreCachedPerTenant() {
+
+        final WorkingTimeCalendarCache sut = cache(10);
+
+        sut.get(FROM, TO_EXCLUSIVE, List.of(BATMAN.localId()), loader());
+        currentTenantId = new TenantId("other-tenant");
+        sut.get(FROM, TO_EXCLUSIVE, List.of(BATMAN.localId()), loader());
+
+        assertThat(loaderInvocations).hasSize(2);
+    }
+
+    @Test
+    void ensureNothingIsCachedWithoutTenant() {
+
+        currentTenantId = null;
+        final WorkingTimeCalendarCache sut = cache(10);
+
+        sut.get(FROM, TO_EXCLUSIVE, List.of(BATMAN.localId()), loader());
+        sut.get(FROM, TO_EXCLUSIVE, List.of(BATMAN.localId()), loader());
+
+        assertThat(loaderInvocations).hasSize(2);
+        assertThat(sut.size()).isZero();
+    }
+
+    @Test
+    void ensureNothingIsCachedWhenDisabled() {
+
+        final WorkingTimeCalendarCache sut = new WorkingTimeCalendarCache(false, 10, TIME_TO_LIVE, tenantContextHolder, clock, meterRegistry);
+
+        sut.get(FROM, TO_EXCLUSIVE, List.of(BATMAN.localId()), loader());
+        sut.get(FROM, TO_EXCLUSIVE, List.of(BATMAN.localId()), loader());
+
+        assertThat(loaderInvocations).hasSize(2);
+    }
+
+    @Test
+    void ensureLeastRecentlyUsedCalendarIsEvictedWhenMaxSizeIsExceeded() {
+
+        final WorkingTimeCalendarCache sut = cache(1);
+
+        sut.get(FROM, TO_EXCLUSIVE, List.of(BATMAN.localId()), loader());
+        sut.get(FROM, TO_EXCLUSIVE, List.of(ROBIN.localId()), loader());
+        sut.get(FROM, TO_EXCLUSIVE, List.of(BATMAN.localId()), loader());
+
+        assertThat(loaderInvocations).hasSize(3);
+        assertThat(sut.size()).isOne();
+        assertThat(meterRegistry.get("zeiterfassung.working-time-calendar.cache.evictions").tag("cause", "size").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void ensureWorkingTimeCreatedEvictsCalendarsOfUserEndingAfterValidFrom() {
+
+        final WorkingTimeCalendarCache sut = cache(10);
+
+        sut.get(FROM, TO_EXCLUSIVE, List.of(BATMAN.localId(), ROBIN.localId()), loader());
+        sut.get(TO_EXCLUSIVE, TO_EXCLUSIVE.plusMonths(1), List.of(BATMAN.localId()), loader());
+
+        sut.on(new WorkingTimeCreatedEvent(BATMAN, new WorkingTimeId(UUID.randomUUID()), TO_EXCLUSIVE, GERMANY_BADEN_WUERTTEMBERG, false, workdays()));
+
+        assertThat(sut.size()).isEqualTo(2);
+        assertThat(meterRegistry.get("zeiterfassung.working-time-calendar.cache.evictions").tag("cause", "event").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void ensureWorkingTimeUpdatedEvictsAllCalendarsOfUser() {
+
+        final WorkingTimeCalendarCache sut = cache(10);
+
+        sut.get(FROM, TO_EXCLUSIVE, List.of(BATMAN.localId(), ROBIN.localId()), loader());
+        sut.get(TO_EXCLUSIVE, TO_EXCLUSIVE.plusMonths(1), List.of(BATMAN.localId()), loader());
+
+        sut.on(new WorkingTimeUpdatedEvent(BATMAN, new WorkingTimeId(UUID.randomUUID()), TO_EXCLUSIVE, GERMANY_BADEN_WUERTTEMBERG, false, workdays()));
+
+        assertThat(sut.size()).isOne();
+    }
+
+    @Test
+    void ensureAbsenceEvictsCalendarsOfUser() {
+
+        final WorkingTimeCalendarCache sut = cache(10);
+
+        sut.get(FROM, TO_EXCLUSIVE, List.of(BATMAN.localId(), ROBIN.localId()), loader());
+
+        sut.on(new AbsenceAddedEvent(ROBIN.id(), new DateRange(FROM, FROM)));
+
+        sut.get(FROM, TO_EXCLUSIVE, List.of(BATMAN.localId(), ROBIN.localId()), loader());
+        assertThat(loaderInvocations).containsExactly(List.of(BATMAN.localId(), ROBIN.localId()), List.of(ROBIN.localId()));
+    }
+
+    @Test
+    void ensureCompanyVacationEvictsCalendarsOfTenant() {
+
+        final WorkingTimeCalendarCache sut = cache(10);
+
+        sut.get(FROM, TO_EXCLUSIVE, List.of(BATMAN.localId(), ROBIN.localId()), loader());
+        currentTenantId = new TenantId("other-tenant");
+        sut.get(FROM, TO_EXCLUSIVE, List.of(BATMAN.localId()), loader());
+
+        sut.on(new CompanyVacationChangedEvent("source-id"));
+
+        assertThat(sut.size()).isEqualTo(2);
+    }
+
+    @Test
+    void ensureAllUserLocalIdsAreCachedPerTenantUntilUserIsCreated() {
+
+        final WorkingTimeCalendarCache sut = cache(10);
+        final List<String> loads = new ArrayList<>();
+
+        final List<UserLocalId> first = sut.getAllUserLocalIds(() -> {
+            loads.add(currentTenantId.tenantId());
+            return List.of(BATMAN.localId());
+        });
+        final List<UserLocalId> second = sut.getAllUserLocalIds(() -> {
+            loads.add(currentTenantId.tenantId());
+            return List.of(BATMAN.localId(), ROBIN.localId());
+        });
+
+        assertThat(first).containsExactly(BATMAN.localId());
+        assertThat(second).containsExactly(BATMAN.localId());
+        assertThat(loads).containsExactly("tenant");
+
+        final TenantUser robin = new TenantUser("robin", 2L, "Dick", "Grayson", new EMailAddress("robin@example.org"),
+            NOW, Set.of(), NOW, NOW, null, null, UserStatus.ACTIVE);
+        sut.on(new TenantUserCreatedEvent(robin));
+
+        final List<UserLocalId> third = sut.getAllUserLocalIds(() -> {
+            loads.add(currentTenantId.tenantId());
+            return List.of(BATMAN.localId(), ROBIN.localId());
+        });
+
+        assertThat(third).containsExactly(BATMAN.localId(), ROBIN.localId());
+        assertThat(loads).containsExactly("tenant", "tenant");
+    }
+
+    @Test
+    void ensureAllUserLocalIdsAreLoadedAgainAfterUserIsUpdated() {
+
+        final WorkingTimeCalendarCache sut = cache(10);
+
+        sut.getAllUserLocalIds(() -> List.of(BATMAN.localId(), ROBIN.localId()));
+
+        final TenantUser robin = new TenantUser("robin", 2L, "Dick", "Grayson", new EMailAddress("robin@example.org"),
+            NOW, Set.of(), NOW, NOW, null, NOW, UserStatus.DELETED);
+        sut.on(new TenantUserUpdatedEvent(robin));
+
+        final List<UserLocalId> actual = sut.getAllUserLocalIds(() -> List.of(BATMAN.localId()));
+
+        assertThat(actual).containsExactly(BATMAN.localId());
+    }
+
+    @Test
+    void ensureAllUserLocalIdsAreLoadedAgainAfterTimeToLive() {
+
+        final WorkingTimeCalendarCache sut = cache(10);
+
+        sut.getAllUserLocalIds(() -> List.of(BATMAN.localId()));
+
+        now = NOW.plus(TIME_TO_LIVE);
+        final List<UserLocalId> actual = sut.getAllUserLocalIds(() -> List.of(BATMAN.localId(), ROBIN.localId()));
+
+        assertThat(actual).containsExactly(BATMAN.localId(), ROBIN.localId());
+    }
+
+    private WorkingTimeCalendarCache cache(int maxSize) {
+        return new WorkingTimeCalendarCache(true, maxSize, TIME_TO_LIVE, tenantContextHolder, clock, meterRegistry);
+    }
+
+    private Function<Collection<UserLocalId>, Map<UserIdComposite, WorkingTimeCalendar>> loader() {
+        return userLocalIds -> {
+            loaderInvocations.add(List.copyOf(userLocalIds));
+            return List.of(BATMAN, ROBIN).stream()
+                .filter(userIdComposite -> userLocalIds.contains(userIdComposite.localId()))
+                .collect(toMap(identity(), unused -> new WorkingTimeCalendar(Map.of(), Map.of())));
+        };
+    }
+
+    private static EnumMap<DayOfWeek, Duration> workdays() {
+        return new EnumMap<>(Map.of(DayOfWeek.MONDAY, Duration.ofHours(8)));
+    }
+}
@@ -5,10 +5,16 @@ import de.focusshift.zeiterfassung.absence.AbsenceService;
 import de.focusshift.zeiterfassung.publicholiday.PublicHoliday;
 import de.focusshift.zeiterfassung.publicholiday.PublicHolidayCalendar;
 import de.focusshift.zeiterfassung.publicholiday.PublicHolidaysService;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantContextHolder;
+import de.focusshift.zeiterfassung.tenancy.tenant.TenantId;
+import de.focusshift.zeiterfassung.tenancy.user.EMailAddress;
 import de.focusshift.zeiterfassung.timeentry.ShouldWorkingHours;
 import de.focusshift.zeiterfassung.user.UserId;
 import de.focusshift.zeiterfassung.user.UserIdComposite;
+import de.focusshift.zeiterfassung.usermanagement.User;
 import de.focusshift.zeiterfassung.usermanagement.UserLocalId;
+import de.focusshift.zeiterfassung.usermanagement.UserManagementService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -18,11 +24,13 @@ import org.junit.jupiter.params.provider.CsvSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Clock;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.function.Function;
@@ -44,6 +52,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -57,10 +67,13 @@ class WorkingTimeCalendarServiceImplTest {
     private PublicHolidaysService publicHolidaysService;
     @Mock
     private AbsenceService absenceService;
+    @Mock
+    private UserManagementService userManagementService;
 
     @BeforeEach
     void setUp() {
-        sut = new WorkingTimeCalendarServiceImpl(workingTimeService, publicHolidaysService, absenceService);
+        final WorkingTimeCalendarCache disabledCache = new WorkingTimeCalendarCache(false, 1, Duration.ofMinutes(5), new TenantContextHolder() {}, Clock.systemUTC(), new SimpleMeterRegistry());
+        sut = new WorkingTimeCalendarServiceImpl(workingTimeService, publicHolidaysService, absenceService, userManagementService, disabledCache, new SimpleMeterRegistry());
     }
 
     @Nested
@@ -382,6 +395,45 @@ class WorkingTimeCalendarServiceImplTest {
                     LocalDate.of(2023, 2, 15), List.of(absenceUser2)
                 )));
         }
+
+        @Test
+        void ensureGetWorkingTimesForAllLoadsOnlyCalendarsMissingInCache() {
+
+            final UserIdComposite userIdCompositeOne = new UserIdComposite(new UserId("uuid-1"), new UserLocalId(1L));
+            final UserIdComposite userIdCompositeTwo = new UserIdComposite(new UserId("uuid-2"), new UserLocalId(2L));
+
+            final WorkingTimeCalendarCache cache = new WorkingTimeCalendarCache(true, 10, Duration.ofMinutes(5),
+                new TenantContextHolder() {
+                    @Override
+                    public Optional<TenantId> getCurrentTenantId() {
+                        return Optional.of(new TenantId("tenant"));
+                    }
+                }, Clock.systemUTC(), new SimpleMeterRegistry());
+            sut = new WorkingTimeCalendarServiceImpl(workingTimeService, publicHolidaysService, absenceService, userManagementService, cache, new SimpleMeterRegistry());
+
+            final LocalDate from = LocalDate.of(2023, 2, 13);
+            final LocalDate toExclusive = from.plusWeeks(1);
+
+            when(userManagementService.findAllUsers()).thenReturn(List.of(
+                new User(userIdCompositeOne, "Bruce", "Wayne", new EMailAddress(""), Set.of()),
+                new User(userIdCompositeTwo, "Dick", "Grayson", new EMailAddress(""), Set.of())
+            ));
+            when(absenceService.getAbsencesByUserIds(any(), any(), any())).thenReturn(Map.of());
+            when(workingTimeService.getWorkingTimesByUsers(from, toExclusive, List.of(userIdCompositeOne.localId())))
+                .thenReturn(Map.of(userIdCompositeOne, List.of(WorkingTime.builder(userIdCompositeOne, new WorkingTimeId(UUID.randomUUID())).federalState(NONE).worksOnPublicHoliday(WorksOnPublicHoliday.NO).build())));
+            when(workingTimeService.getWorkingTimesByUsers(from, toExclusive, List.of(userIdCompositeTwo.localId())))
+                .thenReturn(Map.of(userIdCompositeTwo, List.of(WorkingTime.builder(userIdCompositeTwo, new WorkingTimeId(UUID.randomUUID())).federalState(NONE).worksOnPublicHoliday(WorksOnPublicHoliday.NO).build())));
+
+            sut.getWorkingTimeCalendarForUsers(from, toExclusive, List.of(userIdCompositeOne.localId()));
+
+            assertThat(sut.getWorkingTimeCalendarForAllUsers(from, toExclusive)).containsOnlyKeys(userIdCompositeOne, userIdCompositeTwo);
+            assertThat(sut.getWorkingTimeCalendarForAllUsers(from, toExclusive)).containsOnlyKeys(userIdCompositeOne, userIdCompositeTwo);
+
+            // users are loaded once, calendars of all users are never loaded since one of them has been cached before
+            verify(userManagementService).findAllUsers();
+            verify(workingTimeService).getWorkingTimesByUsers(from, toExclusive, List.of(userIdCompositeTwo.localId()));
+            verify(workingTimeService, never()).getAllWorkingTimes(any(), any());
+        }
     }
 
     @Nested
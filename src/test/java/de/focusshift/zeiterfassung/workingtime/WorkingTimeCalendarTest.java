@@ -70,6 +70,54 @@ class WorkingTimeCalendarTest {
         assertThat(actual).isEqualTo(new PlannedWorkingHours(Duration.ofHours(16)));
     }
 
+    @Test
+    void ensurePlannedWorkingHoursBetweenDatesPartiallyOutOfRange() {
+
+        final LocalDate now = LocalDate.now();
+
+        final WorkingTimeCalendar sut = new WorkingTimeCalendar(Map.of(
+            now, PlannedWorkingHours.EIGHT,
+            now.plusDays(1), new PlannedWorkingHours(Duration.ofHours(4))
+        ), Map.of());
+
+        final PlannedWorkingHours actual = sut.plannedWorkingHours(now.minusDays(10), now.plusDays(10));
+        assertThat(actual).isEqualTo(new PlannedWorkingHours(Duration.ofHours(12)));
+    }
+
+    @Test
+    void ensurePlannedWorkingHoursForDateWithGaps() {
+
+        final LocalDate now = LocalDate.now();
+
+        final WorkingTimeCalendar sut = new WorkingTimeCalendar(Map.of(
+            now, PlannedWorkingHours.EIGHT,
+            now.plusDays(2), PlannedWorkingHours.ZERO,
+            now.plusDays(4), new PlannedWorkingHours(Duration.ofMinutes(90))
+        ), Map.of());
+
+        assertThat(sut.plannedWorkingHours(now)).hasValue(PlannedWorkingHours.EIGHT);
+        assertThat(sut.plannedWorkingHours(now.plusDays(1))).isEmpty();
+        assertThat(sut.plannedWorkingHours(now.plusDays(2))).hasValue(PlannedWorkingHours.ZERO);
+        assertThat(sut.plannedWorkingHours(now.plusDays(3))).isEmpty();
+        assertThat(sut.plannedWorkingHours(now.plusDays(4))).hasValue(new PlannedWorkingHours(Duration.ofMinutes(90)));
+        assertThat(sut.plannedWorkingHours(now.plusDays(5))).isEmpty();
+        assertThat(sut.shouldWorkingHours(now.plusDays(3))).isEmpty();
+        assertThat(sut.plannedWorkingHours(now.plusDays(1), now.plusDays(5))).isEqualTo(new PlannedWorkingHours(Duration.ofMinutes(90)));
+    }
+
+    @Test
+    void ensureEquals() {
+
+        final LocalDate now = LocalDate.now();
+
+        final WorkingTimeCalendar first = new WorkingTimeCalendar(Map.of(now, PlannedWorkingHours.EIGHT, now.plusDays(1), PlannedWorkingHours.ZERO), Map.of());
+        final WorkingTimeCalendar second = new WorkingTimeCalendar(Map.of(now, PlannedWorkingHours.EIGHT, now.plusDays(1), PlannedWorkingHours.ZERO), Map.of());
+        final WorkingTimeCalendar withoutZero = new WorkingTimeCalendar(Map.of(now, PlannedWorkingHours.EIGHT), Map.of());
+
+        assertThat(first).isEqualTo(second).hasSameHashCodeAs(second);
+        assertThat(first).isNotEqualTo(withoutZero);
+    }
+
     @Test
     void ensureShouldHoursForOvertimeReductionWithMultipleDays() {
         final LocalDate today = LocalDate.now();